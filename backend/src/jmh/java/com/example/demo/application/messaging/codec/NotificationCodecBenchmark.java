@@ -0,0 +1,91 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.notification.Notification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the binary Notification codec with the Spring JSON serializer previously used on Kafka
+ * Reports ns/op for both directions; bytes/record is printed once per trial
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class NotificationCodecBenchmark {
+
+    private static final String TOPIC = "notification-events";
+
+    private Notification notification;
+    private NotificationSerializer binarySerializer;
+    private NotificationDeserializer binaryDeserializer;
+    private JsonSerializer<Notification> jsonSerializer;
+    private JsonDeserializer<Notification> jsonDeserializer;
+    private byte[] binaryPayload;
+    private byte[] jsonPayload;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        notification = Notification.of(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP,
+                "Deposit Completed",
+                "Your deposit of $1,250.00 to account ACC-1029384756 has been completed successfully.",
+                Notification.NotificationPriority.LOW,
+                false,
+                LocalDateTime.now(),
+                null);
+
+        binarySerializer = new NotificationSerializer();
+        binarySerializer.configure(Map.of(), false);
+        binaryDeserializer = new NotificationDeserializer();
+
+        // Same setup KafkaConfig used before the binary format
+        jsonSerializer = new JsonSerializer<>();
+        jsonDeserializer = new JsonDeserializer<>(Notification.class);
+        jsonDeserializer.addTrustedPackages("com.example.demo.domain.notification");
+
+        binaryPayload = binarySerializer.serialize(TOPIC, notification);
+        jsonPayload = jsonSerializer.serialize(TOPIC, notification);
+        System.out.printf("%nbytes/record: binary=%d json=%d%n", binaryPayload.length, jsonPayload.length);
+    }
+
+    @Benchmark
+    public byte[] serializeBinary() {
+        return binarySerializer.serialize(TOPIC, notification);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return jsonSerializer.serialize(TOPIC, notification);
+    }
+
+    @Benchmark
+    public Notification deserializeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binaryPayload);
+    }
+
+    @Benchmark
+    public Notification deserializeJson() {
+        return jsonDeserializer.deserialize(TOPIC, jsonPayload);
+    }
+
+    @Benchmark
+    public Notification deserializeJsonFallback() {
+        return binaryDeserializer.deserialize(TOPIC, jsonPayload);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost of JwtAuthenticationFilter per request, from bearer token to Authentication
+ *
+ * legacy repeats what the filter did before verify(): validateToken plus three getters, each building
+ * the key and parser, five signature checks in all. uncached is verify() with the cache disabled (one
+ * parse), cached is verify() for a token seen before, the common case of a client reusing its token.
+ * Both verify() variants run against a revocation list holding 10,000 unrelated revocations, so the
+ * per-request revocation check is part of what they measure.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "mySecretKeyForJWTTokenGenerationPleaseChangeThisInProductionEnvironment1234567890";
+    private static final long EXPIRATION = 900_000;
+    private static final int REVOCATIONS = 10_000;
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TokenRevocationList revocationList = new TokenRevocationList(new SimpleMeterRegistry());
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < REVOCATIONS; i++) {
+            String key = i % 2 == 0
+                    ? TokenRevocationList.tokenKey(UUID.randomUUID().toString())
+                    : TokenRevocationList.userKey(UUID.randomUUID());
+            revocationList.apply(new TokenRevocationList.Entry(key, now, now + EXPIRATION));
+        }
+        revocationList.rebuild();
+        cachingJwtUtil = new JwtUtil(SECRET, EXPIRATION, 10_000, revocationList, new SimpleMeterRegistry());
+        uncachedJwtUtil = new JwtUtil(SECRET, EXPIRATION, 0, revocationList, new SimpleMeterRegistry());
+        token = cachingJwtUtil.generateToken(UUID.randomUUID(), "jane.doe@example.com", "USER");
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken legacy() {
+        if (!legacyValidate(token)) {
+            return null;
+        }
+        UUID userId = UUID.fromString(legacyClaims(token).getSubject());
+        legacyClaims(token).get("email", String.class);
+        String role = legacyClaims(token).get("role", String.class);
+        return new UsernamePasswordAuthenticationToken(userId.toString(), null,
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken uncached() {
+        return uncachedJwtUtil.verify(token).map(JwtAuthenticationFilter::authenticationFor).orElse(null);
+    }
+
+    @Benchmark
+    public UsernamePasswordAuthenticationToken cached() {
+        return cachingJwtUtil.verify(token).map(JwtAuthenticationFilter::authenticationFor).orElse(null);
+    }
+
+    private static boolean legacyValidate(String token) {
+        try {
+            legacyClaims(token);
+            return !legacyClaims(token).getExpiration().before(new Date());
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
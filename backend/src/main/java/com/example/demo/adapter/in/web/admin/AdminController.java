@@ -3,8 +3,12 @@ package com.example.demo.adapter.in.web.admin;
 import com.example.demo.adapter.in.web.auth.dto.UserResponse;
 import com.example.demo.adapter.in.web.banking.dto.AccountResponse;
 import com.example.demo.adapter.in.web.dto.ApiResponse;
+import com.example.demo.application.messaging.DeadLetterService;
+import com.example.demo.application.ports.in.SessionTokenUseCase;
 import com.example.demo.application.ports.out.AccountRepository;
 import com.example.demo.application.ports.out.UserRepository;
+import com.example.demo.config.datasource.Workload;
+import com.example.demo.config.datasource.WorkloadType;
 import com.example.demo.domain.Account;
 import com.example.demo.domain.User;
 import org.springframework.http.HttpStatus;
@@ -28,16 +32,24 @@ public class AdminController {
 
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
+    private final DeadLetterService deadLetterService;
+    private final SessionTokenUseCase sessionTokenUseCase;
 
-    public AdminController(UserRepository userRepository, AccountRepository accountRepository) {
+    public AdminController(UserRepository userRepository,
+                           AccountRepository accountRepository,
+                           DeadLetterService deadLetterService,
+                           SessionTokenUseCase sessionTokenUseCase) {
         this.userRepository = userRepository;
         this.accountRepository = accountRepository;
+        this.deadLetterService = deadLetterService;
+        this.sessionTokenUseCase = sessionTokenUseCase;
     }
 
     /**
      * GET /api/admin/users - Get all users
      */
     @GetMapping("/users")
+    @Workload(WorkloadType.REPORTING)
     public ResponseEntity<ApiResponse<List<UserResponse>>> getAllUsers() {
         List<UserResponse> users = userRepository.findAll().stream()
                 .map(UserResponse::fromDomain)
@@ -58,6 +70,7 @@ public class AdminController {
 
     /**
      * PUT /api/admin/users/{id}/suspend - Suspend a user
+     * Its access and refresh tokens stop working on every node at once
      */
     @PutMapping("/users/{id}/suspend")
     public ResponseEntity<ApiResponse<UserResponse>> suspendUser(@PathVariable UUID id) {
@@ -65,6 +78,7 @@ public class AdminController {
                 .map(user -> {
                     User suspendedUser = user.suspend();
                     userRepository.update(suspendedUser);
+                    sessionTokenUseCase.revokeUser(id);
                     return ResponseEntity.ok(ApiResponse.success("User suspended successfully", UserResponse.fromDomain(suspendedUser)));
                 })
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -88,6 +102,7 @@ public class AdminController {
 
     /**
      * PUT /api/admin/users/{id}/lock - Lock a user
+     * Its access and refresh tokens stop working on every node at once
      */
     @PutMapping("/users/{id}/lock")
     public ResponseEntity<ApiResponse<UserResponse>> lockUser(@PathVariable UUID id) {
@@ -95,6 +110,7 @@ public class AdminController {
                 .map(user -> {
                     User lockedUser = user.lock();
                     userRepository.update(lockedUser);
+                    sessionTokenUseCase.revokeUser(id);
                     return ResponseEntity.ok(ApiResponse.success("User locked successfully", UserResponse.fromDomain(lockedUser)));
                 })
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -107,6 +123,7 @@ public class AdminController {
     @DeleteMapping("/users/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable UUID id) {
         if (userRepository.deleteById(id)) {
+            sessionTokenUseCase.revokeUser(id);
             return ResponseEntity.ok(ApiResponse.success("User deleted successfully", null));
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND)
@@ -117,6 +134,7 @@ public class AdminController {
      * GET /api/admin/accounts - Get all accounts
      */
     @GetMapping("/accounts")
+    @Workload(WorkloadType.REPORTING)
     public ResponseEntity<ApiResponse<List<AccountResponse>>> getAllAccounts() {
         List<AccountResponse> accounts = accountRepository.findAll().stream()
                 .map(AccountResponse::fromDomain)
@@ -145,4 +163,37 @@ public class AdminController {
                 .collect(Collectors.toList());
         return ResponseEntity.ok(ApiResponse.success("Accounts retrieved successfully", accounts));
     }
+
+    /**
+     * GET /api/admin/dead-letters/{topic} - Most recent dead letters of a source topic
+     */
+    @GetMapping("/dead-letters/{topic}")
+    public ResponseEntity<ApiResponse<List<DeadLetterService.DeadLetter>>> getDeadLetters(
+            @PathVariable String topic,
+            @RequestParam(defaultValue = "50") int limit) {
+        try {
+            List<DeadLetterService.DeadLetter> deadLetters = deadLetterService.list(topic, Math.min(Math.max(limit, 1), 500));
+            return ResponseEntity.ok(ApiResponse.success("Dead letters retrieved successfully", deadLetters));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * POST /api/admin/dead-letters/{topic}/{partition}/{offset}/replay - Republish a dead letter to its source topic
+     */
+    @PostMapping("/dead-letters/{topic}/{partition}/{offset}/replay")
+    public ResponseEntity<ApiResponse<Void>> replayDeadLetter(@PathVariable String topic,
+                                                              @PathVariable int partition,
+                                                              @PathVariable long offset) {
+        try {
+            if (deadLetterService.replay(topic, partition, offset)) {
+                return ResponseEntity.ok(ApiResponse.success("Dead letter replayed successfully", null));
+            }
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error("Dead letter not found"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
 }
@@ -2,13 +2,16 @@ package com.example.demo.adapter.in.web.auth;
 
 import com.example.demo.adapter.in.web.auth.dto.LoginRequest;
 import com.example.demo.adapter.in.web.auth.dto.LoginResponse;
+import com.example.demo.adapter.in.web.auth.dto.RefreshTokenRequest;
 import com.example.demo.adapter.in.web.auth.dto.SignUpRequest;
 import com.example.demo.adapter.in.web.auth.dto.UserResponse;
 import com.example.demo.adapter.in.web.dto.ApiResponse;
 import com.example.demo.application.ports.in.GetCurrentUserUseCase;
 import com.example.demo.application.ports.in.LoginUseCase;
 import com.example.demo.application.ports.in.RegisterUserUseCase;
+import com.example.demo.application.ports.in.SessionTokenUseCase;
 import com.example.demo.application.service.AuditService;
+import com.example.demo.application.service.CredentialVerifier;
 import com.example.demo.application.service.NotificationService;
 import com.example.demo.config.security.JwtUtil;
 import com.example.demo.domain.AuditLog;
@@ -16,10 +19,14 @@ import com.example.demo.domain.User;
 import com.example.demo.domain.notification.Notification;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.time.Instant;
+
 /**
  * Authentication REST Controller
  * Handles user registration, login, and profile operations
@@ -31,6 +38,7 @@ public class AuthController {
     private final RegisterUserUseCase registerUserUseCase;
     private final LoginUseCase loginUseCase;
     private final GetCurrentUserUseCase getCurrentUserUseCase;
+    private final SessionTokenUseCase sessionTokenUseCase;
     private final JwtUtil jwtUtil;
     private final AuditService auditService;
     private final NotificationService notificationService;
@@ -38,12 +46,14 @@ public class AuthController {
     public AuthController(RegisterUserUseCase registerUserUseCase,
                          LoginUseCase loginUseCase,
                          GetCurrentUserUseCase getCurrentUserUseCase,
+                         SessionTokenUseCase sessionTokenUseCase,
                          JwtUtil jwtUtil,
                          AuditService auditService,
                          NotificationService notificationService) {
         this.registerUserUseCase = registerUserUseCase;
         this.loginUseCase = loginUseCase;
         this.getCurrentUserUseCase = getCurrentUserUseCase;
+        this.sessionTokenUseCase = sessionTokenUseCase;
         this.jwtUtil = jwtUtil;
         this.auditService = auditService;
         this.notificationService = notificationService;
@@ -96,7 +106,7 @@ public class AuthController {
     }
 
     /**
-     * POST /api/auth/login - Authenticate user and return JWT token
+     * POST /api/auth/login - Authenticate user and return a short-lived JWT token and a refresh token
      */
     @PostMapping("/login")
     public ResponseEntity<ApiResponse<LoginResponse>> login(@Valid @RequestBody LoginRequest request,
@@ -107,8 +117,8 @@ public class AuthController {
                     request.getPassword()
             );
 
-            // Generate JWT token
-            String token = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+            // Start a session: access token plus refresh token
+            SessionTokenUseCase.TokenPair tokens = sessionTokenUseCase.issue(user);
 
             // Audit log successful login
             auditService.logSuccess(
@@ -137,10 +147,12 @@ public class AuthController {
                 e.printStackTrace();
             }
 
-            // Create response
-            LoginResponse loginResponse = new LoginResponse(token, UserResponse.fromDomain(user));
-
-            return ResponseEntity.ok(ApiResponse.success("Login successful", loginResponse));
+            return ResponseEntity.ok(ApiResponse.success("Login successful", toLoginResponse(tokens)));
+        } catch (CredentialVerifier.SaturatedException e) {
+            // Not a failed login: the password was never checked
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (IllegalArgumentException | IllegalStateException e) {
             // Audit log failed login
             auditService.logFailure(
@@ -159,6 +171,21 @@ public class AuthController {
         }
     }
 
+    /**
+     * POST /api/auth/refresh - Exchange a refresh token for a new access token and refresh token
+     * The presented refresh token is used up; presenting it again ends the session
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<LoginResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        try {
+            SessionTokenUseCase.TokenPair tokens = sessionTokenUseCase.refresh(request.getRefreshToken());
+            return ResponseEntity.ok(ApiResponse.success("Token refreshed", toLoginResponse(tokens)));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * GET /api/auth/me - Get current authenticated user
      * Note: This will require authentication after SecurityConfig is set up
@@ -172,13 +199,13 @@ public class AuthController {
                         .body(ApiResponse.error("No authentication token provided"));
             }
 
-            String token = authHeader.substring(7);
-            if (!jwtUtil.validateToken(token)) {
+            var claims = jwtUtil.verify(authHeader.substring(7));
+            if (claims.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ApiResponse.error("Invalid or expired token"));
             }
 
-            var userId = jwtUtil.getUserIdFromToken(token);
+            var userId = claims.get().userId();
             User user = getCurrentUserUseCase.getCurrentUser(userId);
 
             return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", UserResponse.fromDomain(user)));
@@ -193,11 +220,11 @@ public class AuthController {
 
     /**
      * POST /api/auth/logout - Logout current user
-     * Note: Since we use stateless JWT, this is primarily for audit logging
-     * Actual token invalidation should be handled client-side by discarding the token
+     * Revokes the access token on every node and, when the body carries it, the session's refresh token
      */
     @PostMapping("/logout")
     public ResponseEntity<ApiResponse<Void>> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                                     @RequestBody(required = false) RefreshTokenRequest request,
                                                      HttpServletRequest httpRequest) {
         try {
             if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -205,15 +232,18 @@ public class AuthController {
                         .body(ApiResponse.error("No authentication token provided"));
             }
 
-            String token = authHeader.substring(7);
-            if (!jwtUtil.validateToken(token)) {
+            var claims = jwtUtil.verify(authHeader.substring(7));
+            if (claims.isEmpty()) {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                         .body(ApiResponse.error("Invalid or expired token"));
             }
 
-            var userId = jwtUtil.getUserIdFromToken(token);
+            var userId = claims.get().userId();
             User user = getCurrentUserUseCase.getCurrentUser(userId);
 
+            sessionTokenUseCase.logout(claims.get().tokenId(), claims.get().expiresAt(),
+                    request != null ? request.getRefreshToken() : null);
+
             // Audit log successful logout
             auditService.logSuccess(
                     AuditLog.AuditAction.LOGOUT,
@@ -231,4 +261,10 @@ public class AuthController {
                     .body(ApiResponse.error("Invalid authentication token"));
         }
     }
+
+    private static LoginResponse toLoginResponse(SessionTokenUseCase.TokenPair tokens) {
+        long expiresIn = Math.max(0, Duration.between(Instant.now(), tokens.accessExpiresAt()).toSeconds());
+        return new LoginResponse(tokens.accessToken(), expiresIn, tokens.refreshToken(),
+                UserResponse.fromDomain(tokens.user()));
+    }
 }
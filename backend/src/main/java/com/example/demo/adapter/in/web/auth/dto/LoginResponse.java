@@ -2,14 +2,19 @@ package com.example.demo.adapter.in.web.auth.dto;
 
 /**
  * DTO for login response containing JWT token and user info
+ * token is short-lived; refreshToken renews it through POST /api/auth/refresh
  */
 public class LoginResponse {
     private String token;
     private String type = "Bearer";
+    private long expiresIn;
+    private String refreshToken;
     private UserResponse user;
 
-    public LoginResponse(String token, UserResponse user) {
+    public LoginResponse(String token, long expiresIn, String refreshToken, UserResponse user) {
         this.token = token;
+        this.expiresIn = expiresIn;
+        this.refreshToken = refreshToken;
         this.user = user;
     }
 
@@ -30,6 +35,25 @@ public class LoginResponse {
         this.type = type;
     }
 
+    /**
+     * Seconds until the access token expires
+     */
+    public long getExpiresIn() {
+        return expiresIn;
+    }
+
+    public void setExpiresIn(long expiresIn) {
+        this.expiresIn = expiresIn;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+
     public UserResponse getUser() {
         return user;
     }
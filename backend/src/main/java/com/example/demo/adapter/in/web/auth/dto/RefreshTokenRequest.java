@@ -0,0 +1,21 @@
+package com.example.demo.adapter.in.web.auth.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * DTO for refreshing an access token, and for ending the session on logout
+ */
+public class RefreshTokenRequest {
+
+    @NotBlank(message = "Refresh token is required")
+    private String refreshToken;
+
+    // Getters and Setters
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
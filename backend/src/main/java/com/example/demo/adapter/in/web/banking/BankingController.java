@@ -3,18 +3,29 @@ package com.example.demo.adapter.in.web.banking;
 import com.example.demo.adapter.in.web.banking.dto.*;
 import com.example.demo.adapter.in.web.dto.ApiResponse;
 import com.example.demo.application.ports.in.*;
+import com.example.demo.application.service.StatementJobService;
 import com.example.demo.config.security.SecurityUtil;
 import com.example.demo.domain.Account;
 import com.example.demo.domain.AccountStatement;
 import com.example.demo.domain.CategoryReport;
+import com.example.demo.domain.SpendingWindow;
+import com.example.demo.domain.StatementJob;
 import com.example.demo.domain.Transaction;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -36,6 +47,8 @@ public class BankingController {
     private final GetTransactionHistoryUseCase getTransactionHistoryUseCase;
     private final GenerateAccountStatementUseCase generateAccountStatementUseCase;
     private final GenerateCategoryReportUseCase generateCategoryReportUseCase;
+    private final GetSpendingAggregatesUseCase getSpendingAggregatesUseCase;
+    private final StatementJobUseCase statementJobUseCase;
 
     public BankingController(CreateAccountUseCase createAccountUseCase,
                             GetAccountUseCase getAccountUseCase,
@@ -46,7 +59,9 @@ public class BankingController {
                             TransferUseCase transferUseCase,
                             GetTransactionHistoryUseCase getTransactionHistoryUseCase,
                             GenerateAccountStatementUseCase generateAccountStatementUseCase,
-                            GenerateCategoryReportUseCase generateCategoryReportUseCase) {
+                            GenerateCategoryReportUseCase generateCategoryReportUseCase,
+                            GetSpendingAggregatesUseCase getSpendingAggregatesUseCase,
+                            StatementJobUseCase statementJobUseCase) {
         this.createAccountUseCase = createAccountUseCase;
         this.getAccountUseCase = getAccountUseCase;
         this.updateAccountUseCase = updateAccountUseCase;
@@ -57,6 +72,8 @@ public class BankingController {
         this.getTransactionHistoryUseCase = getTransactionHistoryUseCase;
         this.generateAccountStatementUseCase = generateAccountStatementUseCase;
         this.generateCategoryReportUseCase = generateCategoryReportUseCase;
+        this.getSpendingAggregatesUseCase = getSpendingAggregatesUseCase;
+        this.statementJobUseCase = statementJobUseCase;
     }
 
     @PostMapping("/accounts")
@@ -190,6 +207,9 @@ public class BankingController {
         return ResponseEntity.ok(ApiResponse.success("All transactions retrieved", transactions));
     }
 
+    /**
+     * Statement built within the request; long periods should go through POST /accounts/{id}/statements
+     */
     @GetMapping("/accounts/{id}/statement")
     public ResponseEntity<ApiResponse<AccountStatementResponse>> getAccountStatement(
             @PathVariable UUID id,
@@ -221,4 +241,90 @@ public class BankingController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ApiResponse.error(e.getMessage()));
         }
     }
+
+    /**
+     * Hourly or daily totals of one transaction type, served from the precomputed spending windows
+     */
+    @GetMapping("/accounts/{id}/spending")
+    public ResponseEntity<ApiResponse<List<SpendingWindowResponse>>> getSpending(
+            @PathVariable UUID id,
+            @RequestParam(defaultValue = "WITHDRAWAL") String type,
+            @RequestParam(defaultValue = "DAILY") String granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            Transaction.TransactionType transactionType = Transaction.TransactionType.valueOf(type);
+            SpendingWindow.Granularity windowGranularity = SpendingWindow.Granularity.valueOf(granularity);
+            List<SpendingWindowResponse> windows = getSpendingAggregatesUseCase
+                    .getSpending(id, windowGranularity, from, to).stream()
+                    .map(window -> SpendingWindowResponse.fromDomain(window, transactionType))
+                    .collect(Collectors.toList());
+            return ResponseEntity.ok(ApiResponse.success("Spending retrieved", windows));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Queue a statement to be rendered in the background
+     * Answers 202 with the job; poll GET /statements/{jobId} or wait for the "statement" SSE event
+     */
+    @PostMapping("/accounts/{id}/statements")
+    public ResponseEntity<ApiResponse<StatementJobResponse>> submitStatementJob(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "JSON") String format) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            StatementJob.Format jobFormat;
+            try {
+                jobFormat = StatementJob.Format.valueOf(format.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(ApiResponse.error("Invalid statement format: " + format));
+            }
+            StatementJob job = statementJobUseCase.submit(userId, id, startDate, endDate, jobFormat);
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/banking/statements/" + job.id())
+                    .body(ApiResponse.success("Statement job accepted", StatementJobResponse.fromDomain(job)));
+        } catch (StatementJobService.SaturatedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    @GetMapping("/statements/{jobId}")
+    public ResponseEntity<ApiResponse<StatementJobResponse>> getStatementJob(@PathVariable UUID jobId) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+
+        return statementJobUseCase.getJob(userId, jobId)
+                .map(job -> ResponseEntity.ok(
+                        ApiResponse.success("Statement job found", StatementJobResponse.fromDomain(job))))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Statement job not found")));
+    }
+
+    /**
+     * The rendered statement, streamed from disk
+     */
+    @GetMapping("/statements/{jobId}/download")
+    public ResponseEntity<Resource> downloadStatement(@PathVariable UUID jobId) {
+        UUID userId = SecurityUtil.getCurrentUserId();
+
+        Optional<StatementJob> job = statementJobUseCase.getJob(userId, jobId);
+        Optional<Path> artifact = statementJobUseCase.getArtifact(userId, jobId);
+        if (job.isEmpty() || artifact.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(job.get().format().contentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(job.get().fileName()).build().toString())
+                .body(new FileSystemResource(artifact.get()));
+    }
 }
@@ -0,0 +1,43 @@
+package com.example.demo.adapter.in.web.banking.dto;
+
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.SpendingWindow;
+import com.example.demo.domain.Transaction;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class SpendingWindowResponse {
+    private Instant start;
+    private Instant end;
+    private long count;
+    private BigDecimal amount;
+    private Map<String, BigDecimal> categories;  // Category ID -> amount for the requested type
+
+    public static SpendingWindowResponse fromDomain(SpendingWindow window, Transaction.TransactionType type) {
+        SpendingSummary.Totals totals = window.summary().totals(type);
+        SpendingWindowResponse response = new SpendingWindowResponse();
+        response.start = window.start();
+        response.end = window.end();
+        response.count = totals.count();
+        response.amount = totals.amount();
+        response.categories = new LinkedHashMap<>();
+        window.summary().categoryTotals(type).forEach((categoryId, categoryTotals) ->
+                response.categories.put(categoryId.toString(), categoryTotals.amount()));
+        return response;
+    }
+
+    // Getters and Setters
+    public Instant getStart() { return start; }
+    public void setStart(Instant start) { this.start = start; }
+    public Instant getEnd() { return end; }
+    public void setEnd(Instant end) { this.end = end; }
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+    public Map<String, BigDecimal> getCategories() { return categories; }
+    public void setCategories(Map<String, BigDecimal> categories) { this.categories = categories; }
+}
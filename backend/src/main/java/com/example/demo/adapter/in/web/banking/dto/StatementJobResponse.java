@@ -0,0 +1,67 @@
+package com.example.demo.adapter.in.web.banking.dto;
+
+import com.example.demo.domain.StatementJob;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class StatementJobResponse {
+    private UUID id;
+    private UUID accountId;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private String format;
+    private String status;
+    private Instant createdAt;
+    private Instant completedAt;
+    private Instant expiresAt;
+    private long sizeBytes;
+    private String error;
+    private String downloadUrl;  // Set once the job completed
+
+    public static StatementJobResponse fromDomain(StatementJob job) {
+        StatementJobResponse response = new StatementJobResponse();
+        response.id = job.id();
+        response.accountId = job.accountId();
+        response.startDate = job.startDate();
+        response.endDate = job.endDate();
+        response.format = job.format().name();
+        response.status = job.status().name();
+        response.createdAt = job.createdAt();
+        response.completedAt = job.completedAt();
+        response.expiresAt = job.expiresAt();
+        response.sizeBytes = job.sizeBytes();
+        response.error = job.error();
+        response.downloadUrl = job.status() == StatementJob.Status.COMPLETED
+                ? "/api/banking/statements/" + job.id() + "/download"
+                : null;
+        return response;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public LocalDateTime getStartDate() { return startDate; }
+    public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+    public LocalDateTime getEndDate() { return endDate; }
+    public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+    public String getFormat() { return format; }
+    public void setFormat(String format) { this.format = format; }
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+    public Instant getCompletedAt() { return completedAt; }
+    public void setCompletedAt(Instant completedAt) { this.completedAt = completedAt; }
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+    public String getDownloadUrl() { return downloadUrl; }
+    public void setDownloadUrl(String downloadUrl) { this.downloadUrl = downloadUrl; }
+}
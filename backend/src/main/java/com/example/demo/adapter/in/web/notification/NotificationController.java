@@ -1,20 +1,24 @@
 package com.example.demo.adapter.in.web.notification;
 
 import com.example.demo.adapter.in.web.dto.ApiResponse;
+import com.example.demo.adapter.in.web.notification.dto.CreateAnnouncementRequest;
 import com.example.demo.adapter.in.web.notification.dto.CreateNotificationRequest;
 import com.example.demo.adapter.in.web.notification.dto.NotificationResponse;
+import com.example.demo.application.ports.in.AnnouncementUseCase;
 import com.example.demo.application.ports.in.CreateNotificationUseCase;
 import com.example.demo.application.ports.in.DeleteNotificationUseCase;
 import com.example.demo.application.ports.in.GetNotificationsUseCase;
 import com.example.demo.application.ports.in.MarkNotificationAsReadUseCase;
 import com.example.demo.application.service.SseEmitterService;
 import com.example.demo.config.security.SecurityUtil;
+import com.example.demo.domain.notification.Announcement;
 import com.example.demo.domain.notification.Notification;
 import com.example.demo.domain.notification.Notification.*;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -37,6 +41,7 @@ public class NotificationController {
     private final GetNotificationsUseCase getNotificationsUseCase;
     private final MarkNotificationAsReadUseCase markNotificationAsReadUseCase;
     private final DeleteNotificationUseCase deleteNotificationUseCase;
+    private final AnnouncementUseCase announcementUseCase;
     private final SseEmitterService sseEmitterService;
 
     public NotificationController(
@@ -44,11 +49,13 @@ public class NotificationController {
             GetNotificationsUseCase getNotificationsUseCase,
             MarkNotificationAsReadUseCase markNotificationAsReadUseCase,
             DeleteNotificationUseCase deleteNotificationUseCase,
+            AnnouncementUseCase announcementUseCase,
             SseEmitterService sseEmitterService) {
         this.createNotificationUseCase = createNotificationUseCase;
         this.getNotificationsUseCase = getNotificationsUseCase;
         this.markNotificationAsReadUseCase = markNotificationAsReadUseCase;
         this.deleteNotificationUseCase = deleteNotificationUseCase;
+        this.announcementUseCase = announcementUseCase;
         this.sseEmitterService = sseEmitterService;
     }
 
@@ -160,6 +167,73 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success("Recent notifications retrieved successfully", notifications));
     }
 
+    /**
+     * Publish an announcement to all users
+     * POST /api/notifications/announcements
+     *
+     * Stored once and pushed to every connected user as an "announcement" event.
+     */
+    @PostMapping("/announcements")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<NotificationResponse>> publishAnnouncement(
+            @Valid @RequestBody CreateAnnouncementRequest request) {
+        try {
+            Announcement announcement = announcementUseCase.publishAnnouncement(
+                    request.getTitle(),
+                    request.getMessage(),
+                    NotificationPriority.valueOf(request.getPriority())
+            );
+
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Announcement published successfully",
+                            NotificationResponse.fromAnnouncement(
+                                    new AnnouncementUseCase.AnnouncementView(announcement, null), null)));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
+    /**
+     * Get announcements (last N days) with the current user's read state
+     * GET /api/notifications/announcements?days=30
+     */
+    @GetMapping("/announcements")
+    public ResponseEntity<ApiResponse<Page<NotificationResponse>>> getAnnouncements(
+            @RequestParam(defaultValue = "30") int days,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        UUID userId = SecurityUtil.getCurrentUserId();
+        Pageable pageable = PageRequest.of(page, size);
+
+        Page<NotificationResponse> announcements = announcementUseCase
+                .getAnnouncements(userId, days, pageable)
+                .map(view -> NotificationResponse.fromAnnouncement(view, userId));
+
+        return ResponseEntity.ok(ApiResponse.success("Announcements retrieved successfully", announcements));
+    }
+
+    /**
+     * Mark announcement as read for the current user
+     * PUT /api/notifications/announcements/{id}/read
+     */
+    @PutMapping("/announcements/{id}/read")
+    public ResponseEntity<ApiResponse<NotificationResponse>> markAnnouncementAsRead(@PathVariable UUID id) {
+        try {
+            UUID userId = SecurityUtil.getCurrentUserId();
+            AnnouncementUseCase.AnnouncementView view = announcementUseCase.markAnnouncementAsRead(id, userId);
+
+            return ResponseEntity.ok(ApiResponse.success("Announcement marked as read",
+                    NotificationResponse.fromAnnouncement(view, userId)));
+
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(ApiResponse.error(e.getMessage()));
+        }
+    }
+
     /**
      * Get unread notification count
      * GET /api/notifications/unread-count
@@ -295,17 +369,36 @@ public class NotificationController {
      * - "connected": Initial connection confirmation
      * - "notification": New notification received
      * - "unread-count": Updated unread notification count
+     * - "resync": Missed notifications could not be replayed; refetch them
+     * - "announcement": Announcement published to all users
+     * - "balance": Balance of one of the user's accounts changed (accountId, balance, transactionId)
      * - "heartbeat": Keep-alive heartbeat
+     *
+     * Clients resuming a stream pass the id of the last event they received, in the Last-Event-ID
+     * header (EventSource's own reconnect) or the lastEventId parameter (reconnects opened by the app).
+     *
+     * A node at its connection limit answers 503 with Retry-After; the load balancer should route the
+     * retry elsewhere, as the node also reports itself out of service on /actuator/health.
      */
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter streamNotifications() {
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
         UUID userId = SecurityUtil.getCurrentUserId();
-        SseEmitter emitter = sseEmitterService.createEmitter(userId);
+        String lastEventId = lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam;
+        SseEmitter emitter;
+        try {
+            emitter = sseEmitterService.createEmitter(userId, lastEventId);
+        } catch (SseEmitterService.ConnectionRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(e.getRetryAfterSeconds()))
+                    .build();
+        }
 
         // Send initial unread count
         long unreadCount = getNotificationsUseCase.getUnreadCount(userId);
         sseEmitterService.sendUnreadCountToUser(userId, unreadCount);
 
-        return emitter;
+        return ResponseEntity.ok(emitter);
     }
 }
@@ -0,0 +1,175 @@
+package com.example.demo.adapter.in.web.notification;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Binary frames of the notification WebSocket
+ *
+ * Server to client:
+ * [byte kind][varint seq][varint event id][varint length + UTF-8 event name, only for kind 0][UTF-8 data]
+ *
+ * Client to server:
+ * [byte HELLO][varint last event id, 0 for none][UTF-8 access token]
+ * [byte ACK][varint seq of the last frame processed]
+ *
+ * seq numbers the frames of one connection from 1 and is what the client acknowledges; the event id
+ * is the same id the SSE stream sends, so a client can resume with either. Data is the JSON body the
+ * SSE stream sends, serialized once per event for both transports.
+ */
+public final class NotificationFrameCodec {
+
+    // Server frame kinds; append new events with new codes, never renumber
+    static final int NAMED = 0;
+    static final int CONNECTED = 1;
+    static final int NOTIFICATION = 2;
+    static final int UNREAD_COUNT = 3;
+    static final int HEARTBEAT = 4;
+    static final int RESYNC = 5;
+    static final int ANNOUNCEMENT = 6;
+    static final int BALANCE = 7;
+    static final int STATEMENT = 8;
+
+    // Client frame kinds
+    public static final byte HELLO = 0x10;
+    public static final byte ACK = 0x11;
+
+    /**
+     * Decoded server frame
+     */
+    public record ServerFrame(long seq, long eventId, String event, String data) {
+    }
+
+    /**
+     * Decoded client frame; token is only set for HELLO, value is the last event id (HELLO) or seq (ACK)
+     */
+    public record ClientFrame(byte kind, long value, String token) {
+    }
+
+    private NotificationFrameCodec() {
+    }
+
+    public static byte[] encodeServerFrame(long seq, long eventId, String event, String data) {
+        int kind = kind(event);
+        byte[] name = kind == NAMED ? event.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] payload = data.getBytes(StandardCharsets.UTF_8);
+
+        // Upper bound: kind, two varints of at most 10 bytes, name length varint of at most 5 bytes
+        int capacity = 1 + 20 + (name != null ? 5 + name.length : 0) + payload.length;
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.put((byte) kind);
+        putVarLong(buffer, seq);
+        putVarLong(buffer, eventId);
+        if (name != null) {
+            putVarLong(buffer, name.length);
+            buffer.put(name);
+        }
+        buffer.put(payload);
+        return buffer.position() == capacity ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static ServerFrame decodeServerFrame(ByteBuffer buffer) {
+        try {
+            int kind = buffer.get() & 0xFF;
+            long seq = getVarLong(buffer);
+            long eventId = getVarLong(buffer);
+            String event = kind == NAMED ? getString(buffer, (int) getVarLong(buffer)) : event(kind);
+            String data = getString(buffer, buffer.remaining());
+            return new ServerFrame(seq, eventId, event, data);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated notification frame", e);
+        }
+    }
+
+    public static byte[] encodeHello(long lastEventId, String token) {
+        byte[] tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 10 + tokenBytes.length);
+        buffer.put(HELLO);
+        putVarLong(buffer, lastEventId);
+        buffer.put(tokenBytes);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static byte[] encodeAck(long seq) {
+        ByteBuffer buffer = ByteBuffer.allocate(1 + 10);
+        buffer.put(ACK);
+        putVarLong(buffer, seq);
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static ClientFrame decodeClientFrame(ByteBuffer buffer) {
+        try {
+            byte kind = buffer.get();
+            long value = getVarLong(buffer);
+            return switch (kind) {
+                case HELLO -> new ClientFrame(kind, value, getString(buffer, buffer.remaining()));
+                case ACK -> new ClientFrame(kind, value, null);
+                default -> throw new IllegalArgumentException("Unknown client frame kind: " + kind);
+            };
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated client frame", e);
+        }
+    }
+
+    static int kind(String event) {
+        return switch (event) {
+            case "connected" -> CONNECTED;
+            case "notification" -> NOTIFICATION;
+            case "unread-count" -> UNREAD_COUNT;
+            case "heartbeat" -> HEARTBEAT;
+            case "resync" -> RESYNC;
+            case "announcement" -> ANNOUNCEMENT;
+            case "balance" -> BALANCE;
+            case "statement" -> STATEMENT;
+            default -> NAMED;
+        };
+    }
+
+    static String event(int kind) {
+        return switch (kind) {
+            case CONNECTED -> "connected";
+            case NOTIFICATION -> "notification";
+            case UNREAD_COUNT -> "unread-count";
+            case HEARTBEAT -> "heartbeat";
+            case RESYNC -> "resync";
+            case ANNOUNCEMENT -> "announcement";
+            case BALANCE -> "balance";
+            case STATEMENT -> "statement";
+            default -> throw new IllegalArgumentException("Unknown frame kind: " + kind);
+        };
+    }
+
+    private static String getString(ByteBuffer buffer, int length) {
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.demo.adapter.in.web.notification;
+
+import com.example.demo.application.ports.in.GetNotificationsUseCase;
+import com.example.demo.application.service.SseEmitterService;
+import com.example.demo.config.security.JwtUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Notification stream over WebSocket, next to the SSE endpoint
+ * GET /api/notifications/ws (upgrade)
+ *
+ * The client authenticates in-band: its first frame is a HELLO with the access token and the last
+ * event id it received, so the token never appears in a URL. After that the session gets the same
+ * events as the SSE stream as binary frames (see NotificationFrameCodec) and acknowledges them.
+ */
+@Component
+public class NotificationWebSocketHandler extends BinaryWebSocketHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationWebSocketHandler.class);
+
+    /**
+     * Authenticated session: its channel and the callback that detaches it from the SSE service
+     */
+    private record Subscription(WebSocketNotificationChannel channel, Runnable disconnect) {
+    }
+
+    private final SseEmitterService sseEmitterService;
+    private final GetNotificationsUseCase getNotificationsUseCase;
+    private final JwtUtil jwtUtil;
+    private final MeterRegistry meterRegistry;
+    private final int ackWindow;
+    private final long ackTimeoutMs;
+    private final long helloTimeoutMs;
+
+    private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService helloTimeouts = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "ws-hello-timeout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public NotificationWebSocketHandler(SseEmitterService sseEmitterService,
+                                        GetNotificationsUseCase getNotificationsUseCase,
+                                        JwtUtil jwtUtil,
+                                        MeterRegistry meterRegistry,
+                                        @Value("${notification.websocket.ack-window:32}") int ackWindow,
+                                        @Value("${notification.websocket.ack-timeout-ms:15000}") long ackTimeoutMs,
+                                        @Value("${notification.websocket.hello-timeout-ms:5000}") long helloTimeoutMs) {
+        this.sseEmitterService = sseEmitterService;
+        this.getNotificationsUseCase = getNotificationsUseCase;
+        this.jwtUtil = jwtUtil;
+        this.meterRegistry = meterRegistry;
+        this.ackWindow = ackWindow;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.helloTimeoutMs = helloTimeoutMs;
+
+        Gauge.builder("notification.websocket.sessions", subscriptions, Map::size)
+                .description("Authenticated notification WebSocket sessions")
+                .register(meterRegistry);
+        Gauge.builder("notification.websocket.unacked", subscriptions, map -> map.values().stream()
+                        .mapToLong(subscription -> subscription.channel().unacked()).sum())
+                .description("Notification WebSocket frames sent and not yet acknowledged")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        helloTimeouts.schedule(() -> {
+            if (session.isOpen() && !subscriptions.containsKey(session.getId())) {
+                reject(session, "hello_timeout");
+            }
+        }, helloTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+        NotificationFrameCodec.ClientFrame frame;
+        try {
+            frame = NotificationFrameCodec.decodeClientFrame(message.getPayload());
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed notification WebSocket frame: session={}, error={}", session.getId(), e.getMessage());
+            reject(session, "malformed");
+            return;
+        }
+
+        Subscription subscription = subscriptions.get(session.getId());
+        if (frame.kind() == NotificationFrameCodec.ACK && subscription != null) {
+            subscription.channel().ack(frame.value());
+        } else if (frame.kind() == NotificationFrameCodec.HELLO && subscription == null) {
+            subscribe(session, frame.token(), frame.value());
+        } else {
+            reject(session, "unexpected_frame");
+        }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        Subscription subscription = subscriptions.remove(session.getId());
+        if (subscription != null) {
+            subscription.disconnect().run();
+            log.debug("Notification WebSocket closed: session={}, status={}", session.getId(), status);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.debug("Notification WebSocket transport error: session={}, error={}", session.getId(), exception.getMessage());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        helloTimeouts.shutdownNow();
+    }
+
+    private void subscribe(WebSocketSession session, String token, long lastEventId) {
+        Optional<JwtUtil.VerifiedClaims> claims = jwtUtil.verify(token);
+        if (claims.isEmpty()) {
+            reject(session, "invalid_token");
+            return;
+        }
+        UUID userId = claims.get().userId();
+
+        WebSocketNotificationChannel channel = new WebSocketNotificationChannel(session, ackWindow, ackTimeoutMs);
+        Runnable disconnect;
+        try {
+            disconnect = sseEmitterService.connect(userId, lastEventId > 0 ? Long.toString(lastEventId) : null, channel);
+        } catch (SseEmitterService.ConnectionRejectedException e) {
+            // 1013 Try Again Later; the reason carries the delay since close frames have no headers
+            meterRegistry.counter("notification.websocket.rejected", "reason", "node_full").increment();
+            close(session, CloseStatus.SERVICE_OVERLOAD.withReason("retry-after=" + e.getRetryAfterSeconds()));
+            return;
+        }
+        subscriptions.put(session.getId(), new Subscription(channel, disconnect));
+        if (!session.isOpen()) {
+            // Closed while subscribing; afterConnectionClosed may have missed the subscription
+            afterConnectionClosed(session, CloseStatus.NORMAL);
+            return;
+        }
+
+        // Send initial unread count
+        sseEmitterService.sendUnreadCountToUser(userId, getNotificationsUseCase.getUnreadCount(userId));
+        log.info("Notification WebSocket subscribed: userId={}, session={}", userId, session.getId());
+    }
+
+    private void reject(WebSocketSession session, String reason) {
+        meterRegistry.counter("notification.websocket.rejected", "reason", reason).increment();
+        close(session, CloseStatus.POLICY_VIOLATION.withReason(reason));
+    }
+
+    private static void close(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            // Already gone
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.adapter.in.web.notification;
+
+import com.example.demo.application.service.SseEmitterService;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Push channel over one WebSocket session with an acknowledgement window
+ *
+ * At most ackWindow frames may be sent and not yet acknowledged. A send beyond that waits for the
+ * client's ack, so frames for a slow client stay in its bounded queue, where unread counts and
+ * heartbeats collapse into the latest one and an overflow evicts the connection. A client that does
+ * not ack within the timeout is disconnected.
+ */
+final class WebSocketNotificationChannel implements SseEmitterService.Channel {
+
+    private final WebSocketSession session;
+    private final int ackWindow;
+    private final long ackTimeoutNanos;
+
+    // A lock rather than synchronized: senders wait on it from virtual threads
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition acknowledged = lock.newCondition();
+    private long sent;      // Guarded by lock
+    private long acked;     // Guarded by lock
+    private boolean closed; // Guarded by lock
+
+    WebSocketNotificationChannel(WebSocketSession session, int ackWindow, long ackTimeoutMs) {
+        this.session = session;
+        this.ackWindow = ackWindow;
+        this.ackTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+    }
+
+    @Override
+    public void send(long id, String event, String data) throws IOException {
+        long seq;
+        lock.lock();
+        try {
+            long remaining = ackTimeoutNanos;
+            while (!closed && sent - acked >= ackWindow) {
+                if (remaining <= 0) {
+                    throw new IOException("No ack for " + (sent - acked) + " frames");
+                }
+                remaining = acknowledged.awaitNanos(remaining);
+            }
+            if (closed) {
+                throw new IOException("WebSocket closed");
+            }
+            seq = ++sent;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted waiting for ack", e);
+        } finally {
+            lock.unlock();
+        }
+        session.sendMessage(new BinaryMessage(NotificationFrameCodec.encodeServerFrame(seq, id, event, data)));
+    }
+
+    /**
+     * Client processed every frame up to seq
+     */
+    void ack(long seq) {
+        lock.lock();
+        try {
+            if (seq > acked && seq <= sent) {
+                acked = seq;
+                acknowledged.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Frames sent and not yet acknowledged
+     */
+    long unacked() {
+        lock.lock();
+        try {
+            return sent - acked;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            closed = true;
+            acknowledged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (session.isOpen()) {
+                session.close(CloseStatus.GOING_AWAY);
+            }
+        } catch (IOException e) {
+            // Already gone
+        }
+    }
+}
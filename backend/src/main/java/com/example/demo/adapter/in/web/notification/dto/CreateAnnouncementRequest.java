@@ -0,0 +1,55 @@
+package com.example.demo.adapter.in.web.notification.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * DTO for publishing an announcement to all users
+ */
+public class CreateAnnouncementRequest {
+
+    @NotBlank(message = "Title is required")
+    @Size(max = 200, message = "Title must be at most 200 characters")
+    private String title;
+
+    @NotBlank(message = "Message is required")
+    @Size(max = 1000, message = "Message must be at most 1000 characters")
+    private String message;
+
+    @NotBlank(message = "Priority is required")
+    private String priority; // LOW, MEDIUM, HIGH, URGENT
+
+    public CreateAnnouncementRequest() {
+    }
+
+    public CreateAnnouncementRequest(String title, String message, String priority) {
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+    }
+
+    // Getters and Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.adapter.in.web.notification.dto;
 
+import com.example.demo.application.ports.in.AnnouncementUseCase.AnnouncementView;
+import com.example.demo.domain.notification.Announcement;
 import com.example.demo.domain.notification.Notification;
 import com.example.demo.domain.notification.Notification.*;
 
@@ -58,6 +60,25 @@ public class NotificationResponse {
         );
     }
 
+    /**
+     * Convert an announcement, with the given user's read state, to response DTO
+     */
+    public static NotificationResponse fromAnnouncement(AnnouncementView view, UUID userId) {
+        Announcement announcement = view.announcement();
+        return new NotificationResponse(
+                announcement.id(),
+                userId,
+                NotificationType.SYSTEM_ANNOUNCEMENT.name(),
+                NotificationChannel.IN_APP.name(),
+                announcement.title(),
+                announcement.message(),
+                announcement.priority().name(),
+                view.read(),
+                announcement.createdAt(),
+                view.readAt()
+        );
+    }
+
     // Getters and Setters
     public UUID getId() {
         return id;
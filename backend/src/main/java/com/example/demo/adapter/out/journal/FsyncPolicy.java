@@ -0,0 +1,25 @@
+package com.example.demo.adapter.out.journal;
+
+/**
+ * Durability policy for memory-mapped journal appends
+ * Controls when dirty pages of the active segment are forced to disk
+ */
+public enum FsyncPolicy {
+
+    /**
+     * Force after every append (slowest, no loss on power failure)
+     */
+    ALWAYS,
+
+    /**
+     * Force once enough bytes have accumulated or when flush() is called on a timer
+     * Groups many appends into a single fsync
+     */
+    GROUP_COMMIT,
+
+    /**
+     * Never force explicitly, leave write-back to the operating system
+     * Survives process crashes but not power loss
+     */
+    NONE
+}
@@ -0,0 +1,371 @@
+package com.example.demo.adapter.out.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.LongConsumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only journal made of fixed-size, memory-mapped segment files
+ *
+ * Segment layout: a 16 byte header (magic, version, segment id) followed by records of
+ * [int length][int crc32c][payload]. A zero length marks the end of written data, so a
+ * segment is pre-allocated once and appends are plain memory writes. When a record does
+ * not fit, the active segment is forced, sealed and a new one is opened.
+ *
+ * Appends are serialized by the journal; readers map segments read-only and never block writers.
+ */
+public class SegmentedJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SegmentedJournal.class);
+
+    private static final int SEGMENT_MAGIC = 0x4A524E4C; // "JRNL"
+    private static final short FORMAT_VERSION = 1;
+    public static final int HEADER_SIZE = 16;
+    public static final int RECORD_OVERHEAD = 8;
+
+    private final Path directory;
+    private final String prefix;
+    private final Pattern segmentPattern;
+    private final int segmentSize;
+    private final FsyncPolicy fsyncPolicy;
+    private final int groupCommitBytes;
+    private final NavigableSet<Long> sealedSegments = new ConcurrentSkipListSet<>();
+
+    private LongConsumer sealListener = segmentId -> { };
+
+    private FileChannel activeChannel;
+    private MappedByteBuffer activeBuffer;
+    private long activeSegmentId;
+    private long activeOpenedAt;
+    private volatile int writePosition;
+    private int forcedPosition;
+    private boolean closed;
+
+    /**
+     * Position of a record inside the journal
+     */
+    public record Position(long segmentId, int offset) {
+    }
+
+    /**
+     * Callback for sequential reads; return false to stop reading
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        boolean visit(long segmentId, int offset, ByteBuffer payload);
+    }
+
+    public SegmentedJournal(Path directory, String prefix, int segmentSize,
+                            FsyncPolicy fsyncPolicy, int groupCommitBytes) {
+        if (segmentSize <= HEADER_SIZE + RECORD_OVERHEAD) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.prefix = prefix;
+        this.segmentPattern = Pattern.compile(Pattern.quote(prefix) + "-(\\d{20})\\.seg");
+        this.segmentSize = segmentSize;
+        this.fsyncPolicy = fsyncPolicy;
+        this.groupCommitBytes = groupCommitBytes;
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open journal in " + directory, e);
+        }
+    }
+
+    /**
+     * Register a callback invoked (under the append lock) after a segment is sealed
+     */
+    public void setSealListener(LongConsumer sealListener) {
+        this.sealListener = sealListener;
+    }
+
+    /**
+     * Append a record and apply the configured fsync policy
+     */
+    public synchronized Position append(ByteBuffer payload) {
+        ensureOpen();
+        int length = payload.remaining();
+        int required = RECORD_OVERHEAD + length;
+        if (required > segmentSize - HEADER_SIZE) {
+            throw new IllegalArgumentException("Record of " + length + " bytes exceeds segment capacity");
+        }
+        if (writePosition + required > activeBuffer.capacity()) {
+            roll();
+        }
+
+        int offset = writePosition;
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+
+        activeBuffer.put(offset + RECORD_OVERHEAD, payload, payload.position(), length);
+        activeBuffer.putInt(offset + 4, (int) crc.getValue());
+        // Length is written last so a torn record is never visible to readers or recovery
+        activeBuffer.putInt(offset, length);
+        writePosition = offset + required;
+
+        if (fsyncPolicy == FsyncPolicy.ALWAYS
+                || (fsyncPolicy == FsyncPolicy.GROUP_COMMIT && writePosition - forcedPosition >= groupCommitBytes)) {
+            force();
+        }
+        return new Position(activeSegmentId, offset);
+    }
+
+    public Position append(byte[] payload) {
+        return append(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Force dirty pages of the active segment (group commit tick)
+     */
+    public synchronized void flush() {
+        if (!closed && fsyncPolicy != FsyncPolicy.NONE) {
+            force();
+        }
+    }
+
+    /**
+     * Seal the active segment and open the next one
+     */
+    public synchronized void roll() {
+        ensureOpen();
+        long sealedId = activeSegmentId;
+        sealActive();
+        try {
+            openSegment(sealedId + 1, true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open journal segment " + (sealedId + 1), e);
+        }
+        sealListener.accept(sealedId);
+    }
+
+    /**
+     * Roll the active segment if it holds data and is older than the given age
+     */
+    public synchronized boolean rollIfOlderThan(long maxAgeMillis) {
+        if (closed || writePosition == HEADER_SIZE) {
+            return false;
+        }
+        if (System.currentTimeMillis() - activeOpenedAt < maxAgeMillis) {
+            return false;
+        }
+        roll();
+        return true;
+    }
+
+    /**
+     * Read records of a segment sequentially, starting at the given offset
+     * Stops at the end of written data or at the first corrupt record
+     *
+     * @return offset just past the last record visited
+     */
+    public int read(long segmentId, int fromOffset, RecordVisitor visitor) {
+        int limit;
+        Path path = segmentPath(segmentId);
+        synchronized (this) {
+            limit = segmentId == activeSegmentId ? writePosition : -1;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int end = limit >= 0 ? limit : buffer.capacity();
+            return scan(buffer, Math.max(fromOffset, HEADER_SIZE), end, segmentId, visitor);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read journal segment " + path, e);
+        }
+    }
+
+    /**
+     * Ids of sealed segments in append order
+     */
+    public List<Long> sealedSegmentIds() {
+        return new ArrayList<>(sealedSegments);
+    }
+
+    public synchronized long activeSegmentId() {
+        return activeSegmentId;
+    }
+
+    /**
+     * Bytes written to the active segment, including its header
+     */
+    public int activeWritePosition() {
+        return writePosition;
+    }
+
+    public Path segmentPath(long segmentId) {
+        return directory.resolve(String.format("%s-%020d.seg", prefix, segmentId));
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Move a sealed segment out of the journal (e.g. after it has been shipped)
+     */
+    public Path archive(long segmentId, Path archiveDirectory) {
+        if (!sealedSegments.remove(segmentId)) {
+            throw new IllegalStateException("Segment " + segmentId + " is not sealed");
+        }
+        try {
+            Files.createDirectories(archiveDirectory);
+            Path source = segmentPath(segmentId);
+            return Files.move(source, archiveDirectory.resolve(source.getFileName()),
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to archive journal segment " + segmentId, e);
+        }
+    }
+
+    /**
+     * Delete a sealed segment
+     */
+    public void delete(long segmentId) {
+        if (!sealedSegments.remove(segmentId)) {
+            throw new IllegalStateException("Segment " + segmentId + " is not sealed");
+        }
+        try {
+            Files.deleteIfExists(segmentPath(segmentId));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete journal segment " + segmentId, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        if (fsyncPolicy != FsyncPolicy.NONE) {
+            force();
+        }
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close journal segment {}: {}", activeSegmentId, e.getMessage());
+        }
+        activeBuffer = null;
+        closed = true;
+    }
+
+    private void force() {
+        if (writePosition > forcedPosition) {
+            activeBuffer.force(forcedPosition, writePosition - forcedPosition);
+            forcedPosition = writePosition;
+        }
+    }
+
+    private void sealActive() {
+        activeBuffer.force();
+        forcedPosition = writePosition;
+        try {
+            activeChannel.close();
+        } catch (IOException e) {
+            log.warn("Failed to close sealed journal segment {}: {}", activeSegmentId, e.getMessage());
+        }
+        sealedSegments.add(activeSegmentId);
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                Matcher matcher = segmentPattern.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    ids.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        }
+        ids.sort(Long::compare);
+
+        if (ids.isEmpty()) {
+            openSegment(1, true);
+            return;
+        }
+        for (int i = 0; i < ids.size() - 1; i++) {
+            sealedSegments.add(ids.get(i));
+        }
+        openSegment(ids.get(ids.size() - 1), false);
+        log.info("Journal '{}' recovered: {} sealed segments, active segment {} at offset {}",
+                prefix, sealedSegments.size(), activeSegmentId, writePosition);
+    }
+
+    private void openSegment(long segmentId, boolean create) throws IOException {
+        Path path = segmentPath(segmentId);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        long size = create ? segmentSize : Math.max(channel.size(), HEADER_SIZE + RECORD_OVERHEAD);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+
+        if (create || buffer.getInt(0) != SEGMENT_MAGIC) {
+            buffer.putInt(0, SEGMENT_MAGIC);
+            buffer.putShort(4, FORMAT_VERSION);
+            buffer.putShort(6, (short) 0);
+            buffer.putLong(8, segmentId);
+            buffer.force(0, HEADER_SIZE);
+            writePosition = HEADER_SIZE;
+        } else {
+            writePosition = scan(buffer, HEADER_SIZE, buffer.capacity(), segmentId, (id, offset, payload) -> true);
+            // Zero any torn tail so the next append starts from a clean end marker
+            for (int i = writePosition; i < Math.min(writePosition + RECORD_OVERHEAD, buffer.capacity()); i++) {
+                buffer.put(i, (byte) 0);
+            }
+        }
+
+        activeChannel = channel;
+        activeBuffer = buffer;
+        activeSegmentId = segmentId;
+        activeOpenedAt = System.currentTimeMillis();
+        forcedPosition = writePosition;
+    }
+
+    private static int scan(ByteBuffer buffer, int from, int end, long segmentId, RecordVisitor visitor) {
+        int position = from;
+        CRC32C crc = new CRC32C();
+        while (position + RECORD_OVERHEAD <= end) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > end) {
+                break;
+            }
+            ByteBuffer payload = buffer.slice(position + RECORD_OVERHEAD, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Corrupt journal record in segment {} at offset {}, stopping scan", segmentId, position);
+                break;
+            }
+            int next = position + RECORD_OVERHEAD + length;
+            if (!visitor.visit(segmentId, position, payload.asReadOnlyBuffer())) {
+                return next;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+    }
+}
@@ -0,0 +1,388 @@
+package com.example.demo.adapter.out.journal.audit;
+
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.domain.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash-chained audit journal on top of a SegmentedJournal
+ *
+ * Record payload: [long sequence][long timestamp millis][body][32 byte chain hash]
+ * where hash(n) = SHA-256(hash(n-1) || sequence || timestamp || body). Any edit, removal or
+ * reordering of records breaks the chain from that point on.
+ *
+ * A sparse in-memory index per segment (running max timestamp -> offset, one entry every
+ * indexInterval records) narrows time-range scans to the relevant part of each segment.
+ *
+ * Before a shipped segment leaves the journal, its last sequence and hash are written to a checkpoint
+ * file. The chain continues from the checkpoint once every segment has been archived, and verify()
+ * anchors the first retained record on it, so removed or edited old segments are detected.
+ */
+public class AuditJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournal.class);
+
+    static final int HASH_SIZE = 32;
+    static final String CHECKPOINT_FILE = "audit.checkpoint";
+    private static final int CHECKPOINT_MAGIC = 0x41434B50; // "ACKP"
+    private static final int FRAME_PREFIX = 16;
+    // Records are appended by many threads, so timestamps are only roughly ordered
+    private static final long CLOCK_SKEW_MILLIS = 5_000L;
+
+    private final SegmentedJournal journal;
+    private final int indexInterval;
+    private final Map<Long, SegmentIndex> indexes = new ConcurrentHashMap<>();
+    private final MessageDigest digest;
+    private final Path checkpointPath;
+
+    private byte[] lastHash = new byte[HASH_SIZE];
+    private long lastSequence;
+    private volatile Checkpoint checkpoint;
+
+    /**
+     * A decoded journal entry
+     */
+    public record Entry(long sequence, AuditLog auditLog, byte[] chainHash) {
+    }
+
+    /**
+     * Outcome of a chain verification
+     */
+    public record VerificationResult(boolean valid, long recordsChecked, long firstBrokenSequence) {
+    }
+
+    /**
+     * Last record of the newest archived segment; sequence 0 and a zero hash before any archive
+     */
+    record Checkpoint(long sequence, byte[] hash) {
+    }
+
+    public AuditJournal(SegmentedJournal journal, int indexInterval) {
+        this.journal = journal;
+        this.indexInterval = indexInterval;
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        this.checkpointPath = journal.directory().resolve(CHECKPOINT_FILE);
+        this.checkpoint = readCheckpoint();
+        this.lastSequence = checkpoint.sequence();
+        this.lastHash = Arrays.copyOf(checkpoint.hash(), HASH_SIZE);
+        rebuildIndexes();
+    }
+
+    /**
+     * Append an audit record and extend the hash chain
+     *
+     * @return sequence number assigned to the record
+     */
+    public synchronized long append(AuditLog auditLog) {
+        byte[] body = AuditRecordCodec.encodeBody(auditLog);
+        long sequence = lastSequence + 1;
+        long timestamp = AuditRecordCodec.toEpochMillis(auditLog.getTimestamp());
+
+        ByteBuffer frame = ByteBuffer.allocate(FRAME_PREFIX + body.length + HASH_SIZE);
+        frame.putLong(sequence).putLong(timestamp).put(body);
+        byte[] hash = chainHash(lastHash, frame.array(), FRAME_PREFIX + body.length);
+        frame.put(hash).flip();
+
+        SegmentedJournal.Position position = journal.append(frame);
+        indexes.computeIfAbsent(position.segmentId(), SegmentIndex::new)
+                .record(sequence, timestamp, position.offset(), indexInterval);
+
+        lastSequence = sequence;
+        lastHash = hash;
+        return sequence;
+    }
+
+    /**
+     * Read all journaled records whose timestamp falls inside the range (inclusive)
+     */
+    public List<AuditLog> readRange(LocalDateTime start, LocalDateTime end) {
+        return readRangeEntries(start, end).stream().map(Entry::auditLog).toList();
+    }
+
+    /**
+     * Like readRange, keeping the sequence of each record
+     */
+    public List<Entry> readRangeEntries(LocalDateTime start, LocalDateTime end) {
+        long from = AuditRecordCodec.toEpochMillis(start);
+        long to = AuditRecordCodec.toEpochMillis(end);
+        List<Entry> result = new ArrayList<>();
+
+        for (long segmentId : segmentIds()) {
+            SegmentIndex index = indexes.get(segmentId);
+            if (index == null || index.maxTimestamp < from || index.minTimestamp > to) {
+                continue;
+            }
+            journal.read(segmentId, index.floorOffset(from), (id, offset, payload) -> {
+                long timestamp = payload.getLong(8);
+                if (timestamp > to + CLOCK_SKEW_MILLIS) {
+                    return false;
+                }
+                if (timestamp >= from && timestamp <= to) {
+                    result.add(decode(payload));
+                }
+                return true;
+            });
+        }
+        return result;
+    }
+
+    /**
+     * Read every record of a segment in append order
+     */
+    public List<Entry> readSegment(long segmentId) {
+        List<Entry> entries = new ArrayList<>();
+        journal.read(segmentId, 0, (id, offset, payload) -> entries.add(decode(payload)));
+        return entries;
+    }
+
+    /**
+     * Recompute the hash chain over every retained record, starting from the checkpoint
+     * The first retained record must follow the checkpoint; a gap means records were removed
+     */
+    public VerificationResult verify() {
+        Checkpoint anchor = checkpoint;
+        byte[][] previous = {anchor.hash()};
+        long[] previousSequence = {anchor.sequence()};
+        long[] checked = {0};
+        long[] broken = {-1};
+
+        for (long segmentId : segmentIds()) {
+            journal.read(segmentId, 0, (id, offset, payload) -> {
+                long sequence = payload.getLong(0);
+                int hashOffset = payload.limit() - HASH_SIZE;
+                byte[] stored = new byte[HASH_SIZE];
+                payload.get(hashOffset, stored);
+
+                if (sequence <= anchor.sequence()) {
+                    // Checkpointed but not archived yet (crash between the two); must end on the checkpoint
+                    if (sequence == anchor.sequence() && !MessageDigest.isEqual(stored, anchor.hash())) {
+                        broken[0] = sequence;
+                        return false;
+                    }
+                    return true;
+                }
+
+                byte[] frame = new byte[hashOffset];
+                payload.get(0, frame);
+                if (sequence != previousSequence[0] + 1
+                        || !MessageDigest.isEqual(chainHash(previous[0], frame, frame.length), stored)) {
+                    broken[0] = sequence;
+                    return false;
+                }
+                previous[0] = stored;
+                previousSequence[0] = sequence;
+                checked[0]++;
+                return true;
+            });
+            if (broken[0] >= 0) {
+                break;
+            }
+        }
+        return new VerificationResult(broken[0] < 0, checked[0], broken[0]);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public synchronized byte[] lastHash() {
+        return Arrays.copyOf(lastHash, HASH_SIZE);
+    }
+
+    /**
+     * Sealed segments that are ready to be shipped
+     */
+    public List<Long> sealedSegmentIds() {
+        return journal.sealedSegmentIds();
+    }
+
+    public void flush() {
+        journal.flush();
+    }
+
+    public boolean rollIfOlderThan(long maxAgeMillis) {
+        return journal.rollIfOlderThan(maxAgeMillis);
+    }
+
+    /**
+     * Remove a shipped segment from the journal and its index
+     * The segment's last record becomes the checkpoint first, so the chain survives its removal
+     */
+    public synchronized void archive(long segmentId, Path archiveDirectory) {
+        long[] sequence = {-1};
+        byte[] hash = new byte[HASH_SIZE];
+        journal.read(segmentId, 0, (id, offset, payload) -> {
+            sequence[0] = payload.getLong(0);
+            payload.get(payload.limit() - HASH_SIZE, hash);
+            return true;
+        });
+        if (sequence[0] > checkpoint.sequence()) {
+            writeCheckpoint(new Checkpoint(sequence[0], hash));
+        }
+        journal.archive(segmentId, archiveDirectory);
+        indexes.remove(segmentId);
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private List<Long> segmentIds() {
+        List<Long> ids = journal.sealedSegmentIds();
+        ids.add(journal.activeSegmentId());
+        return ids;
+    }
+
+    private Entry decode(ByteBuffer payload) {
+        long sequence = payload.getLong(0);
+        long timestamp = payload.getLong(8);
+        int hashOffset = payload.limit() - HASH_SIZE;
+        AuditLog auditLog = AuditRecordCodec.decodeBody(payload.slice(FRAME_PREFIX, hashOffset - FRAME_PREFIX), timestamp);
+        byte[] hash = new byte[HASH_SIZE];
+        payload.get(hashOffset, hash);
+        return new Entry(sequence, auditLog, hash);
+    }
+
+    private byte[] chainHash(byte[] previous, byte[] frame, int length) {
+        synchronized (digest) {
+            digest.reset();
+            digest.update(previous);
+            digest.update(frame, 0, length);
+            return digest.digest();
+        }
+    }
+
+    private Checkpoint readCheckpoint() {
+        if (!Files.exists(checkpointPath)) {
+            return new Checkpoint(0, new byte[HASH_SIZE]);
+        }
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(checkpointPath));
+            if (buffer.remaining() != 4 + 8 + HASH_SIZE || buffer.getInt() != CHECKPOINT_MAGIC) {
+                throw new IllegalStateException("Audit journal checkpoint is corrupt: " + checkpointPath);
+            }
+            long sequence = buffer.getLong();
+            byte[] hash = new byte[HASH_SIZE];
+            buffer.get(hash);
+            return new Checkpoint(sequence, hash);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read audit journal checkpoint " + checkpointPath, e);
+        }
+    }
+
+    /**
+     * Replace the checkpoint atomically and durably
+     */
+    private void writeCheckpoint(Checkpoint next) {
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + HASH_SIZE)
+                .putInt(CHECKPOINT_MAGIC).putLong(next.sequence()).put(next.hash());
+        buffer.flip();
+        Path temp = checkpointPath.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write audit journal checkpoint " + temp, e);
+        }
+        try {
+            Files.move(temp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replace audit journal checkpoint " + checkpointPath, e);
+        }
+        checkpoint = next;
+    }
+
+    private void rebuildIndexes() {
+        for (long segmentId : segmentIds()) {
+            SegmentIndex index = new SegmentIndex(segmentId);
+            journal.read(segmentId, 0, (id, offset, payload) -> {
+                long sequence = payload.getLong(0);
+                index.record(sequence, payload.getLong(8), offset, indexInterval);
+                if (sequence > lastSequence) {
+                    lastSequence = sequence;
+                    payload.get(payload.limit() - HASH_SIZE, lastHash);
+                }
+                return true;
+            });
+            if (index.count > 0) {
+                indexes.put(segmentId, index);
+            }
+        }
+        log.info("Audit journal opened: lastSequence={}, checkpointSequence={}, indexedSegments={}",
+                lastSequence, checkpoint.sequence(), indexes.size());
+    }
+
+    /**
+     * Sparse time index for one segment
+     * Entries hold the running maximum timestamp, so every record before an entry whose
+     * running max is below the lookup time is known to be older than that time
+     */
+    static final class SegmentIndex {
+        private final long segmentId;
+        private final List<long[]> entries = new ArrayList<>();
+        private volatile long minTimestamp = Long.MAX_VALUE;
+        private volatile long maxTimestamp = Long.MIN_VALUE;
+        private long count;
+
+        SegmentIndex(long segmentId) {
+            this.segmentId = segmentId;
+        }
+
+        synchronized void record(long sequence, long timestamp, int offset, int interval) {
+            if (count % interval == 0) {
+                entries.add(new long[]{Math.max(maxTimestamp, timestamp), offset});
+            }
+            minTimestamp = Math.min(minTimestamp, timestamp);
+            maxTimestamp = Math.max(maxTimestamp, timestamp);
+            count++;
+        }
+
+        synchronized int floorOffset(long timestamp) {
+            int low = 0;
+            int high = entries.size() - 1;
+            int result = 0;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (entries.get(mid)[0] < timestamp - CLOCK_SKEW_MILLIS) {
+                    result = (int) entries.get(mid)[1];
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "SegmentIndex{segment=" + segmentId + ", records=" + count + "}";
+        }
+    }
+}
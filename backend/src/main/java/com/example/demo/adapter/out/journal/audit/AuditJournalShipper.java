@@ -0,0 +1,199 @@
+package com.example.demo.adapter.out.journal.audit;
+
+import com.example.demo.config.datasource.Workload;
+import com.example.demo.config.datasource.WorkloadType;
+import com.example.demo.domain.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Background shipper that bulk-loads sealed audit journal segments into the audit_logs table
+ *
+ * Each sealed segment is inserted with JDBC batches in a single transaction and then moved to the
+ * archive directory, where it is kept for the retention period as tamper evidence.
+ * Rows carry their journal sequence and chain hash; a segment re-shipped after a crash between
+ * commit and archive skips the sequences already in the table.
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class AuditJournalShipper {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditJournalShipper.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (user_id, username, action, entity_type, " +
+            "entity_id, details, ip_address, user_agent, status, failure_reason, timestamp, journal_sequence, " +
+            "chain_hash) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SHIPPED_SQL =
+            "SELECT journal_sequence FROM audit_logs WHERE journal_sequence BETWEEN ? AND ?";
+
+    private final AuditJournal auditJournal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter recordsShipped;
+    private final Timer shipTimer;
+
+    @Value("${audit.journal.ship-batch-size:500}")
+    private int batchSize;
+
+    @Value("${audit.journal.max-segment-age-ms:60000}")
+    private long maxSegmentAgeMillis;
+
+    @Value("${audit.journal.archive-directory:./data/audit-journal/archive}")
+    private String archiveDirectory;
+
+    @Value("${audit.journal.archive-retention-days:30}")
+    private int archiveRetentionDays;
+
+    public AuditJournalShipper(AuditJournal auditJournal,
+                               JdbcTemplate jdbcTemplate,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry meterRegistry) {
+        this.auditJournal = auditJournal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.recordsShipped = Counter.builder("audit.journal.shipped")
+                .description("Audit records bulk-loaded from the journal into the database")
+                .register(meterRegistry);
+        this.shipTimer = Timer.builder("audit.journal.ship.duration")
+                .description("Time to ship one sealed audit journal segment")
+                .register(meterRegistry);
+        Gauge.builder("audit.journal.segments.pending", auditJournal, j -> j.sealedSegmentIds().size())
+                .description("Sealed audit journal segments waiting to be shipped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Group-commit tick: force appended records to disk
+     */
+    @Scheduled(fixedDelayString = "${audit.journal.group-commit-interval-ms:50}")
+    public void flush() {
+        auditJournal.flush();
+    }
+
+    /**
+     * Seal idle segments and ship every sealed segment to the database
+     */
+    @Scheduled(fixedDelayString = "${audit.journal.ship-interval-ms:5000}")
+    @Workload(WorkloadType.BACKGROUND)
+    public void ship() {
+        auditJournal.rollIfOlderThan(maxSegmentAgeMillis);
+
+        for (long segmentId : auditJournal.sealedSegmentIds()) {
+            try {
+                shipTimer.record(() -> shipSegment(segmentId));
+            } catch (Exception e) {
+                log.error("Failed to ship audit journal segment {}: {}", segmentId, e.getMessage(), e);
+                return; // Keep segment order, retry on next tick
+            }
+        }
+    }
+
+    /**
+     * Delete archived segments past the retention period
+     */
+    @Scheduled(cron = "${audit.journal.archive-cleanup-cron:0 30 3 * * *}")
+    public void cleanupArchive() {
+        Path archive = Paths.get(archiveDirectory);
+        if (!Files.isDirectory(archive)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(Duration.ofDays(archiveRetentionDays));
+        try (Stream<Path> files = Files.list(archive)) {
+            files.filter(file -> isOlderThan(file, cutoff)).forEach(file -> {
+                try {
+                    Files.deleteIfExists(file);
+                    log.info("Deleted archived audit segment: {}", file.getFileName());
+                } catch (IOException e) {
+                    log.warn("Failed to delete archived audit segment {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to list audit archive {}: {}", archive, e.getMessage());
+        }
+    }
+
+    private void shipSegment(long segmentId) {
+        List<AuditJournal.Entry> segment = auditJournal.readSegment(segmentId);
+
+        int shipped = transactionTemplate.execute(status -> {
+            List<AuditJournal.Entry> entries = unshipped(segment);
+            for (int from = 0; from < entries.size(); from += batchSize) {
+                List<AuditJournal.Entry> batch = entries.subList(from, Math.min(from + batchSize, entries.size()));
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, entry) -> {
+                    AuditLog auditLog = entry.auditLog();
+                    if (auditLog.getUserId() != null) {
+                        ps.setLong(1, auditLog.getUserId());
+                    } else {
+                        ps.setNull(1, Types.BIGINT);
+                    }
+                    ps.setString(2, auditLog.getUsername());
+                    ps.setString(3, auditLog.getAction().name());
+                    ps.setString(4, auditLog.getEntityType());
+                    ps.setString(5, auditLog.getEntityId());
+                    ps.setString(6, auditLog.getDetails());
+                    ps.setString(7, auditLog.getIpAddress());
+                    ps.setString(8, auditLog.getUserAgent());
+                    ps.setString(9, auditLog.getStatus().name());
+                    ps.setString(10, auditLog.getFailureReason());
+                    ps.setTimestamp(11, Timestamp.valueOf(auditLog.getTimestamp()));
+                    ps.setLong(12, entry.sequence());
+                    ps.setString(13, HexFormat.of().formatHex(entry.chainHash()));
+                });
+            }
+            return entries.size();
+        });
+
+        auditJournal.archive(segmentId, Paths.get(archiveDirectory));
+        recordsShipped.increment(shipped);
+        log.info("Shipped audit journal segment {}: {} records ({} already shipped)",
+                segmentId, shipped, segment.size() - shipped);
+    }
+
+    /**
+     * Drop entries a previous attempt already committed
+     */
+    private List<AuditJournal.Entry> unshipped(List<AuditJournal.Entry> segment) {
+        if (segment.isEmpty()) {
+            return segment;
+        }
+        Set<Long> shipped = new HashSet<>(jdbcTemplate.queryForList(SHIPPED_SQL, Long.class,
+                segment.get(0).sequence(), segment.get(segment.size() - 1).sequence()));
+        if (shipped.isEmpty()) {
+            return segment;
+        }
+        return segment.stream().filter(entry -> !shipped.contains(entry.sequence())).toList();
+    }
+
+    private static boolean isOlderThan(Path file, Instant cutoff) {
+        try {
+            return Files.getLastModifiedTime(file).toInstant().isBefore(cutoff);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.demo.adapter.out.journal.audit;
+
+import com.example.demo.domain.AuditLog;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Compact binary encoding of an AuditLog body inside a journal record
+ *
+ * Layout: [byte presence mask][byte action][byte status][long userId?][varint-prefixed UTF-8 strings?]
+ * Enum values are written as ordinals, so AuditAction and AuditStatus constants must only ever be appended.
+ */
+final class AuditRecordCodec {
+
+    private static final int USER_ID = 1;
+    private static final int USERNAME = 1 << 1;
+    private static final int ENTITY_TYPE = 1 << 2;
+    private static final int ENTITY_ID = 1 << 3;
+    private static final int DETAILS = 1 << 4;
+    private static final int IP_ADDRESS = 1 << 5;
+    private static final int USER_AGENT = 1 << 6;
+    private static final int FAILURE_REASON = 1 << 7;
+
+    private static final AuditLog.AuditAction[] ACTIONS = AuditLog.AuditAction.values();
+    private static final AuditLog.AuditStatus[] STATUSES = AuditLog.AuditStatus.values();
+
+    private AuditRecordCodec() {
+    }
+
+    static byte[] encodeBody(AuditLog auditLog) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+        int mask = 0;
+        mask |= auditLog.getUserId() != null ? USER_ID : 0;
+        mask |= auditLog.getUsername() != null ? USERNAME : 0;
+        mask |= auditLog.getEntityType() != null ? ENTITY_TYPE : 0;
+        mask |= auditLog.getEntityId() != null ? ENTITY_ID : 0;
+        mask |= auditLog.getDetails() != null ? DETAILS : 0;
+        mask |= auditLog.getIpAddress() != null ? IP_ADDRESS : 0;
+        mask |= auditLog.getUserAgent() != null ? USER_AGENT : 0;
+        mask |= auditLog.getFailureReason() != null ? FAILURE_REASON : 0;
+
+        out.write(mask);
+        out.write(auditLog.getAction().ordinal());
+        out.write(auditLog.getStatus().ordinal());
+        if (auditLog.getUserId() != null) {
+            writeLong(out, auditLog.getUserId());
+        }
+        writeString(out, auditLog.getUsername());
+        writeString(out, auditLog.getEntityType());
+        writeString(out, auditLog.getEntityId());
+        writeString(out, auditLog.getDetails());
+        writeString(out, auditLog.getIpAddress());
+        writeString(out, auditLog.getUserAgent());
+        writeString(out, auditLog.getFailureReason());
+        return out.toByteArray();
+    }
+
+    static AuditLog decodeBody(ByteBuffer buffer, long timestampMillis) {
+        int mask = buffer.get() & 0xFF;
+        AuditLog.Builder builder = AuditLog.builder()
+                .action(ACTIONS[buffer.get() & 0xFF])
+                .status(STATUSES[buffer.get() & 0xFF])
+                .timestamp(toLocalDateTime(timestampMillis));
+        if ((mask & USER_ID) != 0) {
+            builder.userId(buffer.getLong());
+        }
+        builder.username(readString(buffer, mask, USERNAME))
+                .entityType(readString(buffer, mask, ENTITY_TYPE))
+                .entityId(readString(buffer, mask, ENTITY_ID))
+                .details(readString(buffer, mask, DETAILS))
+                .ipAddress(readString(buffer, mask, IP_ADDRESS))
+                .userAgent(readString(buffer, mask, USER_AGENT))
+                .failureReason(readString(buffer, mask, FAILURE_REASON));
+        return builder.build();
+    }
+
+    static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            out.write((int) (value >>> shift));
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        if (value == null) {
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int length = bytes.length;
+        while ((length & ~0x7F) != 0) {
+            out.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.write(length);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static String readString(ByteBuffer buffer, int mask, int flag) {
+        if ((mask & flag) == 0) {
+            return null;
+        }
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.demo.adapter.out.journal.spill;
+
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.application.messaging.codec.NotificationBinaryCodec;
+import com.example.demo.domain.notification.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded local spill queue for notifications that could not be handed to Kafka
+ *
+ * Notifications are appended in binary wire format to a SegmentedJournal and read back in append
+ * order. A read cursor (segment id, offset) is persisted next to the segments after every committed
+ * batch, so draining resumes where it stopped after a restart. Fully drained sealed segments are deleted.
+ * The journal is bounded by a segment count; appends fail once it is full.
+ */
+public class NotificationSpillJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationSpillJournal.class);
+
+    private static final String CURSOR_FILE = "cursor";
+
+    private final SegmentedJournal journal;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final Path cursorPath;
+    private final AtomicLong pending = new AtomicLong();
+
+    private long cursorSegmentId;
+    private int cursorOffset;
+
+    /**
+     * Notifications read from the journal and the cursor to commit once they are published
+     */
+    public record Batch(List<Notification> notifications, int records, SegmentedJournal.Position next) {
+
+        public boolean isEmpty() {
+            return records == 0;
+        }
+    }
+
+    public NotificationSpillJournal(SegmentedJournal journal, int segmentSize, int maxSegments) {
+        this.journal = journal;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.cursorPath = journal.directory().resolve(CURSOR_FILE);
+        loadCursor();
+        pending.set(countFrom(cursorSegmentId, cursorOffset));
+        if (pending.get() > 0) {
+            log.info("Notification spill journal holds {} notifications to replay", pending.get());
+        }
+    }
+
+    /**
+     * Append a notification
+     *
+     * @return false when the journal is full
+     */
+    public boolean append(Notification notification) {
+        byte[] payload = NotificationBinaryCodec.encode(notification);
+        synchronized (this) {
+            boolean lastSegment = journal.sealedSegmentIds().size() + 1 >= maxSegments;
+            if (lastSegment && journal.activeWritePosition() + SegmentedJournal.RECORD_OVERHEAD + payload.length > segmentSize) {
+                return false;
+            }
+            journal.append(payload);
+            pending.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Read up to max notifications from the cursor, in append order, without moving the cursor
+     */
+    public synchronized Batch read(int max) {
+        List<Notification> notifications = new ArrayList<>();
+        int[] records = {0};
+        long segmentId = cursorSegmentId;
+        int offset = cursorOffset;
+        long activeId = journal.activeSegmentId();
+
+        while (records[0] < max) {
+            int[] next = {offset};
+            journal.read(segmentId, offset, (id, recordOffset, payload) -> {
+                next[0] = recordOffset + SegmentedJournal.RECORD_OVERHEAD + payload.remaining();
+                records[0]++;
+                try {
+                    notifications.add(NotificationBinaryCodec.decode(payload));
+                } catch (IllegalArgumentException e) {
+                    log.error("Skipping undecodable spilled notification: segment={}, offset={}, error={}",
+                            id, recordOffset, e.getMessage());
+                }
+                return records[0] < max;
+            });
+            offset = Math.max(next[0], offset);
+            if (records[0] >= max || segmentId >= activeId) {
+                break;
+            }
+            // Sealed segment exhausted, continue with the next one
+            segmentId = nextSegmentId(segmentId);
+            offset = SegmentedJournal.HEADER_SIZE;
+        }
+        return new Batch(notifications, records[0], new SegmentedJournal.Position(segmentId, offset));
+    }
+
+    /**
+     * Move the cursor past a published batch and delete segments it has left behind
+     */
+    public synchronized void commit(Batch batch) {
+        if (batch.next().segmentId() == cursorSegmentId && batch.next().offset() == cursorOffset) {
+            return;
+        }
+        cursorSegmentId = batch.next().segmentId();
+        cursorOffset = batch.next().offset();
+        storeCursor();
+        pending.addAndGet(-batch.records());
+
+        for (long sealedId : journal.sealedSegmentIds()) {
+            if (sealedId < cursorSegmentId) {
+                journal.delete(sealedId);
+            }
+        }
+    }
+
+    /**
+     * Notifications appended but not yet committed
+     */
+    public long pending() {
+        return pending.get();
+    }
+
+    /**
+     * Segments on disk, including the active one
+     */
+    public int segmentCount() {
+        return journal.sealedSegmentIds().size() + 1;
+    }
+
+    /**
+     * Force appended records to disk (group commit tick)
+     */
+    public void flush() {
+        journal.flush();
+    }
+
+    @Override
+    public void close() {
+        journal.close();
+    }
+
+    private long nextSegmentId(long segmentId) {
+        for (long sealedId : journal.sealedSegmentIds()) {
+            if (sealedId > segmentId) {
+                return sealedId;
+            }
+        }
+        return journal.activeSegmentId();
+    }
+
+    private long countFrom(long segmentId, int offset) {
+        long count = 0;
+        long id = segmentId;
+        int from = offset;
+        while (true) {
+            long[] visited = {0};
+            journal.read(id, from, (segment, recordOffset, payload) -> {
+                visited[0]++;
+                return true;
+            });
+            count += visited[0];
+            if (id >= journal.activeSegmentId()) {
+                return count;
+            }
+            id = nextSegmentId(id);
+            from = SegmentedJournal.HEADER_SIZE;
+        }
+    }
+
+    private void loadCursor() {
+        List<Long> sealed = journal.sealedSegmentIds();
+        long oldest = sealed.isEmpty() ? journal.activeSegmentId() : sealed.get(0);
+        cursorSegmentId = oldest;
+        cursorOffset = SegmentedJournal.HEADER_SIZE;
+        if (!Files.exists(cursorPath)) {
+            return;
+        }
+        try {
+            ByteBuffer cursor = ByteBuffer.wrap(Files.readAllBytes(cursorPath));
+            long segmentId = cursor.getLong();
+            int offset = cursor.getInt();
+            // A cursor pointing at a deleted segment means everything before the oldest segment was drained
+            if (segmentId >= oldest && segmentId <= journal.activeSegmentId()) {
+                cursorSegmentId = segmentId;
+                cursorOffset = offset;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Unreadable spill cursor {}, replaying from the oldest segment: {}", cursorPath, e.getMessage());
+        }
+    }
+
+    private void storeCursor() {
+        Path temp = cursorPath.resolveSibling(CURSOR_FILE + ".tmp");
+        ByteBuffer cursor = ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(cursorSegmentId).putInt(cursorOffset);
+        try {
+            Files.write(temp, cursor.array());
+            Files.move(temp, cursorPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Worst case the next restart replays a batch twice
+            log.warn("Failed to store spill cursor: {}", e.getMessage());
+        }
+    }
+}
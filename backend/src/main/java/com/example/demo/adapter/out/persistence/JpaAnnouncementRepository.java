@@ -0,0 +1,81 @@
+package com.example.demo.adapter.out.persistence;
+
+import com.example.demo.adapter.out.persistence.entity.AnnouncementJpaEntity;
+import com.example.demo.adapter.out.persistence.entity.AnnouncementReadJpaEntity;
+import com.example.demo.adapter.out.persistence.repository.AnnouncementJpaRepository;
+import com.example.demo.adapter.out.persistence.repository.AnnouncementReadJpaRepository;
+import com.example.demo.application.ports.out.AnnouncementRepository;
+import com.example.demo.domain.notification.Announcement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * JPA implementation of AnnouncementRepository (Output Port)
+ */
+@Repository
+@Transactional
+public class JpaAnnouncementRepository implements AnnouncementRepository {
+
+    private final AnnouncementJpaRepository announcementRepository;
+    private final AnnouncementReadJpaRepository readRepository;
+
+    public JpaAnnouncementRepository(AnnouncementJpaRepository announcementRepository,
+                                     AnnouncementReadJpaRepository readRepository) {
+        this.announcementRepository = announcementRepository;
+        this.readRepository = readRepository;
+    }
+
+    @Override
+    public Announcement save(Announcement announcement) {
+        AnnouncementJpaEntity saved = announcementRepository.save(new AnnouncementJpaEntity(
+                announcement.title(), announcement.message(), announcement.priority(), announcement.createdAt()));
+        return toDomain(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Announcement> findById(UUID id) {
+        return announcementRepository.findById(id).map(JpaAnnouncementRepository::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<Announcement> findPublishedSince(LocalDateTime since, Pageable pageable) {
+        return announcementRepository.findByCreatedAtAfterOrderByCreatedAtDesc(since, pageable)
+                .map(JpaAnnouncementRepository::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, LocalDateTime> findReadMarkers(UUID userId, Collection<UUID> announcementIds) {
+        if (announcementIds.isEmpty()) {
+            return Map.of();
+        }
+        return readRepository.findByUserIdAndAnnouncementIdIn(userId, announcementIds).stream()
+                .collect(Collectors.toMap(AnnouncementReadJpaEntity::getAnnouncementId,
+                        AnnouncementReadJpaEntity::getReadAt));
+    }
+
+    @Override
+    public boolean markRead(UUID announcementId, UUID userId, LocalDateTime readAt) {
+        if (readRepository.existsByUserIdAndAnnouncementId(userId, announcementId)) {
+            return false;
+        }
+        readRepository.save(new AnnouncementReadJpaEntity(announcementId, userId, readAt));
+        return true;
+    }
+
+    private static Announcement toDomain(AnnouncementJpaEntity entity) {
+        return new Announcement(entity.getId(), entity.getTitle(), entity.getMessage(),
+                entity.getPriority(), entity.getCreatedAt());
+    }
+}
@@ -6,6 +6,7 @@ import com.example.demo.adapter.out.persistence.repository.NotificationJpaReposi
 import com.example.demo.application.ports.out.NotificationRepository;
 import com.example.demo.domain.notification.Notification;
 import com.example.demo.domain.notification.Notification.NotificationType;
+import jakarta.persistence.EntityManager;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,7 +14,13 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -30,17 +37,50 @@ public class JpaNotificationRepository implements NotificationRepository {
 
     private final NotificationJpaRepository jpaRepository;
     private final NotificationMapper mapper;
+    private final EntityManager entityManager;
 
-    public JpaNotificationRepository(NotificationJpaRepository jpaRepository, NotificationMapper mapper) {
+    public JpaNotificationRepository(NotificationJpaRepository jpaRepository, NotificationMapper mapper,
+                                     EntityManager entityManager) {
         this.jpaRepository = jpaRepository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
     }
 
     @Override
     public Notification save(Notification notification) {
-        NotificationJpaEntity entity = mapper.toEntity(notification);
-        NotificationJpaEntity saved = jpaRepository.save(entity);
-        return mapper.toDomain(saved);
+        return saveAll(List.of(notification)).get(0);
+    }
+
+    /**
+     * Insert the notifications not stored yet and return the stored state of the others
+     * Kafka redelivers after a failed batch, a spill replay or a retry tier; a notification already
+     * stored under its id is left as it is (it may have been read since), so redelivery never adds rows
+     */
+    @Override
+    public List<Notification> saveAll(List<Notification> notifications) {
+        List<UUID> ids = notifications.stream()
+                .map(Notification::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        Map<UUID, NotificationJpaEntity> stored = new HashMap<>();
+        jpaRepository.findAllById(ids).forEach(entity -> stored.put(entity.getId(), entity));
+
+        Map<UUID, Notification> saved = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            NotificationJpaEntity entity = notification.getId() != null ? stored.get(notification.getId()) : null;
+            if (entity == null) {
+                entity = mapper.toEntity(notification);
+                if (entity.getId() == null) {
+                    // Published before ids were assigned on creation
+                    entity.setId(UUID.randomUUID());
+                }
+                // persist, not merge: no select per row, inserts are grouped into JDBC batches
+                entityManager.persist(entity);
+                stored.put(entity.getId(), entity);
+            }
+            saved.putIfAbsent(entity.getId(), mapper.toDomain(entity));
+        }
+        return new ArrayList<>(saved.values());
     }
 
     @Override
@@ -109,6 +149,20 @@ public class JpaNotificationRepository implements NotificationRepository {
         return jpaRepository.countByUserIdAndReadFalse(userId);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> countUnreadByUserIds(Collection<UUID> userIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return counts;
+        }
+        userIds.forEach(userId -> counts.put(userId, 0L));
+        for (Object[] row : jpaRepository.countUnreadGroupedByUserId(userIds)) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
     @Override
     public int markAllAsRead(UUID userId) {
         return jpaRepository.markAllAsRead(userId, LocalDateTime.now());
@@ -0,0 +1,64 @@
+package com.example.demo.adapter.out.persistence;
+
+import com.example.demo.adapter.out.persistence.entity.RefreshTokenJpaEntity;
+import com.example.demo.adapter.out.persistence.repository.RefreshTokenJpaRepository;
+import com.example.demo.application.ports.out.RefreshTokenRepository;
+import com.example.demo.domain.RefreshToken;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * JPA implementation of RefreshTokenRepository (Output Port)
+ */
+@Repository
+@Transactional
+public class JpaRefreshTokenRepository implements RefreshTokenRepository {
+
+    private final RefreshTokenJpaRepository refreshTokenRepository;
+
+    public JpaRefreshTokenRepository(RefreshTokenJpaRepository refreshTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+    }
+
+    @Override
+    public RefreshToken save(RefreshToken token) {
+        RefreshTokenJpaEntity saved = refreshTokenRepository.save(new RefreshTokenJpaEntity(
+                token.userId(), token.familyId(), token.tokenHash(), token.expiresAt(), token.createdAt()));
+        return toDomain(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshToken> findByTokenHash(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).map(JpaRefreshTokenRepository::toDomain);
+    }
+
+    @Override
+    public boolean revoke(UUID id, LocalDateTime revokedAt) {
+        return refreshTokenRepository.revoke(id, revokedAt) > 0;
+    }
+
+    @Override
+    public int revokeFamily(UUID familyId, LocalDateTime revokedAt) {
+        return refreshTokenRepository.revokeFamily(familyId, revokedAt);
+    }
+
+    @Override
+    public int revokeAllForUser(UUID userId, LocalDateTime revokedAt) {
+        return refreshTokenRepository.revokeAllForUser(userId, revokedAt);
+    }
+
+    @Override
+    public int deleteExpiredBefore(LocalDateTime before) {
+        return refreshTokenRepository.deleteExpiredBefore(before);
+    }
+
+    private static RefreshToken toDomain(RefreshTokenJpaEntity entity) {
+        return new RefreshToken(entity.getId(), entity.getUserId(), entity.getFamilyId(), entity.getTokenHash(),
+                entity.getExpiresAt(), entity.getRevokedAt(), entity.getCreatedAt());
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.adapter.out.persistence;
+
+import com.example.demo.adapter.out.persistence.entity.TransactionOutboxJpaEntity;
+import com.example.demo.adapter.out.persistence.repository.TransactionOutboxJpaRepository;
+import com.example.demo.application.messaging.codec.TransactionEventCodec;
+import com.example.demo.application.ports.out.TransactionEventOutbox;
+import com.example.demo.domain.TransactionEvent;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * JPA implementation of TransactionEventOutbox (Output Port)
+ * Events are stored in their binary wire format, so the relay publishes the bytes as they are
+ */
+@Repository
+@Transactional
+public class JpaTransactionEventOutbox implements TransactionEventOutbox {
+
+    private final TransactionOutboxJpaRepository jpaRepository;
+
+    public JpaTransactionEventOutbox(TransactionOutboxJpaRepository jpaRepository) {
+        this.jpaRepository = jpaRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(TransactionEvent event) {
+        jpaRepository.save(new TransactionOutboxJpaEntity(event.accountId(), TransactionEventCodec.encode(event)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Entry> findPending(int limit) {
+        return jpaRepository.findByBatchIdIsNullOrderByIdAsc(PageRequest.of(0, limit)).stream()
+                .map(JpaTransactionEventOutbox::toEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Entry> findClaimed() {
+        return jpaRepository.findByBatchIdIsNotNullOrderByIdAsc().stream()
+                .map(JpaTransactionEventOutbox::toEntry)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public void claim(List<Long> ids, String batchId) {
+        jpaRepository.claim(ids, batchId);
+    }
+
+    @Override
+    public void delete(List<Long> ids) {
+        jpaRepository.deleteByIds(ids);
+    }
+
+    private static Entry toEntry(TransactionOutboxJpaEntity entity) {
+        return new Entry(entity.getId(), entity.getAccountId(), entity.getPayload(), entity.getBatchId());
+    }
+}
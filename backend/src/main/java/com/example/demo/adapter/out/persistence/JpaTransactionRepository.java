@@ -7,10 +7,12 @@ import com.example.demo.adapter.out.persistence.mapper.TransactionMapper;
 import com.example.demo.adapter.out.persistence.repository.TransactionCategoryJpaRepository;
 import com.example.demo.adapter.out.persistence.repository.TransactionJpaRepository;
 import com.example.demo.application.ports.out.TransactionRepository;
+import com.example.demo.domain.AccountStatement;
 import com.example.demo.domain.CategoryReport;
 import com.example.demo.domain.Transaction;
 import com.example.demo.domain.TransactionCategory;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
@@ -84,6 +86,41 @@ public class JpaTransactionRepository implements TransactionRepository {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Transaction> findPageByAccountIdAndDateRange(UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                                             Transaction after, int limit) {
+        List<TransactionJpaEntity> page = after == null
+                ? jpaRepository.findFirstPageByAccountIdAndDateRange(accountId, startDate, endDate, PageRequest.of(0, limit))
+                : jpaRepository.findNextPageByAccountIdAndDateRange(accountId, startDate, after.getCreatedAt(), after.getId(),
+                        PageRequest.of(0, limit));
+        return page.stream()
+                .map(mapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public AccountStatement.Summary summarizeStatement(UUID accountId, LocalDateTime startDate, LocalDateTime endDate) {
+        // Opening balance as ReportingService computes it: deposits minus withdrawals before the period
+        BigDecimal openingBalance = BigDecimal.ZERO;
+        for (Object[] row : jpaRepository.sumByTypeBefore(accountId, startDate)) {
+            openingBalance = openingBalance.add(signedAmount(row));
+        }
+
+        BigDecimal totalDeposits = BigDecimal.ZERO;
+        BigDecimal totalWithdrawals = BigDecimal.ZERO;
+        long count = 0;
+        for (Object[] row : jpaRepository.sumByTypeInRange(accountId, startDate, endDate)) {
+            TransactionJpaEntity.TransactionType type = (TransactionJpaEntity.TransactionType) row[0];
+            count += ((Number) row[1]).longValue();
+            if (type == TransactionJpaEntity.TransactionType.DEPOSIT) {
+                totalDeposits = totalDeposits.add((BigDecimal) row[2]);
+            } else if (type == TransactionJpaEntity.TransactionType.WITHDRAWAL) {
+                totalWithdrawals = totalWithdrawals.add((BigDecimal) row[2]);
+            }
+        }
+        return new AccountStatement.Summary(openingBalance, totalDeposits, totalWithdrawals, Math.toIntExact(count));
+    }
+
     @Override
     public List<Transaction> findByAccountIdAndCategoryId(UUID accountId, UUID categoryId) {
         return jpaRepository.findByAccountIdAndCategoryId(accountId, categoryId).stream()
@@ -132,4 +169,17 @@ public class JpaTransactionRepository implements TransactionRepository {
 
         return summaries;
     }
+
+    /**
+     * Balance effect of a [type, count, sum] row: deposits add, withdrawals subtract, transfers are ignored
+     */
+    private static BigDecimal signedAmount(Object[] row) {
+        TransactionJpaEntity.TransactionType type = (TransactionJpaEntity.TransactionType) row[0];
+        BigDecimal amount = (BigDecimal) row[2];
+        return switch (type) {
+            case DEPOSIT -> amount;
+            case WITHDRAWAL -> amount.negate();
+            default -> BigDecimal.ZERO;
+        };
+    }
 }
@@ -56,6 +56,13 @@ public class JpaUserRepository implements UserRepository {
                 .map(mapper::toDomain);
     }
 
+    @Override
+    public Optional<User> findByEmailOrUsername(String login) {
+        return jpaRepository.findByEmailOrUsername(login).stream()
+                .findFirst()
+                .map(mapper::toDomain);
+    }
+
     @Override
     public List<User> findAll() {
         return jpaRepository.findAll().stream()
@@ -0,0 +1,58 @@
+package com.example.demo.adapter.out.persistence.entity;
+
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for announcements, one row per announcement regardless of the number of users
+ */
+@Entity
+@Table(name = "announcements", indexes = {
+    @Index(name = "idx_announcement_created_at", columnList = "created_at")
+})
+public class AnnouncementJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "id", updatable = false, nullable = false, columnDefinition = "BINARY(16)")
+    private UUID id;
+
+    @Column(name = "title", nullable = false, length = 200)
+    private String title;
+
+    @Column(name = "message", nullable = false, length = 1000)
+    private String message;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false, length = 20)
+    private NotificationPriority priority;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public AnnouncementJpaEntity() {
+    }
+
+    public AnnouncementJpaEntity(String title, String message, NotificationPriority priority, LocalDateTime createdAt) {
+        this.title = title;
+        this.message = message;
+        this.priority = priority;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+    public NotificationPriority getPriority() { return priority; }
+    public void setPriority(NotificationPriority priority) { this.priority = priority; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
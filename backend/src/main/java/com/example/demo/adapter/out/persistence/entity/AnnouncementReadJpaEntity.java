@@ -0,0 +1,48 @@
+package com.example.demo.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * JPA Entity for per-user read markers on announcements; a missing row means unread
+ */
+@Entity
+@Table(name = "announcement_reads",
+    uniqueConstraints = @UniqueConstraint(name = "uk_announcement_read", columnNames = {"user_id", "announcement_id"}))
+public class AnnouncementReadJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "announcement_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID announcementId;
+
+    @Column(name = "user_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID userId;
+
+    @Column(name = "read_at", nullable = false)
+    private LocalDateTime readAt;
+
+    // Constructors
+    public AnnouncementReadJpaEntity() {
+    }
+
+    public AnnouncementReadJpaEntity(UUID announcementId, UUID userId, LocalDateTime readAt) {
+        this.announcementId = announcementId;
+        this.userId = userId;
+        this.readAt = readAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public UUID getAnnouncementId() { return announcementId; }
+    public void setAnnouncementId(UUID announcementId) { this.announcementId = announcementId; }
+    public UUID getUserId() { return userId; }
+    public void setUserId(UUID userId) { this.userId = userId; }
+    public LocalDateTime getReadAt() { return readAt; }
+    public void setReadAt(LocalDateTime readAt) { this.readAt = readAt; }
+}
@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_user_id", columnList = "user_id"),
     @Index(name = "idx_action", columnList = "action"),
     @Index(name = "idx_timestamp", columnList = "timestamp"),
-    @Index(name = "idx_entity", columnList = "entity_type, entity_id")
+    @Index(name = "idx_entity", columnList = "entity_type, entity_id"),
+    @Index(name = "uk_journal_sequence", columnList = "journal_sequence", unique = true)
 })
 public class AuditLogJpaEntity {
 
@@ -55,6 +56,14 @@ public class AuditLogJpaEntity {
     @Column(name = "timestamp", nullable = false, updatable = false)
     private LocalDateTime timestamp;
 
+    // Set only for rows shipped from the audit journal; null for rows written directly
+    @Column(name = "journal_sequence", updatable = false)
+    private Long journalSequence;
+
+    // Hex SHA-256 chain hash of the journal record, so shipped rows can be re-verified
+    @Column(name = "chain_hash", length = 64, updatable = false)
+    private String chainHash;
+
     // Constructors
     public AuditLogJpaEntity() {
     }
@@ -208,4 +217,20 @@ public class AuditLogJpaEntity {
     public void setTimestamp(LocalDateTime timestamp) {
         this.timestamp = timestamp;
     }
+
+    public Long getJournalSequence() {
+        return journalSequence;
+    }
+
+    public void setJournalSequence(Long journalSequence) {
+        this.journalSequence = journalSequence;
+    }
+
+    public String getChainHash() {
+        return chainHash;
+    }
+
+    public void setChainHash(String chainHash) {
+        this.chainHash = chainHash;
+    }
 }
@@ -15,7 +15,8 @@ import java.util.UUID;
 @Table(name = "transactions", indexes = {
     @Index(name = "idx_account_id", columnList = "account_id"),
     @Index(name = "idx_created_at", columnList = "created_at"),
-    @Index(name = "idx_category_id", columnList = "category_id")
+    @Index(name = "idx_category_id", columnList = "category_id"),
+    @Index(name = "idx_account_created_at", columnList = "account_id, created_at")
 })
 @Getter
 @Setter
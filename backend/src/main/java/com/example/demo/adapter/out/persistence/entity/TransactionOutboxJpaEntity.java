@@ -0,0 +1,51 @@
+package com.example.demo.adapter.out.persistence.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "transaction_outbox", indexes = {
+    @Index(name = "idx_outbox_batch", columnList = "batch_id")
+})
+public class TransactionOutboxJpaEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false, columnDefinition = "BINARY(16)")
+    private UUID accountId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "VARBINARY(255)")
+    private byte[] payload;
+
+    @Column(name = "batch_id", length = 36)
+    private String batchId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TransactionOutboxJpaEntity() {
+    }
+
+    public TransactionOutboxJpaEntity(UUID accountId, byte[] payload) {
+        this.accountId = accountId;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+    public UUID getAccountId() { return accountId; }
+    public void setAccountId(UUID accountId) { this.accountId = accountId; }
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+    public String getBatchId() { return batchId; }
+    public void setBatchId(String batchId) { this.batchId = batchId; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
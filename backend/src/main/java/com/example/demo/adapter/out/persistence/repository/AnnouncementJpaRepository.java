@@ -0,0 +1,19 @@
+package com.example.demo.adapter.out.persistence.repository;
+
+import com.example.demo.adapter.out.persistence.entity.AnnouncementJpaEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for announcements
+ */
+@Repository
+public interface AnnouncementJpaRepository extends JpaRepository<AnnouncementJpaEntity, UUID> {
+
+    Page<AnnouncementJpaEntity> findByCreatedAtAfterOrderByCreatedAtDesc(LocalDateTime since, Pageable pageable);
+}
@@ -0,0 +1,20 @@
+package com.example.demo.adapter.out.persistence.repository;
+
+import com.example.demo.adapter.out.persistence.entity.AnnouncementReadJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for announcement read markers
+ */
+@Repository
+public interface AnnouncementReadJpaRepository extends JpaRepository<AnnouncementReadJpaEntity, Long> {
+
+    List<AnnouncementReadJpaEntity> findByUserIdAndAnnouncementIdIn(UUID userId, Collection<UUID> announcementIds);
+
+    boolean existsByUserIdAndAnnouncementId(UUID userId, UUID announcementId);
+}
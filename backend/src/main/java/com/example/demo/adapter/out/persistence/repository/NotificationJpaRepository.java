@@ -11,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -49,6 +50,14 @@ public interface NotificationJpaRepository extends JpaRepository<NotificationJpa
      */
     long countByUserIdAndReadFalse(UUID userId);
 
+    /**
+     * Count unread notifications grouped by user
+     * Returns rows of [userId, count]
+     */
+    @Query("SELECT n.userId, COUNT(n) FROM NotificationJpaEntity n " +
+           "WHERE n.userId IN :userIds AND n.read = false GROUP BY n.userId")
+    List<Object[]> countUnreadGroupedByUserId(@Param("userIds") Collection<UUID> userIds);
+
     /**
      * Find recent notifications (last N days)
      */
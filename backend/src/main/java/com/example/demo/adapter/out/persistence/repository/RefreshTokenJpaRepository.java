@@ -0,0 +1,42 @@
+package com.example.demo.adapter.out.persistence.repository;
+
+import com.example.demo.adapter.out.persistence.entity.RefreshTokenJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Spring Data JPA Repository for refresh tokens
+ */
+@Repository
+public interface RefreshTokenJpaRepository extends JpaRepository<RefreshTokenJpaEntity, UUID> {
+
+    Optional<RefreshTokenJpaEntity> findByTokenHash(String tokenHash);
+
+    /**
+     * Conditional update, so of two refreshes racing with the same token only one wins
+     */
+    @Modifying
+    @Query("UPDATE RefreshTokenJpaEntity t SET t.revokedAt = :revokedAt WHERE t.id = :id AND t.revokedAt IS NULL")
+    int revoke(@Param("id") UUID id, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenJpaEntity t SET t.revokedAt = :revokedAt " +
+           "WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshTokenJpaEntity t SET t.revokedAt = :revokedAt " +
+           "WHERE t.userId = :userId AND t.revokedAt IS NULL")
+    int revokeAllForUser(@Param("userId") UUID userId, @Param("revokedAt") LocalDateTime revokedAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshTokenJpaEntity t WHERE t.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") LocalDateTime before);
+}
@@ -1,6 +1,7 @@
 package com.example.demo.adapter.out.persistence.repository;
 
 import com.example.demo.adapter.out.persistence.entity.TransactionJpaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -43,6 +44,58 @@ public interface TransactionJpaRepository extends JpaRepository<TransactionJpaEn
             @Param("endDate") LocalDateTime endDate
     );
 
+    /**
+     * First page of a statement, newest first; id breaks ties between equal timestamps
+     */
+    @Query("SELECT t FROM TransactionJpaEntity t WHERE t.accountId = :accountId " +
+           "AND t.createdAt >= :startDate AND t.createdAt <= :endDate " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionJpaEntity> findFirstPageByAccountIdAndDateRange(
+            @Param("accountId") UUID accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    /**
+     * Next page of a statement, strictly after the last row of the previous one
+     */
+    @Query("SELECT t FROM TransactionJpaEntity t WHERE t.accountId = :accountId " +
+           "AND t.createdAt >= :startDate " +
+           "AND (t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id < :afterId)) " +
+           "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TransactionJpaEntity> findNextPageByAccountIdAndDateRange(
+            @Param("accountId") UUID accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Count and sum per transaction type within a date range: [type, count, sum]
+     */
+    @Query("SELECT t.type, COUNT(t), SUM(t.amount) FROM TransactionJpaEntity t " +
+           "WHERE t.accountId = :accountId " +
+           "AND t.createdAt >= :startDate AND t.createdAt <= :endDate " +
+           "GROUP BY t.type")
+    List<Object[]> sumByTypeInRange(
+            @Param("accountId") UUID accountId,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate
+    );
+
+    /**
+     * Count and sum per transaction type before a point in time: [type, count, sum]
+     */
+    @Query("SELECT t.type, COUNT(t), SUM(t.amount) FROM TransactionJpaEntity t " +
+           "WHERE t.accountId = :accountId AND t.createdAt < :before " +
+           "GROUP BY t.type")
+    List<Object[]> sumByTypeBefore(
+            @Param("accountId") UUID accountId,
+            @Param("before") LocalDateTime before
+    );
+
     @Query("SELECT t.category.id, COUNT(t), SUM(t.amount) FROM TransactionJpaEntity t " +
            "WHERE t.accountId = :accountId " +
            "AND t.type = :type " +
@@ -0,0 +1,30 @@
+package com.example.demo.adapter.out.persistence.repository;
+
+import com.example.demo.adapter.out.persistence.entity.TransactionOutboxJpaEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA Repository for the ledger event outbox
+ */
+@Repository
+public interface TransactionOutboxJpaRepository extends JpaRepository<TransactionOutboxJpaEntity, Long> {
+
+    List<TransactionOutboxJpaEntity> findByBatchIdIsNullOrderByIdAsc(Pageable pageable);
+
+    List<TransactionOutboxJpaEntity> findByBatchIdIsNotNullOrderByIdAsc();
+
+    @Modifying
+    @Query("UPDATE TransactionOutboxJpaEntity o SET o.batchId = :batchId WHERE o.id IN :ids")
+    int claim(@Param("ids") List<Long> ids, @Param("batchId") String batchId);
+
+    @Modifying
+    @Query("DELETE FROM TransactionOutboxJpaEntity o WHERE o.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+}
@@ -2,8 +2,11 @@ package com.example.demo.adapter.out.persistence.repository;
 
 import com.example.demo.adapter.out.persistence.entity.UserJpaEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +21,14 @@ public interface UserJpaRepository extends JpaRepository<UserJpaEntity, UUID> {
 
     Optional<UserJpaEntity> findByUsername(String username);
 
+    /**
+     * Users whose email or username is the login, the email match first
+     * At most two rows: both columns are unique
+     */
+    @Query("SELECT u FROM UserJpaEntity u WHERE u.email = :login OR u.username = :login " +
+           "ORDER BY CASE WHEN u.email = :login THEN 0 ELSE 1 END")
+    List<UserJpaEntity> findByEmailOrUsername(@Param("login") String login);
+
     boolean existsByEmail(String email);
 
     boolean existsByUsername(String username);
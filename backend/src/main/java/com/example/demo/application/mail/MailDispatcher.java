@@ -0,0 +1,485 @@
+package com.example.demo.application.mail;
+
+import com.example.demo.application.messaging.RetryTierRouter;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.EmailEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+/**
+ * Batched SMTP dispatcher for outgoing email
+ *
+ * Emails are queued and a single dispatcher thread collects them into batches (up to batch-size,
+ * waiting at most max-wait-ms for a batch to fill). Each batch goes out through one
+ * JavaMailSender.send(MimeMessage...) call, which opens one SMTP connection and reuses it for
+ * every message of the batch.
+ *
+ * Every recipient domain has a token bucket (domain-rate-per-second, overridable per domain via
+ * domain-rates, e.g. "gmail.com=5,outlook.com=3"); messages over the limit are deferred until a
+ * token is available. Failed messages are retried with exponential backoff and jitter up to
+ * max-attempts, then counted as failed and published to the email DLT, as are malformed messages.
+ *
+ * Delivery is at-most-once: the Kafka offset is committed once an email is in this in-memory queue.
+ * A crash loses everything queued, deferred or waiting for a retry, which is up to queue-capacity
+ * emails and up to MAX_BACKOFF_MS of retries. A graceful stop makes one send attempt for what is left,
+ * ignoring rate limits and backoff; emails that fail it are republished to the first email retry tier
+ * so another node delivers them.
+ */
+@Component
+public class MailDispatcher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private static final long MAX_BACKOFF_MS = 300_000L;
+    private static final int MAX_TRACKED_DOMAINS = 10_000;
+    private static final long REPUBLISH_TIMEOUT_MS = 10_000L;
+
+    private final JavaMailSender mailSender;
+    private final KafkaTemplate<String, String> emailKafkaTemplate;
+    private final RetryTierRouter retryTierRouter;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final String fromEmail;
+    private final int batchSize;
+    private final long maxWaitNanos;
+    private final int queueCapacity;
+    private final int maxAttempts;
+    private final long retryBackoffMs;
+    private final double defaultDomainRate;
+    private final Map<String, Double> domainRates;
+
+    private final DelayQueue<PendingMail> queue = new DelayQueue<>();
+    // Only touched by the dispatcher thread
+    private final Map<String, TokenBucket> domainLimiters = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+            return size() > MAX_TRACKED_DOMAINS;
+        }
+    };
+
+    private final Counter emailsSent;
+    private final Counter emailsFailed;
+    private final Counter emailsRetried;
+    private final Counter emailsDeferred;
+    private final Counter emailsRejected;
+    private final DistributionSummary batchSizeSummary;
+    private final Timer sendTimer;
+    private final Timer deliveryLatency;
+
+    private volatile boolean running;
+    private Thread dispatcherThread;
+
+    public MailDispatcher(JavaMailSender mailSender,
+                          KafkaTemplate<String, String> emailKafkaTemplate,
+                          RetryTierRouter retryTierRouter,
+                          ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${spring.mail.from:noreply@virtualbank.com}") String fromEmail,
+                          @Value("${mail.dispatch.batch-size:50}") int batchSize,
+                          @Value("${mail.dispatch.max-wait-ms:200}") long maxWaitMs,
+                          @Value("${mail.dispatch.queue-capacity:10000}") int queueCapacity,
+                          @Value("${mail.dispatch.max-attempts:5}") int maxAttempts,
+                          @Value("${mail.dispatch.retry-backoff-ms:1000}") long retryBackoffMs,
+                          @Value("${mail.dispatch.domain-rate-per-second:10}") double defaultDomainRate,
+                          @Value("${mail.dispatch.domain-rates:}") String domainRates) {
+        this.mailSender = mailSender;
+        this.emailKafkaTemplate = emailKafkaTemplate;
+        this.retryTierRouter = retryTierRouter;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.fromEmail = fromEmail;
+        this.batchSize = batchSize;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.queueCapacity = queueCapacity;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMs = retryBackoffMs;
+        this.defaultDomainRate = defaultDomainRate;
+        this.domainRates = parseDomainRates(domainRates);
+
+        this.emailsSent = Counter.builder("emails.sent")
+                .description("Total emails sent successfully")
+                .register(meterRegistry);
+        this.emailsFailed = Counter.builder("emails.failed")
+                .description("Total emails failed to send")
+                .register(meterRegistry);
+        this.emailsRetried = Counter.builder("email.dispatch.retried")
+                .description("Email send attempts scheduled for retry")
+                .register(meterRegistry);
+        this.emailsDeferred = Counter.builder("email.dispatch.deferred")
+                .description("Emails deferred by the per-domain rate limit")
+                .register(meterRegistry);
+        this.emailsRejected = Counter.builder("email.dispatch.rejected")
+                .description("Emails rejected because the dispatch queue was full")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("email.dispatch.batch.size")
+                .description("Messages sent per SMTP connection")
+                .register(meterRegistry);
+        this.sendTimer = Timer.builder("email.dispatch.send.duration")
+                .description("Time to send one batch over SMTP")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.deliveryLatency = Timer.builder("email.dispatch.latency")
+                .description("Time from queuing an email to its acceptance by the SMTP server")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("email.dispatch.queue.depth", queue, DelayQueue::size)
+                .description("Emails waiting to be sent, including deferred and retrying ones")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queue an email for batched delivery
+     *
+     * @return false when the queue is full
+     */
+    public boolean submit(EmailEvent email) {
+        if (!running || queue.size() >= queueCapacity) {
+            emailsRejected.increment();
+            log.warn("Email rejected, dispatch queue unavailable or full: to={}, depth={}", email.to(), queue.size());
+            return false;
+        }
+        queue.add(new PendingMail(email, 0, System.nanoTime(), System.nanoTime()));
+        return true;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        dispatcherThread = Thread.ofPlatform().name("mail-dispatcher").daemon(true).start(this::dispatchLoop);
+        log.info("Mail dispatcher started: batchSize={}, maxWaitMs={}, domainRate={}/s",
+                batchSize, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos), defaultDomainRate);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        dispatcherThread.interrupt();
+        try {
+            dispatcherThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushOnShutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Start before and stop after the Kafka listener containers that feed the queue
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 200;
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                dispatch(nextBatch());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("Mail dispatch cycle failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Wait for the first due email, then keep collecting until the batch is full or max-wait elapses
+     */
+    private List<PendingMail> nextBatch() throws InterruptedException {
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        PendingMail first = queue.poll(500, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return batch;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        try {
+            while (batch.size() < batchSize) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    break;
+                }
+                PendingMail next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException e) {
+            // Stopping: leave the partial batch to the shutdown flush
+            queue.addAll(batch);
+            throw e;
+        }
+        return batch;
+    }
+
+    private void dispatch(List<PendingMail> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<PendingMail> allowed = new ArrayList<>(batch.size());
+        for (PendingMail mail : batch) {
+            long waitNanos = limiter(mail.email().recipientDomain()).tryAcquire(now);
+            if (waitNanos == 0) {
+                allowed.add(mail);
+            } else {
+                emailsDeferred.increment();
+                queue.add(mail.deferred(now + waitNanos));
+            }
+        }
+        send(allowed, this::retry);
+    }
+
+    private void send(List<PendingMail> mails, BiConsumer<PendingMail, Exception> onFailure) {
+        if (mails.isEmpty()) {
+            return;
+        }
+        List<PendingMail> prepared = new ArrayList<>(mails.size());
+        List<MimeMessage> messages = new ArrayList<>(mails.size());
+        for (PendingMail mail : mails) {
+            try {
+                messages.add(toMimeMessage(mail.email()));
+                prepared.add(mail);
+            } catch (MessagingException e) {
+                // Malformed address or content will never succeed, don't retry
+                emailsFailed.increment();
+                log.error("Malformed email, sending it to the DLT: to={}, error={}", mail.email().to(), e.getMessage());
+                deadLetter(mail, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return;
+        }
+
+        batchSizeSummary.record(messages.size());
+        Map<Object, Exception> failed = new HashMap<>();
+        long start = System.nanoTime();
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failed.putAll(e.getFailedMessages());
+            if (failed.isEmpty()) {
+                messages.forEach(message -> failed.put(message, e));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> failed.put(message, e));
+        } finally {
+            sendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        long end = System.nanoTime();
+        for (int i = 0; i < prepared.size(); i++) {
+            PendingMail mail = prepared.get(i);
+            Exception error = failed.get(messages.get(i));
+            if (error == null) {
+                emailsSent.increment();
+                deliveryLatency.record(end - mail.enqueuedAt(), TimeUnit.NANOSECONDS);
+            } else {
+                onFailure.accept(mail, error);
+            }
+        }
+        log.debug("Mail batch sent: size={}, failed={}", messages.size(), failed.size());
+    }
+
+    private void retry(PendingMail mail, Exception error) {
+        int attempt = mail.attempt() + 1;
+        if (attempt >= maxAttempts) {
+            emailsFailed.increment();
+            log.error("Email failed after {} attempts, sending it to the DLT: to={}, error={}",
+                    attempt, mail.email().to(), error.getMessage());
+            deadLetter(mail, error);
+            return;
+        }
+        long backoffMs = Math.min(MAX_BACKOFF_MS, retryBackoffMs << Math.min(attempt - 1, 20));
+        // +/- 20% jitter so retries for a failing domain don't arrive in lockstep
+        long jitteredMs = (long) (backoffMs * (0.8 + ThreadLocalRandom.current().nextDouble() * 0.4));
+        emailsRetried.increment();
+        log.warn("Email send failed, retrying in {}ms: to={}, attempt={}, error={}",
+                jitteredMs, mail.email().to(), attempt, error.getMessage());
+        queue.add(new PendingMail(mail.email(), attempt, mail.enqueuedAt(),
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(jitteredMs)));
+    }
+
+    /**
+     * Best-effort single attempt for everything still queued, ignoring rate limits and backoff
+     * What fails is handed back to Kafka on the first retry tier; the publishes are awaited
+     */
+    private void flushOnShutdown() {
+        List<PendingMail> remaining = new ArrayList<>(queue);
+        queue.clear();
+        if (remaining.isEmpty()) {
+            return;
+        }
+        log.info("Flushing {} queued emails before shutdown", remaining.size());
+        String firstTier = retryTierRouter.retryTopic(KafkaConfig.EMAIL_TOPIC, 0);
+        List<CompletableFuture<?>> republished = new ArrayList<>();
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            send(remaining.subList(from, Math.min(from + batchSize, remaining.size())),
+                    (mail, error) -> republished.add(republish(mail, firstTier, 1, error)));
+        }
+        try {
+            CompletableFuture.allOf(republished.toArray(CompletableFuture[]::new))
+                    .get(REPUBLISH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed publishes are logged and counted per email
+            log.warn("Not every email could be handed back to Kafka before shutdown: {}", e.getMessage());
+        }
+    }
+
+    private void deadLetter(PendingMail mail, Exception error) {
+        republish(mail, retryTierRouter.deadLetterTopic(KafkaConfig.EMAIL_TOPIC), retryTierRouter.tierCount() + 1, error);
+    }
+
+    /**
+     * Publish an email this node gave up on back to Kafka, with the same headers the retry tiers use
+     */
+    private CompletableFuture<?> republish(PendingMail mail, String topic, int attempt, Exception error) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(mail.email());
+        } catch (JsonProcessingException e) {
+            log.error("Email could not be serialized and is lost: to={}, error={}", mail.email().to(), e.getMessage());
+            return CompletableFuture.completedFuture(null);
+        }
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, null, mail.email().to(), payload,
+                retryTierRouter.headers(KafkaConfig.EMAIL_TOPIC, attempt, error));
+        return emailKafkaTemplate.send(record).whenComplete((result, ex) -> {
+            if (ex == null) {
+                meterRegistry.counter("email.dispatch.republished", "topic", topic).increment();
+            } else {
+                log.error("Email could not be republished and is lost: to={}, topic={}, error={}",
+                        mail.email().to(), topic, ex.getMessage());
+            }
+        });
+    }
+
+    private MimeMessage toMimeMessage(EmailEvent email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.html(), "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.body(), email.html());
+        return message;
+    }
+
+    private TokenBucket limiter(String domain) {
+        return domainLimiters.computeIfAbsent(domain,
+                d -> new TokenBucket(domainRates.getOrDefault(d, defaultDomainRate)));
+    }
+
+    private static Map<String, Double> parseDomainRates(String value) {
+        Map<String, Double> rates = new HashMap<>();
+        if (value == null || value.isBlank()) {
+            return rates;
+        }
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length == 2) {
+                rates.put(parts[0].trim().toLowerCase(), Double.parseDouble(parts[1].trim()));
+            }
+        }
+        return rates;
+    }
+
+    /**
+     * An email waiting in the queue; due when its delay has elapsed
+     */
+    private record PendingMail(EmailEvent email, int attempt, long enqueuedAt, long dueAt) implements Delayed {
+
+        PendingMail deferred(long newDueAt) {
+            return new PendingMail(email, attempt, enqueuedAt, newDueAt);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((PendingMail) other).dueAt);
+        }
+    }
+
+    /**
+     * Token bucket allowing one second worth of burst
+     */
+    private static final class TokenBucket {
+        private final double ratePerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(double ratePerSecond) {
+            this.ratePerNano = ratePerSecond / 1_000_000_000d;
+            this.capacity = Math.max(1d, ratePerSecond);
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise nanos until the next token is available
+         */
+        long tryAcquire(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+            if (tokens >= 1d) {
+                tokens -= 1d;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1d - tokens) / ratePerNano));
+        }
+    }
+}
@@ -0,0 +1,423 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.application.service.SseEmitterService;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Delivers SSE pushes to whichever backend node holds the user's connection
+ *
+ * Every node announces its connected users on the compacted sse-presence topic (key nodeId/userId, plus
+ * a nodeId heartbeat key) and reads the whole topic into a user -> nodes map. A notification processed
+ * on a node without the user's connection is relayed once on sse-delivery with the target nodes in a
+ * header; each node reads every relay and only decodes the ones addressed to it. That is one extra hop
+ * at most, and none when the user is connected locally or nowhere.
+ *
+ * Single events (e.g. balance changes) are relayed the same way with the event name in a header and
+ * the payload as the record value.
+ *
+ * Broadcasts go out as a single sse-delivery record without a target header, keyed by the origin node;
+ * every other node writes it to all its local connections.
+ *
+ * Nodes that stop heartbeating are dropped after node-ttl-ms and their presence entries tombstoned by
+ * any surviving node. With sse.cluster.enabled=false pushes stay local.
+ */
+@Service
+public class ClusterSseDelivery implements SmartLifecycle, SseEmitterService.ConnectionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterSseDelivery.class);
+
+    public static final String TARGET_HEADER = "x-sse-target";
+    public static final String BROADCAST_HEADER = "x-sse-broadcast";
+    public static final String EVENT_HEADER = "x-sse-event";
+    private static final String PRESENT = "1";
+
+    /**
+     * Relay payload: notifications for one user and the unread count after them
+     */
+    public record Relay(List<Notification> notifications, long unreadCount) {
+    }
+
+    private final SseEmitterService localSse;
+    private final KafkaTemplate<String, String> sseClusterKafkaTemplate;
+    private final ConsumerFactory<String, String> sseClusterConsumerFactory;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String nodeId;
+    private final long nodeTtlMs;
+
+    // userId -> nodes announcing a connection for it, and nodeId -> last heartbeat (record timestamp)
+    private final Map<UUID, Set<String>> nodesByUser = new ConcurrentHashMap<>();
+    private final Map<String, Long> nodeHeartbeats = new ConcurrentHashMap<>();
+    // Users this node has announced as connected
+    private final Set<UUID> announced = ConcurrentHashMap.newKeySet();
+    private final List<KafkaMessageListenerContainer<String, String>> containers = new ArrayList<>();
+    private volatile boolean running;
+
+    private final Counter relayed;
+    private final Counter received;
+
+    public ClusterSseDelivery(SseEmitterService localSse,
+                              KafkaTemplate<String, String> sseClusterKafkaTemplate,
+                              ConsumerFactory<String, String> sseClusterConsumerFactory,
+                              ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry,
+                              @Value("${sse.cluster.enabled:true}") boolean enabled,
+                              @Value("${sse.cluster.node-id:}") String nodeId,
+                              @Value("${sse.cluster.node-ttl-ms:35000}") long nodeTtlMs) {
+        this.localSse = localSse;
+        this.sseClusterKafkaTemplate = sseClusterKafkaTemplate;
+        this.sseClusterConsumerFactory = sseClusterConsumerFactory;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // Random per start by default: a restarted node never inherits presence entries of its previous run
+        this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+        this.nodeTtlMs = nodeTtlMs;
+        this.relayed = Counter.builder("sse.cluster.relayed")
+                .description("SSE pushes relayed to another node")
+                .register(meterRegistry);
+        this.received = Counter.builder("sse.cluster.received")
+                .description("SSE pushes received from another node and delivered locally")
+                .register(meterRegistry);
+        Gauge.builder("sse.cluster.nodes", this, delivery -> delivery.liveNodes().size())
+                .description("Backend nodes with a recent SSE presence heartbeat")
+                .register(meterRegistry);
+        localSse.addConnectionListener(this);
+    }
+
+    /**
+     * Whether the user has an SSE connection (or a replay buffer) on this or any other live node
+     */
+    public boolean isConnected(UUID userId) {
+        return localSse.isTracked(userId) || !remoteNodes(userId).isEmpty();
+    }
+
+    /**
+     * Push notifications and the new unread count to every connection of the user, wherever it is
+     */
+    public void deliver(UUID userId, List<Notification> notifications, long unreadCount) {
+        if (localSse.isTracked(userId)) {
+            pushLocally(userId, notifications, unreadCount);
+        }
+
+        List<String> targets = remoteNodes(userId);
+        if (targets.isEmpty()) {
+            return;
+        }
+        try {
+            ProducerRecord<String, String> record = new ProducerRecord<>(KafkaConfig.SSE_DELIVERY_TOPIC,
+                    userId.toString(), objectMapper.writeValueAsString(new Relay(notifications, unreadCount)));
+            record.headers().add(TARGET_HEADER, String.join(",", targets).getBytes(StandardCharsets.UTF_8));
+            sseClusterKafkaTemplate.send(record);
+            relayed.increment();
+            log.debug("Relayed SSE push: userId={}, notifications={}, targets={}", userId, notifications.size(), targets);
+        } catch (Exception e) {
+            // Clients catch up on their next fetch
+            log.warn("Failed to relay SSE push: userId={}, error={}", userId, e.getMessage());
+        }
+    }
+
+    /**
+     * Push one event to every connection of the user, wherever it is
+     * The payload is serialized by the caller
+     */
+    public void push(UUID userId, String event, String data) {
+        if (localSse.isTracked(userId)) {
+            localSse.sendEventToUser(userId, event, data);
+        }
+
+        List<String> targets = remoteNodes(userId);
+        if (targets.isEmpty()) {
+            return;
+        }
+        try {
+            ProducerRecord<String, String> record = new ProducerRecord<>(KafkaConfig.SSE_DELIVERY_TOPIC, userId.toString(), data);
+            record.headers().add(TARGET_HEADER, String.join(",", targets).getBytes(StandardCharsets.UTF_8));
+            record.headers().add(EVENT_HEADER, event.getBytes(StandardCharsets.UTF_8));
+            sseClusterKafkaTemplate.send(record);
+            relayed.increment();
+            log.debug("Relayed SSE event: userId={}, event={}, targets={}", userId, event, targets);
+        } catch (Exception e) {
+            log.warn("Failed to relay SSE event: userId={}, event={}, error={}", userId, event, e.getMessage());
+        }
+    }
+
+    /**
+     * Push one event to every user connected to any node
+     * The payload is serialized by the caller once and sent to the other nodes in a single record
+     */
+    public void broadcast(String event, String data) {
+        localSse.broadcast(event, data, userId -> true);
+        if (!running) {
+            return;
+        }
+        try {
+            ProducerRecord<String, String> record = new ProducerRecord<>(KafkaConfig.SSE_DELIVERY_TOPIC, nodeId, data);
+            record.headers().add(BROADCAST_HEADER, event.getBytes(StandardCharsets.UTF_8));
+            sseClusterKafkaTemplate.send(record);
+            relayed.increment();
+            log.debug("Relayed SSE broadcast: event={}", event);
+        } catch (Exception e) {
+            log.warn("Failed to relay SSE broadcast: event={}, error={}", event, e.getMessage());
+        }
+    }
+
+    @Override
+    public void userConnected(UUID userId) {
+        if (enabled && announced.add(userId)) {
+            announce(userId, PRESENT);
+        }
+    }
+
+    @Override
+    public void userDisconnected(UUID userId) {
+        if (enabled && announced.remove(userId)) {
+            announce(userId, null);
+        }
+    }
+
+    /**
+     * Publish this node's heartbeat, repair announcements that raced with connects and disconnects,
+     * and tombstone the presence of nodes that stopped heartbeating
+     */
+    @Scheduled(fixedDelayString = "${sse.cluster.heartbeat-interval-ms:10000}")
+    public void heartbeat() {
+        if (!running) {
+            return;
+        }
+        sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, nodeId, String.valueOf(System.currentTimeMillis()));
+
+        Set<UUID> connected = localSse.getTrackedUserIds();
+        connected.forEach(this::userConnected);
+        new HashSet<>(announced).stream().filter(userId -> !connected.contains(userId)).forEach(this::userDisconnected);
+
+        long cutoff = System.currentTimeMillis() - nodeTtlMs;
+        nodeHeartbeats.forEach((node, lastSeen) -> {
+            if (lastSeen < cutoff && !node.equals(nodeId)) {
+                log.info("SSE node {} stopped heartbeating, removing its presence", node);
+                removeNode(node, true);
+            }
+        });
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Presence: the whole compacted topic on every start; relays: only from now on
+        containers.add(container(KafkaConfig.SSE_PRESENCE_TOPIC, "sse-presence-" + nodeId, true, this::onPresence));
+        containers.add(container(KafkaConfig.SSE_DELIVERY_TOPIC, "sse-delivery-" + nodeId, false, this::onRelay));
+        containers.forEach(KafkaMessageListenerContainer::start);
+        running = true;
+        sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, nodeId, String.valueOf(System.currentTimeMillis()));
+        log.info("SSE cluster delivery started: nodeId={}", nodeId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        // Leave cleanly so other nodes stop relaying here without waiting for the TTL
+        announced.forEach(userId -> announce(userId, null));
+        announced.clear();
+        sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, nodeId, null);
+        sseClusterKafkaTemplate.flush();
+        containers.forEach(KafkaMessageListenerContainer::stop);
+        containers.clear();
+        log.info("SSE cluster delivery stopped: nodeId={}", nodeId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether both listener containers have their partitions, i.e. relays to this node are no longer missed
+     */
+    boolean isAssigned() {
+        return !containers.isEmpty() && containers.stream().allMatch(container ->
+                container.getAssignedPartitions() != null && !container.getAssignedPartitions().isEmpty());
+    }
+
+    private void onPresence(ConsumerRecord<String, String> record) {
+        String key = record.key();
+        int separator = key.indexOf('/');
+        if (separator < 0) {
+            if (record.value() == null) {
+                removeNode(key, false);
+            } else {
+                nodeHeartbeats.put(key, record.timestamp());
+            }
+            return;
+        }
+
+        String node = key.substring(0, separator);
+        UUID userId = UUID.fromString(key.substring(separator + 1));
+        if (record.value() != null) {
+            nodesByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(node);
+        } else {
+            nodesByUser.computeIfPresent(userId, (id, nodes) -> {
+                nodes.remove(node);
+                return nodes.isEmpty() ? null : nodes;
+            });
+        }
+    }
+
+    private void onRelay(ConsumerRecord<String, String> record) {
+        Header broadcast = record.headers().lastHeader(BROADCAST_HEADER);
+        if (broadcast != null) {
+            if (!nodeId.equals(record.key())) {
+                localSse.broadcast(new String(broadcast.value(), StandardCharsets.UTF_8), record.value(), userId -> true);
+                received.increment();
+            }
+            return;
+        }
+        Header target = record.headers().lastHeader(TARGET_HEADER);
+        if (target == null || !List.of(new String(target.value(), StandardCharsets.UTF_8).split(",")).contains(nodeId)) {
+            return;
+        }
+        try {
+            UUID userId = UUID.fromString(record.key());
+            Header event = record.headers().lastHeader(EVENT_HEADER);
+            if (event != null) {
+                localSse.sendEventToUser(userId, new String(event.value(), StandardCharsets.UTF_8), record.value());
+                received.increment();
+                return;
+            }
+            Relay relay = objectMapper.readValue(record.value(), Relay.class);
+            pushLocally(userId, relay.notifications(), relay.unreadCount());
+            received.increment();
+        } catch (Exception e) {
+            log.warn("Dropping malformed SSE relay at offset {}: {}", record.offset(), e.getMessage());
+        }
+    }
+
+    private void pushLocally(UUID userId, List<Notification> notifications, long unreadCount) {
+        notifications.forEach(notification -> localSse.sendNotificationToUser(userId, notification));
+        localSse.sendUnreadCountToUser(userId, unreadCount);
+    }
+
+    private List<String> remoteNodes(UUID userId) {
+        Set<String> nodes = nodesByUser.get(userId);
+        if (nodes == null || nodes.isEmpty()) {
+            return List.of();
+        }
+        Set<String> live = liveNodes();
+        return nodes.stream()
+                .filter(node -> !node.equals(nodeId) && live.contains(node))
+                .collect(Collectors.toList());
+    }
+
+    private Set<String> liveNodes() {
+        long cutoff = System.currentTimeMillis() - nodeTtlMs;
+        return nodeHeartbeats.entrySet().stream()
+                .filter(entry -> entry.getValue() >= cutoff)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Forget a node; with tombstone, also delete its entries from the compacted topic
+     */
+    private void removeNode(String node, boolean tombstone) {
+        if (node.equals(nodeId)) {
+            // Another node expired us (e.g. after a long pause): announce everything again
+            if (running) {
+                Set<UUID> users = new HashSet<>(announced);
+                users.forEach(userId -> announce(userId, PRESENT));
+            }
+            return;
+        }
+        nodeHeartbeats.remove(node);
+        nodesByUser.forEach((userId, nodes) -> {
+            if (nodes.remove(node) && tombstone) {
+                sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, node + "/" + userId, null);
+            }
+        });
+        nodesByUser.values().removeIf(Set::isEmpty);
+        if (tombstone) {
+            sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, node, null);
+        }
+    }
+
+    private void announce(UUID userId, String value) {
+        try {
+            sseClusterKafkaTemplate.send(KafkaConfig.SSE_PRESENCE_TOPIC, nodeId + "/" + userId, value);
+        } catch (Exception e) {
+            // Repaired by the next heartbeat
+            log.warn("Failed to announce SSE presence: userId={}, error={}", userId, e.getMessage());
+            if (value != null) {
+                announced.remove(userId);
+            } else {
+                announced.add(userId);
+            }
+        }
+    }
+
+    private KafkaMessageListenerContainer<String, String> container(String topic, String groupId, boolean fromBeginning,
+                                                                   MessageListener<String, String> listener) {
+        ContainerProperties properties = new ContainerProperties(topic);
+        properties.setGroupId(groupId);
+        properties.setMessageListener(listener);
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, fromBeginning ? "earliest" : "latest");
+        properties.setKafkaConsumerProperties(overrides);
+        properties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                if (fromBeginning) {
+                    consumer.seekToBeginning(partitions);
+                } else {
+                    consumer.seekToEnd(partitions);
+                }
+            }
+        });
+        KafkaMessageListenerContainer<String, String> container =
+                new KafkaMessageListenerContainer<>(sseClusterConsumerFactory, properties);
+        container.setBeanName(groupId);
+        return container;
+    }
+}
@@ -0,0 +1,250 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.application.messaging.codec.NotificationDeserializer;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inspect and replay records parked on the dead-letter topics
+ *
+ * Reads use a short-lived consumer with manually assigned partitions, so they never join or
+ * move a consumer group. Replay republishes the original bytes and key to the source topic
+ * with the retry and failure headers stripped; the DLT record itself stays in place.
+ */
+@Service
+public class DeadLetterService {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterService.class);
+
+    private static final Set<String> SOURCE_TOPICS = Set.of(KafkaConfig.NOTIFICATION_TOPIC,
+            KafkaConfig.NOTIFICATION_URGENT_TOPIC, KafkaConfig.NOTIFICATION_HIGH_TOPIC, KafkaConfig.EMAIL_TOPIC);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final int MAX_PAYLOAD_PREVIEW = 1024;
+
+    private final ConsumerFactory<String, byte[]> deadLetterConsumerFactory;
+    private final KafkaTemplate<String, byte[]> deadLetterKafkaTemplate;
+    private final RetryTierRouter retryTierRouter;
+    private final NotificationDeserializer notificationDeserializer = new NotificationDeserializer();
+    private final MeterRegistry meterRegistry;
+
+    @Value("${kafka.dlt.read-timeout-ms:5000}")
+    private long readTimeoutMs;
+
+    public DeadLetterService(ConsumerFactory<String, byte[]> deadLetterConsumerFactory,
+                             KafkaTemplate<String, byte[]> deadLetterKafkaTemplate,
+                             RetryTierRouter retryTierRouter,
+                             MeterRegistry meterRegistry) {
+        this.deadLetterConsumerFactory = deadLetterConsumerFactory;
+        this.deadLetterKafkaTemplate = deadLetterKafkaTemplate;
+        this.retryTierRouter = retryTierRouter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Dead letter as shown to operators
+     */
+    public record DeadLetter(
+            String topic,
+            int partition,
+            long offset,
+            String key,
+            Instant timestamp,
+            String originalTopic,
+            int attempts,
+            String exceptionClass,
+            String exceptionMessage,
+            String failureReason,
+            String payload) {
+    }
+
+    /**
+     * Most recent dead letters of a source topic, at most limit per partition, newest first
+     */
+    public List<DeadLetter> list(String sourceTopic, int limit) {
+        String deadLetterTopic = deadLetterTopic(sourceTopic);
+        List<DeadLetter> deadLetters = new ArrayList<>();
+
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = partitions(consumer, deadLetterTopic);
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            partitions.forEach(tp -> consumer.seek(tp, Math.max(beginning.get(tp), end.get(tp) - limit)));
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readTimeoutMs);
+            while (!reachedEnd(consumer, partitions, end) && System.nanoTime() < deadline) {
+                consumer.poll(POLL_TIMEOUT).forEach(record -> deadLetters.add(toDeadLetter(sourceTopic, record)));
+            }
+        }
+
+        deadLetters.sort(Comparator.comparing(DeadLetter::timestamp).reversed());
+        return deadLetters;
+    }
+
+    /**
+     * Republish one dead letter to its source topic
+     *
+     * @return false when no record exists at the given position
+     */
+    public boolean replay(String sourceTopic, int partition, long offset) {
+        String deadLetterTopic = deadLetterTopic(sourceTopic);
+        Optional<ConsumerRecord<String, byte[]>> found = read(new TopicPartition(deadLetterTopic, partition), offset);
+        if (found.isEmpty()) {
+            return false;
+        }
+
+        ConsumerRecord<String, byte[]> record = found.get();
+        String replayedFrom = deadLetterTopic + "/" + partition + "/" + offset;
+        Headers headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!isFailureHeader(header.key())) {
+                headers.add(header);
+            }
+        }
+        headers.add(RetryTierRouter.REPLAYED_FROM_HEADER, replayedFrom.getBytes(StandardCharsets.UTF_8));
+
+        String targetTopic = RetryTierRouter.sourceTopic(record);
+        try {
+            deadLetterKafkaTemplate.send(new ProducerRecord<>(targetTopic, null, record.key(), record.value(), headers))
+                    .get(readTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to replay dead letter " + replayedFrom + ": " + e.getMessage(), e);
+        }
+
+        Counter.builder("kafka.dlt.replayed")
+                .description("Dead letters republished to their source topic")
+                .tag("topic", targetTopic)
+                .register(meterRegistry)
+                .increment();
+        log.info("Replayed dead letter: from={}, to={}, key={}", replayedFrom, targetTopic, record.key());
+        return true;
+    }
+
+    private Optional<ConsumerRecord<String, byte[]>> read(TopicPartition tp, long offset) {
+        try (Consumer<String, byte[]> consumer = deadLetterConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = partitions(consumer, tp.topic());
+            if (!partitions.contains(tp)) {
+                return Optional.empty();
+            }
+            consumer.assign(List.of(tp));
+            long end = consumer.endOffsets(List.of(tp)).get(tp);
+            if (offset < consumer.beginningOffsets(List.of(tp)).get(tp) || offset >= end) {
+                return Optional.empty();
+            }
+            consumer.seek(tp, offset);
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readTimeoutMs);
+            while (consumer.position(tp) <= offset && System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.offset() == offset) {
+                        return Optional.of(record);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private String deadLetterTopic(String sourceTopic) {
+        if (!SOURCE_TOPICS.contains(sourceTopic)) {
+            throw new IllegalArgumentException("Unknown source topic: " + sourceTopic);
+        }
+        return retryTierRouter.deadLetterTopic(sourceTopic);
+    }
+
+    private static List<TopicPartition> partitions(Consumer<?, ?> consumer, String topic) {
+        List<PartitionInfo> infos = consumer.partitionsFor(topic);
+        List<TopicPartition> partitions = new ArrayList<>();
+        if (infos != null) {
+            infos.forEach(info -> partitions.add(new TopicPartition(topic, info.partition())));
+        }
+        return partitions;
+    }
+
+    private static boolean reachedEnd(Consumer<?, ?> consumer, List<TopicPartition> partitions,
+                                      Map<TopicPartition, Long> end) {
+        for (TopicPartition tp : partitions) {
+            if (consumer.position(tp) < end.get(tp)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private DeadLetter toDeadLetter(String sourceTopic, ConsumerRecord<String, byte[]> record) {
+        return new DeadLetter(
+                record.topic(),
+                record.partition(),
+                record.offset(),
+                record.key(),
+                Instant.ofEpochMilli(record.timestamp()),
+                RetryTierRouter.sourceTopic(record),
+                RetryTierRouter.attempt(record),
+                header(record, KafkaHeaders.DLT_EXCEPTION_FQCN),
+                header(record, KafkaHeaders.DLT_EXCEPTION_MESSAGE),
+                header(record, RetryTierRouter.FAILURE_REASON_HEADER),
+                payloadPreview(sourceTopic, record.value()));
+    }
+
+    private String payloadPreview(String sourceTopic, byte[] value) {
+        if (value == null) {
+            return null;
+        }
+        String preview;
+        if (!KafkaConfig.EMAIL_TOPIC.equals(sourceTopic)) {
+            try {
+                Notification notification = notificationDeserializer.deserialize(sourceTopic, value);
+                preview = notification == null ? null : "userId=" + notification.getUserId()
+                        + ", type=" + notification.getType()
+                        + ", channel=" + notification.getChannel()
+                        + ", title=" + notification.getTitle();
+            } catch (Exception e) {
+                preview = "<undecodable, " + value.length + " bytes>";
+            }
+        } else {
+            preview = new String(value, StandardCharsets.UTF_8);
+        }
+        return preview != null && preview.length() > MAX_PAYLOAD_PREVIEW
+                ? preview.substring(0, MAX_PAYLOAD_PREVIEW) : preview;
+    }
+
+    private static String header(ConsumerRecord<?, ?> record, String key) {
+        Header header = record.headers().lastHeader(key);
+        return header != null ? new String(header.value(), StandardCharsets.UTF_8) : null;
+    }
+
+    private static boolean isFailureHeader(String key) {
+        return key.startsWith("kafka_dlt-") || key.startsWith("x-retry-")
+                || key.equals(RetryTierRouter.ORIGINAL_TOPIC_HEADER)
+                || key.equals(RetryTierRouter.FAILURE_REASON_HEADER)
+                || key.equals(RetryTierRouter.REPLAYED_FROM_HEADER);
+    }
+}
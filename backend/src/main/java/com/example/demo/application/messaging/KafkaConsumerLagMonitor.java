@@ -0,0 +1,144 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.config.KafkaConfig;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically computes consumer lag (log end offset - committed offset) per partition
+ * and exposes it as kafka.consumer.lag gauges tagged with group, topic and partition
+ * Retry tiers are monitored like any other topic, so their lag is the tier depth. Dead-letter topics
+ * have no consumer group and report every retained record.
+ */
+@Component
+public class KafkaConsumerLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaConsumerLagMonitor.class);
+
+    private final KafkaAdmin kafkaAdmin;
+    private final MeterRegistry meterRegistry;
+    // Topic -> consumer group that reads it
+    private final Map<String, String> monitoredTopics = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> lags = new ConcurrentHashMap<>();
+
+    @Value("${kafka.lag.request-timeout-ms:5000}")
+    private long requestTimeoutMs;
+
+    private AdminClient adminClient;
+
+    public KafkaConsumerLagMonitor(KafkaAdmin kafkaAdmin,
+                                   MeterRegistry meterRegistry,
+                                   RetryTierRouter retryTierRouter,
+                                   @Value("${spring.kafka.consumer.group-id:virtualbank-notifications}") String groupId) {
+        this.kafkaAdmin = kafkaAdmin;
+        this.meterRegistry = meterRegistry;
+        monitoredTopics.put(NotificationLane.BULK.getTopic(), groupId);
+        monitoredTopics.put(NotificationLane.URGENT.getTopic(), groupId + "-urgent");
+        monitoredTopics.put(NotificationLane.HIGH.getTopic(), groupId + "-high");
+        monitoredTopics.put(KafkaConfig.EMAIL_TOPIC, groupId + "-email");
+        for (String retryTopic : retryTierRouter.retryTopics(NotificationLane.topics())) {
+            monitoredTopics.put(retryTopic, groupId + "-retry");
+        }
+        for (String retryTopic : retryTierRouter.retryTopics(KafkaConfig.EMAIL_TOPIC)) {
+            monitoredTopics.put(retryTopic, groupId + "-email-retry");
+        }
+        // Never consumed by a group: lag is measured from the earliest retained offset
+        for (String laneTopic : NotificationLane.topics()) {
+            monitoredTopics.put(retryTierRouter.deadLetterTopic(laneTopic), groupId + "-dlt");
+        }
+        monitoredTopics.put(retryTierRouter.deadLetterTopic(KafkaConfig.EMAIL_TOPIC), groupId + "-dlt");
+    }
+
+    /**
+     * Refresh lag gauges for every monitored topic
+     */
+    @Scheduled(fixedDelayString = "${kafka.lag.refresh-interval-ms:15000}",
+            initialDelayString = "${kafka.lag.initial-delay-ms:30000}")
+    public void refresh() {
+        monitoredTopics.forEach((topic, groupId) -> {
+            try {
+                refresh(topic, groupId);
+            } catch (Exception e) {
+                // Keep the last known values, the next tick retries
+                log.warn("Failed to refresh consumer lag: topic={}, group={}, error={}", topic, groupId, e.getMessage());
+            }
+        });
+    }
+
+    private void refresh(String topic, String groupId) throws Exception {
+        AdminClient admin = adminClient();
+
+        TopicDescription description = admin.describeTopics(List.of(topic))
+                .allTopicNames().get(requestTimeoutMs, TimeUnit.MILLISECONDS).get(topic);
+        Map<TopicPartition, OffsetSpec> latestRequest = new HashMap<>();
+        description.partitions().forEach(p -> latestRequest.put(new TopicPartition(topic, p.partition()), OffsetSpec.latest()));
+
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin.listOffsets(latestRequest)
+                .all().get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata().get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+
+        // Partitions the group never committed are measured from the earliest retained offset
+        Map<TopicPartition, OffsetSpec> earliestRequest = new HashMap<>();
+        endOffsets.keySet().stream()
+                .filter(tp -> committed.get(tp) == null)
+                .forEach(tp -> earliestRequest.put(tp, OffsetSpec.earliest()));
+        Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> startOffsets = earliestRequest.isEmpty()
+                ? Map.of()
+                : admin.listOffsets(earliestRequest).all().get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+
+        endOffsets.forEach((tp, end) -> {
+            OffsetAndMetadata commit = committed.get(tp);
+            long position = commit != null ? commit.offset() : startOffsets.get(tp).offset();
+            lagHolder(groupId, tp).set(Math.max(0, end.offset() - position));
+        });
+    }
+
+    private AtomicLong lagHolder(String groupId, TopicPartition tp) {
+        return lags.computeIfAbsent(groupId + "/" + tp, key -> {
+            AtomicLong holder = new AtomicLong();
+            Gauge.builder("kafka.consumer.lag", holder, AtomicLong::get)
+                    .description("Records between the log end offset and the committed offset of the consumer group")
+                    .tag("group", groupId)
+                    .tag("topic", tp.topic())
+                    .tag("partition", String.valueOf(tp.partition()))
+                    .register(meterRegistry);
+            return holder;
+        });
+    }
+
+    private synchronized AdminClient adminClient() {
+        if (adminClient == null) {
+            adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties());
+        }
+        return adminClient;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (adminClient != null) {
+            adminClient.close();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.config.datasource.WorkloadContext;
+import com.example.demo.config.datasource.WorkloadType;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Key-ordered parallel processing of a polled batch
+ *
+ * Records are grouped by key and each group is handled on its own virtual thread, in poll order, so
+ * records of one key stay ordered while different keys run in parallel, beyond the partition count.
+ * A permit pool bounds how many groups run at once across the listener threads sharing the dispatcher;
+ * a single-key batch runs on the listener thread but still takes a permit, so permits bound connections.
+ *
+ * dispatch returns only when every group has finished, so the next poll never overtakes this one.
+ * When groups fail, the lowest failing index is reported as a BatchListenerFailedException: every record
+ * before it has been processed and is committed, the rest of the batch is redelivered. Records of other
+ * keys after that index may already have been processed, so redelivery is at-least-once.
+ */
+public class KeyOrderedDispatcher implements AutoCloseable {
+
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final AtomicInteger active = new AtomicInteger();
+
+    public KeyOrderedDispatcher(int maxParallelism) {
+        this.permits = new Semaphore(maxParallelism);
+    }
+
+    /**
+     * Process the records grouped by key and wait for all groups
+     *
+     * @param handler processes the records of one key in order; a BatchListenerFailedException it throws
+     *                carries an index into the list it was given
+     */
+    public <T> void dispatch(List<T> records, Function<T, ?> keyOf, Consumer<List<T>> handler) {
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            groups.computeIfAbsent(keyOf.apply(records.get(i)), key -> new ArrayList<>()).add(i);
+        }
+        if (groups.size() <= 1) {
+            runGroup(records, handler, WorkloadContext.get());
+            return;
+        }
+
+        // Workers take their connection from the same pool as the listener thread
+        WorkloadType workload = WorkloadContext.get();
+        List<List<Integer>> indices = new ArrayList<>(groups.values());
+        List<Future<?>> futures = new ArrayList<>(indices.size());
+        for (List<Integer> group : indices) {
+            List<T> groupRecords = group.stream().map(records::get).toList();
+            futures.add(workers.submit(() -> runGroup(groupRecords, handler, workload)));
+        }
+
+        int failedIndex = Integer.MAX_VALUE;
+        Throwable failure = null;
+        for (int g = 0; g < futures.size(); g++) {
+            Throwable cause = await(futures.get(g));
+            if (cause == null) {
+                continue;
+            }
+            int index = indices.get(g).get(0);
+            if (cause instanceof BatchListenerFailedException failed && failed.getIndex() >= 0) {
+                index = indices.get(g).get(failed.getIndex());
+                cause = failed.getCause() != null ? failed.getCause() : failed;
+            }
+            if (index < failedIndex) {
+                failedIndex = index;
+                failure = cause;
+            }
+        }
+        if (failure != null) {
+            throw new BatchListenerFailedException("Failed to process record for key "
+                    + keyOf.apply(records.get(failedIndex)), failure, failedIndex);
+        }
+    }
+
+    /**
+     * Groups currently being processed
+     */
+    public int activeGroups() {
+        return active.get();
+    }
+
+    @Override
+    public void close() {
+        workers.close();
+    }
+
+    private <T> void runGroup(List<T> records, Consumer<List<T>> handler, WorkloadType workload) {
+        permits.acquireUninterruptibly();
+        active.incrementAndGet();
+        WorkloadType previous = WorkloadContext.set(workload);
+        try {
+            handler.accept(records);
+        } finally {
+            WorkloadContext.restore(previous);
+            active.decrementAndGet();
+            permits.release();
+        }
+    }
+
+    private static Throwable await(Future<?> future) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    future.get();
+                    return null;
+                } catch (ExecutionException e) {
+                    return e.getCause();
+                } catch (InterruptedException e) {
+                    // Finish the batch first, a stopping container waits for the listener anyway
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
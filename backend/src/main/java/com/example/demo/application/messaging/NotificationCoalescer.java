@@ -0,0 +1,218 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.domain.notification.Notification;
+import com.example.demo.domain.notification.Notification.NotificationChannel;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.example.demo.domain.notification.Notification.NotificationType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalescing stage in front of the notification producer
+ *
+ * LOW and MEDIUM notifications are buffered per user, type and channel for a short window and then
+ * published as one digest ("12 transactions completed"), so a burst of transactions costs one row,
+ * one SSE frame and at most one email. Notifications on the urgent and high lanes bypass the window.
+ * Buffered notifications live in memory only; a crash loses at most one window of low-priority digests.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationCoalescer.class);
+
+    private static final int MAX_DIGEST_LINES = 10;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final NotificationProducer notificationProducer;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int maxDigestSize;
+    private final int maxPending;
+
+    private final Map<Key, Bucket> buckets = new HashMap<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Counter coalesced;
+    private final Counter digestsEmitted;
+    private final Counter bypassed;
+
+    private record Key(UUID userId, NotificationType type, NotificationChannel channel) {
+    }
+
+    private static final class Bucket {
+        private final long dueAt;
+        private final List<Notification> notifications = new ArrayList<>();
+
+        private Bucket(long dueAt) {
+            this.dueAt = dueAt;
+        }
+    }
+
+    public NotificationCoalescer(NotificationProducer notificationProducer,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.coalesce.enabled:true}") boolean enabled,
+                                 @Value("${notification.coalesce.window-ms:10000}") long windowMillis,
+                                 @Value("${notification.coalesce.max-digest-size:100}") int maxDigestSize,
+                                 @Value("${notification.coalesce.max-pending:10000}") int maxPending) {
+        this.notificationProducer = notificationProducer;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxDigestSize = maxDigestSize;
+        this.maxPending = maxPending;
+        this.coalesced = Counter.builder("notifications.coalesced")
+                .description("Low-priority notifications folded into a digest")
+                .register(meterRegistry);
+        this.digestsEmitted = Counter.builder("notifications.digests.emitted")
+                .description("Digest notifications published in place of a burst")
+                .register(meterRegistry);
+        this.bypassed = Counter.builder("notifications.coalesce.bypassed")
+                .description("Coalescible notifications published directly because the buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("notifications.coalesce.pending", pending, AtomicInteger::get)
+                .description("Notifications waiting in a coalescing window")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish a notification, holding LOW/MEDIUM ones back to be coalesced with others of the same kind
+     */
+    public void submit(Notification notification) {
+        if (!enabled || !isCoalescible(notification)) {
+            notificationProducer.sendNotification(notification);
+            return;
+        }
+
+        Key key = new Key(notification.getUserId(), notification.getType(), notification.getChannel());
+        List<Notification> full = null;
+        synchronized (buckets) {
+            if (pending.get() >= maxPending) {
+                full = List.of(notification);
+                bypassed.increment();
+            } else {
+                Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(System.currentTimeMillis() + windowMillis));
+                bucket.notifications.add(notification);
+                pending.incrementAndGet();
+                if (bucket.notifications.size() >= maxDigestSize) {
+                    buckets.remove(key);
+                    pending.addAndGet(-bucket.notifications.size());
+                    full = bucket.notifications;
+                }
+            }
+        }
+        if (full != null) {
+            publish(full);
+        }
+    }
+
+    /**
+     * Publish every window that has closed
+     */
+    @Scheduled(fixedDelayString = "${notification.coalesce.tick-ms:1000}")
+    public void flushDue() {
+        flush(System.currentTimeMillis());
+    }
+
+    /**
+     * Publish everything still buffered before the producer goes away
+     */
+    @PreDestroy
+    public void flushAll() {
+        flush(Long.MAX_VALUE);
+    }
+
+    private void flush(long now) {
+        List<List<Notification>> due = new ArrayList<>();
+        synchronized (buckets) {
+            Iterator<Bucket> it = buckets.values().iterator();
+            while (it.hasNext()) {
+                Bucket bucket = it.next();
+                if (bucket.dueAt <= now) {
+                    it.remove();
+                    pending.addAndGet(-bucket.notifications.size());
+                    due.add(bucket.notifications);
+                }
+            }
+        }
+        due.forEach(this::publish);
+    }
+
+    private void publish(List<Notification> notifications) {
+        try {
+            if (notifications.size() == 1) {
+                notificationProducer.sendNotification(notifications.get(0));
+                return;
+            }
+            Notification digest = digest(notifications);
+            notificationProducer.sendNotification(digest);
+            coalesced.increment(notifications.size());
+            digestsEmitted.increment();
+            log.debug("Published notification digest: userId={}, type={}, size={}",
+                    digest.getUserId(), digest.getType(), notifications.size());
+        } catch (Exception e) {
+            log.error("Failed to publish coalesced notifications: size={}, error={}",
+                    notifications.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fold notifications of one user, type and channel into a single notification
+     * The title counts the burst, the message lists the most recent entries and the priority is the highest seen
+     */
+    static Notification digest(List<Notification> notifications) {
+        Notification first = notifications.get(0);
+        int count = notifications.size();
+
+        StringBuilder message = new StringBuilder();
+        int listed = 0;
+        for (int i = count - 1; i >= 0 && listed < MAX_DIGEST_LINES; i--, listed++) {
+            String line = notifications.get(i).getTitle() + ": " + notifications.get(i).getMessage();
+            String more = "\n... and " + (count - listed - 1) + " more";
+            if (message.length() + line.length() + 1 + more.length() > MAX_MESSAGE_LENGTH) {
+                break;
+            }
+            if (message.length() > 0) {
+                message.append('\n');
+            }
+            message.append(line);
+        }
+        if (listed < count) {
+            message.append(message.length() > 0 ? "\n" : "").append("... and ").append(count - listed).append(" more");
+        }
+
+        NotificationPriority priority = notifications.stream()
+                .map(Notification::getPriority)
+                .max(Comparator.naturalOrder())
+                .orElse(first.getPriority());
+
+        return Notification.create(first.getUserId(), first.getType(), first.getChannel(),
+                digestTitle(first.getType(), count), message.toString(), priority);
+    }
+
+    private static String digestTitle(NotificationType type, int count) {
+        return switch (type) {
+            case TRANSACTION_COMPLETED -> count + " transactions completed";
+            case TRANSACTION_FAILED -> count + " transactions failed";
+            case ACCOUNT_CREATED -> count + " accounts created";
+            default -> count + " new notifications";
+        };
+    }
+
+    private static boolean isCoalescible(Notification notification) {
+        return NotificationLane.of(notification) == NotificationLane.BULK;
+    }
+}
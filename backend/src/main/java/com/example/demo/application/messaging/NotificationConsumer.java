@@ -3,161 +3,402 @@ package com.example.demo.application.messaging;
 import com.example.demo.application.ports.out.NotificationRepository;
 import com.example.demo.application.ports.out.UserRepository;
 import com.example.demo.application.service.EmailService;
-import com.example.demo.application.service.SseEmitterService;
 import com.example.demo.config.KafkaConfig;
+import com.example.demo.config.datasource.Workload;
+import com.example.demo.config.datasource.WorkloadType;
 import com.example.demo.domain.User;
+import com.example.demo.domain.notification.EmailEvent;
 import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.KafkaConsumerBackoffManager;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Kafka consumer for processing notification events asynchronously
  * Consumes notifications from Kafka, persists them, and sends emails
  */
 @Service
+@Workload(WorkloadType.MESSAGING)
 public class NotificationConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationConsumer.class);
 
+    // Listener ids the retry backoff looks the containers up by
+    static final String NOTIFICATION_RETRY_LISTENER = "notification-retry";
+    static final String EMAIL_RETRY_LISTENER = "email-retry";
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final EmailService emailService;
-    private final SseEmitterService sseEmitterService;
+    private final ClusterSseDelivery sseDelivery;
+    private final ObjectMapper objectMapper;
+    private final Map<NotificationLane, KeyOrderedDispatcher> dispatchers = new EnumMap<>(NotificationLane.class);
+    private final KafkaConsumerBackoffManager retryBackoff;
     private final Counter notificationsProcessed;
     private final Counter notificationsFailed;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary batchUsers;
+    private final Map<NotificationLane, Timer> laneLatency = new EnumMap<>(NotificationLane.class);
+    private final Map<NotificationLane, Counter> laneSloBreaches = new EnumMap<>(NotificationLane.class);
+    private final Map<NotificationLane, Duration> laneSlos = new EnumMap<>(NotificationLane.class);
 
     public NotificationConsumer(
             NotificationRepository notificationRepository,
             UserRepository userRepository,
             EmailService emailService,
-            SseEmitterService sseEmitterService,
-            MeterRegistry meterRegistry) {
+            ClusterSseDelivery sseDelivery,
+            ObjectMapper objectMapper,
+            @Qualifier("bulkNotificationDispatcher") KeyOrderedDispatcher bulkDispatcher,
+            @Qualifier("urgentNotificationDispatcher") KeyOrderedDispatcher urgentDispatcher,
+            @Qualifier("highNotificationDispatcher") KeyOrderedDispatcher highDispatcher,
+            KafkaConsumerBackoffManager retryBackoffManager,
+            MeterRegistry meterRegistry,
+            @Value("${notification.lanes.urgent.slo-ms:1000}") long urgentSloMs,
+            @Value("${notification.lanes.high.slo-ms:5000}") long highSloMs,
+            @Value("${notification.lanes.bulk.slo-ms:30000}") long bulkSloMs) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
         this.emailService = emailService;
-        this.sseEmitterService = sseEmitterService;
+        this.sseDelivery = sseDelivery;
+        this.objectMapper = objectMapper;
+        this.dispatchers.put(NotificationLane.BULK, bulkDispatcher);
+        this.dispatchers.put(NotificationLane.URGENT, urgentDispatcher);
+        this.dispatchers.put(NotificationLane.HIGH, highDispatcher);
+        this.retryBackoff = retryBackoffManager;
         this.notificationsProcessed = Counter.builder("kafka.notifications.processed")
                 .description("Total notifications processed from Kafka")
                 .register(meterRegistry);
         this.notificationsFailed = Counter.builder("kafka.notifications.processing.failed")
                 .description("Total notifications failed to process")
                 .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("kafka.notifications.batch.size")
+                .description("Number of notifications received per Kafka poll")
+                .register(meterRegistry);
+        this.batchUsers = DistributionSummary.builder("kafka.notifications.batch.users")
+                .description("Distinct users per Kafka poll, i.e. how many workers a poll can use")
+                .register(meterRegistry);
+
+        laneSlos.put(NotificationLane.URGENT, Duration.ofMillis(urgentSloMs));
+        laneSlos.put(NotificationLane.HIGH, Duration.ofMillis(highSloMs));
+        laneSlos.put(NotificationLane.BULK, Duration.ofMillis(bulkSloMs));
+        laneSlos.forEach((lane, slo) -> {
+            laneLatency.put(lane, Timer.builder("notification.delivery.latency")
+                    .description("Time from notification creation to SSE push, per delivery lane")
+                    .tag("lane", lane.getTag())
+                    .publishPercentileHistogram()
+                    .serviceLevelObjectives(slo)
+                    .register(meterRegistry));
+            laneSloBreaches.put(lane, Counter.builder("notification.delivery.slo.breached")
+                    .description("Notifications delivered later than their lane's latency objective")
+                    .tag("lane", lane.getTag())
+                    .register(meterRegistry));
+        });
     }
 
     /**
-     * Consume notification events from Kafka and process them
+     * Consume a batch of notification events from the bulk lane (LOW/MEDIUM)
      */
     @KafkaListener(
             topics = KafkaConfig.NOTIFICATION_TOPIC,
             groupId = "${spring.kafka.consumer.group-id}",
             containerFactory = "notificationKafkaListenerContainerFactory"
     )
-    public void consumeNotification(Notification notification, Acknowledgment acknowledgment) {
-        try {
-            log.info("Consuming notification from Kafka: id={}, userId={}, type={}",
-                    notification.getId(), notification.getUserId(), notification.getType());
+    public void consumeNotifications(List<Notification> notifications, Acknowledgment acknowledgment) {
+        handleBatch(notifications, acknowledgment, NotificationLane.BULK);
+    }
+
+    /**
+     * Consume security alerts and URGENT notifications on their own consumer group
+     */
+    @KafkaListener(
+            topics = KafkaConfig.NOTIFICATION_URGENT_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}-urgent",
+            containerFactory = "urgentNotificationKafkaListenerContainerFactory"
+    )
+    public void consumeUrgentNotifications(List<Notification> notifications, Acknowledgment acknowledgment) {
+        handleBatch(notifications, acknowledgment, NotificationLane.URGENT);
+    }
+
+    /**
+     * Consume HIGH priority notifications on their own consumer group
+     */
+    @KafkaListener(
+            topics = KafkaConfig.NOTIFICATION_HIGH_TOPIC,
+            groupId = "${spring.kafka.consumer.group-id}-high",
+            containerFactory = "highNotificationKafkaListenerContainerFactory"
+    )
+    public void consumeHighNotifications(List<Notification> notifications, Acknowledgment acknowledgment) {
+        handleBatch(notifications, acknowledgment, NotificationLane.HIGH);
+    }
 
-            // 1. Save notification to database
-            Notification savedNotification = notificationRepository.save(notification);
-            log.debug("Notification saved to database: id={}", savedNotification.getId());
+    /**
+     * Process a batch of notification events from any lane
+     * The batch is split per user and the users are processed in parallel on the lane's dispatcher workers,
+     * each user's notifications in order with one batched insert. Offsets are committed once for the whole batch.
+     * A record that cannot be processed is reported with its index: the records before it are committed,
+     * it is forwarded to the first retry tier and the rest of the batch is redelivered.
+     */
+    private void handleBatch(List<Notification> notifications, Acknowledgment acknowledgment, NotificationLane lane) {
+        if (notifications.isEmpty()) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        log.info("Consuming notification batch from Kafka: size={}", notifications.size());
+        batchSize.record(notifications.size());
 
-            // 2. Push notification via SSE to connected clients (real-time)
-            sseEmitterService.sendNotificationToUser(savedNotification.getUserId(), savedNotification);
-            log.debug("Notification pushed via SSE: id={}, userId={}",
-                    savedNotification.getId(), savedNotification.getUserId());
+        // Values the deserializer could not decode arrive as null and go straight to the DLT
+        int undecodable = notifications.indexOf(null);
+        if (undecodable >= 0) {
+            dispatch(notifications.subList(0, undecodable), lane);
+            notificationsFailed.increment();
+            throw new BatchListenerFailedException("Undecodable notification value",
+                    new SerializationException("Notification value could not be deserialized"), undecodable);
+        }
+
+        dispatch(notifications, lane);
+        acknowledgment.acknowledge();
+    }
 
-            // 3. Update unread count via SSE
-            long unreadCount = notificationRepository.countUnreadByUserId(savedNotification.getUserId());
-            sseEmitterService.sendUnreadCountToUser(savedNotification.getUserId(), unreadCount);
+    private void dispatch(List<Notification> notifications, NotificationLane lane) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        batchUsers.record(notifications.stream().map(Notification::getUserId).distinct().count());
+        dispatchers.get(lane).dispatch(notifications, Notification::getUserId, this::processBatch);
+    }
 
-            // 4. Send email if channel is EMAIL or BOTH
-            if (notification.getChannel() == Notification.NotificationChannel.EMAIL ||
-                    notification.getChannel() == Notification.NotificationChannel.BOTH) {
+    /**
+     * Consume notifications from the retry tiers, once their tier delay has elapsed
+     * A record that is not due yet pauses only its own partition until its due time; the other tiers
+     * and lanes on the container keep flowing.
+     */
+    @KafkaListener(
+            id = NOTIFICATION_RETRY_LISTENER,
+            idIsGroup = false,
+            topics = "#{@retryTierRouter.retryTopics(T(com.example.demo.application.messaging.NotificationLane).topics())}",
+            groupId = "${spring.kafka.consumer.group-id}-retry",
+            containerFactory = "notificationRetryKafkaListenerContainerFactory"
+    )
+    public void consumeNotificationRetry(ConsumerRecord<String, Notification> record, Acknowledgment acknowledgment,
+                                         Consumer<?, ?> consumer) {
+        backOffUntilDue(record, NOTIFICATION_RETRY_LISTENER, consumer);
+        log.info("Retrying notification: topic={}, attempt={}", record.topic(), RetryTierRouter.attempt(record));
+        // Runs under the permits of the record's own lane
+        Notification notification = record.value();
+        dispatchers.get(NotificationLane.of(notification))
+                .dispatch(List.of(notification), Notification::getUserId, this::processBatch);
+        acknowledgment.acknowledge();
+    }
 
-                sendEmailNotification(savedNotification);
-            }
+    private void processBatch(List<Notification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
 
-            // 5. Acknowledge the message
-            notificationsProcessed.increment();
-            acknowledgment.acknowledge();
+        // 1. Save the whole batch to database
+        List<Notification> savedNotifications = persist(notifications);
 
-            log.info("Notification processed successfully: id={}", savedNotification.getId());
+        // 2. Push and email everything that was saved
+        Map<UUID, List<Notification>> byUser = deliver(savedNotifications);
 
+        notificationsProcessed.increment(savedNotifications.size());
+        log.info("Notification batch processed successfully: size={}, users={}",
+                savedNotifications.size(), byUser.size());
+    }
+
+    /**
+     * Persist the batch with one batched insert; on failure fall back to single inserts to find the
+     * failing record, deliver what was saved before it and report its index to the error handler
+     */
+    private List<Notification> persist(List<Notification> notifications) {
+        try {
+            return notificationRepository.saveAll(notifications);
         } catch (Exception e) {
-            notificationsFailed.increment();
-            log.error("Failed to process notification: userId={}, type={}, error={}",
-                    notification.getUserId(), notification.getType(), e.getMessage(), e);
+            if (notifications.size() == 1) {
+                notificationsFailed.increment();
+                throw e;
+            }
+            log.warn("Batch insert failed, saving individually to isolate the failing record: size={}, error={}",
+                    notifications.size(), e.getMessage());
+        }
+
+        List<Notification> saved = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            try {
+                saved.add(notificationRepository.save(notifications.get(i)));
+            } catch (Exception e) {
+                notificationsFailed.increment();
+                log.error("Failed to persist notification: index={}, error={}", i, e.getMessage(), e);
+                deliver(saved);
+                notificationsProcessed.increment(saved.size());
+                throw new BatchListenerFailedException("Failed to persist notification", e, i);
+            }
+        }
+        return saved;
+    }
+
+    private Map<UUID, List<Notification>> deliver(List<Notification> savedNotifications) {
+        Map<UUID, List<Notification>> byUser = savedNotifications.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, LinkedHashMap::new, Collectors.toList()));
+
+        // Push notifications via SSE on whichever node holds the connection, one unread-count query
+        // for all connected users
+        List<UUID> connectedUsers = byUser.keySet().stream()
+                .filter(sseDelivery::isConnected)
+                .collect(Collectors.toList());
+        if (!connectedUsers.isEmpty()) {
+            try {
+                Map<UUID, Long> unreadCounts = notificationRepository.countUnreadByUserIds(connectedUsers);
+                for (UUID userId : connectedUsers) {
+                    sseDelivery.deliver(userId, byUser.get(userId), unreadCounts.getOrDefault(userId, 0L));
+                }
+            } catch (Exception e) {
+                // Notifications are saved, clients catch up on their next fetch
+                log.error("Failed to push notification batch via SSE: error={}", e.getMessage(), e);
+            }
+        }
+        recordDeliveryLatency(savedNotifications);
+
+        // Send emails for EMAIL or BOTH channels, one user lookup per user
+        byUser.forEach((userId, userNotifications) -> {
+            List<Notification> emailNotifications = userNotifications.stream()
+                    .filter(n -> n.getChannel() == Notification.NotificationChannel.EMAIL ||
+                            n.getChannel() == Notification.NotificationChannel.BOTH)
+                    .collect(Collectors.toList());
+            if (!emailNotifications.isEmpty()) {
+                sendEmailNotifications(userId, emailNotifications);
+            }
+        });
+        return byUser;
+    }
 
-            // Don't acknowledge - message will be redelivered
-            // You might want to implement a dead letter queue here for permanently failed messages
+    private void recordDeliveryLatency(List<Notification> notifications) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Notification notification : notifications) {
+            if (notification.getCreatedAt() == null) {
+                continue;
+            }
+            NotificationLane lane = NotificationLane.of(notification);
+            Duration latency = Duration.between(notification.getCreatedAt(), now);
+            if (latency.isNegative()) {
+                latency = Duration.ZERO;
+            }
+            laneLatency.get(lane).record(latency);
+            if (latency.compareTo(laneSlos.get(lane)) > 0) {
+                laneSloBreaches.get(lane).increment();
+            }
         }
     }
 
     /**
-     * Send email notification to user
+     * Send email notifications to a user
      */
-    private void sendEmailNotification(Notification notification) {
+    private void sendEmailNotifications(UUID userId, List<Notification> notifications) {
         try {
             // Get user email from user repository
-            Optional<User> userOpt = userRepository.findById(notification.getUserId());
+            Optional<User> userOpt = userRepository.findById(userId);
 
             if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                String userEmail = user.getEmail();
+                String userEmail = userOpt.get().getEmail();
 
-                log.debug("Sending email notification: to={}, type={}", userEmail, notification.getType());
-                emailService.sendNotificationEmail(userEmail, notification);
+                for (Notification notification : notifications) {
+                    log.debug("Sending email notification: to={}, type={}", userEmail, notification.getType());
+                    emailService.sendNotificationEmail(userEmail, notification);
+                }
 
             } else {
-                log.warn("User not found for notification email: userId={}", notification.getUserId());
+                log.warn("User not found for notification email: userId={}", userId);
             }
 
         } catch (Exception e) {
-            log.error("Failed to send email notification: notificationId={}, error={}",
-                    notification.getId(), e.getMessage(), e);
-            // Don't throw - notification is already saved, email failure shouldn't fail the whole process
+            log.error("Failed to send email notifications: userId={}, error={}",
+                    userId, e.getMessage(), e);
+            // Don't throw - notifications are already saved, email failure shouldn't fail the whole batch
         }
     }
 
     /**
-     * Consume email events from Kafka
-     * Format: "notificationId|email|subject|content"
+     * Consume email events from Kafka and queue them for batched delivery
+     * Payload is a JSON EmailEvent; the legacy "notificationId|email|subject|content" format is still accepted.
+     * Unparseable messages go straight to the DLT, a full dispatch queue sends the event to a retry tier.
+     * The offset is acked once the email is queued, not sent; see MailDispatcher for the loss window.
      */
     @KafkaListener(
             topics = KafkaConfig.EMAIL_TOPIC,
             groupId = "${spring.kafka.consumer.group-id}-email",
             containerFactory = "emailKafkaListenerContainerFactory"
     )
-    public void consumeEmailEvent(String emailMessage, Acknowledgment acknowledgment) {
-        try {
-            log.info("Consuming email event from Kafka: {}", emailMessage);
+    public void consumeEmailEvent(String emailMessage, Acknowledgment acknowledgment) throws IOException {
+        EmailEvent emailEvent = parseEmailEvent(emailMessage);
 
-            String[] parts = emailMessage.split("\\|", 4);
-            if (parts.length == 4) {
-                String notificationId = parts[0];
-                String email = parts[1];
-                String subject = parts[2];
-                String content = parts[3];
+        emailService.sendEmail(emailEvent);
+        acknowledgment.acknowledge();
+        log.info("Email event queued: notificationId={}, to={}", emailEvent.notificationId(), emailEvent.to());
+    }
 
-                emailService.sendSimpleEmail(email, subject, content);
+    /**
+     * Consume email events from the retry tiers, once their tier delay has elapsed
+     * Like the notification tiers, a record that is not due yet pauses only its own partition
+     */
+    @KafkaListener(
+            id = EMAIL_RETRY_LISTENER,
+            idIsGroup = false,
+            topics = "#{@retryTierRouter.retryTopics(T(com.example.demo.config.KafkaConfig).EMAIL_TOPIC)}",
+            groupId = "${spring.kafka.consumer.group-id}-email-retry",
+            containerFactory = "emailKafkaListenerContainerFactory",
+            concurrency = "1"
+    )
+    public void consumeEmailRetry(ConsumerRecord<String, String> record, Acknowledgment acknowledgment,
+                                  Consumer<?, ?> consumer) throws IOException {
+        backOffUntilDue(record, EMAIL_RETRY_LISTENER, consumer);
+        consumeEmailEvent(record.value(), acknowledgment);
+    }
 
-                acknowledgment.acknowledge();
-                log.info("Email event processed: notificationId={}, to={}", notificationId, email);
-            } else {
-                log.warn("Invalid email message format: {}", emailMessage);
-                acknowledgment.acknowledge(); // Acknowledge to prevent redelivery of bad messages
-            }
+    /**
+     * Pause the record's partition until its due time and throw, when it is not due yet
+     * The error handler seeks the partition back so the record is redelivered once the partition resumes.
+     */
+    private void backOffUntilDue(ConsumerRecord<?, ?> record, String listenerId, Consumer<?, ?> consumer) {
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        retryBackoff.backOffIfNecessary(
+                retryBackoff.createContext(RetryTierRouter.dueAt(record), listenerId, partition, consumer));
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to process email event: error={}", e.getMessage(), e);
-            // Don't acknowledge - message will be redelivered
+    private EmailEvent parseEmailEvent(String emailMessage) throws IOException {
+        if (emailMessage.startsWith("{")) {
+            return objectMapper.readValue(emailMessage, EmailEvent.class);
+        }
+        String[] parts = emailMessage.split("\\|", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected 4 pipe-delimited fields");
         }
+        return EmailEvent.text(parts[0], parts[1], parts[2], parts[3]);
     }
 }
@@ -0,0 +1,53 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.Notification;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.example.demo.domain.notification.Notification.NotificationType;
+
+import java.util.Arrays;
+
+/**
+ * Delivery lanes for notifications
+ * Each lane has its own topic and consumer group, so an urgent alert never queues behind a bulk backlog
+ */
+public enum NotificationLane {
+    URGENT(KafkaConfig.NOTIFICATION_URGENT_TOPIC),
+    HIGH(KafkaConfig.NOTIFICATION_HIGH_TOPIC),
+    BULK(KafkaConfig.NOTIFICATION_TOPIC);
+
+    private final String topic;
+
+    NotificationLane(String topic) {
+        this.topic = topic;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getTag() {
+        return name().toLowerCase();
+    }
+
+    /**
+     * Lane for a notification: security alerts and URGENT go first, HIGH next, LOW/MEDIUM share the bulk lane
+     */
+    public static NotificationLane of(Notification notification) {
+        if (notification.getType() == NotificationType.SECURITY_ALERT
+                || notification.getPriority() == NotificationPriority.URGENT) {
+            return URGENT;
+        }
+        if (notification.getPriority() == NotificationPriority.HIGH) {
+            return HIGH;
+        }
+        return BULK;
+    }
+
+    /**
+     * Topics of all lanes
+     */
+    public static String[] topics() {
+        return Arrays.stream(values()).map(NotificationLane::getTopic).toArray(String[]::new);
+    }
+}
@@ -1,20 +1,35 @@
 package com.example.demo.application.messaging;
 
+import com.example.demo.adapter.out.journal.spill.NotificationSpillJournal;
 import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.EmailEvent;
 import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Kafka producer for publishing notification events asynchronously
  * Publishes notifications to Kafka topic for async processing
+ *
+ * Request threads never wait for Kafka: when sends fail or too many are in flight, notifications are
+ * appended to the local spill journal instead, and keep going there until NotificationSpillReplayer
+ * has drained it in order.
  */
 @Service
 public class NotificationProducer {
@@ -23,53 +38,156 @@ public class NotificationProducer {
 
     private final KafkaTemplate<String, Notification> kafkaTemplate;
     private final KafkaTemplate<String, String> emailKafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationSpillJournal spillJournal;
+    private final int maxInFlight;
     private final Counter notificationsSent;
     private final Counter notificationsFailed;
+    private final Counter notificationsSpilled;
+    private final Counter notificationsDropped;
+
+    private final Object spillLock = new Object();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile boolean spilling;
 
     public NotificationProducer(
             KafkaTemplate<String, Notification> kafkaTemplate,
             KafkaTemplate<String, String> emailKafkaTemplate,
-            MeterRegistry meterRegistry) {
+            ObjectMapper objectMapper,
+            ObjectProvider<NotificationSpillJournal> spillJournal,
+            MeterRegistry meterRegistry,
+            @Value("${notification.producer.max-in-flight:10000}") int maxInFlight) {
         this.kafkaTemplate = kafkaTemplate;
         this.emailKafkaTemplate = emailKafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.spillJournal = spillJournal.getIfAvailable();
+        this.maxInFlight = maxInFlight;
         this.notificationsSent = Counter.builder("kafka.notifications.sent")
                 .description("Total notifications sent to Kafka")
                 .register(meterRegistry);
         this.notificationsFailed = Counter.builder("kafka.notifications.failed")
                 .description("Total notifications failed to send to Kafka")
                 .register(meterRegistry);
+        this.notificationsSpilled = Counter.builder("notification.spill.appended")
+                .description("Notifications written to the local spill journal instead of Kafka")
+                .register(meterRegistry);
+        this.notificationsDropped = Counter.builder("notification.spill.dropped")
+                .description("Notifications lost because Kafka was unavailable and the spill journal was full")
+                .register(meterRegistry);
+        Gauge.builder("kafka.notifications.in.flight", inFlight, AtomicInteger::get)
+                .description("Notification sends handed to the Kafka producer and not yet acknowledged")
+                .register(meterRegistry);
     }
 
     /**
-     * Send notification to Kafka topic asynchronously
+     * Send notification to the topic of its delivery lane asynchronously
+     * While the spill journal is in use, or the producer is backpressured, the notification is spilled
+     * locally and the returned future completes with a null result.
      *
      * @param notification The notification to send
      * @return CompletableFuture with the send result
      */
     public CompletableFuture<SendResult<String, Notification>> sendNotification(Notification notification) {
+        if (spillJournal != null && (spilling || inFlight.get() >= maxInFlight)) {
+            return spill(notification);
+        }
+
         String key = notification.getUserId().toString(); // Use userId as partition key for ordering
+        NotificationLane lane = NotificationLane.of(notification);
 
-        log.debug("Sending notification to Kafka: id={}, userId={}, type={}",
-                notification.getId(), notification.getUserId(), notification.getType());
+        log.debug("Sending notification to Kafka: id={}, userId={}, type={}, lane={}",
+                notification.getId(), notification.getUserId(), notification.getType(), lane);
 
-        CompletableFuture<SendResult<String, Notification>> future =
-                kafkaTemplate.send(KafkaConfig.NOTIFICATION_TOPIC, key, notification);
+        CompletableFuture<SendResult<String, Notification>> future;
+        inFlight.incrementAndGet();
+        try {
+            future = kafkaTemplate.send(lane.getTopic(), key, notification);
+        } catch (Exception e) {
+            // Metadata unavailable or buffer full for longer than max.block.ms
+            future = CompletableFuture.failedFuture(e);
+        }
 
-        future.whenComplete((result, ex) -> {
+        return future.handle((result, ex) -> {
+            inFlight.decrementAndGet();
             if (ex == null) {
                 notificationsSent.increment();
                 log.info("Notification sent successfully to Kafka: id={}, partition={}, offset={}",
                         notification.getId(),
                         result.getRecordMetadata().partition(),
                         result.getRecordMetadata().offset());
-            } else {
-                notificationsFailed.increment();
-                log.error("Failed to send notification to Kafka: id={}, error={}",
-                        notification.getId(), ex.getMessage(), ex);
+                return CompletableFuture.completedFuture(result);
+            }
+            notificationsFailed.increment();
+            log.error("Failed to send notification to Kafka: id={}, error={}",
+                    notification.getId(), ex.getMessage(), ex);
+            return spillJournal != null ? spill(notification) : CompletableFuture.<SendResult<String, Notification>>failedFuture(ex);
+        }).thenCompose(f -> f);
+    }
+
+    /**
+     * Publish spilled notifications in order and wait for the broker to acknowledge them
+     *
+     * @return number of leading notifications that were acknowledged
+     */
+    public int publishSpilled(List<Notification> notifications, long timeoutMs) {
+        List<CompletableFuture<SendResult<String, Notification>>> futures = new ArrayList<>(notifications.size());
+        try {
+            for (Notification notification : notifications) {
+                futures.add(kafkaTemplate.send(NotificationLane.of(notification).getTopic(),
+                        notification.getUserId().toString(), notification));
+            }
+        } catch (Exception e) {
+            log.warn("Kafka still unavailable for spill replay: {}", e.getMessage());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                notificationsSent.increment();
+            } catch (Exception e) {
+                log.warn("Spill replay stopped after {} notifications: {}", i, e.getMessage());
+                return i;
+            }
+        }
+        return futures.size();
+    }
+
+    /**
+     * Go back to sending directly once the spill journal is empty
+     *
+     * @return true when direct sends are enabled
+     */
+    public boolean resumeIfDrained() {
+        synchronized (spillLock) {
+            if (spillJournal.pending() > 0) {
+                return false;
             }
-        });
+            if (spilling) {
+                spilling = false;
+                log.info("Notification spill journal drained, sending to Kafka directly again");
+            }
+            return true;
+        }
+    }
 
-        return future;
+    private CompletableFuture<SendResult<String, Notification>> spill(Notification notification) {
+        boolean appended;
+        synchronized (spillLock) {
+            if (!spilling) {
+                log.warn("Kafka unavailable or backpressured, spilling notifications locally: inFlight={}", inFlight.get());
+            }
+            spilling = true;
+            appended = spillJournal.append(notification);
+        }
+        if (appended) {
+            notificationsSpilled.increment();
+            return CompletableFuture.completedFuture(null);
+        }
+        notificationsDropped.increment();
+        log.error("Notification spill journal full, dropping notification: userId={}, type={}",
+                notification.getUserId(), notification.getType());
+        return CompletableFuture.failedFuture(new IllegalStateException("Notification spill journal is full"));
     }
 
     /**
@@ -98,10 +216,23 @@ public class NotificationProducer {
      * @param content Email content
      */
     public void sendEmailEvent(String notificationId, String email, String subject, String content) {
-        String message = String.format("%s|%s|%s|%s", notificationId, email, subject, content);
+        sendEmailEvent(EmailEvent.text(notificationId, email, subject, content));
+    }
+
+    /**
+     * Send a structured email event to Kafka as JSON
+     */
+    public void sendEmailEvent(EmailEvent emailEvent) {
+        String email = emailEvent.to();
         String key = email; // Use email as partition key
+        String message;
+        try {
+            message = objectMapper.writeValueAsString(emailEvent);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Failed to serialize email event", e);
+        }
 
-        log.debug("Sending email event to Kafka: email={}, subject={}", email, subject);
+        log.debug("Sending email event to Kafka: email={}, subject={}", email, emailEvent.subject());
 
         emailKafkaTemplate.send(KafkaConfig.EMAIL_TOPIC, key, message)
                 .whenComplete((result, ex) -> {
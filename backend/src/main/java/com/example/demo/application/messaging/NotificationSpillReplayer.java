@@ -0,0 +1,99 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.adapter.out.journal.spill.NotificationSpillJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains the notification spill journal back into Kafka once the broker is reachable again
+ *
+ * Batches are republished in journal order and the cursor only moves past notifications the broker
+ * has acknowledged, so delivery is at-least-once: a crash between ack and cursor write replays the
+ * tail of a batch. Consumers already tolerate duplicates from producer retries.
+ */
+@Component
+@ConditionalOnProperty(name = "notification.spill.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationSpillReplayer {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationSpillReplayer.class);
+
+    private final NotificationSpillJournal spillJournal;
+    private final NotificationProducer notificationProducer;
+    private final int batchSize;
+    private final long ackTimeoutMs;
+    private final long maxTickMs;
+    private final Counter replayed;
+    private final Counter replayFailures;
+
+    public NotificationSpillReplayer(NotificationSpillJournal spillJournal,
+                                     NotificationProducer notificationProducer,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notification.spill.replay-batch-size:500}") int batchSize,
+                                     @Value("${notification.spill.replay-ack-timeout-ms:5000}") long ackTimeoutMs,
+                                     @Value("${notification.spill.replay-max-tick-ms:2000}") long maxTickMs) {
+        this.spillJournal = spillJournal;
+        this.notificationProducer = notificationProducer;
+        this.batchSize = batchSize;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.maxTickMs = maxTickMs;
+        this.replayed = Counter.builder("notification.spill.replayed")
+                .description("Spilled notifications republished to Kafka")
+                .register(meterRegistry);
+        this.replayFailures = Counter.builder("notification.spill.replay.failures")
+                .description("Replay ticks stopped because Kafka did not acknowledge a batch")
+                .register(meterRegistry);
+        Gauge.builder("notification.spill.depth", spillJournal, NotificationSpillJournal::pending)
+                .description("Notifications waiting in the spill journal")
+                .register(meterRegistry);
+        Gauge.builder("notification.spill.segments", spillJournal, NotificationSpillJournal::segmentCount)
+                .description("Spill journal segments on disk")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Republish spilled notifications in order until the journal is empty, Kafka stops acknowledging
+     * or the tick has used its time budget
+     */
+    @Scheduled(fixedDelayString = "${notification.spill.replay-interval-ms:1000}")
+    public void replay() {
+        long deadline = System.currentTimeMillis() + maxTickMs;
+        while (spillJournal.pending() > 0 && System.currentTimeMillis() < deadline) {
+            NotificationSpillJournal.Batch batch = spillJournal.read(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            int acknowledged = batch.notifications().isEmpty()
+                    ? 0 : notificationProducer.publishSpilled(batch.notifications(), ackTimeoutMs);
+            if (acknowledged < batch.notifications().size()) {
+                if (acknowledged > 0) {
+                    spillJournal.commit(spillJournal.read(acknowledged));
+                    replayed.increment(acknowledged);
+                }
+                replayFailures.increment();
+                log.debug("Spill replay paused: acknowledged={}, pending={}", acknowledged, spillJournal.pending());
+                return;
+            }
+
+            spillJournal.commit(batch);
+            replayed.increment(acknowledged);
+            log.debug("Replayed spilled notifications: count={}, pending={}", acknowledged, spillJournal.pending());
+        }
+        notificationProducer.resumeIfDrained();
+    }
+
+    /**
+     * Group commit tick: force spilled notifications to disk
+     */
+    @Scheduled(fixedDelayString = "${notification.spill.flush-interval-ms:200}")
+    public void flush() {
+        spillJournal.flush();
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.demo.application.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.support.serializer.DeserializationException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Routes failed records through a fixed ladder of delayed retry topics and finally to a dead-letter topic
+ *
+ * For a source topic "t" the tiers are "t-retry-0" .. "t-retry-(n-1)" followed by "t-dlt".
+ * A failing record leaves its partition immediately; the tier it lands on determines how long it waits
+ * before being processed again. Records whose failure cannot be fixed by waiting go straight to the DLT.
+ */
+public class RetryTierRouter {
+
+    public static final String ATTEMPT_HEADER = "x-retry-attempt";
+    public static final String DUE_AT_HEADER = "x-retry-due-at";
+    public static final String ORIGINAL_TOPIC_HEADER = "x-original-topic";
+    public static final String FAILURE_REASON_HEADER = "x-failure-reason";
+    public static final String REPLAYED_FROM_HEADER = "x-replayed-from";
+
+    private static final String RETRY_SUFFIX = "-retry-";
+    private static final String DLT_SUFFIX = "-dlt";
+    private static final int MAX_REASON_LENGTH = 512;
+
+    // Failures that will fail the same way on every attempt
+    private static final Set<Class<? extends Throwable>> NOT_RETRYABLE = Set.of(
+            SerializationException.class,
+            DeserializationException.class,
+            JsonProcessingException.class,
+            IllegalArgumentException.class,
+            ClassCastException.class);
+
+    private final List<Duration> delays;
+
+    public RetryTierRouter(List<Duration> delays) {
+        this.delays = List.copyOf(delays);
+    }
+
+    /**
+     * Parse a comma-separated list of tier delays in milliseconds
+     */
+    public static RetryTierRouter ofMillis(String delaysMs) {
+        List<Duration> delays = new ArrayList<>();
+        for (String delay : delaysMs.split(",")) {
+            if (!delay.isBlank()) {
+                delays.add(Duration.ofMillis(Long.parseLong(delay.trim())));
+            }
+        }
+        return new RetryTierRouter(delays);
+    }
+
+    public int tierCount() {
+        return delays.size();
+    }
+
+    public String retryTopic(String sourceTopic, int tier) {
+        return sourceTopic + RETRY_SUFFIX + tier;
+    }
+
+    /**
+     * Retry tier topics of the given source topics
+     */
+    public String[] retryTopics(String... sourceTopics) {
+        List<String> topics = new ArrayList<>();
+        for (String sourceTopic : sourceTopics) {
+            for (int tier = 0; tier < delays.size(); tier++) {
+                topics.add(retryTopic(sourceTopic, tier));
+            }
+        }
+        return topics.toArray(String[]::new);
+    }
+
+    public String deadLetterTopic(String sourceTopic) {
+        return sourceTopic + DLT_SUFFIX;
+    }
+
+    /**
+     * Topic the failed record should be published to next
+     * Partition -1 lets the producer pick the partition from the key, keeping per-user ordering per tier
+     */
+    public TopicPartition resolve(ConsumerRecord<?, ?> record, Exception exception) {
+        String sourceTopic = sourceTopic(record);
+        int nextAttempt = attempt(record) + 1;
+        if (!isRetryable(exception) || nextAttempt > delays.size()) {
+            return new TopicPartition(deadLetterTopic(sourceTopic), -1);
+        }
+        return new TopicPartition(retryTopic(sourceTopic, nextAttempt - 1), -1);
+    }
+
+    /**
+     * Headers added to the republished record: attempt counter, due time, source topic and failure reason
+     */
+    public Headers headers(ConsumerRecord<?, ?> record, Exception exception) {
+        String sourceTopic = record.headers().lastHeader(ORIGINAL_TOPIC_HEADER) == null ? record.topic() : null;
+        return headers(sourceTopic, attempt(record) + 1, exception);
+    }
+
+    /**
+     * Headers for a record the application routes itself rather than the error handler
+     *
+     * @param sourceTopic recorded as the original topic, null when the record already carries one
+     * @param attempt     attempt the record is published as; past the last tier it carries no due time
+     */
+    public Headers headers(String sourceTopic, int attempt, Exception exception) {
+        Headers headers = new RecordHeaders();
+        headers.add(ATTEMPT_HEADER, intBytes(attempt));
+        if (isRetryable(exception) && attempt <= delays.size()) {
+            long dueAt = System.currentTimeMillis() + delays.get(attempt - 1).toMillis();
+            headers.add(DUE_AT_HEADER, longBytes(dueAt));
+        }
+        if (sourceTopic != null) {
+            headers.add(ORIGINAL_TOPIC_HEADER, sourceTopic.getBytes(StandardCharsets.UTF_8));
+        }
+        headers.add(FAILURE_REASON_HEADER, failureReason(exception).getBytes(StandardCharsets.UTF_8));
+        return headers;
+    }
+
+    /**
+     * Time left before a retry-tier record may be processed, zero when it is due
+     */
+    public static Duration remainingDelay(ConsumerRecord<?, ?> record) {
+        long remaining = dueAt(record) - System.currentTimeMillis();
+        return remaining > 0 ? Duration.ofMillis(remaining) : Duration.ZERO;
+    }
+
+    /**
+     * Epoch millis at which a retry-tier record may be processed, zero when it carries no due time
+     */
+    public static long dueAt(ConsumerRecord<?, ?> record) {
+        Header dueAt = record.headers().lastHeader(DUE_AT_HEADER);
+        return dueAt != null ? ByteBuffer.wrap(dueAt.value()).getLong() : 0L;
+    }
+
+    /**
+     * Number of times the record has already been routed to a retry tier
+     */
+    public static int attempt(ConsumerRecord<?, ?> record) {
+        Header attempt = record.headers().lastHeader(ATTEMPT_HEADER);
+        return attempt != null ? ByteBuffer.wrap(attempt.value()).getInt() : 0;
+    }
+
+    /**
+     * Topic the record was first consumed from, before any retry tier
+     */
+    public static String sourceTopic(ConsumerRecord<?, ?> record) {
+        Header original = record.headers().lastHeader(ORIGINAL_TOPIC_HEADER);
+        return original != null ? new String(original.value(), StandardCharsets.UTF_8) : record.topic();
+    }
+
+    static boolean isRetryable(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            for (Class<? extends Throwable> type : NOT_RETRYABLE) {
+                if (type.isInstance(cause)) {
+                    return false;
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return true;
+    }
+
+    private static String failureReason(Throwable exception) {
+        Throwable root = exception;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        String reason = root.getClass().getName() + ": " + root.getMessage();
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    private static byte[] intBytes(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+
+    private static byte[] longBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+}
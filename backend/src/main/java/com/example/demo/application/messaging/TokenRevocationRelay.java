@@ -0,0 +1,156 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.config.security.TokenRevocationList;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Properties;
+import java.util.UUID;
+
+/**
+ * Shares access token revocations between backend nodes
+ *
+ * A revocation is applied to the local TokenRevocationList first, so it holds on this node at once,
+ * then published on auth-revocations. Every node reads the topic with its own consumer group from the
+ * beginning on each start; the topic keeps records longer than an access token lives, so a starting
+ * node picks up every revocation still in force. Applying an entry twice has no effect, so the
+ * publishing node reading its own record back is harmless.
+ */
+@Service
+public class TokenRevocationRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRelay.class);
+
+    private final TokenRevocationList revocationList;
+    private final KafkaTemplate<String, String> authRevocationKafkaTemplate;
+    private final ConsumerFactory<String, String> authRevocationConsumerFactory;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String nodeId;
+
+    private final Counter published;
+    private final Counter publishFailed;
+    private final Counter received;
+
+    private KafkaMessageListenerContainer<String, String> container;
+    private volatile boolean running;
+
+    public TokenRevocationRelay(TokenRevocationList revocationList,
+                                KafkaTemplate<String, String> authRevocationKafkaTemplate,
+                                ConsumerFactory<String, String> authRevocationConsumerFactory,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${auth.revocation.cluster.enabled:true}") boolean enabled) {
+        this.revocationList = revocationList;
+        this.authRevocationKafkaTemplate = authRevocationKafkaTemplate;
+        this.authRevocationConsumerFactory = authRevocationConsumerFactory;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.nodeId = UUID.randomUUID().toString();
+        this.published = Counter.builder("auth.revocations.published").tag("result", "success")
+                .description("Token revocations published to the other nodes")
+                .register(meterRegistry);
+        this.publishFailed = Counter.builder("auth.revocations.published").tag("result", "failure")
+                .description("Token revocations published to the other nodes")
+                .register(meterRegistry);
+        this.received = Counter.builder("auth.revocations.received")
+                .description("Token revocations read from the cluster topic")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Revoke on this node now and on every other node once they read the record
+     */
+    public void revoke(TokenRevocationList.Entry entry) {
+        revocationList.apply(entry);
+        if (!enabled) {
+            return;
+        }
+        try {
+            authRevocationKafkaTemplate.send(KafkaConfig.AUTH_REVOCATIONS_TOPIC, entry.key(),
+                            objectMapper.writeValueAsString(entry))
+                    .whenComplete((result, error) -> {
+                        if (error == null) {
+                            published.increment();
+                        } else {
+                            publishFailed.increment();
+                            log.error("Failed to publish token revocation: key={}, error={}", entry.key(), error.getMessage());
+                        }
+                    });
+        } catch (Exception e) {
+            // Other nodes keep accepting the token until it expires
+            publishFailed.increment();
+            log.error("Failed to publish token revocation: key={}, error={}", entry.key(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        ContainerProperties properties = new ContainerProperties(KafkaConfig.AUTH_REVOCATIONS_TOPIC);
+        properties.setGroupId("auth-revocations-" + nodeId);
+        properties.setMessageListener((MessageListener<String, String>) this::onRevocation);
+        Properties overrides = new Properties();
+        overrides.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        properties.setKafkaConsumerProperties(overrides);
+        properties.setConsumerRebalanceListener(new ConsumerAwareRebalanceListener() {
+            @Override
+            public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+                consumer.seekToBeginning(partitions);
+            }
+        });
+        container = new KafkaMessageListenerContainer<>(authRevocationConsumerFactory, properties);
+        container.setBeanName("auth-revocations-" + nodeId);
+        container.start();
+        running = true;
+        log.info("Token revocation relay started: nodeId={}", nodeId);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        container.stop();
+        container = null;
+        log.info("Token revocation relay stopped: nodeId={}", nodeId);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void onRevocation(ConsumerRecord<String, String> record) {
+        if (record.value() == null) {
+            return;
+        }
+        try {
+            revocationList.apply(objectMapper.readValue(record.value(), TokenRevocationList.Entry.class));
+            received.increment();
+        } catch (Exception e) {
+            log.warn("Dropping malformed token revocation at offset {}: {}", record.offset(), e.getMessage());
+        }
+    }
+}
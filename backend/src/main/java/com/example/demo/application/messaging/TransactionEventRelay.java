@@ -0,0 +1,211 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.application.messaging.codec.TransactionEventCodec;
+import com.example.demo.application.ports.out.TransactionEventOutbox;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.config.datasource.Workload;
+import com.example.demo.config.datasource.WorkloadType;
+import com.example.demo.domain.AccountBalance;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relays the transaction event outbox to Kafka
+ *
+ * Each batch of outbox entries is claimed under a batch id, published to transaction-events and to the
+ * compacted account-balances topic in a single Kafka transaction, and then deleted. Every record carries
+ * the batch id as a header, so a batch left claimed by a crash between the Kafka commit and the delete
+ * is looked up in the topic tail and only republished if its transaction never committed. Together
+ * with read_committed consumers this gives each database commit exactly one visible event.
+ *
+ * Entries are published in id order. Balance changes of one account are serialized by its row lock, so
+ * ids follow commit order per account and so do the offsets of its partition. A single relay is assumed;
+ * the fixed transactional id fences a second instance.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.events.enabled", havingValue = "true", matchIfMissing = true)
+public class TransactionEventRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionEventRelay.class);
+
+    public static final String BATCH_HEADER = "x-outbox-batch";
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+
+    private final TransactionEventOutbox outbox;
+    private final KafkaTemplate<String, byte[]> ledgerEventKafkaTemplate;
+    private final ConsumerFactory<String, byte[]> ledgerEventConsumerFactory;
+    private final int batchSize;
+    private final long recoveryTimeoutMs;
+    private final Counter published;
+    private final Counter recovered;
+    private final Counter failures;
+
+    // Claimed entries may exist after a restart or a failed batch; resolve them before claiming more
+    private volatile boolean inDoubt = true;
+
+    public TransactionEventRelay(TransactionEventOutbox outbox,
+                                 KafkaTemplate<String, byte[]> ledgerEventKafkaTemplate,
+                                 ConsumerFactory<String, byte[]> ledgerEventConsumerFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${ledger.events.batch-size:500}") int batchSize,
+                                 @Value("${ledger.events.recovery-timeout-ms:10000}") long recoveryTimeoutMs) {
+        this.outbox = outbox;
+        this.ledgerEventKafkaTemplate = ledgerEventKafkaTemplate;
+        this.ledgerEventConsumerFactory = ledgerEventConsumerFactory;
+        this.batchSize = batchSize;
+        this.recoveryTimeoutMs = recoveryTimeoutMs;
+        this.published = Counter.builder("ledger.events.published")
+                .description("Transaction events committed to Kafka")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("ledger.events.recovered")
+                .description("In-doubt outbox batches resolved after a relay failure")
+                .register(meterRegistry);
+        this.failures = Counter.builder("ledger.events.relay.failures")
+                .description("Relay ticks stopped by a Kafka or database error")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Publish pending outbox entries until the outbox is drained or an error stops the tick
+     */
+    @Scheduled(fixedDelayString = "${ledger.events.relay-interval-ms:200}")
+    @Workload(WorkloadType.BACKGROUND)
+    public void relay() {
+        try {
+            if (inDoubt) {
+                recoverClaimed();
+                inDoubt = false;
+            }
+
+            List<TransactionEventOutbox.Entry> batch;
+            do {
+                batch = outbox.findPending(batchSize);
+                if (!batch.isEmpty()) {
+                    inDoubt = true;
+                    String batchId = UUID.randomUUID().toString();
+                    List<Long> ids = ids(batch);
+                    outbox.claim(ids, batchId);
+                    publish(batch, batchId);
+                    outbox.delete(ids);
+                    inDoubt = false;
+                    published.increment(batch.size());
+                }
+            } while (batch.size() == batchSize);
+        } catch (Exception e) {
+            failures.increment();
+            log.warn("Transaction event relay paused: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Resolve batches that were claimed but not deleted: drop them if their Kafka transaction committed,
+     * republish them under the same batch id otherwise
+     */
+    private void recoverClaimed() {
+        Map<String, List<TransactionEventOutbox.Entry>> batches = new LinkedHashMap<>();
+        for (TransactionEventOutbox.Entry entry : outbox.findClaimed()) {
+            batches.computeIfAbsent(entry.batchId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        for (Map.Entry<String, List<TransactionEventOutbox.Entry>> batch : batches.entrySet()) {
+            boolean committed = isCommitted(batch.getKey(), batch.getValue().size());
+            if (!committed) {
+                publish(batch.getValue(), batch.getKey());
+                published.increment(batch.getValue().size());
+            }
+            outbox.delete(ids(batch.getValue()));
+            recovered.increment();
+            log.info("Recovered in-doubt outbox batch: batchId={}, entries={}, alreadyCommitted={}",
+                    batch.getKey(), batch.getValue().size(), committed);
+        }
+    }
+
+    private void publish(List<TransactionEventOutbox.Entry> batch, String batchId) {
+        byte[] batchHeader = batchId.getBytes(StandardCharsets.UTF_8);
+        // Latest balance per account within the batch; older ones would be compacted away anyway
+        Map<String, byte[]> balances = new LinkedHashMap<>();
+        for (TransactionEventOutbox.Entry entry : batch) {
+            balances.put(entry.accountId().toString(),
+                    TransactionEventCodec.encode(AccountBalance.of(TransactionEventCodec.decodeEvent(entry.payload()))));
+        }
+
+        ledgerEventKafkaTemplate.executeInTransaction(operations -> {
+            for (TransactionEventOutbox.Entry entry : batch) {
+                operations.send(record(KafkaConfig.TRANSACTION_EVENTS_TOPIC, entry.accountId().toString(),
+                        entry.payload(), batchHeader));
+            }
+            balances.forEach((accountId, balance) ->
+                    operations.send(record(KafkaConfig.ACCOUNT_BALANCES_TOPIC, accountId, balance, batchHeader)));
+            return null;
+        });
+    }
+
+    /**
+     * Whether a batch is visible on transaction-events
+     * The batch would be the last one the relay wrote, so only the tail of each partition is read
+     */
+    private boolean isCommitted(String batchId, int batchEntries) {
+        try (Consumer<String, byte[]> consumer = ledgerEventConsumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(KafkaConfig.TRANSACTION_EVENTS_TOPIC).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> beginning = consumer.beginningOffsets(partitions);
+            Map<TopicPartition, Long> end = consumer.endOffsets(partitions);
+            // Records of the batch plus the transaction marker
+            partitions.forEach(tp -> consumer.seek(tp, Math.max(beginning.get(tp), end.get(tp) - batchEntries - 1)));
+
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(recoveryTimeoutMs);
+            while (System.nanoTime() < deadline) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (isBatch(record.headers(), batchId)) {
+                        return true;
+                    }
+                }
+                if (partitions.stream().allMatch(tp -> consumer.position(tp) >= end.get(tp))) {
+                    return false;
+                }
+            }
+            throw new IllegalStateException("Timed out checking outbox batch " + batchId);
+        }
+    }
+
+    private static boolean isBatch(Headers headers, String batchId) {
+        Header header = headers.lastHeader(BATCH_HEADER);
+        return header != null && batchId.equals(new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    private static ProducerRecord<String, byte[]> record(String topic, String key, byte[] value, byte[] batchHeader) {
+        Headers headers = new RecordHeaders();
+        headers.add(BATCH_HEADER, batchHeader);
+        return new ProducerRecord<>(topic, null, key, value, headers);
+    }
+
+    private static List<Long> ids(List<TransactionEventOutbox.Entry> entries) {
+        return entries.stream().map(TransactionEventOutbox.Entry::id).toList();
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.notification.Notification;
+import com.example.demo.domain.notification.Notification.NotificationChannel;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.example.demo.domain.notification.Notification.NotificationType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Versioned binary encoding of a Notification
+ *
+ * Layout (version 1):
+ * [byte magic][byte version][byte flags][16 byte id?][16 byte userId]
+ * [byte type][byte channel][byte priority][timestamp createdAt?][timestamp readAt?]
+ * [varint length + UTF-8 title?][varint length + UTF-8 message?]
+ *
+ * Timestamps are a zigzag varint of epoch seconds followed by a varint of nanos, taken from the
+ * LocalDateTime as-is (no zone conversion). Enums use the fixed code tables below, never ordinals
+ * or names, so constants can be added or reordered without breaking messages already in Kafka.
+ * Code 0 stands for null.
+ */
+public final class NotificationBinaryCodec {
+
+    /**
+     * First byte of every binary message; JSON messages always start with '{'
+     */
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final byte VERSION = 1;
+
+    private static final int HAS_ID = 1;
+    private static final int READ = 1 << 1;
+    private static final int HAS_CREATED_AT = 1 << 2;
+    private static final int HAS_READ_AT = 1 << 3;
+    private static final int HAS_TITLE = 1 << 4;
+    private static final int HAS_MESSAGE = 1 << 5;
+
+    private static final int FIXED_SIZE = 3 + 16 + 16 + 3;
+
+    private NotificationBinaryCodec() {
+    }
+
+    /**
+     * Whether the payload starts with the binary magic byte
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length > 0 && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(Notification notification) {
+        byte[] title = notification.getTitle() != null ? notification.getTitle().getBytes(StandardCharsets.UTF_8) : null;
+        byte[] message = notification.getMessage() != null ? notification.getMessage().getBytes(StandardCharsets.UTF_8) : null;
+
+        int flags = 0;
+        flags |= notification.getId() != null ? HAS_ID : 0;
+        flags |= notification.isRead() ? READ : 0;
+        flags |= notification.getCreatedAt() != null ? HAS_CREATED_AT : 0;
+        flags |= notification.getReadAt() != null ? HAS_READ_AT : 0;
+        flags |= title != null ? HAS_TITLE : 0;
+        flags |= message != null ? HAS_MESSAGE : 0;
+
+        // Upper bound: two timestamps of at most 15 bytes, two varint lengths of at most 5 bytes
+        int capacity = FIXED_SIZE + 30 + 10 + (title != null ? title.length : 0) + (message != null ? message.length : 0);
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.put(MAGIC).put(VERSION).put((byte) flags);
+        if (notification.getId() != null) {
+            putUuid(buffer, notification.getId());
+        }
+        putUuid(buffer, notification.getUserId());
+        buffer.put((byte) typeCode(notification.getType()));
+        buffer.put((byte) channelCode(notification.getChannel()));
+        buffer.put((byte) priorityCode(notification.getPriority()));
+        if (notification.getCreatedAt() != null) {
+            putTimestamp(buffer, notification.getCreatedAt());
+        }
+        if (notification.getReadAt() != null) {
+            putTimestamp(buffer, notification.getReadAt());
+        }
+        if (title != null) {
+            putBytes(buffer, title);
+        }
+        if (message != null) {
+            putBytes(buffer, message);
+        }
+        return buffer.position() == capacity ? buffer.array() : Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static Notification decode(byte[] data) {
+        return decode(ByteBuffer.wrap(data));
+    }
+
+    public static Notification decode(ByteBuffer buffer) {
+        try {
+            if (buffer.get() != MAGIC) {
+                throw new IllegalArgumentException("Not a binary notification message");
+            }
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Unsupported notification message version: " + version);
+            }
+            int flags = buffer.get() & 0xFF;
+            UUID id = (flags & HAS_ID) != 0 ? getUuid(buffer) : null;
+            UUID userId = getUuid(buffer);
+            NotificationType type = type(buffer.get() & 0xFF);
+            NotificationChannel channel = channel(buffer.get() & 0xFF);
+            NotificationPriority priority = priority(buffer.get() & 0xFF);
+            LocalDateTime createdAt = (flags & HAS_CREATED_AT) != 0 ? getTimestamp(buffer) : null;
+            LocalDateTime readAt = (flags & HAS_READ_AT) != 0 ? getTimestamp(buffer) : null;
+            String title = (flags & HAS_TITLE) != 0 ? getString(buffer) : null;
+            String message = (flags & HAS_MESSAGE) != 0 ? getString(buffer) : null;
+
+            return Notification.restore(id, userId, type, channel, title, message, priority,
+                    (flags & READ) != 0, createdAt, readAt);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated notification message", e);
+        }
+    }
+
+    // Stable code tables: append new constants with new codes, never renumber
+
+    static int typeCode(NotificationType type) {
+        if (type == null) {
+            return 0;
+        }
+        return switch (type) {
+            case ACCOUNT_CREATED -> 1;
+            case TRANSACTION_COMPLETED -> 2;
+            case TRANSACTION_FAILED -> 3;
+            case SECURITY_ALERT -> 4;
+            case SYSTEM_ANNOUNCEMENT -> 5;
+            case ACCOUNT_SUSPENDED -> 6;
+            case ACCOUNT_ACTIVATED -> 7;
+        };
+    }
+
+    static NotificationType type(int code) {
+        return switch (code) {
+            case 0 -> null;
+            case 1 -> NotificationType.ACCOUNT_CREATED;
+            case 2 -> NotificationType.TRANSACTION_COMPLETED;
+            case 3 -> NotificationType.TRANSACTION_FAILED;
+            case 4 -> NotificationType.SECURITY_ALERT;
+            case 5 -> NotificationType.SYSTEM_ANNOUNCEMENT;
+            case 6 -> NotificationType.ACCOUNT_SUSPENDED;
+            case 7 -> NotificationType.ACCOUNT_ACTIVATED;
+            default -> throw new IllegalArgumentException("Unknown notification type code: " + code);
+        };
+    }
+
+    static int channelCode(NotificationChannel channel) {
+        if (channel == null) {
+            return 0;
+        }
+        return switch (channel) {
+            case IN_APP -> 1;
+            case EMAIL -> 2;
+            case BOTH -> 3;
+        };
+    }
+
+    static NotificationChannel channel(int code) {
+        return switch (code) {
+            case 0 -> null;
+            case 1 -> NotificationChannel.IN_APP;
+            case 2 -> NotificationChannel.EMAIL;
+            case 3 -> NotificationChannel.BOTH;
+            default -> throw new IllegalArgumentException("Unknown notification channel code: " + code);
+        };
+    }
+
+    static int priorityCode(NotificationPriority priority) {
+        if (priority == null) {
+            return 0;
+        }
+        return switch (priority) {
+            case LOW -> 1;
+            case MEDIUM -> 2;
+            case HIGH -> 3;
+            case URGENT -> 4;
+        };
+    }
+
+    static NotificationPriority priority(int code) {
+        return switch (code) {
+            case 0 -> null;
+            case 1 -> NotificationPriority.LOW;
+            case 2 -> NotificationPriority.MEDIUM;
+            case 3 -> NotificationPriority.HIGH;
+            case 4 -> NotificationPriority.URGENT;
+            default -> throw new IllegalArgumentException("Unknown notification priority code: " + code);
+        };
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        putVarLong(buffer, (seconds << 1) ^ (seconds >> 63));
+        putVarLong(buffer, timestamp.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long zigzag = getVarLong(buffer);
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        int nanos = (int) getVarLong(buffer);
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        putVarLong(buffer, bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = (int) getVarLong(buffer);
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        if (buffer.hasArray()) {
+            String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * Kafka deserializer for Notification values
+ * Reads the binary format and falls back to JSON for messages produced before the binary
+ * format was rolled out, telling the two apart by the first byte
+ */
+public class NotificationDeserializer implements Deserializer<Notification> {
+
+    private final ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    @Override
+    public Notification deserialize(String topic, byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+        try {
+            if (NotificationBinaryCodec.isBinary(data)) {
+                return NotificationBinaryCodec.decode(data);
+            }
+            if (data[0] == '{') {
+                return objectMapper.readValue(data, Notification.class);
+            }
+        } catch (IllegalArgumentException | IOException e) {
+            throw new SerializationException("Failed to deserialize notification from topic " + topic, e);
+        }
+        throw new SerializationException("Unknown notification message format on topic " + topic
+                + " (first byte 0x" + Integer.toHexString(data[0] & 0xFF) + ")");
+    }
+}
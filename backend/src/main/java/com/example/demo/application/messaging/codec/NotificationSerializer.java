@@ -0,0 +1,39 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.notification.Notification;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+
+/**
+ * Kafka serializer for Notification values
+ * Writes the compact binary format by default; set notification.serializer.format=json to keep
+ * producing JSON while consumers that only understand JSON are still running
+ */
+public class NotificationSerializer implements Serializer<Notification> {
+
+    public static final String FORMAT_CONFIG = "notification.serializer.format";
+
+    private JsonSerializer<Notification> jsonSerializer;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        Object format = configs.get(FORMAT_CONFIG);
+        if (format != null && "json".equalsIgnoreCase(format.toString())) {
+            jsonSerializer = new JsonSerializer<>();
+            jsonSerializer.setAddTypeInfo(false);
+        }
+    }
+
+    @Override
+    public byte[] serialize(String topic, Notification notification) {
+        if (notification == null) {
+            return null;
+        }
+        if (jsonSerializer != null) {
+            return jsonSerializer.serialize(topic, notification);
+        }
+        return NotificationBinaryCodec.encode(notification);
+    }
+}
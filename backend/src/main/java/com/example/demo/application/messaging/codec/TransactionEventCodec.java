@@ -0,0 +1,220 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.AccountBalance;
+import com.example.demo.domain.Transaction.TransactionType;
+import com.example.demo.domain.TransactionEvent;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Versioned binary encoding of ledger events
+ *
+ * TransactionEvent (version 1):
+ * [byte magic][byte version][byte flags][16 byte transactionId][16 byte accountId][byte type]
+ * [16 byte categoryId?][decimal amount][decimal balanceAfter][16 byte relatedAccountId?][timestamp occurredAt]
+ *
+ * AccountBalance (version 1):
+ * [byte magic][byte version][16 byte accountId][decimal balance][16 byte transactionId][timestamp updatedAt]
+ *
+ * A decimal is a varint scale followed by a varint length and the unscaled value as big-endian two's
+ * complement. Timestamps are a zigzag varint of epoch seconds followed by a varint of nanos. Types use
+ * the fixed code table below, never ordinals or names.
+ */
+public final class TransactionEventCodec {
+
+    public static final byte EVENT_MAGIC = (byte) 0xB2;
+    public static final byte BALANCE_MAGIC = (byte) 0xB3;
+    public static final byte VERSION = 1;
+
+    private static final int HAS_CATEGORY = 1;
+    private static final int HAS_RELATED_ACCOUNT = 1 << 1;
+
+    private TransactionEventCodec() {
+    }
+
+    /**
+     * Kafka serde for TransactionEvent values
+     */
+    public static Serde<TransactionEvent> eventSerde() {
+        return Serdes.serdeFrom(
+                (topic, event) -> event == null ? null : encode(event),
+                (topic, data) -> data == null ? null : decodeEvent(data));
+    }
+
+    /**
+     * Kafka serde for AccountBalance values
+     */
+    public static Serde<AccountBalance> balanceSerde() {
+        return Serdes.serdeFrom(
+                (topic, balance) -> balance == null ? null : encode(balance),
+                (topic, data) -> data == null ? null : decodeBalance(data));
+    }
+
+    public static byte[] encode(TransactionEvent event) {
+        byte[] amount = event.amount().unscaledValue().toByteArray();
+        byte[] balanceAfter = event.balanceAfter().unscaledValue().toByteArray();
+
+        int flags = 0;
+        flags |= event.categoryId() != null ? HAS_CATEGORY : 0;
+        flags |= event.relatedAccountId() != null ? HAS_RELATED_ACCOUNT : 0;
+
+        // Fixed part, four UUIDs, two decimals with at most 10 bytes of varints each, one timestamp
+        int capacity = 4 + 4 * 16 + 20 + amount.length + balanceAfter.length + 15;
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.put(EVENT_MAGIC).put(VERSION).put((byte) flags);
+        putUuid(buffer, event.transactionId());
+        putUuid(buffer, event.accountId());
+        buffer.put((byte) typeCode(event.type()));
+        if (event.categoryId() != null) {
+            putUuid(buffer, event.categoryId());
+        }
+        putDecimal(buffer, event.amount().scale(), amount);
+        putDecimal(buffer, event.balanceAfter().scale(), balanceAfter);
+        if (event.relatedAccountId() != null) {
+            putUuid(buffer, event.relatedAccountId());
+        }
+        putTimestamp(buffer, event.occurredAt());
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static TransactionEvent decodeEvent(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            checkHeader(buffer, EVENT_MAGIC, "transaction event");
+            int flags = buffer.get() & 0xFF;
+            UUID transactionId = getUuid(buffer);
+            UUID accountId = getUuid(buffer);
+            TransactionType type = type(buffer.get() & 0xFF);
+            UUID categoryId = (flags & HAS_CATEGORY) != 0 ? getUuid(buffer) : null;
+            BigDecimal amount = getDecimal(buffer);
+            BigDecimal balanceAfter = getDecimal(buffer);
+            UUID relatedAccountId = (flags & HAS_RELATED_ACCOUNT) != 0 ? getUuid(buffer) : null;
+            Instant occurredAt = getTimestamp(buffer);
+            return new TransactionEvent(transactionId, accountId, type, categoryId, amount, balanceAfter,
+                    relatedAccountId, occurredAt);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated transaction event", e);
+        }
+    }
+
+    public static byte[] encode(AccountBalance balance) {
+        byte[] amount = balance.balance().unscaledValue().toByteArray();
+        ByteBuffer buffer = ByteBuffer.allocate(2 + 2 * 16 + 10 + amount.length + 15);
+        buffer.put(BALANCE_MAGIC).put(VERSION);
+        putUuid(buffer, balance.accountId());
+        putDecimal(buffer, balance.balance().scale(), amount);
+        putUuid(buffer, balance.transactionId());
+        putTimestamp(buffer, balance.updatedAt());
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    public static AccountBalance decodeBalance(byte[] data) {
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        try {
+            checkHeader(buffer, BALANCE_MAGIC, "account balance");
+            return new AccountBalance(getUuid(buffer), getDecimal(buffer), getUuid(buffer), getTimestamp(buffer));
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated account balance", e);
+        }
+    }
+
+    // Stable code table: append new constants with new codes, never renumber
+
+    static int typeCode(TransactionType type) {
+        return switch (type) {
+            case DEPOSIT -> 1;
+            case WITHDRAWAL -> 2;
+            case TRANSFER_IN -> 3;
+            case TRANSFER_OUT -> 4;
+        };
+    }
+
+    static TransactionType type(int code) {
+        return switch (code) {
+            case 1 -> TransactionType.DEPOSIT;
+            case 2 -> TransactionType.WITHDRAWAL;
+            case 3 -> TransactionType.TRANSFER_IN;
+            case 4 -> TransactionType.TRANSFER_OUT;
+            default -> throw new IllegalArgumentException("Unknown transaction type code: " + code);
+        };
+    }
+
+    private static void checkHeader(ByteBuffer buffer, byte magic, String what) {
+        if (buffer.get() != magic) {
+            throw new IllegalArgumentException("Not a binary " + what);
+        }
+        byte version = buffer.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported " + what + " version: " + version);
+        }
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putDecimal(ByteBuffer buffer, int scale, byte[] unscaled) {
+        putVarLong(buffer, (scale << 1) ^ (scale >> 31));
+        putVarLong(buffer, unscaled.length);
+        buffer.put(unscaled);
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer buffer) {
+        long zigzag = getVarLong(buffer);
+        int scale = (int) ((zigzag >>> 1) ^ -(zigzag & 1));
+        int length = (int) getVarLong(buffer);
+        if (length <= 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid decimal length: " + length);
+        }
+        byte[] unscaled = new byte[length];
+        buffer.get(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, Instant timestamp) {
+        long seconds = timestamp.getEpochSecond();
+        putVarLong(buffer, (seconds << 1) ^ (seconds >> 63));
+        putVarLong(buffer, timestamp.getNano());
+    }
+
+    private static Instant getTimestamp(ByteBuffer buffer) {
+        long zigzag = getVarLong(buffer);
+        long seconds = (zigzag >>> 1) ^ -(zigzag & 1);
+        return Instant.ofEpochSecond(seconds, getVarLong(buffer));
+    }
+
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint");
+            }
+            b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
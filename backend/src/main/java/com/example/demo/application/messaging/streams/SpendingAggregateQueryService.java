@@ -0,0 +1,65 @@
+package com.example.demo.application.messaging.streams;
+
+import com.example.demo.application.ports.out.SpendingAggregateRepository;
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.SpendingWindow;
+import org.apache.kafka.streams.errors.InvalidStateStoreException;
+import org.apache.kafka.streams.kstream.Windowed;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.QueryableStoreTypes;
+import org.apache.kafka.streams.state.ReadOnlyWindowStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Interactive queries against the local spending window stores
+ *
+ * Each instance only holds the partitions assigned to it; with a single backend instance that is all of them.
+ */
+public class SpendingAggregateQueryService implements SpendingAggregateRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(SpendingAggregateQueryService.class);
+
+    private final KafkaStreamsInteractiveQueryService queryService;
+    private final Duration dailyRetention;
+
+    public SpendingAggregateQueryService(KafkaStreamsInteractiveQueryService queryService, Duration dailyRetention) {
+        this.queryService = queryService;
+        this.dailyRetention = dailyRetention;
+    }
+
+    @Override
+    public Optional<List<SpendingWindow>> findWindows(UUID accountId, SpendingWindow.Granularity granularity,
+                                                      Instant from, Instant to) {
+        String storeName = granularity == SpendingWindow.Granularity.HOURLY
+                ? SpendingTopology.HOURLY_STORE : SpendingTopology.DAILY_STORE;
+        try {
+            ReadOnlyWindowStore<String, SpendingSummary> store =
+                    queryService.retrieveQueryableStore(storeName, QueryableStoreTypes.windowStore());
+            List<SpendingWindow> windows = new ArrayList<>();
+            // fetch bounds are inclusive, windows starting exactly at 'to' are excluded
+            try (KeyValueIterator<Windowed<String>, SpendingSummary> iterator =
+                         store.fetch(accountId.toString(), accountId.toString(), from, to.minusMillis(1))) {
+                iterator.forEachRemaining(entry -> windows.add(new SpendingWindow(accountId, granularity,
+                        entry.key.window().startTime(), entry.key.window().endTime(), entry.value)));
+            }
+            return Optional.of(windows);
+        } catch (InvalidStateStoreException | IllegalStateException e) {
+            log.warn("Spending aggregates not queryable: store={}, error={}", storeName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public Instant dailyRetentionStart() {
+        return Instant.now().minus(dailyRetention);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.application.messaging.streams;
+
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.TransactionEvent;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.common.utils.Bytes;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.kstream.Consumed;
+import org.apache.kafka.streams.kstream.Grouped;
+import org.apache.kafka.streams.kstream.KGroupedStream;
+import org.apache.kafka.streams.kstream.KStream;
+import org.apache.kafka.streams.kstream.Materialized;
+import org.apache.kafka.streams.kstream.TimeWindows;
+import org.apache.kafka.streams.processor.TimestampExtractor;
+import org.apache.kafka.streams.state.WindowStore;
+
+import java.time.Duration;
+
+/**
+ * Kafka Streams topology for per-account spending aggregates
+ *
+ * transaction-events is keyed by account id, so events are grouped without a repartition and folded
+ * into SpendingSummary values (per type and per type and category) in hourly and daily tumbling
+ * windows. Windows are assigned by the event's occurredAt, late events are accepted within the grace
+ * period. Both window stores are RocksDB-backed and changelogged, and queried through
+ * SpendingAggregateQueryService.
+ */
+public final class SpendingTopology {
+
+    public static final String HOURLY_STORE = "spending-hourly";
+    public static final String DAILY_STORE = "spending-daily";
+
+    private SpendingTopology() {
+    }
+
+    /**
+     * Window sizes, grace period and how long each store keeps its windows
+     */
+    public record Settings(Duration grace, Duration hourlyRetention, Duration dailyRetention) {
+    }
+
+    public static KStream<String, TransactionEvent> build(StreamsBuilder builder,
+                                                          Serde<TransactionEvent> eventSerde,
+                                                          Serde<SpendingSummary> summarySerde,
+                                                          Settings settings) {
+        KStream<String, TransactionEvent> events = builder.stream(KafkaConfig.TRANSACTION_EVENTS_TOPIC,
+                Consumed.with(Serdes.String(), eventSerde).withTimestampExtractor(occurredAt()));
+
+        KGroupedStream<String, TransactionEvent> byAccount = events
+                .filter((accountId, event) -> accountId != null && event != null && event.amount() != null)
+                .groupByKey(Grouped.with(Serdes.String(), eventSerde));
+
+        byAccount.windowedBy(TimeWindows.ofSizeAndGrace(Duration.ofHours(1), settings.grace()))
+                .aggregate(SpendingSummary::empty, (accountId, event, summary) -> summary.add(event),
+                        Materialized.<String, SpendingSummary, WindowStore<Bytes, byte[]>>as(HOURLY_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(summarySerde)
+                                .withRetention(settings.hourlyRetention()));
+
+        byAccount.windowedBy(TimeWindows.ofSizeAndGrace(Duration.ofDays(1), settings.grace()))
+                .aggregate(SpendingSummary::empty, (accountId, event, summary) -> summary.add(event),
+                        Materialized.<String, SpendingSummary, WindowStore<Bytes, byte[]>>as(DAILY_STORE)
+                                .withKeySerde(Serdes.String())
+                                .withValueSerde(summarySerde)
+                                .withRetention(settings.dailyRetention()));
+
+        return events;
+    }
+
+    /**
+     * Event time is when the transaction was recorded, not when it reached the topic
+     */
+    static TimestampExtractor occurredAt() {
+        return (record, partitionTime) -> {
+            if (record.value() instanceof TransactionEvent event && event.occurredAt() != null) {
+                return event.occurredAt().toEpochMilli();
+            }
+            return record.timestamp() >= 0 ? record.timestamp() : partitionTime;
+        };
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.application.ports.in;
+
+import com.example.demo.domain.notification.Announcement;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Input port for system announcements broadcast to all users
+ */
+public interface AnnouncementUseCase {
+
+    /**
+     * Announcement as seen by one user
+     *
+     * @param readAt when the user read it, null if unread
+     */
+    record AnnouncementView(Announcement announcement, LocalDateTime readAt) {
+        public boolean read() {
+            return readAt != null;
+        }
+    }
+
+    /**
+     * Store an announcement once and push it to every connected user
+     */
+    Announcement publishAnnouncement(String title, String message, NotificationPriority priority);
+
+    /**
+     * Announcements of the last N days with the user's read state, newest first
+     */
+    Page<AnnouncementView> getAnnouncements(UUID userId, int days, Pageable pageable);
+
+    /**
+     * Mark an announcement as read for a user
+     */
+    AnnouncementView markAnnouncementAsRead(UUID announcementId, UUID userId);
+}
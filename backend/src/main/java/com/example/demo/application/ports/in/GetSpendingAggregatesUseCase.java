@@ -0,0 +1,23 @@
+package com.example.demo.application.ports.in;
+
+import com.example.demo.domain.SpendingWindow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Input port for precomputed hourly and daily spending aggregates
+ */
+public interface GetSpendingAggregatesUseCase {
+    /**
+     * Spending windows of an account
+     * @param accountId Account ID
+     * @param granularity Window size
+     * @param from Start of the range, inclusive
+     * @param to End of the range, exclusive
+     * @return Windows with transactions, oldest first
+     * @throws IllegalStateException when the aggregates are not available
+     */
+    List<SpendingWindow> getSpending(UUID accountId, SpendingWindow.Granularity granularity, Instant from, Instant to);
+}
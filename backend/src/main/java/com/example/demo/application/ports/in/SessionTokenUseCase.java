@@ -0,0 +1,44 @@
+package com.example.demo.application.ports.in;
+
+import com.example.demo.domain.User;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Input port for issuing, refreshing and revoking the tokens of a login session
+ */
+public interface SessionTokenUseCase {
+
+    /**
+     * Short-lived access token (JWT) and the opaque refresh token that renews it
+     *
+     * @param accessExpiresAt when the access token expires
+     */
+    record TokenPair(String accessToken, String refreshToken, Instant accessExpiresAt, User user) {
+    }
+
+    /**
+     * Start a session for a user who just logged in
+     */
+    TokenPair issue(User user);
+
+    /**
+     * Rotate a refresh token: revoke it and issue a new pair in the same session
+     * Presenting a token that was already rotated revokes the whole session
+     *
+     * @throws IllegalArgumentException if the token is unknown, expired or already used
+     * @throws IllegalStateException if the user may no longer log in
+     */
+    TokenPair refresh(String refreshToken);
+
+    /**
+     * End a session: revoke its access token and, if given, its refresh token
+     */
+    void logout(String accessTokenId, Instant accessExpiresAt, String refreshToken);
+
+    /**
+     * Revoke every access and refresh token of a user, e.g. when the account is locked
+     */
+    void revokeUser(UUID userId);
+}
@@ -0,0 +1,33 @@
+package com.example.demo.application.ports.in;
+
+import com.example.demo.domain.StatementJob;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Input port for statements rendered in the background and downloaded once ready
+ */
+public interface StatementJobUseCase {
+
+    /**
+     * Queue a statement, or return the job already rendering the same one
+     *
+     * @throws IllegalArgumentException if the account is not the user's or the period is invalid
+     * @throws IllegalStateException if the worker queue is full
+     */
+    StatementJob submit(UUID userId, UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                        StatementJob.Format format);
+
+    /**
+     * A job of the user; empty if it does not exist, expired or belongs to someone else
+     */
+    Optional<StatementJob> getJob(UUID userId, UUID jobId);
+
+    /**
+     * The rendered file of a completed job of the user
+     */
+    Optional<Path> getArtifact(UUID userId, UUID jobId);
+}
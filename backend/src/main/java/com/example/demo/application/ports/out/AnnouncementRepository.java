@@ -0,0 +1,44 @@
+package com.example.demo.application.ports.out;
+
+import com.example.demo.domain.notification.Announcement;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for announcements and the per-user read markers on them
+ */
+public interface AnnouncementRepository {
+
+    /**
+     * Save a new announcement
+     */
+    Announcement save(Announcement announcement);
+
+    /**
+     * Find an announcement by ID
+     */
+    Optional<Announcement> findById(UUID id);
+
+    /**
+     * Announcements published after the given time, newest first
+     */
+    Page<Announcement> findPublishedSince(LocalDateTime since, Pageable pageable);
+
+    /**
+     * When the user read each of the given announcements; unread ones are absent
+     */
+    Map<UUID, LocalDateTime> findReadMarkers(UUID userId, Collection<UUID> announcementIds);
+
+    /**
+     * Record that the user read an announcement
+     *
+     * @return false if it was already marked as read
+     */
+    boolean markRead(UUID announcementId, UUID userId, LocalDateTime readAt);
+}
@@ -6,7 +6,9 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,10 +19,16 @@ import java.util.UUID;
 public interface NotificationRepository {
 
     /**
-     * Save a new notification
+     * Save a new notification; one already stored under its id is returned unchanged
      */
     Notification save(Notification notification);
 
+    /**
+     * Save a batch of new notifications in one transaction
+     * Notifications already stored under their id are skipped, so a redelivered batch adds no rows
+     */
+    List<Notification> saveAll(List<Notification> notifications);
+
     /**
      * Update an existing notification
      */
@@ -66,6 +74,12 @@ public interface NotificationRepository {
      */
     long countUnreadByUserId(UUID userId);
 
+    /**
+     * Count unread notifications for several users with a single query
+     * Users without unread notifications are mapped to 0
+     */
+    Map<UUID, Long> countUnreadByUserIds(Collection<UUID> userIds);
+
     /**
      * Mark all unread notifications as read for a user
      */
@@ -0,0 +1,45 @@
+package com.example.demo.application.ports.out;
+
+import com.example.demo.domain.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for refresh tokens, looked up by the hash of the token
+ */
+public interface RefreshTokenRepository {
+
+    /**
+     * Save a new refresh token
+     */
+    RefreshToken save(RefreshToken token);
+
+    /**
+     * Find a refresh token by the hash of its value
+     */
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Revoke a token unless it already is
+     *
+     * @return false if it was already revoked, e.g. by a concurrent refresh with the same token
+     */
+    boolean revoke(UUID id, LocalDateTime revokedAt);
+
+    /**
+     * Revoke every token of a session
+     */
+    int revokeFamily(UUID familyId, LocalDateTime revokedAt);
+
+    /**
+     * Revoke every token of a user
+     */
+    int revokeAllForUser(UUID userId, LocalDateTime revokedAt);
+
+    /**
+     * Delete tokens that expired before the given time
+     */
+    int deleteExpiredBefore(LocalDateTime before);
+}
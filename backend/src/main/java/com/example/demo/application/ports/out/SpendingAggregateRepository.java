@@ -0,0 +1,27 @@
+package com.example.demo.application.ports.out;
+
+import com.example.demo.domain.SpendingWindow;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port for windowed spending aggregates precomputed from the transaction event stream
+ */
+public interface SpendingAggregateRepository {
+
+    /**
+     * Windows of an account starting within [from, to), oldest first
+     *
+     * @return empty when the aggregates cannot be queried right now (starting up or rebalancing)
+     */
+    Optional<List<SpendingWindow>> findWindows(UUID accountId, SpendingWindow.Granularity granularity,
+                                               Instant from, Instant to);
+
+    /**
+     * Oldest instant the daily aggregates still cover
+     */
+    Instant dailyRetentionStart();
+}
@@ -0,0 +1,44 @@
+package com.example.demo.application.ports.out;
+
+import com.example.demo.domain.TransactionEvent;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Output port for the transactional outbox of ledger events
+ * Events are recorded in the same database transaction as the ledger change and relayed to Kafka afterwards
+ */
+public interface TransactionEventOutbox {
+
+    /**
+     * Outbox entry: encoded event in commit order, and the relay batch it was claimed by, if any
+     */
+    record Entry(long id, UUID accountId, byte[] payload, String batchId) {
+    }
+
+    /**
+     * Record an event as part of the caller's transaction
+     */
+    void append(TransactionEvent event);
+
+    /**
+     * Oldest entries not claimed by a relay batch, in id order
+     */
+    List<Entry> findPending(int limit);
+
+    /**
+     * Entries claimed by a batch whose publication has not been confirmed, in id order
+     */
+    List<Entry> findClaimed();
+
+    /**
+     * Claim entries for a relay batch before publishing them
+     */
+    void claim(List<Long> ids, String batchId);
+
+    /**
+     * Remove entries once their batch is committed to Kafka
+     */
+    void delete(List<Long> ids);
+}
@@ -1,5 +1,6 @@
 package com.example.demo.application.ports.out;
 
+import com.example.demo.domain.AccountStatement;
 import com.example.demo.domain.CategoryReport;
 import com.example.demo.domain.Transaction;
 
@@ -21,6 +22,18 @@ public interface TransactionRepository {
      */
     List<Transaction> findByAccountIdAndDateRange(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
 
+    /**
+     * One page of an account's transactions within a date range, newest first
+     * Keyset pagination: pass the last transaction of the previous page, or null for the first page
+     */
+    List<Transaction> findPageByAccountIdAndDateRange(UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                                      Transaction after, int limit);
+
+    /**
+     * Opening balance and totals of a statement period, aggregated by the database
+     */
+    AccountStatement.Summary summarizeStatement(UUID accountId, LocalDateTime startDate, LocalDateTime endDate);
+
     /**
      * Find transactions by account and category ID
      */
@@ -14,6 +14,7 @@ public interface UserRepository {
     Optional<User> findById(UUID id);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsername(String username);
+    Optional<User> findByEmailOrUsername(String login); // Email match wins over a username match
     List<User> findAll();
     User update(User user);
     boolean deleteById(UUID id);
@@ -0,0 +1,81 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.messaging.ClusterSseDelivery;
+import com.example.demo.application.ports.in.AnnouncementUseCase;
+import com.example.demo.application.ports.out.AnnouncementRepository;
+import com.example.demo.domain.notification.Announcement;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Announcement service: one stored row and one serialized SSE frame per announcement, however many
+ * users receive it
+ * Not transactional itself, so the broadcast only goes out once the announcement is committed
+ */
+@Service
+public class AnnouncementService implements AnnouncementUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(AnnouncementService.class);
+
+    private final AnnouncementRepository announcementRepository;
+    private final ClusterSseDelivery sseDelivery;
+    private final ObjectMapper objectMapper;
+
+    public AnnouncementService(AnnouncementRepository announcementRepository,
+                               ClusterSseDelivery sseDelivery,
+                               ObjectMapper objectMapper) {
+        this.announcementRepository = announcementRepository;
+        this.sseDelivery = sseDelivery;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Announcement publishAnnouncement(String title, String message, NotificationPriority priority) {
+        Announcement saved = announcementRepository.save(Announcement.create(title, message, priority));
+        log.info("Announcement published: id={}", saved.id());
+
+        try {
+            sseDelivery.broadcast("announcement", objectMapper.writeValueAsString(saved));
+        } catch (JsonProcessingException e) {
+            // Stored already; clients see it on their next fetch
+            log.error("Error serializing announcement for SSE: id={}, error={}", saved.id(), e.getMessage(), e);
+        }
+        return saved;
+    }
+
+    @Override
+    public Page<AnnouncementView> getAnnouncements(UUID userId, int days, Pageable pageable) {
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        log.debug("Getting announcements: userId={}, days={}, page={}", userId, days, pageable.getPageNumber());
+
+        Page<Announcement> announcements = announcementRepository.findPublishedSince(since, pageable);
+        Map<UUID, LocalDateTime> readMarkers = announcementRepository.findReadMarkers(userId,
+                announcements.map(Announcement::id).getContent());
+        return announcements.map(announcement ->
+                new AnnouncementView(announcement, readMarkers.get(announcement.id())));
+    }
+
+    @Override
+    public AnnouncementView markAnnouncementAsRead(UUID announcementId, UUID userId) {
+        log.info("Marking announcement as read: id={}, userId={}", announcementId, userId);
+
+        Announcement announcement = announcementRepository.findById(announcementId)
+                .orElseThrow(() -> new IllegalArgumentException("Announcement not found"));
+        LocalDateTime readAt = LocalDateTime.now();
+        if (!announcementRepository.markRead(announcementId, userId, readAt)) {
+            readAt = announcementRepository.findReadMarkers(userId, List.of(announcementId)).get(announcementId);
+        }
+        return new AnnouncementView(announcement, readAt);
+    }
+}
@@ -1,23 +1,32 @@
 package com.example.demo.application.service;
 
+import com.example.demo.adapter.out.journal.audit.AuditJournal;
 import com.example.demo.adapter.out.persistence.JpaAuditLogRepository;
 import com.example.demo.adapter.out.persistence.entity.AuditLogJpaEntity;
+import com.example.demo.config.datasource.Workload;
+import com.example.demo.config.datasource.WorkloadType;
 import com.example.demo.domain.AuditLog;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,10 +36,15 @@ public class AuditService {
     private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
 
     private final JpaAuditLogRepository auditLogRepository;
+    private final AuditJournal auditJournal;
     private final Map<String, Counter> auditCounters;
 
-    public AuditService(JpaAuditLogRepository auditLogRepository, MeterRegistry meterRegistry) {
+    public AuditService(JpaAuditLogRepository auditLogRepository,
+                        ObjectProvider<AuditJournal> auditJournalProvider,
+                        MeterRegistry meterRegistry) {
         this.auditLogRepository = auditLogRepository;
+        // Present only when audit.sink=journal
+        this.auditJournal = auditJournalProvider.getIfAvailable();
         this.auditCounters = new HashMap<>();
 
         // Initialize counters for each audit action
@@ -55,6 +69,8 @@ public class AuditService {
      * Log an audit event asynchronously
      */
     @Async
+    @Workload(WorkloadType.BACKGROUND)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public void logAsync(AuditLog auditLog) {
         try {
             log(auditLog);
@@ -65,11 +81,19 @@ public class AuditService {
 
     /**
      * Log an audit event synchronously
+     * With the journal sink the record is appended to the local journal and shipped to the
+     * database in bulk later, so no database transaction is opened on this path
      */
+    @Transactional(propagation = Propagation.SUPPORTS)
     public AuditLog log(AuditLog auditLog) {
         try {
-            AuditLogJpaEntity entity = AuditLogJpaEntity.fromDomain(auditLog);
-            AuditLogJpaEntity saved = auditLogRepository.save(entity);
+            AuditLog recorded;
+            if (auditJournal != null) {
+                auditJournal.append(auditLog);
+                recorded = auditLog;
+            } else {
+                recorded = auditLogRepository.save(AuditLogJpaEntity.fromDomain(auditLog)).toDomain();
+            }
 
             // Update metrics
             String counterKey = auditLog.getAction().name() + "_" + auditLog.getStatus().name();
@@ -85,7 +109,7 @@ public class AuditService {
                     auditLog.getEntityType(),
                     auditLog.getEntityId());
 
-            return saved.toDomain();
+            return recorded;
         } catch (Exception e) {
             logger.error("Failed to save audit log: {}", e.getMessage(), e);
             throw e;
@@ -137,6 +161,7 @@ public class AuditService {
 
     /**
      * Get audit logs for a specific user
+     * Reads the database only; with the journal sink, records show up once their segment is shipped
      */
     @Transactional(readOnly = true)
     public Page<AuditLog> getAuditLogsForUser(Long userId, Pageable pageable) {
@@ -146,6 +171,7 @@ public class AuditService {
 
     /**
      * Get audit logs for a specific action
+     * Reads the database only; with the journal sink, records show up once their segment is shipped
      */
     @Transactional(readOnly = true)
     public Page<AuditLog> getAuditLogsByAction(AuditLog.AuditAction action, Pageable pageable) {
@@ -154,18 +180,45 @@ public class AuditService {
     }
 
     /**
-     * Get audit logs for a date range
+     * Get audit logs for a date range, including records not yet shipped from the journal
      */
     @Transactional(readOnly = true)
     public List<AuditLog> getAuditLogsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return auditLogRepository.findByTimestampBetween(startDate, endDate)
-                .stream()
+        List<AuditLogJpaEntity> rows = auditLogRepository.findByTimestampBetween(startDate, endDate);
+        List<AuditLog> logs = rows.stream()
                 .map(AuditLogJpaEntity::toDomain)
-                .collect(Collectors.toList());
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (auditJournal != null) {
+            // Include records that are still waiting in the journal to be shipped. A segment stays in
+            // the journal until its rows are committed, so skip sequences the database already has
+            Set<Long> shipped = rows.stream()
+                    .map(AuditLogJpaEntity::getJournalSequence)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+            for (AuditJournal.Entry entry : auditJournal.readRangeEntries(startDate, endDate)) {
+                if (!shipped.contains(entry.sequence())) {
+                    logs.add(entry.auditLog());
+                }
+            }
+            logs.sort(Comparator.comparing(AuditLog::getTimestamp));
+        }
+        return logs;
+    }
+
+    /**
+     * Verify the hash chain of the audit journal
+     *
+     * @return verification result, or null when the journal sink is not enabled
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public AuditJournal.VerificationResult verifyJournal() {
+        return auditJournal != null ? auditJournal.verify() : null;
     }
 
     /**
      * Get audit logs for a specific entity
+     * Reads the database only; with the journal sink, records show up once their segment is shipped
      */
     @Transactional(readOnly = true)
     public List<AuditLog> getAuditLogsForEntity(String entityType, String entityId) {
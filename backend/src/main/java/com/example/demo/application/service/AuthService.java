@@ -5,8 +5,11 @@ import com.example.demo.application.ports.in.LoginUseCase;
 import com.example.demo.application.ports.in.RegisterUserUseCase;
 import com.example.demo.application.ports.out.UserRepository;
 import com.example.demo.domain.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
@@ -19,12 +22,17 @@ import java.util.UUID;
 @Transactional
 public class AuthService implements RegisterUserUseCase, LoginUseCase, GetCurrentUserUseCase {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialVerifier credentialVerifier;
 
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       CredentialVerifier credentialVerifier) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.credentialVerifier = credentialVerifier;
     }
 
     @Override
@@ -47,15 +55,21 @@ public class AuthService implements RegisterUserUseCase, LoginUseCase, GetCurren
         return userRepository.save(user);
     }
 
+    /**
+     * Not transactional: no connection is held while the password check waits for a hashing thread
+     *
+     * @throws CredentialVerifier.SaturatedException when too many checks are already waiting
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public User login(String emailOrUsername, String password) {
-        // Try to find user by email or username
-        User user = userRepository.findByEmail(emailOrUsername)
-                .or(() -> userRepository.findByUsername(emailOrUsername))
+        // Find user by email or username in one query
+        User user = userRepository.findByEmailOrUsername(emailOrUsername)
                 .orElseThrow(() -> new IllegalArgumentException("Invalid credentials"));
 
-        // Verify password
-        if (!passwordEncoder.matches(password, user.getPassword())) {
+        // Verify password on the hashing pool
+        CredentialVerifier.Verification verification = credentialVerifier.verify(password, user.getPassword());
+        if (!verification.matches()) {
             throw new IllegalArgumentException("Invalid credentials");
         }
 
@@ -64,9 +78,26 @@ public class AuthService implements RegisterUserUseCase, LoginUseCase, GetCurren
             throw new IllegalStateException("Account is " + user.getStatus().name().toLowerCase() + ". Please contact support.");
         }
 
+        if (verification.upgradedHash() != null) {
+            user = upgradePassword(user, verification.upgradedHash());
+        }
         return user;
     }
 
+    /**
+     * Store a hash at the current cost factor; on failure the next login tries again
+     */
+    private User upgradePassword(User user, String upgradedHash) {
+        try {
+            User updated = userRepository.update(user.updatePassword(upgradedHash));
+            log.info("Password rehashed at the current cost factor: userId={}", user.getId());
+            return updated;
+        } catch (Exception e) {
+            log.warn("Failed to store rehashed password: userId={}, error={}", user.getId(), e.getMessage());
+            return user;
+        }
+    }
+
     @Override
     public User getCurrentUser(UUID userId) {
         return userRepository.findById(userId)
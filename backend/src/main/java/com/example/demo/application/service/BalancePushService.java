@@ -0,0 +1,69 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.messaging.ClusterSseDelivery;
+import com.example.demo.domain.AccountBalance;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+/**
+ * Pushes balance changes to the account owner's SSE connections as "balance" events
+ *
+ * Registered from the ledger path inside the write transaction and sent only after it commits, so a
+ * client never sees a balance that was rolled back. The payload is the AccountBalance (account id,
+ * balance, transaction id and its time); clients apply it in place and ignore one older than what they
+ * show, since concurrent commits may push out of order.
+ */
+@Service
+public class BalancePushService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalancePushService.class);
+
+    static final String EVENT = "balance";
+
+    private final ClusterSseDelivery sseDelivery;
+    private final ObjectMapper objectMapper;
+    private final Counter pushed;
+
+    public BalancePushService(ClusterSseDelivery sseDelivery, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.sseDelivery = sseDelivery;
+        this.objectMapper = objectMapper;
+        this.pushed = Counter.builder("ledger.balance.pushes")
+                .description("Balance changes pushed to account owners")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Push the balance once the current transaction commits, or right away outside a transaction
+     */
+    public void pushAfterCommit(UUID userId, AccountBalance balance) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            push(userId, balance);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                push(userId, balance);
+            }
+        });
+    }
+
+    private void push(UUID userId, AccountBalance balance) {
+        try {
+            sseDelivery.push(userId, EVENT, objectMapper.writeValueAsString(balance));
+            pushed.increment();
+        } catch (Exception e) {
+            // Committed already; the client sees the balance on its next fetch
+            log.warn("Failed to push balance change: accountId={}, transactionId={}, error={}",
+                    balance.accountId(), balance.transactionId(), e.getMessage());
+        }
+    }
+}
@@ -3,12 +3,15 @@ package com.example.demo.application.service;
 import com.example.demo.application.ports.in.*;
 import com.example.demo.application.ports.out.AccountRepository;
 import com.example.demo.application.ports.out.CategoryRepository;
+import com.example.demo.application.ports.out.TransactionEventOutbox;
 import com.example.demo.application.ports.out.TransactionRepository;
 import com.example.demo.application.ports.out.UserRepository;
 import com.example.demo.domain.Account;
+import com.example.demo.domain.AccountBalance;
 import com.example.demo.domain.AuditLog;
 import com.example.demo.domain.Transaction;
 import com.example.demo.domain.TransactionCategory;
+import com.example.demo.domain.TransactionEvent;
 import com.example.demo.domain.User;
 import com.example.demo.domain.notification.Notification;
 import jakarta.servlet.http.HttpServletRequest;
@@ -45,19 +48,25 @@ public class BankingService implements
     private final AuditService auditService;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final TransactionEventOutbox transactionEventOutbox;
+    private final BalancePushService balancePushService;
 
     public BankingService(AccountRepository accountRepository,
                          TransactionRepository transactionRepository,
                          CategoryRepository categoryRepository,
                          AuditService auditService,
                          UserRepository userRepository,
-                         NotificationService notificationService) {
+                         NotificationService notificationService,
+                         TransactionEventOutbox transactionEventOutbox,
+                         BalancePushService balancePushService) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
         this.auditService = auditService;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.transactionEventOutbox = transactionEventOutbox;
+        this.balancePushService = balancePushService;
     }
 
     @Override
@@ -206,7 +215,7 @@ public class BankingService implements
                 description,
                 categoryId
         );
-        transactionRepository.save(transaction);
+        recordLedgerChange(transaction, savedAccount.getUserId());
 
         // Audit log deposit transaction
         try {
@@ -274,7 +283,7 @@ public class BankingService implements
                 description,
                 categoryId
         );
-        transactionRepository.save(transaction);
+        recordLedgerChange(transaction, savedAccount.getUserId());
 
         // Audit log withdrawal transaction
         try {
@@ -349,7 +358,7 @@ public class BankingService implements
                 description,
                 transferCategoryId
         );
-        transactionRepository.save(transferOut);
+        recordLedgerChange(transferOut, savedFromAccount.getUserId());
 
         Transaction transferIn = Transaction.createTransferIn(
                 toAccountId,
@@ -359,7 +368,7 @@ public class BankingService implements
                 description,
                 transferCategoryId
         );
-        transactionRepository.save(transferIn);
+        recordLedgerChange(transferIn, savedToAccount.getUserId());
 
         // Audit log transfer transaction
         try {
@@ -421,6 +430,17 @@ public class BankingService implements
         }
     }
 
+    /**
+     * Save a ledger transaction and record its change event in the same database transaction
+     * The account owner's open views get the new balance once it commits
+     */
+    private void recordLedgerChange(Transaction transaction, UUID userId) {
+        Transaction saved = transactionRepository.save(transaction);
+        TransactionEvent event = TransactionEvent.of(saved);
+        transactionEventOutbox.append(event);
+        balancePushService.pushAfterCommit(userId, AccountBalance.of(event));
+    }
+
     @Override
     public List<Transaction> getTransactionHistory(UUID accountId) {
         return transactionRepository.findByAccountId(accountId);
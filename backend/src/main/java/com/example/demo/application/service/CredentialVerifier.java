@@ -0,0 +1,174 @@
+package com.example.demo.application.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Password verification on a dedicated, bounded pool
+ *
+ * BCrypt is deliberately slow; run on request threads, a login burst occupies all of them and starves
+ * every other endpoint. Here hashing runs on at most auth.hashing.threads threads (default: one per
+ * core) behind a bounded queue. A check that cannot start within auth.hashing.max-queue-wait-ms, or
+ * finds the queue full, fails with SaturatedException instead of waiting, so the client can retry.
+ */
+@Component
+public class CredentialVerifier {
+
+    private static final Logger log = LoggerFactory.getLogger(CredentialVerifier.class);
+
+    /**
+     * Thrown when no hashing thread is available within the queue-time budget
+     */
+    public static class SaturatedException extends IllegalStateException {
+
+        private final long retryAfterSeconds;
+
+        public SaturatedException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Outcome of a check; upgradedHash is set when the password matched a hash below the configured cost
+     */
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+
+    private final PasswordEncoder passwordEncoder;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor executor;
+    private final long maxQueueWaitNanos;
+    private final long retryAfterSeconds;
+    private final Timer hashTime;
+    private final Timer queueWait;
+
+    public CredentialVerifier(PasswordEncoder passwordEncoder,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.hashing.threads:0}") int threads,
+                              @Value("${auth.hashing.queue-capacity:256}") int queueCapacity,
+                              @Value("${auth.hashing.max-queue-wait-ms:1000}") long maxQueueWaitMs,
+                              @Value("${auth.hashing.retry-after-seconds:2}") long retryAfterSeconds) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxQueueWaitMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "credential-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.hashTime = Timer.builder("auth.password.hash.time")
+                .description("Time spent hashing or checking a password")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("auth.password.queue.wait")
+                .description("Time a password check waited for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Password checks waiting for a hashing thread")
+                .register(meterRegistry);
+
+        log.info("Credential verifier initialized: threads={}, queueCapacity={}, maxQueueWaitMs={}",
+                poolSize, queueCapacity, maxQueueWaitMs);
+    }
+
+    /**
+     * Check a password, and rehash it in the same slot when its hash uses an outdated cost factor
+     *
+     * @throws SaturatedException when the check could not start within the queue-time budget
+     */
+    public Verification verify(String rawPassword, String encodedPassword) {
+        return run(() -> {
+            if (!passwordEncoder.matches(rawPassword, encodedPassword)) {
+                return new Verification(false, null);
+            }
+            String upgraded = passwordEncoder.upgradeEncoding(encodedPassword) ? passwordEncoder.encode(rawPassword) : null;
+            return new Verification(true, upgraded);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> work) {
+        long submitted = System.nanoTime();
+        // Whoever flips this first owns the task: the worker runs it, or the waiting caller abandons it
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return null;
+                }
+                long start = System.nanoTime();
+                queueWait.record(start - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return work.call();
+                } finally {
+                    hashTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw saturated("queue_full");
+        }
+
+        try {
+            try {
+                return future.get(maxQueueWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (claimed.compareAndSet(false, true)) {
+                    future.cancel(false);
+                    executor.remove((Runnable) future);
+                    throw saturated("queue_wait");
+                }
+                // Started in time; wait for the hash itself
+                return future.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password check failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            claimed.set(true);
+            future.cancel(false);
+            throw new IllegalStateException("Interrupted waiting for password check", e);
+        }
+    }
+
+    private SaturatedException saturated(String reason) {
+        meterRegistry.counter("auth.password.rejected", "reason", reason).increment();
+        log.warn("Password check rejected: reason={}, queued={}", reason, executor.getQueue().size());
+        return new SaturatedException("Too many sign-in attempts, please retry shortly", retryAfterSeconds);
+    }
+}
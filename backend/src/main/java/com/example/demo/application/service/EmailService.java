@@ -1,16 +1,12 @@
 package com.example.demo.application.service;
 
+import com.example.demo.application.mail.MailDispatcher;
+import com.example.demo.domain.notification.EmailEvent;
 import com.example.demo.domain.notification.Notification;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
@@ -19,34 +15,40 @@ import org.thymeleaf.spring6.SpringTemplateEngine;
 /**
  * Email service for sending notification emails asynchronously
  * Supports both plain text and HTML emails with Thymeleaf templates
+ * Messages are rendered here and handed to the MailDispatcher for batched SMTP delivery
  */
 @Service
 public class EmailService {
 
     private static final Logger log = LoggerFactory.getLogger(EmailService.class);
 
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
     private final SpringTemplateEngine templateEngine;
-    private final Counter emailsSent;
     private final Counter emailsFailed;
 
-    @Value("${spring.mail.from:noreply@virtualbank.com}")
-    private String fromEmail;
-
     public EmailService(
-            JavaMailSender mailSender,
+            MailDispatcher mailDispatcher,
             SpringTemplateEngine templateEngine,
             MeterRegistry meterRegistry) {
-        this.mailSender = mailSender;
+        this.mailDispatcher = mailDispatcher;
         this.templateEngine = templateEngine;
-        this.emailsSent = Counter.builder("emails.sent")
-                .description("Total emails sent successfully")
-                .register(meterRegistry);
         this.emailsFailed = Counter.builder("emails.failed")
                 .description("Total emails failed to send")
                 .register(meterRegistry);
     }
 
+    /**
+     * Queue a structured email event for delivery
+     *
+     * @throws IllegalStateException when the dispatch queue is full
+     */
+    public void sendEmail(EmailEvent email) {
+        if (!mailDispatcher.submit(email)) {
+            throw new IllegalStateException("Mail dispatch queue is full");
+        }
+        log.debug("Email queued: to={}, subject={}", email.to(), email.subject());
+    }
+
     /**
      * Send a plain text email asynchronously
      */
@@ -54,17 +56,7 @@ public class EmailService {
     public void sendSimpleEmail(String to, String subject, String text) {
         try {
             log.info("Sending plain text email to: {}, subject: {}", to, subject);
-
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-
-            mailSender.send(message);
-
-            emailsSent.increment();
-            log.info("Email sent successfully to: {}", to);
+            sendEmail(EmailEvent.text(null, to, subject, text));
         } catch (Exception e) {
             emailsFailed.increment();
             log.error("Failed to send email to: {}, error: {}", to, e.getMessage(), e);
@@ -80,21 +72,9 @@ public class EmailService {
         try {
             log.info("Sending HTML email to: {}, subject: {}, template: {}", to, subject, templateName);
 
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-
             String htmlContent = templateEngine.process(templateName, context);
-            helper.setText(htmlContent, true);
-
-            mailSender.send(mimeMessage);
-
-            emailsSent.increment();
-            log.info("HTML email sent successfully to: {}", to);
-        } catch (MessagingException e) {
+            sendEmail(EmailEvent.html(null, to, subject, htmlContent));
+        } catch (Exception e) {
             emailsFailed.increment();
             log.error("Failed to send HTML email to: {}, error: {}", to, e.getMessage(), e);
             throw new RuntimeException("Failed to send HTML email", e);
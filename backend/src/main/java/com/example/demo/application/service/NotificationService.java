@@ -1,6 +1,6 @@
 package com.example.demo.application.service;
 
-import com.example.demo.application.messaging.NotificationProducer;
+import com.example.demo.application.messaging.NotificationCoalescer;
 import com.example.demo.application.ports.in.*;
 import com.example.demo.application.ports.out.NotificationRepository;
 import com.example.demo.domain.notification.Notification;
@@ -31,13 +31,13 @@ public class NotificationService implements
     private static final Logger log = LoggerFactory.getLogger(NotificationService.class);
 
     private final NotificationRepository notificationRepository;
-    private final NotificationProducer notificationProducer;
+    private final NotificationCoalescer notificationCoalescer;
 
     public NotificationService(
             NotificationRepository notificationRepository,
-            NotificationProducer notificationProducer) {
+            NotificationCoalescer notificationCoalescer) {
         this.notificationRepository = notificationRepository;
-        this.notificationProducer = notificationProducer;
+        this.notificationCoalescer = notificationCoalescer;
     }
 
     // ==================== CreateNotificationUseCase ====================
@@ -73,10 +73,10 @@ public class NotificationService implements
 
         Notification notification = Notification.create(userId, type, channel, title, message, priority);
 
-        // Send to Kafka for async processing
-        notificationProducer.sendNotification(notification);
+        // Send to Kafka for async processing; LOW/MEDIUM notifications may be folded into a digest first
+        notificationCoalescer.submit(notification);
 
-        log.info("Notification sent to Kafka: userId={}, type={}", userId, type);
+        log.info("Notification submitted for delivery: userId={}, type={}", userId, type);
     }
 
     // ==================== GetNotificationsUseCase ====================
@@ -2,32 +2,65 @@ package com.example.demo.application.service;
 
 import com.example.demo.application.ports.in.GenerateAccountStatementUseCase;
 import com.example.demo.application.ports.in.GenerateCategoryReportUseCase;
+import com.example.demo.application.ports.in.GetSpendingAggregatesUseCase;
 import com.example.demo.application.ports.out.AccountRepository;
+import com.example.demo.application.ports.out.CategoryRepository;
+import com.example.demo.application.ports.out.SpendingAggregateRepository;
 import com.example.demo.application.ports.out.TransactionRepository;
 import com.example.demo.domain.Account;
 import com.example.demo.domain.AccountStatement;
 import com.example.demo.domain.CategoryReport;
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.SpendingWindow;
 import com.example.demo.domain.Transaction;
+import com.example.demo.domain.TransactionCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Application service for generating reports and statements
- * Implements use cases for account statements and category reports
+ * Implements use cases for account statements, category reports and spending aggregates
+ *
+ * Category reports come from a GROUP BY over the transactions table, or from the precomputed daily
+ * spending windows when reporting.category-report.source=streams (falling back to the database while
+ * the window stores are not queryable).
  */
 @Service
-public class ReportingService implements GenerateAccountStatementUseCase, GenerateCategoryReportUseCase {
+public class ReportingService implements GenerateAccountStatementUseCase, GenerateCategoryReportUseCase,
+        GetSpendingAggregatesUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportingService.class);
 
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
-
-    public ReportingService(AccountRepository accountRepository, TransactionRepository transactionRepository) {
+    private final CategoryRepository categoryRepository;
+    private final SpendingAggregateRepository spendingAggregateRepository;
+    private final boolean categoryReportFromStreams;
+
+    public ReportingService(AccountRepository accountRepository,
+                            TransactionRepository transactionRepository,
+                            CategoryRepository categoryRepository,
+                            ObjectProvider<SpendingAggregateRepository> spendingAggregateRepository,
+                            @Value("${reporting.category-report.source:database}") String categoryReportSource) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
+        this.categoryRepository = categoryRepository;
+        this.spendingAggregateRepository = spendingAggregateRepository.getIfAvailable();
+        this.categoryReportFromStreams = "streams".equalsIgnoreCase(categoryReportSource)
+                && this.spendingAggregateRepository != null;
     }
 
     @Override
@@ -39,32 +72,17 @@ public class ReportingService implements GenerateAccountStatementUseCase, Genera
         // Get transactions in date range
         List<Transaction> transactions = transactionRepository.findByAccountIdAndDateRange(accountId, startDate, endDate);
 
-        // Calculate opening balance
-        // Get all transactions before start date and calculate balance at that point
-        BigDecimal openingBalance = calculateBalanceAtDate(accountId, startDate);
-
-        // Calculate totals
-        BigDecimal totalDeposits = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.DEPOSIT)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal totalWithdrawals = transactions.stream()
-                .filter(t -> t.getType() == Transaction.TransactionType.WITHDRAWAL)
-                .map(Transaction::getAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        // Closing balance
-        BigDecimal closingBalance = openingBalance.add(totalDeposits).subtract(totalWithdrawals);
+        // Opening balance and totals are aggregated by the database rather than summed over the history
+        AccountStatement.Summary summary = transactionRepository.summarizeStatement(accountId, startDate, endDate);
 
         return new AccountStatement(
                 account,
                 startDate,
                 endDate,
-                openingBalance,
-                closingBalance,
-                totalDeposits,
-                totalWithdrawals,
+                summary.openingBalance(),
+                summary.closingBalance(),
+                summary.totalDeposits(),
+                summary.totalWithdrawals(),
                 transactions.size(),
                 transactions
         );
@@ -76,9 +94,11 @@ public class ReportingService implements GenerateAccountStatementUseCase, Genera
         accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found with ID: " + accountId));
 
-        // Get category summaries from repository
-        List<CategoryReport.CategorySummary> categorySummaries =
-                transactionRepository.getCategorySummary(accountId, transactionType);
+        // Get category summaries from the precomputed windows, or from repository
+        List<CategoryReport.CategorySummary> categorySummaries = categoryReportFromStreams
+                ? precomputedCategorySummary(accountId, transactionType)
+                        .orElseGet(() -> transactionRepository.getCategorySummary(accountId, transactionType))
+                : transactionRepository.getCategorySummary(accountId, transactionType);
 
         // Calculate totals
         BigDecimal totalAmount = categorySummaries.stream()
@@ -98,24 +118,49 @@ public class ReportingService implements GenerateAccountStatementUseCase, Genera
         );
     }
 
+    @Override
+    public List<SpendingWindow> getSpending(UUID accountId, SpendingWindow.Granularity granularity,
+                                            Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Start of range must be before its end");
+        }
+        if (spendingAggregateRepository == null) {
+            throw new IllegalStateException("Spending aggregates are disabled");
+        }
+        return spendingAggregateRepository.findWindows(accountId, granularity, from, to)
+                .orElseThrow(() -> new IllegalStateException("Spending aggregates are not available yet, try again shortly"));
+    }
+
     /**
-     * Calculate account balance at a specific date
-     * by summing all transactions before that date
+     * Category summaries summed over every retained daily window
      */
-    private BigDecimal calculateBalanceAtDate(UUID accountId, LocalDateTime date) {
-        List<Transaction> allTransactions = transactionRepository.findByAccountId(accountId);
-
-        BigDecimal balance = BigDecimal.ZERO;
-        for (Transaction transaction : allTransactions) {
-            if (transaction.getCreatedAt().isBefore(date)) {
-                if (transaction.getType() == Transaction.TransactionType.DEPOSIT) {
-                    balance = balance.add(transaction.getAmount());
-                } else if (transaction.getType() == Transaction.TransactionType.WITHDRAWAL) {
-                    balance = balance.subtract(transaction.getAmount());
-                }
-            }
+    private Optional<List<CategoryReport.CategorySummary>> precomputedCategorySummary(
+            UUID accountId, Transaction.TransactionType transactionType) {
+        Optional<List<SpendingWindow>> windows = spendingAggregateRepository.findWindows(accountId,
+                SpendingWindow.Granularity.DAILY, spendingAggregateRepository.dailyRetentionStart(), Instant.now());
+        if (windows.isEmpty()) {
+            log.debug("Spending aggregates not queryable, category report from database: accountId={}", accountId);
+            return Optional.empty();
         }
 
-        return balance;
+        SpendingSummary total = windows.get().stream()
+                .map(SpendingWindow::summary)
+                .reduce(SpendingSummary.empty(), SpendingSummary::merge);
+        Map<UUID, SpendingSummary.Totals> byCategory = total.categoryTotals(transactionType);
+        BigDecimal amount = total.totals(transactionType).amount();
+
+        List<CategoryReport.CategorySummary> summaries = new ArrayList<>();
+        byCategory.forEach((categoryId, totals) -> {
+            Optional<TransactionCategory> category = categoryRepository.findById(categoryId);
+            if (category.isPresent()) {
+                BigDecimal percentage = amount.compareTo(BigDecimal.ZERO) > 0
+                        ? totals.amount().multiply(BigDecimal.valueOf(100)).divide(amount, 2, RoundingMode.HALF_UP)
+                        : BigDecimal.ZERO;
+                summaries.add(new CategoryReport.CategorySummary(
+                        category.get(), totals.amount(), (int) totals.count(), percentage));
+            }
+        });
+        summaries.sort((a, b) -> b.amount().compareTo(a.amount()));
+        return Optional.of(summaries);
     }
 }
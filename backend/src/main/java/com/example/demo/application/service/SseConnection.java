@@ -0,0 +1,207 @@
+package com.example.demo.application.service;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One push connection (SSE emitter or WebSocket session) with its bounded outbound queue
+ *
+ * Producers only enqueue; a single drainer at a time writes the queue to the transport, so a slow client
+ * blocks nothing but its own drainer. Coalescing frames (unread count, heartbeat) replace a queued frame
+ * of the same event instead of taking another slot. Queue changes are mirrored in a counter shared by
+ * all connections of the node, so the total depth is read without visiting every connection.
+ */
+final class SseConnection {
+
+    /**
+     * Event to write; id is the SSE event id (0 for none), coalesce marks state frames where only the
+     * latest value matters, encoded is the complete wire form when the frame is shared by many connections
+     */
+    record Frame(long id, String event, String data, boolean coalesce,
+                 Set<ResponseBodyEmitter.DataWithMediaType> encoded) {
+        Frame(long id, String event, String data, boolean coalesce) {
+            this(id, event, data, coalesce, null);
+        }
+
+        Frame(String event, String data, boolean coalesce) {
+            this(0, event, data, coalesce);
+        }
+
+        /**
+         * Frame encoded once to its wire bytes, for writing unchanged to every connection of a broadcast
+         */
+        static Frame shared(String event, String data) {
+            StringBuilder text = new StringBuilder("event:").append(event).append('\n');
+            for (String line : data.split("\n", -1)) {
+                text.append("data:").append(line).append('\n');
+            }
+            text.append('\n');
+            byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+            return new Frame(0, event, data, false,
+                    Set.of(new ResponseBodyEmitter.DataWithMediaType(bytes, MediaType.TEXT_EVENT_STREAM)));
+        }
+    }
+
+    enum Offer {
+        /** Queued behind frames that a running drainer will write */
+        QUEUED,
+        /** Queued on an idle connection; the caller must start a drainer */
+        DRAIN,
+        /** Replaced a queued frame of the same event */
+        COALESCED,
+        /** Queue is full: the client is not keeping up */
+        OVERFLOW,
+        CLOSED
+    }
+
+    /**
+     * Writes one frame to the client, blocking until the container accepts it
+     */
+    @FunctionalInterface
+    interface Writer {
+        void write(SseConnection connection, Frame frame) throws IOException;
+    }
+
+    /**
+     * Wire side of a connection
+     */
+    interface Transport {
+        /**
+         * Write one frame, blocking until the client can take it
+         */
+        void send(Frame frame) throws IOException;
+
+        /**
+         * End the connection; may wait for a write in progress
+         */
+        void close();
+    }
+
+    private final UUID userId;
+    private final Transport transport;
+    private final int capacity;
+    private final AtomicInteger queued;      // Frames queued on all connections of the node
+    private final ArrayDeque<Frame> queue;   // Guarded by this
+    private boolean draining;                // Guarded by this
+    private volatile boolean closed;
+    private volatile long writeStartedNanos;
+    private volatile long lastWriteNanos;
+
+    SseConnection(UUID userId, Transport transport, int capacity, AtomicInteger queued) {
+        this.userId = userId;
+        this.transport = transport;
+        this.capacity = capacity;
+        this.queued = queued;
+        this.queue = new ArrayDeque<>(Math.min(capacity, 16));
+        this.lastWriteNanos = System.nanoTime();
+    }
+
+    synchronized Offer offer(Frame frame) {
+        if (closed) {
+            return Offer.CLOSED;
+        }
+        if (frame.coalesce() && removeQueued(frame.event())) {
+            queue.add(frame);
+            return Offer.COALESCED;
+        }
+        if (queue.size() >= capacity) {
+            return Offer.OVERFLOW;
+        }
+        queue.add(frame);
+        queued.incrementAndGet();
+        if (draining) {
+            return Offer.QUEUED;
+        }
+        draining = true;
+        return Offer.DRAIN;
+    }
+
+    /**
+     * Write queued frames until the queue is empty or the connection is closed
+     * Runs on one thread at a time, started by the offer that returned DRAIN
+     */
+    void drain(Writer writer) throws IOException {
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                frame = closed ? null : queue.poll();
+                if (frame == null) {
+                    draining = false;
+                    return;
+                }
+                queued.decrementAndGet();
+            }
+            writeStartedNanos = System.nanoTime();
+            try {
+                writer.write(this, frame);
+            } finally {
+                lastWriteNanos = System.nanoTime();
+                writeStartedNanos = 0;
+            }
+        }
+    }
+
+    /**
+     * Stop accepting frames and drop the queued ones
+     *
+     * @return false if the connection was already closed
+     */
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        queued.addAndGet(-queue.size());
+        queue.clear();
+        return true;
+    }
+
+    synchronized int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * How long the write in progress has been blocked, 0 when idle
+     */
+    long writeBlockedNanos(long now) {
+        long started = writeStartedNanos;
+        return started == 0 ? 0 : now - started;
+    }
+
+    /**
+     * Nothing queued or written since the given time
+     */
+    boolean idleSince(long nanos) {
+        return lastWriteNanos - nanos < 0 && queueDepth() == 0;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    UUID userId() {
+        return userId;
+    }
+
+    Transport transport() {
+        return transport;
+    }
+
+    private boolean removeQueued(String event) {
+        for (Iterator<Frame> it = queue.iterator(); it.hasNext(); ) {
+            if (it.next().event().equals(event)) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,43 +1,159 @@
 package com.example.demo.application.service;
 
+import com.example.demo.application.ports.out.NotificationRepository;
 import com.example.demo.domain.notification.Notification;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 
 /**
  * Service for managing Server-Sent Events (SSE) connections
  * Enables real-time push notifications to connected clients
+ * Frames are queued per connection so senders never block; reconnecting clients get missed events replayed
  */
 @Service
 public class SseEmitterService {
 
     private static final Logger log = LoggerFactory.getLogger(SseEmitterService.class);
     private static final long SSE_TIMEOUT = 30 * 60 * 1000L; // 30 minutes
-    private static final long HEARTBEAT_INTERVAL = 30000L; // 30 seconds
 
-    // Map of userId -> List of SseEmitters (multiple connections per user)
-    private final Map<UUID, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    /**
+     * Notified when this node starts buffering a user's events (first connection) and when it stops
+     * (no connection for the replay retention)
+     */
+    public interface ConnectionListener {
+        void userConnected(UUID userId);
+
+        void userDisconnected(UUID userId);
+    }
+
+    /**
+     * Thrown when the node is at its connection limit; clients should retry after the given delay
+     */
+    public static class ConnectionRejectedException extends IllegalStateException {
+
+        private final long retryAfterSeconds;
+
+        public ConnectionRejectedException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * Push connection that is not an SSE emitter (e.g. a WebSocket session)
+     * Gets the same queueing, coalescing, replay and heartbeats as an emitter
+     */
+    public interface Channel {
+        /**
+         * Write one event, blocking until the client can take it; id is 0 for events without one
+         */
+        void send(long id, String event, String data) throws IOException;
+
+        void close();
+    }
+
+    // Shard -> userId -> connections of that user (multiple tabs or devices)
+    private final List<Map<UUID, List<SseConnection>>> shards;
+    // Shard -> userId -> replay buffer, present while the user is connected or within the retention
+    private final List<Map<UUID, SseReplayBuffer>> replayShards;
+    private final List<ConnectionListener> connectionListeners = new CopyOnWriteArrayList<>();
 
     private final ObjectMapper objectMapper;
+    private final NotificationRepository notificationRepository;
+    private final int replayBufferSize;
+    private final long replayRetentionMs;
+    private final long replayDbSlackMs;
+    private final int replayDbLimit;
+    private final int queueCapacity;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final long retryAfterSeconds;
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private final AtomicInteger connectedUsers = new AtomicInteger();
+    private final AtomicInteger queuedFrames = new AtomicInteger();
+    private final AtomicInteger replayBuffers = new AtomicInteger();
+    private final long heartbeatIntervalMs;
+    private final long heartbeatJitterMs;
+    private final long writeTimeoutNanos;
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("sse-heartbeat").daemon(true).factory());
+
+    private final MeterRegistry meterRegistry;
     private final Counter connectionsCreated;
     private final Counter connectionsRemoved;
     private final Counter notificationsSent;
     private final Counter notificationsFailed;
-
-    public SseEmitterService(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+    private final Counter framesCoalesced;
+    private final Counter broadcasts;
+    private final Counter broadcastDeliveries;
+    private final Timer writeLatency;
+
+    public SseEmitterService(ObjectMapper objectMapper,
+                             NotificationRepository notificationRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${sse.fanout.shards:8}") int shardCount,
+                             @Value("${sse.fanout.queue-capacity:64}") int queueCapacity,
+                             @Value("${sse.fanout.write-timeout-ms:10000}") long writeTimeoutMs,
+                             @Value("${sse.heartbeat.interval-ms:30000}") long heartbeatIntervalMs,
+                             @Value("${sse.heartbeat.jitter-ms:3000}") long heartbeatJitterMs,
+                             @Value("${sse.replay.buffer-size:32}") int replayBufferSize,
+                             @Value("${sse.replay.retention-ms:300000}") long replayRetentionMs,
+                             @Value("${sse.replay.db-slack-ms:60000}") long replayDbSlackMs,
+                             @Value("${sse.replay.db-limit:100}") int replayDbLimit,
+                             @Value("${sse.limits.max-connections:10000}") int maxConnections,
+                             @Value("${sse.limits.per-user:5}") int maxConnectionsPerUser,
+                             @Value("${sse.limits.retry-after-seconds:10}") long retryAfterSeconds) {
         this.objectMapper = objectMapper;
+        this.notificationRepository = notificationRepository;
+        this.replayBufferSize = replayBufferSize;
+        this.replayRetentionMs = replayRetentionMs;
+        this.replayDbSlackMs = replayDbSlackMs;
+        this.replayDbLimit = replayDbLimit;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = Math.max(1, maxConnectionsPerUser);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatIntervalMs = heartbeatIntervalMs;
+        this.heartbeatJitterMs = Math.min(heartbeatJitterMs, heartbeatIntervalMs / 2);
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        this.shards = new ArrayList<>(shardCount);
+        this.replayShards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ConcurrentHashMap<>());
+            replayShards.add(new ConcurrentHashMap<>());
+        }
 
         // Register metrics
         this.connectionsCreated = Counter.builder("sse.connections.created")
@@ -52,232 +168,652 @@ public class SseEmitterService {
         this.notificationsFailed = Counter.builder("sse.notifications.failed")
                 .description("Total SSE notification send failures")
                 .register(meterRegistry);
+        this.framesCoalesced = Counter.builder("sse.frames.coalesced")
+                .description("Unread count and heartbeat frames replaced by a newer one before being written")
+                .register(meterRegistry);
+        this.broadcasts = Counter.builder("sse.broadcasts")
+                .description("Events broadcast to many users, each encoded once")
+                .register(meterRegistry);
+        this.broadcastDeliveries = Counter.builder("sse.broadcast.deliveries")
+                .description("Connections a broadcast frame was queued on")
+                .register(meterRegistry);
+        this.writeLatency = Timer.builder("sse.write.latency")
+                .description("Time for one SSE frame to be accepted by the servlet container")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
 
-        // Register gauge for active connections
+        // Register gauges for active connections and outbound queues
         Gauge.builder("sse.connections.active", this, SseEmitterService::getTotalConnectionCount)
                 .description("Current number of active SSE connections")
                 .register(meterRegistry);
+        Gauge.builder("sse.connections.capacity", this, SseEmitterService::getConnectionCapacity)
+                .description("Connections this node accepts")
+                .register(meterRegistry);
+        Gauge.builder("sse.queue.depth", queuedFrames, AtomicInteger::get)
+                .description("Frames waiting in SSE outbound queues")
+                .register(meterRegistry);
+        Gauge.builder("sse.replay.buffers", replayBuffers, AtomicInteger::get)
+                .description("Users with an SSE replay buffer on this node")
+                .register(meterRegistry);
+
+        // Spread shard heartbeats evenly over the interval
+        for (int shard = 0; shard < shardCount; shard++) {
+            scheduleHeartbeat(shard, heartbeatIntervalMs * shard / shardCount + jitter());
+        }
     }
 
     /**
      * Create a new SSE emitter for a user
+     *
+     * @param lastEventId id of the last event the client received, replayed from when present
+     * @throws ConnectionRejectedException when the node is at its connection limit
      */
-    public SseEmitter createEmitter(UUID userId) {
+    public SseEmitter createEmitter(UUID userId, String lastEventId) {
+        admit(userId);
         SseEmitter emitter = new SseEmitter(SSE_TIMEOUT);
-
-        // Add emitter to user's list
-        emitters.computeIfAbsent(userId, k -> new CopyOnWriteArrayList<>()).add(emitter);
-        connectionsCreated.increment();
-
-        log.info("SSE connection created for user: {}, total connections: {}",
-                userId, emitters.get(userId).size());
+        SseConnection connection = new SseConnection(userId, new EmitterTransport(emitter), queueCapacity, queuedFrames);
+        register(connection, lastEventId);
 
         // Setup callbacks
         emitter.onCompletion(() -> {
-            removeEmitter(userId, emitter);
+            removeConnection(connection);
             log.debug("SSE connection completed for user: {}", userId);
         });
 
         emitter.onTimeout(() -> {
-            removeEmitter(userId, emitter);
+            removeConnection(connection);
             log.debug("SSE connection timed out for user: {}", userId);
         });
 
         emitter.onError(throwable -> {
-            removeEmitter(userId, emitter);
-            log.error("SSE connection error for user: {}, error: {}",
-                    userId, throwable.getMessage());
+            removeConnection(connection);
+            log.error("SSE connection error for user: {}, error: {}", userId, throwable.getMessage());
         });
 
-        // Send initial connection established event
-        try {
-            emitter.send(SseEmitter.event()
-                    .name("connected")
-                    .data("{\"message\":\"SSE connection established\"}"));
-            log.debug("Sent connection confirmation to user: {}", userId);
-        } catch (IOException e) {
-            log.error("Failed to send connection confirmation: {}", e.getMessage());
-            removeEmitter(userId, emitter);
-        }
-
         return emitter;
     }
 
+    /**
+     * Attach another kind of push connection for a user
+     *
+     * @param lastEventId id of the last event the client received, replayed from when present
+     * @return callback to run when the client disconnects
+     * @throws ConnectionRejectedException when the node is at its connection limit
+     */
+    public Runnable connect(UUID userId, String lastEventId, Channel channel) {
+        admit(userId);
+        SseConnection connection = new SseConnection(userId, new ChannelTransport(channel), queueCapacity, queuedFrames);
+        register(connection, lastEventId);
+        return () -> removeConnection(connection);
+    }
+
     /**
      * Send notification to a specific user via SSE
      */
     public void sendNotificationToUser(UUID userId, Notification notification) {
-        List<SseEmitter> userEmitters = emitters.get(userId);
+        SseReplayBuffer buffer = replayShard(userId).get(userId);
 
-        if (userEmitters == null || userEmitters.isEmpty()) {
+        if (buffer == null) {
             log.debug("No active SSE connections for user: {}", userId);
             return;
         }
 
-        log.info("Sending notification via SSE to user: {}, connections: {}",
-                userId, userEmitters.size());
-
+        String notificationJson;
         try {
-            String notificationJson = objectMapper.writeValueAsString(notification);
+            notificationJson = objectMapper.writeValueAsString(notification);
+        } catch (Exception e) {
+            log.error("Error serializing notification for SSE: notificationId={}, error={}",
+                    notification.getId(), e.getMessage(), e);
+            notificationsFailed.increment();
+            return;
+        }
 
-            List<SseEmitter> deadEmitters = new ArrayList<>();
+        log.debug("Queueing notification via SSE: notificationId={}, userId={}", notification.getId(), userId);
 
-            for (SseEmitter emitter : userEmitters) {
-                try {
-                    emitter.send(SseEmitter.event()
-                            .name("notification")
-                            .data(notificationJson));
-
-                    notificationsSent.increment();
-                    log.debug("Notification sent successfully via SSE: notificationId={}, userId={}",
-                            notification.getId(), userId);
-
-                } catch (IOException e) {
-                    log.warn("Failed to send notification via SSE: userId={}, error={}",
-                            userId, e.getMessage());
-                    deadEmitters.add(emitter);
+        // Buffered even without a connection, for the client's reconnect
+        synchronized (buffer) {
+            SseReplayBuffer.Event event = buffer.append("notification", notificationJson);
+            SseConnection.Frame frame = new SseConnection.Frame(event.id(), event.event(), event.data(), false);
+            for (SseConnection connection : connections(userId)) {
+                if (!enqueue(connection, frame)) {
                     notificationsFailed.increment();
                 }
             }
-
-            // Clean up dead emitters
-            deadEmitters.forEach(emitter -> removeEmitter(userId, emitter));
-
-        } catch (Exception e) {
-            log.error("Error serializing notification for SSE: notificationId={}, error={}",
-                    notification.getId(), e.getMessage(), e);
-            notificationsFailed.increment();
         }
     }
 
     /**
      * Send unread count update to a specific user
+     * Only the latest count is kept while a connection is behind
      */
     public void sendUnreadCountToUser(UUID userId, long unreadCount) {
-        List<SseEmitter> userEmitters = emitters.get(userId);
+        SseReplayBuffer buffer = replayShard(userId).get(userId);
+        List<SseConnection> userConnections = connections(userId);
 
-        if (userEmitters == null || userEmitters.isEmpty()) {
+        if (buffer == null || userConnections.isEmpty()) {
             return;
         }
 
         log.debug("Sending unread count via SSE to user: {}, count: {}", userId, unreadCount);
 
-        String data = String.format("{\"unreadCount\":%d}", unreadCount);
-        List<SseEmitter> deadEmitters = new ArrayList<>();
+        synchronized (buffer) {
+            SseConnection.Frame frame = new SseConnection.Frame(buffer.nextId(), "unread-count",
+                    String.format("{\"unreadCount\":%d}", unreadCount), true);
+            userConnections.forEach(connection -> enqueue(connection, frame));
+        }
+    }
+
+    /**
+     * Send a state event to every connection of a user
+     * Not replayed after a reconnect; clients refetch state when they connect
+     */
+    public void sendEventToUser(UUID userId, String event, String data) {
+        SseReplayBuffer buffer = replayShard(userId).get(userId);
+        List<SseConnection> userConnections = connections(userId);
 
-        for (SseEmitter emitter : userEmitters) {
-            try {
-                emitter.send(SseEmitter.event()
-                        .name("unread-count")
-                        .data(data));
-            } catch (IOException e) {
-                log.warn("Failed to send unread count via SSE: userId={}, error={}",
-                        userId, e.getMessage());
-                deadEmitters.add(emitter);
-            }
+        if (buffer == null || userConnections.isEmpty()) {
+            return;
+        }
+
+        log.debug("Sending SSE event to user: {}, event: {}", userId, event);
+
+        synchronized (buffer) {
+            SseConnection.Frame frame = new SseConnection.Frame(buffer.nextId(), event, data, false);
+            userConnections.forEach(connection -> enqueue(connection, frame));
         }
+    }
 
-        deadEmitters.forEach(emitter -> removeEmitter(userId, emitter));
+    /**
+     * Queue one event on every connection whose user is in the audience
+     * The event is encoded once; each shard is walked on its own writer thread
+     */
+    public void broadcast(String event, String data, Predicate<UUID> audience) {
+        SseConnection.Frame frame = SseConnection.Frame.shared(event, data);
+        broadcasts.increment();
+        for (Map<UUID, List<SseConnection>> shard : shards) {
+            if (shard.isEmpty()) {
+                continue;
+            }
+            writers.execute(() -> shard.forEach((userId, userConnections) -> {
+                if (audience.test(userId)) {
+                    userConnections.forEach(connection -> {
+                        if (enqueue(connection, frame)) {
+                            broadcastDeliveries.increment();
+                        }
+                    });
+                }
+            }));
+        }
+        log.debug("Broadcast SSE event: event={}, length={}", event, data.length());
     }
 
     /**
-     * Send heartbeat to all active connections to keep them alive
+     * Heartbeat one shard: keep idle connections alive and evict connections stuck in a write
      */
-    @Scheduled(fixedRate = HEARTBEAT_INTERVAL)
-    public void sendHeartbeat() {
-        if (emitters.isEmpty()) {
+    void sendHeartbeat(int shard) {
+        expireReplayBuffers(shard);
+
+        Map<UUID, List<SseConnection>> connections = shards.get(shard);
+        if (connections.isEmpty()) {
             return;
         }
 
-        log.debug("Sending heartbeat to {} users with {} total connections",
-                emitters.size(), getTotalConnectionCount());
+        long now = System.nanoTime();
+        long idleSince = now - TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMs / 2);
+        SseConnection.Frame heartbeat = new SseConnection.Frame("heartbeat",
+                String.format("{\"timestamp\":%d}", System.currentTimeMillis()), true);
+
+        connections.values().forEach(userConnections -> userConnections.forEach(connection -> {
+            if (connection.writeBlockedNanos(now) > writeTimeoutNanos) {
+                evict(connection, "write_timeout");
+            } else if (connection.idleSince(idleSince)) {
+                enqueue(connection, heartbeat);
+            }
+        }));
+    }
+
+    /**
+     * Remove all emitters for a user
+     */
+    public void removeAllEmittersForUser(UUID userId) {
+        List<SseConnection> userConnections = shard(userId).get(userId);
+
+        if (userConnections != null) {
+            userConnections.forEach(this::removeConnection);
+            log.info("Removed {} SSE connections for user: {}", userConnections.size(), userId);
+        }
+    }
+
+    /**
+     * Get total number of active connections
+     */
+    public int getTotalConnectionCount() {
+        return activeConnections.get();
+    }
+
+    /**
+     * Get number of connected users
+     */
+    public int getConnectedUserCount() {
+        return connectedUsers.get();
+    }
+
+    /**
+     * Maximum number of connections on this node
+     */
+    public int getConnectionCapacity() {
+        return maxConnections;
+    }
+
+    /**
+     * Users whose events this node buffers: connected, or disconnected for less than the replay retention
+     */
+    public Set<UUID> getTrackedUserIds() {
+        Set<UUID> userIds = new HashSet<>();
+        replayShards.forEach(shard -> userIds.addAll(shard.keySet()));
+        return userIds;
+    }
+
+    /**
+     * Check if events for the user are delivered or buffered on this node
+     */
+    public boolean isTracked(UUID userId) {
+        return replayShard(userId).containsKey(userId);
+    }
+
+    public void addConnectionListener(ConnectionListener listener) {
+        connectionListeners.add(listener);
+    }
 
-        String heartbeatData = String.format("{\"timestamp\":%d}", System.currentTimeMillis());
+    /**
+     * Check if user has any active connections
+     */
+    public boolean hasActiveConnection(UUID userId) {
+        List<SseConnection> userConnections = shard(userId).get(userId);
+        return userConnections != null && !userConnections.isEmpty();
+    }
 
-        emitters.forEach((userId, userEmitters) -> {
-            List<SseEmitter> deadEmitters = new ArrayList<>();
+    @PreDestroy
+    public void shutdown() {
+        heartbeatScheduler.shutdownNow();
+        writers.shutdownNow();
+    }
 
-            for (SseEmitter emitter : userEmitters) {
+    /**
+     * Queue a frame without blocking, starting a drainer if the connection was idle
+     *
+     * @return false if the frame will not be delivered
+     */
+    private boolean enqueue(SseConnection connection, SseConnection.Frame frame) {
+        switch (connection.offer(frame)) {
+            case DRAIN -> {
                 try {
-                    emitter.send(SseEmitter.event()
-                            .name("heartbeat")
-                            .data(heartbeatData));
-                } catch (IOException e) {
-                    log.debug("Heartbeat failed for user: {}, removing connection", userId);
-                    deadEmitters.add(emitter);
+                    writers.execute(() -> drain(connection));
+                } catch (RejectedExecutionException e) {
+                    removeConnection(connection);
+                    return false;
                 }
             }
+            case COALESCED -> framesCoalesced.increment();
+            case OVERFLOW -> {
+                evict(connection, "queue_full");
+                return false;
+            }
+            case CLOSED -> {
+                return false;
+            }
+            case QUEUED -> {
+            }
+        }
+        return true;
+    }
 
-            deadEmitters.forEach(emitter -> removeEmitter(userId, emitter));
-        });
+    private void drain(SseConnection connection) {
+        try {
+            connection.drain(this::write);
+        } catch (IOException | RuntimeException e) {
+            log.debug("SSE write failed for user: {}, removing connection: {}", connection.userId(), e.getMessage());
+            removeConnection(connection);
+        }
+    }
+
+    private void write(SseConnection connection, SseConnection.Frame frame) throws IOException {
+        long start = System.nanoTime();
+        try {
+            connection.transport().send(frame);
+        } catch (IOException | RuntimeException e) {
+            if ("notification".equals(frame.event())) {
+                notificationsFailed.increment();
+            }
+            throw e;
+        } finally {
+            writeLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if ("notification".equals(frame.event())) {
+            notificationsSent.increment();
+        }
+    }
+
+    /**
+     * Take a connection slot, or refuse when the node is full
+     * A user at their limit loses their oldest connection first, so a full node does not refuse them.
+     * The retry delay is jittered so rejected clients do not come back at the same moment
+     */
+    private void admit(UUID userId) {
+        List<SseConnection> userConnections = connections(userId);
+        if (userConnections.size() >= maxConnectionsPerUser) {
+            // Typically a tab the user no longer looks at
+            userConnections.stream().findFirst().ifPresent(oldest -> evict(oldest, "user_limit"));
+        }
+        if (activeConnections.incrementAndGet() > maxConnections) {
+            activeConnections.decrementAndGet();
+            meterRegistry.counter("sse.connections.rejected", "reason", "node_full").increment();
+            log.warn("Rejecting SSE connection for user: {}, node at capacity: {}", userId, maxConnections);
+            throw new ConnectionRejectedException("Too many connections, retry later",
+                    retryAfterSeconds + ThreadLocalRandom.current().nextLong(retryAfterSeconds + 1));
+        }
     }
 
     /**
-     * Remove a specific emitter for a user
+     * Register a connection with the user's replay buffer and queue the connected event and any replay
      */
-    private void removeEmitter(UUID userId, SseEmitter emitter) {
-        List<SseEmitter> userEmitters = emitters.get(userId);
+    private void register(SseConnection connection, String lastEventId) {
+        UUID userId = connection.userId();
+
+        // Queue initial connection established event
+        enqueue(connection, new SseConnection.Frame("connected", "{\"message\":\"SSE connection established\"}", false));
+
+        boolean[] created = new boolean[1];
+        SseReplayBuffer buffer = replayShard(userId).compute(userId, (id, existing) -> {
+            SseReplayBuffer attached = existing != null ? existing : new SseReplayBuffer(replayBufferSize);
+            created[0] = existing == null;
+            attached.attach();
+            return attached;
+        });
+        if (created[0]) {
+            replayBuffers.incrementAndGet();
+            connectionListeners.forEach(listener -> listener.userConnected(userId));
+        }
+
+        // The database is read before the lock; what it cannot serve is queued under the lock below
+        long resumeFrom = parseEventId(lastEventId);
+        DatabaseReplay databaseReplay = resumeFrom > 0 && buffer.since(resumeFrom) == null
+                ? loadFromDatabase(userId, resumeFrom, buffer.lastId())
+                : null;
+
+        // Register and replay under the buffer lock, so live events queue after the replayed ones
+        List<SseReplayBuffer.Event> replay = null;
+        boolean replayedFromDatabase = false;
+        List<SseConnection> userConnections;
+        SseConnection[] oldest = new SseConnection[1];
+        synchronized (buffer) {
+            userConnections = shard(userId).compute(userId, (id, existing) -> {
+                if (existing == null) {
+                    connectedUsers.incrementAndGet();
+                }
+                List<SseConnection> list = existing != null ? existing : new CopyOnWriteArrayList<>();
+                list.add(connection);
+                if (list.size() > maxConnectionsPerUser) {
+                    oldest[0] = list.get(0);
+                }
+                return list;
+            });
+            if (resumeFrom > 0) {
+                replay = buffer.since(resumeFrom);
+                if (replay != null) {
+                    replay.forEach(event -> enqueue(connection,
+                            new SseConnection.Frame(event.id(), event.event(), event.data(), false)));
+                } else {
+                    replayedFromDatabase = queueDatabaseReplay(connection, buffer, databaseReplay);
+                }
+            }
+        }
+        connectionsCreated.increment();
+        if (oldest[0] != null) {
+            // Another connection of the user was admitted concurrently
+            evict(oldest[0], "user_limit");
+        }
 
-        if (userEmitters != null) {
-            userEmitters.remove(emitter);
-            connectionsRemoved.increment();
+        log.info("SSE connection created for user: {}, total connections: {}", userId, userConnections.size());
 
-            if (userEmitters.isEmpty()) {
-                emitters.remove(userId);
-                log.info("All SSE connections removed for user: {}", userId);
+        if (resumeFrom > 0) {
+            if (replay != null) {
+                meterRegistry.counter("sse.replay", "source", "memory").increment();
+                log.debug("Replayed {} SSE events from memory for user: {}", replay.size(), userId);
+            } else if (replayedFromDatabase) {
+                meterRegistry.counter("sse.replay", "source", "database").increment();
+                log.debug("Replayed {} SSE notifications from database for user: {}",
+                        databaseReplay.notifications().size(), userId);
             } else {
-                log.debug("SSE connection removed for user: {}, remaining: {}",
-                        userId, userEmitters.size());
+                meterRegistry.counter("sse.replay", "source", "resync").increment();
+            }
+        }
+    }
+
+    /**
+     * Drop a connection that cannot keep up
+     */
+    private void evict(SseConnection connection, String reason) {
+        if (connection.isClosed()) {
+            return;
+        }
+        log.warn("Evicting SSE connection: userId={}, reason={}, queued={}",
+                connection.userId(), reason, connection.queueDepth());
+        meterRegistry.counter("sse.connections.evicted", "reason", reason).increment();
+        removeConnection(connection);
+    }
+
+    /**
+     * Remove a connection and close its transport
+     */
+    private void removeConnection(SseConnection connection) {
+        if (!connection.close()) {
+            return;
+        }
+        UUID userId = connection.userId();
+        Map<UUID, List<SseConnection>> shard = shard(userId);
+        shard.computeIfPresent(userId, (id, userConnections) -> {
+            userConnections.remove(connection);
+            if (userConnections.isEmpty()) {
+                connectedUsers.decrementAndGet();
+                return null;
             }
+            return userConnections;
+        });
+        activeConnections.decrementAndGet();
+        connectionsRemoved.increment();
+        SseReplayBuffer buffer = replayShard(userId).get(userId);
+        if (buffer != null) {
+            buffer.detach();
+        }
+        log.debug("SSE connection removed for user: {}", userId);
+
+        // Closing waits for a write in progress, so never do it on the caller's thread
+        try {
+            writers.execute(() -> connection.transport().close());
+        } catch (RejectedExecutionException e) {
+            connection.transport().close();
+        }
+    }
+
+    /**
+     * Missed notifications read from the database, oldest first, or why the client has to resync
+     *
+     * @param bufferedUpTo last buffer id when the read started; later events may be missing from it
+     */
+    private record DatabaseReplay(List<String> notifications, String resyncReason, long bufferedUpTo) {
+
+        static DatabaseReplay resync(String reason) {
+            return new DatabaseReplay(List.of(), reason, 0);
         }
+    }
 
+    /**
+     * Read missed notifications when the buffer no longer covers the client's id
+     * Ids start with the epoch millis of the event; slack covers notifications created a little before
+     * they were pushed. Clients drop notifications they already have by id. Too many to replay ends in a
+     * resync event, after which the client refetches its inbox.
+     */
+    private DatabaseReplay loadFromDatabase(UUID userId, long resumeFrom, long bufferedUpTo) {
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(resumeFrom / 1000 - replayDbSlackMs), ZoneId.systemDefault());
         try {
-            emitter.complete();
+            List<Notification> missed = notificationRepository.findRecentNotifications(
+                    userId, since, PageRequest.of(0, replayDbLimit + 1)).getContent();
+            if (missed.size() > replayDbLimit) {
+                return DatabaseReplay.resync("replay-limit");
+            }
+            // Newest first from the repository
+            List<String> notifications = new ArrayList<>(missed.size());
+            for (int i = missed.size() - 1; i >= 0; i--) {
+                notifications.add(objectMapper.writeValueAsString(missed.get(i)));
+            }
+            return new DatabaseReplay(notifications, null, bufferedUpTo);
         } catch (Exception e) {
-            log.debug("Error completing emitter: {}", e.getMessage());
+            log.warn("SSE database replay failed for user: {}, error: {}", userId, e.getMessage());
+            return DatabaseReplay.resync("replay-failed");
         }
     }
 
     /**
-     * Remove all emitters for a user
+     * Queue a database replay, then the events pushed while it was read, all with fresh ids
+     * Must hold the buffer lock, so the ids are ordered with the live events that follow.
+     *
+     * @return false when the client was told to resync instead
      */
-    public void removeAllEmittersForUser(UUID userId) {
-        List<SseEmitter> userEmitters = emitters.remove(userId);
+    private boolean queueDatabaseReplay(SseConnection connection, SseReplayBuffer buffer, DatabaseReplay replay) {
+        String resyncReason;
+        List<SseReplayBuffer.Event> pushedMeanwhile = null;
+        if (replay == null) {
+            // The buffer evicted the client's id after the check, so nothing was read
+            resyncReason = "replay-limit";
+        } else if (replay.resyncReason() != null) {
+            resyncReason = replay.resyncReason();
+        } else {
+            pushedMeanwhile = buffer.after(replay.bufferedUpTo());
+            resyncReason = pushedMeanwhile == null ? "replay-limit" : null;
+        }
+        if (resyncReason != null) {
+            enqueue(connection, new SseConnection.Frame("resync", "{\"reason\":\"" + resyncReason + "\"}", false));
+            return false;
+        }
+        replay.notifications().forEach(json -> enqueue(connection,
+                new SseConnection.Frame(buffer.nextId(), "notification", json, false)));
+        pushedMeanwhile.forEach(event -> enqueue(connection,
+                new SseConnection.Frame(buffer.nextId(), event.event(), event.data(), false)));
+        return true;
+    }
 
-        if (userEmitters != null) {
-            userEmitters.forEach(emitter -> {
+    /**
+     * Drop replay buffers of users without a connection for the retention
+     */
+    private void expireReplayBuffers(int shard) {
+        long now = System.currentTimeMillis();
+        for (UUID userId : replayShards.get(shard).keySet()) {
+            boolean[] expired = new boolean[1];
+            replayShards.get(shard).computeIfPresent(userId, (id, buffer) -> {
+                expired[0] = buffer.isExpired(now, replayRetentionMs);
+                return expired[0] ? null : buffer;
+            });
+            if (expired[0]) {
+                replayBuffers.decrementAndGet();
+                connectionListeners.forEach(listener -> listener.userDisconnected(userId));
+                log.debug("SSE replay buffer expired for user: {}", userId);
+            }
+        }
+    }
+
+    private static long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private void scheduleHeartbeat(int shard, long delayMs) {
+        try {
+            heartbeatScheduler.schedule(() -> {
                 try {
-                    emitter.complete();
-                    connectionsRemoved.increment();
+                    sendHeartbeat(shard);
                 } catch (Exception e) {
-                    log.debug("Error completing emitter: {}", e.getMessage());
+                    log.warn("SSE heartbeat failed for shard {}: {}", shard, e.getMessage());
+                } finally {
+                    scheduleHeartbeat(shard, heartbeatIntervalMs + jitter());
                 }
-            });
-            log.info("Removed {} SSE connections for user: {}", userEmitters.size(), userId);
+            }, Math.max(0, delayMs), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Shutting down
         }
     }
 
-    /**
-     * Get total number of active connections
-     */
-    public int getTotalConnectionCount() {
-        return emitters.values().stream()
-                .mapToInt(List::size)
-                .sum();
+    private long jitter() {
+        return heartbeatJitterMs == 0 ? 0 : ThreadLocalRandom.current().nextLong(-heartbeatJitterMs, heartbeatJitterMs + 1);
+    }
+
+    private Map<UUID, List<SseConnection>> shard(UUID userId) {
+        return shards.get(Math.floorMod(userId.hashCode(), shards.size()));
+    }
+
+    private Map<UUID, SseReplayBuffer> replayShard(UUID userId) {
+        return replayShards.get(Math.floorMod(userId.hashCode(), replayShards.size()));
+    }
+
+    private List<SseConnection> connections(UUID userId) {
+        List<SseConnection> userConnections = shard(userId).get(userId);
+        return userConnections != null ? userConnections : List.of();
     }
 
     /**
-     * Get number of connected users
+     * Writes frames as SSE events to a servlet async emitter
      */
-    public int getConnectedUserCount() {
-        return emitters.size();
+    private record EmitterTransport(SseEmitter emitter) implements SseConnection.Transport {
+
+        @Override
+        public void send(SseConnection.Frame frame) throws IOException {
+            if (frame.encoded() != null) {
+                emitter.send(frame.encoded());
+                return;
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event()
+                    .name(frame.event())
+                    .data(frame.data());
+            if (frame.id() != 0) {
+                event.id(Long.toString(frame.id()));
+            }
+            emitter.send(event);
+        }
+
+        @Override
+        public void close() {
+            try {
+                emitter.complete();
+            } catch (Exception e) {
+                log.debug("Error completing emitter: {}", e.getMessage());
+            }
+        }
     }
 
     /**
-     * Check if user has any active connections
+     * Hands frames to a channel supplied by another endpoint
      */
-    public boolean hasActiveConnection(UUID userId) {
-        List<SseEmitter> userEmitters = emitters.get(userId);
-        return userEmitters != null && !userEmitters.isEmpty();
+    private record ChannelTransport(Channel channel) implements SseConnection.Transport {
+
+        @Override
+        public void send(SseConnection.Frame frame) throws IOException {
+            channel.send(frame.id(), frame.event(), frame.data());
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (Exception e) {
+                log.debug("Error closing channel: {}", e.getMessage());
+            }
+        }
     }
 }
@@ -0,0 +1,125 @@
+package com.example.demo.application.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Recent SSE events of one user, kept so a reconnecting client can resume from its Last-Event-ID
+ *
+ * Event ids are epoch millis * 1000 plus a counter, strictly increasing per user and roughly ordered
+ * across nodes, so an id this buffer cannot serve still tells the database fallback where to start.
+ * The buffer outlives the user's connections by the replay retention; callers synchronize on it to
+ * keep id order, queue order and connection registration consistent.
+ */
+final class SseReplayBuffer {
+
+    /**
+     * Buffered event, written again on replay
+     */
+    record Event(long id, String event, String data) {
+    }
+
+    private final Event[] ring;
+    private int head;   // Next slot to write
+    private int size;
+    private long firstIssued;
+    private long lastIssued;
+    private long evictedUpTo;
+    private int connections;
+    private long detachedSinceMillis;
+
+    SseReplayBuffer(int capacity) {
+        this.ring = new Event[capacity];
+    }
+
+    /**
+     * Next event id; not buffered (unread counts are resent on connect anyway)
+     */
+    synchronized long nextId() {
+        lastIssued = Math.max(lastIssued + 1, System.currentTimeMillis() * 1000);
+        if (firstIssued == 0) {
+            firstIssued = lastIssued;
+        }
+        return lastIssued;
+    }
+
+    /**
+     * Assign an id to an event and keep it for replay, evicting the oldest when full
+     */
+    synchronized Event append(String event, String data) {
+        Event buffered = new Event(nextId(), event, data);
+        if (ring.length == 0) {
+            evictedUpTo = buffered.id();
+            return buffered;
+        }
+        if (size == ring.length) {
+            evictedUpTo = ring[head].id();
+        } else {
+            size++;
+        }
+        ring[head] = buffered;
+        head = (head + 1) % ring.length;
+        return buffered;
+    }
+
+    /**
+     * Events after the given id, oldest first
+     *
+     * @return null when some of them are no longer (or were never) in this buffer
+     */
+    synchronized List<Event> since(long lastEventId) {
+        // The client's id must come from this buffer's lifetime
+        if (firstIssued == 0 || lastEventId < firstIssued) {
+            return null;
+        }
+        return after(lastEventId);
+    }
+
+    /**
+     * Buffered events after the given id, oldest first, wherever the id came from
+     *
+     * @return null when some of them were evicted
+     */
+    synchronized List<Event> after(long id) {
+        if (id < evictedUpTo) {
+            return null;
+        }
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            Event event = ring[(head - size + i + ring.length) % ring.length];
+            if (event.id() > id) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Last id issued, 0 before the first
+     */
+    synchronized long lastId() {
+        return lastIssued;
+    }
+
+    synchronized void attach() {
+        connections++;
+        detachedSinceMillis = 0;
+    }
+
+    synchronized void detach() {
+        if (connections > 0 && --connections == 0) {
+            detachedSinceMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * No connection for longer than the retention
+     */
+    synchronized boolean isExpired(long nowMillis, long retentionMillis) {
+        return connections == 0 && nowMillis - detachedSinceMillis > retentionMillis;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,381 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.messaging.ClusterSseDelivery;
+import com.example.demo.application.ports.in.StatementJobUseCase;
+import com.example.demo.application.ports.out.AccountRepository;
+import com.example.demo.application.ports.out.TransactionRepository;
+import com.example.demo.config.datasource.WorkloadContext;
+import com.example.demo.config.datasource.WorkloadType;
+import com.example.demo.domain.Account;
+import com.example.demo.domain.AccountStatement;
+import com.example.demo.domain.StatementJob;
+import com.example.demo.domain.Transaction;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Account statements rendered in the background to files on local disk
+ *
+ * A submitted job runs on a bounded pool (statement.jobs.workers threads behind a queue of
+ * statement.jobs.queue-capacity); when the queue is full, submit fails with SaturatedException instead
+ * of piling up work. Submitting a statement identical to one still pending or running returns that job.
+ *
+ * A worker takes the totals from the database, then pages through the transactions (keyset, newest
+ * first) and writes them to <id>.part, renamed once complete, so memory stays flat whatever the period.
+ * Totals and pages are read in one read-only repeatable-read transaction on the REPORTING pool, so a
+ * transaction committed mid-job shows up in neither or both.
+ * The owner gets a "statement" SSE event when the job completes or fails. Jobs and their files are
+ * deleted statement.jobs.artifact-ttl-ms after they finish.
+ *
+ * Jobs are kept in memory on the node that accepted them; their files live in that node's
+ * statement.jobs.directory, so downloads need the same node or a shared directory.
+ */
+@Service
+public class StatementJobService implements StatementJobUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementJobService.class);
+
+    static final String EVENT = "statement";
+    private static final String PART_SUFFIX = ".part";
+
+    /**
+     * Thrown when the worker queue is full
+     */
+    public static class SaturatedException extends IllegalStateException {
+
+        private final long retryAfterSeconds;
+
+        public SaturatedException(String message, long retryAfterSeconds) {
+            super(message);
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+    }
+
+    /**
+     * What makes two statement requests identical
+     */
+    private record JobKey(UUID userId, UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                          StatementJob.Format format) {
+
+        static JobKey of(StatementJob job) {
+            return new JobKey(job.userId(), job.accountId(), job.startDate(), job.endDate(), job.format());
+        }
+    }
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final StatementRenderer renderer;
+    private final ClusterSseDelivery sseDelivery;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final Path directory;
+    private final int pageSize;
+    private final Duration artifactTtl;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate snapshotTransaction;
+
+    private final Map<UUID, StatementJob> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, UUID> inFlight = new ConcurrentHashMap<>();
+
+    public StatementJobService(AccountRepository accountRepository,
+                               TransactionRepository transactionRepository,
+                               StatementRenderer renderer,
+                               ClusterSseDelivery sseDelivery,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${statement.jobs.directory:${java.io.tmpdir}/virtualbank-statements}") String directory,
+                               @Value("${statement.jobs.workers:2}") int workers,
+                               @Value("${statement.jobs.queue-capacity:32}") int queueCapacity,
+                               @Value("${statement.jobs.page-size:500}") int pageSize,
+                               @Value("${statement.jobs.artifact-ttl-ms:3600000}") long artifactTtlMs,
+                               @Value("${statement.jobs.retry-after-seconds:30}") long retryAfterSeconds) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.renderer = renderer;
+        this.sseDelivery = sseDelivery;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.directory = Paths.get(directory);
+        this.pageSize = pageSize;
+        this.artifactTtl = Duration.ofMillis(artifactTtlMs);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager(), transactionTemplate);
+        this.snapshotTransaction.setReadOnly(true);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create statement directory " + this.directory, e);
+        }
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "statement-worker-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        Gauge.builder("statement.jobs.queue.depth", executor, pool -> pool.getQueue().size())
+                .description("Statement jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("statement.jobs.retained", jobs, Map::size)
+                .description("Statement jobs held in memory, finished ones until their artifact expires")
+                .register(meterRegistry);
+
+        log.info("Statement jobs initialized: directory={}, workers={}, queueCapacity={}, artifactTtlMs={}",
+                this.directory, workers, queueCapacity, artifactTtlMs);
+    }
+
+    @Override
+    public StatementJob submit(UUID userId, UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                               StatementJob.Format format) {
+        Account account = accountRepository.findById(accountId)
+                .filter(found -> found.getUserId().equals(userId))
+                .orElseThrow(() -> new IllegalArgumentException("Account not found"));
+        StatementJob candidate = StatementJob.submit(userId, accountId, startDate, endDate, format);
+        JobKey key = JobKey.of(candidate);
+
+        while (true) {
+            UUID jobId = inFlight.computeIfAbsent(key, k -> {
+                jobs.put(candidate.id(), candidate);
+                return candidate.id();
+            });
+            if (!jobId.equals(candidate.id())) {
+                StatementJob existing = jobs.get(jobId);
+                if (existing != null) {
+                    meterRegistry.counter("statement.jobs.submissions", "result", "deduplicated").increment();
+                    return existing;
+                }
+                // Rejected by the pool between the two lookups; try again
+                inFlight.remove(key, jobId);
+                continue;
+            }
+            break;
+        }
+
+        try {
+            executor.execute(() -> run(candidate, account));
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, candidate.id());
+            jobs.remove(candidate.id());
+            meterRegistry.counter("statement.jobs.submissions", "result", "rejected").increment();
+            throw new SaturatedException("Too many statements are being generated, try again shortly", retryAfterSeconds);
+        }
+        meterRegistry.counter("statement.jobs.submissions", "result", "queued").increment();
+        log.info("Statement job queued: jobId={}, accountId={}, format={}", candidate.id(), accountId, format);
+        return candidate;
+    }
+
+    @Override
+    public Optional<StatementJob> getJob(UUID userId, UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.userId().equals(userId));
+    }
+
+    @Override
+    public Optional<Path> getArtifact(UUID userId, UUID jobId) {
+        return getJob(userId, jobId)
+                .filter(job -> job.status() == StatementJob.Status.COMPLETED)
+                .map(this::artifactPath)
+                .filter(Files::isRegularFile);
+    }
+
+    /**
+     * Drop jobs whose artifact expired, and files no job refers to (e.g. left from before a restart)
+     */
+    @Scheduled(fixedDelayString = "${statement.jobs.cleanup-interval-ms:300000}")
+    public void deleteExpired() {
+        Instant now = Instant.now();
+        int expired = 0;
+        for (StatementJob job : jobs.values()) {
+            if (job.isFinished() && job.expiresAt().isBefore(now) && jobs.remove(job.id(), job)) {
+                deleteQuietly(artifactPath(job));
+                expired++;
+            }
+        }
+
+        Instant staleBefore = now.minus(artifactTtl);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                if (!isReferenced(file) && Files.getLastModifiedTime(file).toInstant().isBefore(staleBefore)) {
+                    deleteQuietly(file);
+                    expired++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to scan statement directory: directory={}, error={}", directory, e.getMessage());
+        }
+        if (expired > 0) {
+            log.debug("Expired statement artifacts deleted: count={}", expired);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(StatementJob job, Account account) {
+        StatementJob running = job.running();
+        jobs.put(job.id(), running);
+        Path part = directory.resolve(job.id() + PART_SUFFIX);
+        Path artifact = artifactPath(job);
+        long start = System.nanoTime();
+
+        StatementJob finished;
+        // Worker threads are not proxied, so bind the reporting bulkhead here
+        WorkloadType previous = WorkloadContext.set(WorkloadType.REPORTING);
+        try {
+            try (Writer writer = Files.newBufferedWriter(part, StandardCharsets.UTF_8)) {
+                snapshotTransaction.executeWithoutResult(status -> render(job, account, writer));
+            }
+            Files.move(part, artifact, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            finished = running.completed(Files.size(artifact), Instant.now().plus(artifactTtl));
+        } catch (Exception e) {
+            deleteQuietly(part);
+            finished = running.failed("Statement could not be generated", Instant.now().plus(artifactTtl));
+            log.warn("Statement job failed: jobId={}, accountId={}, error={}", job.id(), job.accountId(), e.getMessage());
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+
+        jobs.put(job.id(), finished);
+        inFlight.remove(JobKey.of(job), job.id());
+        Timer.builder("statement.jobs.render.time")
+                .description("Time to render a statement to disk")
+                .tag("format", job.format().name())
+                .tag("status", finished.status().name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info("Statement job finished: jobId={}, status={}, sizeBytes={}", job.id(), finished.status(),
+                finished.sizeBytes());
+        push(finished);
+    }
+
+    private void render(StatementJob job, Account account, Writer writer) {
+        AccountStatement.Summary summary = transactionRepository.summarizeStatement(
+                job.accountId(), job.startDate(), job.endDate());
+        try {
+            renderer.render(job, account, summary, transactions(job), writer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Transactions of the statement period, fetched a page at a time as the renderer reads them
+     */
+    private Iterator<Transaction> transactions(StatementJob job) {
+        return new Iterator<>() {
+            private List<Transaction> page = List.of();
+            private int index;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (index < page.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                Transaction last = page.isEmpty() ? null : page.get(page.size() - 1);
+                page = transactionRepository.findPageByAccountIdAndDateRange(
+                        job.accountId(), job.startDate(), job.endDate(), last, pageSize);
+                index = 0;
+                exhausted = page.size() < pageSize;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public Transaction next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return page.get(index++);
+            }
+        };
+    }
+
+    private void push(StatementJob job) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("jobId", job.id());
+        event.put("accountId", job.accountId());
+        event.put("status", job.status());
+        event.put("format", job.format());
+        event.put("sizeBytes", job.sizeBytes());
+        event.put("error", job.error());
+        try {
+            sseDelivery.push(job.userId(), EVENT, objectMapper.writeValueAsString(event));
+        } catch (Exception e) {
+            // The client still sees the outcome when it polls the job
+            log.warn("Failed to push statement job event: jobId={}, error={}", job.id(), e.getMessage());
+        }
+    }
+
+    private Path artifactPath(StatementJob job) {
+        return directory.resolve(job.id() + "." + job.format().extension());
+    }
+
+    private boolean isReferenced(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        try {
+            return dot > 0 && jobs.containsKey(UUID.fromString(name.substring(0, dot)));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete statement file: file={}, error={}", file, e.getMessage());
+        }
+    }
+}
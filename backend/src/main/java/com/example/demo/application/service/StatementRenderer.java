@@ -0,0 +1,148 @@
+package com.example.demo.application.service;
+
+import com.example.demo.domain.Account;
+import com.example.demo.domain.AccountStatement;
+import com.example.demo.domain.StatementJob;
+import com.example.demo.domain.Transaction;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Iterator;
+
+/**
+ * Writes an account statement to a Writer as JSON, CSV or HTML
+ *
+ * Transactions come from an Iterator and are written as they are read, so a statement never has to
+ * fit in memory. JSON has the shape of the synchronous statement response; HTML goes through the
+ * Thymeleaf engine with the statements/statement template.
+ */
+@Component
+public class StatementRenderer {
+
+    static final String TEMPLATE = "statements/statement";
+    private static final String CSV_HEADER = "id,createdAt,type,amount,balanceAfter,categoryId,relatedAccountId,description";
+
+    private final ObjectMapper objectMapper;
+    private final SpringTemplateEngine templateEngine;
+
+    public StatementRenderer(ObjectMapper objectMapper, SpringTemplateEngine templateEngine) {
+        this.objectMapper = objectMapper;
+        this.templateEngine = templateEngine;
+    }
+
+    public void render(StatementJob job, Account account, AccountStatement.Summary summary,
+                       Iterator<Transaction> transactions, Writer writer) throws IOException {
+        switch (job.format()) {
+            case JSON -> writeJson(job, account, summary, transactions, writer);
+            case CSV -> writeCsv(transactions, writer);
+            case HTML -> writeHtml(job, account, summary, transactions, writer);
+        }
+    }
+
+    private void writeJson(StatementJob job, Account account, AccountStatement.Summary summary,
+                           Iterator<Transaction> transactions, Writer writer) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(writer)) {
+            json.writeStartObject();
+            json.writeObjectFieldStart("account");
+            json.writeStringField("id", account.getId().toString());
+            json.writeStringField("accountNumber", account.getAccountNumber());
+            json.writeStringField("firstName", account.getFirstName());
+            json.writeStringField("lastName", account.getLastName());
+            json.writeStringField("accountType", String.valueOf(account.getAccountType()));
+            json.writeEndObject();
+            json.writeStringField("startDate", job.startDate().toString());
+            json.writeStringField("endDate", job.endDate().toString());
+            json.writeNumberField("openingBalance", summary.openingBalance());
+            json.writeNumberField("closingBalance", summary.closingBalance());
+            json.writeNumberField("totalDeposits", summary.totalDeposits());
+            json.writeNumberField("totalWithdrawals", summary.totalWithdrawals());
+            json.writeNumberField("netChange", summary.netChange());
+            json.writeNumberField("transactionCount", summary.transactionCount());
+            json.writeArrayFieldStart("transactions");
+            while (transactions.hasNext()) {
+                Transaction transaction = transactions.next();
+                json.writeStartObject();
+                json.writeStringField("id", transaction.getId().toString());
+                json.writeStringField("type", transaction.getType().name());
+                json.writeNumberField("amount", transaction.getAmount());
+                json.writeNumberField("balanceAfter", transaction.getBalanceAfter());
+                writeNullableField(json, "categoryId", transaction.getCategoryId());
+                writeNullableField(json, "relatedAccountId", transaction.getRelatedAccountId());
+                writeNullableField(json, "description", transaction.getDescription());
+                json.writeStringField("createdAt", transaction.getCreatedAt().toString());
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        }
+    }
+
+    static void writeCsv(Iterator<Transaction> transactions, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (transactions.hasNext()) {
+            Transaction transaction = transactions.next();
+            writer.write(transaction.getId().toString());
+            writer.write(',');
+            writer.write(transaction.getCreatedAt().toString());
+            writer.write(',');
+            writer.write(transaction.getType().name());
+            writer.write(',');
+            writer.write(plain(transaction.getAmount()));
+            writer.write(',');
+            writer.write(plain(transaction.getBalanceAfter()));
+            writer.write(',');
+            writer.write(transaction.getCategoryId() != null ? transaction.getCategoryId().toString() : "");
+            writer.write(',');
+            writer.write(transaction.getRelatedAccountId() != null ? transaction.getRelatedAccountId().toString() : "");
+            writer.write(',');
+            writer.write(csvField(transaction.getDescription()));
+            writer.write("\r\n");
+        }
+    }
+
+    private void writeHtml(StatementJob job, Account account, AccountStatement.Summary summary,
+                           Iterator<Transaction> transactions, Writer writer) {
+        Context context = new Context();
+        context.setVariable("account", account);
+        context.setVariable("startDate", job.startDate());
+        context.setVariable("endDate", job.endDate());
+        context.setVariable("summary", summary);
+        // th:each walks the iterator once; the template must not ask for its size
+        context.setVariable("transactions", transactions);
+        templateEngine.process(TEMPLATE, context, writer);
+    }
+
+    /**
+     * RFC 4180 field: quoted when it contains a separator, quote or line break
+     * A leading formula character is prefixed with a quote so spreadsheets show it as text
+     */
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String field = "=+-@".indexOf(value.charAt(0)) >= 0 ? "'" + value : value;
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    private static String plain(BigDecimal value) {
+        return value != null ? value.toPlainString() : "";
+    }
+
+    private static void writeNullableField(JsonGenerator json, String name, Object value) throws IOException {
+        if (value == null) {
+            json.writeNullField(name);
+        } else {
+            json.writeStringField(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.messaging.TokenRevocationRelay;
+import com.example.demo.application.ports.in.SessionTokenUseCase;
+import com.example.demo.application.ports.out.RefreshTokenRepository;
+import com.example.demo.application.ports.out.UserRepository;
+import com.example.demo.config.security.JwtUtil;
+import com.example.demo.config.security.TokenRevocationList;
+import com.example.demo.domain.RefreshToken;
+import com.example.demo.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Session token service implementing SessionTokenUseCase
+ *
+ * Access tokens are JWTs valid for jwt.expiration (15 minutes by default) and checked without a database
+ * lookup. Refresh tokens are 256-bit random values; only their SHA-256 is stored. Revoking access tokens
+ * goes through TokenRevocationRelay, which applies it on every node, and only has to last as long as an
+ * access token does.
+ */
+@Service
+@Transactional
+public class TokenService implements SessionTokenUseCase {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+
+    private static final int REFRESH_TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenRevocationRelay revocationRelay;
+    private final MeterRegistry meterRegistry;
+    private final long refreshExpirationMs;
+    private final SecureRandom random = new SecureRandom();
+
+    public TokenService(RefreshTokenRepository refreshTokenRepository,
+                        UserRepository userRepository,
+                        JwtUtil jwtUtil,
+                        TokenRevocationRelay revocationRelay,
+                        MeterRegistry meterRegistry,
+                        @Value("${jwt.refresh.expiration-ms:1209600000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtUtil = jwtUtil;
+        this.revocationRelay = revocationRelay;
+        this.meterRegistry = meterRegistry;
+        this.refreshExpirationMs = refreshExpirationMs;
+    }
+
+    @Override
+    public TokenPair issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Revocations made before a rejection are committed, not rolled back with it
+     */
+    @Override
+    @Transactional(noRollbackFor = {IllegalArgumentException.class, IllegalStateException.class})
+    public TokenPair refresh(String refreshToken) {
+        LocalDateTime now = LocalDateTime.now();
+        RefreshToken token = refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                .orElseThrow(() -> rejected("unknown", "Invalid refresh token"));
+
+        // Losing a race with a concurrent refresh counts as reuse as well
+        if (token.isRevoked() || !refreshTokenRepository.revoke(token.id(), now)) {
+            refreshTokenRepository.revokeFamily(token.familyId(), now);
+            log.warn("Refresh token reused, session revoked: userId={}, familyId={}", token.userId(), token.familyId());
+            throw rejected("reused", "Refresh token already used");
+        }
+        if (token.isExpired(now)) {
+            throw rejected("expired", "Refresh token expired");
+        }
+
+        User user = userRepository.findById(token.userId())
+                .orElseThrow(() -> rejected("unknown", "Invalid refresh token"));
+        if (!user.canLogin()) {
+            refreshTokenRepository.revokeFamily(token.familyId(), now);
+            meterRegistry.counter("auth.refresh", "result", "inactive").increment();
+            throw new IllegalStateException("Account is " + user.getStatus().name().toLowerCase() + ". Please contact support.");
+        }
+
+        meterRegistry.counter("auth.refresh", "result", "success").increment();
+        return issue(user, token.familyId());
+    }
+
+    @Override
+    public void logout(String accessTokenId, Instant accessExpiresAt, String refreshToken) {
+        if (accessTokenId != null) {
+            revocationRelay.revoke(new TokenRevocationList.Entry(TokenRevocationList.tokenKey(accessTokenId),
+                    System.currentTimeMillis(), accessExpiresAt.toEpochMilli()));
+        }
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenRepository.findByTokenHash(hash(refreshToken))
+                    .ifPresent(token -> refreshTokenRepository.revokeFamily(token.familyId(), LocalDateTime.now()));
+        }
+    }
+
+    @Override
+    public void revokeUser(UUID userId) {
+        long now = System.currentTimeMillis();
+        int refreshTokens = refreshTokenRepository.revokeAllForUser(userId, LocalDateTime.now());
+        // Tokens issued up to now are at most jwt.expiration old by the time the entry expires
+        revocationRelay.revoke(new TokenRevocationList.Entry(TokenRevocationList.userKey(userId),
+                now, now + jwtUtil.getExpirationMs()));
+        log.info("Revoked all tokens of user: userId={}, refreshTokens={}", userId, refreshTokens);
+    }
+
+    /**
+     * Delete refresh tokens that expired a day ago or more; the day keeps reuse detection for late clients
+     */
+    @Scheduled(cron = "${jwt.refresh.cleanup-cron:0 30 3 * * *}")
+    public void deleteExpiredRefreshTokens() {
+        int deleted = refreshTokenRepository.deleteExpiredBefore(LocalDateTime.now().minusDays(1));
+        if (deleted > 0) {
+            log.info("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private TokenPair issue(User user, UUID familyId) {
+        String accessToken = jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole().name());
+        Instant accessExpiresAt = Instant.now().plusMillis(jwtUtil.getExpirationMs());
+
+        byte[] bytes = new byte[REFRESH_TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        LocalDateTime refreshExpiresAt = LocalDateTime.ofInstant(
+                Instant.now().plusMillis(refreshExpirationMs), ZoneId.systemDefault());
+        refreshTokenRepository.save(RefreshToken.issue(user.getId(), familyId, hash(refreshToken), refreshExpiresAt));
+
+        return new TokenPair(accessToken, refreshToken, accessExpiresAt, user);
+    }
+
+    private IllegalArgumentException rejected(String reason, String message) {
+        meterRegistry.counter("auth.refresh", "result", reason).increment();
+        return new IllegalArgumentException(message);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.config;
+
+import com.example.demo.adapter.out.journal.FsyncPolicy;
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.adapter.out.journal.audit.AuditJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration for the append-only audit journal
+ * Active only when audit.sink=journal; otherwise audit records go straight to the database
+ */
+@Configuration
+@ConditionalOnProperty(name = "audit.sink", havingValue = "journal")
+public class AuditJournalConfig {
+
+    @Value("${audit.journal.directory:./data/audit-journal}")
+    private String directory;
+
+    @Value("${audit.journal.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${audit.journal.fsync-policy:GROUP_COMMIT}")
+    private FsyncPolicy fsyncPolicy;
+
+    @Value("${audit.journal.group-commit-bytes:65536}")
+    private int groupCommitBytes;
+
+    @Value("${audit.journal.index-interval:64}")
+    private int indexInterval;
+
+    /**
+     * Hash-chained audit journal, recovered from disk on startup
+     */
+    @Bean(destroyMethod = "close")
+    public AuditJournal auditJournal() {
+        SegmentedJournal journal = new SegmentedJournal(
+                Paths.get(directory), "audit", segmentSize, fsyncPolicy, groupCommitBytes);
+        return new AuditJournal(journal, indexInterval);
+    }
+}
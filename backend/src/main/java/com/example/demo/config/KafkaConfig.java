@@ -1,22 +1,47 @@
 package com.example.demo.config;
 
+import com.example.demo.application.messaging.KeyOrderedDispatcher;
+import com.example.demo.application.messaging.NotificationLane;
+import com.example.demo.application.messaging.RetryTierRouter;
+import com.example.demo.application.messaging.codec.NotificationDeserializer;
+import com.example.demo.application.messaging.codec.NotificationSerializer;
 import com.example.demo.domain.notification.Notification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.NestedRuntimeException;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
 import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.listener.ContainerPartitionPausingBackOffManager;
+import org.springframework.kafka.listener.ContainerPausingBackOffHandler;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.KafkaConsumerBackoffManager;
+import org.springframework.kafka.listener.ListenerContainerPauseService;
+import org.springframework.kafka.listener.SeekUtils;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,15 +52,73 @@ import java.util.Map;
 @EnableKafka
 public class KafkaConfig {
 
+    private final MeterRegistry meterRegistry;
+
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    @Value("${notification.producer.max-block-ms:100}")
+    private long notificationMaxBlockMs;
+
     @Value("${spring.kafka.consumer.group-id:virtualbank-notifications}")
     private String groupId;
 
+    @Value("${notification.serializer.format:binary}")
+    private String notificationSerializerFormat;
+
+    @Value("${notification.consumer.max-batch-size:500}")
+    private int notificationMaxBatchSize;
+
+    @Value("${notification.consumer.max-wait-ms:100}")
+    private int notificationMaxWaitMs;
+
+    @Value("${notification.consumer.fetch-min-bytes:65536}")
+    private int notificationFetchMinBytes;
+
+    @Value("${ledger.events.transactional-id:virtualbank-ledger-relay}")
+    private String ledgerTransactionalId;
+
+    @Value("${notification.consumer.parallelism:3}")
+    private int notificationParallelism;
+
+    @Value("${notification.lanes.urgent.parallelism:3}")
+    private int urgentLaneParallelism;
+
+    @Value("${notification.lanes.high.parallelism:2}")
+    private int highLaneParallelism;
+
+    @Value("${datasource.pools.messaging.maximum-pool-size:8}")
+    private int messagingPoolSize;
+
+    @Value("${notification.lanes.urgent.concurrency:3}")
+    private int urgentLaneConcurrency;
+
+    @Value("${notification.lanes.high.concurrency:2}")
+    private int highLaneConcurrency;
+
+    @Value("${notification.lanes.max-batch-size:50}")
+    private int laneMaxBatchSize;
+
+    @Value("${notification.lanes.max-wait-ms:10}")
+    private int laneMaxWaitMs;
+
+    @Value("${kafka.retry.delays-ms:5000,30000,300000}")
+    private String retryDelaysMs;
+
     // Topic names
     public static final String NOTIFICATION_TOPIC = "notification-events";
+    public static final String NOTIFICATION_URGENT_TOPIC = "notification-events-urgent";
+    public static final String NOTIFICATION_HIGH_TOPIC = "notification-events-high";
     public static final String EMAIL_TOPIC = "email-events";
+    public static final String TRANSACTION_EVENTS_TOPIC = "transaction-events";
+    public static final String ACCOUNT_BALANCES_TOPIC = "account-balances";
+    public static final String SSE_PRESENCE_TOPIC = "sse-presence";
+    public static final String SSE_DELIVERY_TOPIC = "sse-delivery";
+    public static final String AUTH_REVOCATIONS_TOPIC = "auth-revocations";
+
+    public KafkaConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
 
     /**
      * Create notification topic with 3 partitions for parallel processing
@@ -48,6 +131,25 @@ public class KafkaConfig {
                 .build();
     }
 
+    /**
+     * Priority lane topics, consumed by their own consumer groups so they never wait behind bulk traffic
+     */
+    @Bean
+    public NewTopic notificationUrgentTopic() {
+        return TopicBuilder.name(NOTIFICATION_URGENT_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationHighTopic() {
+        return TopicBuilder.name(NOTIFICATION_HIGH_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
     /**
      * Create email topic with 2 partitions
      */
@@ -59,6 +161,94 @@ public class KafkaConfig {
                 .build();
     }
 
+    /**
+     * Committed ledger changes, keyed by account id
+     */
+    @Bean
+    public NewTopic transactionEventsTopic() {
+        return TopicBuilder.name(TRANSACTION_EVENTS_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .build();
+    }
+
+    /**
+     * Latest balance per account; compacted, so consumers can bootstrap from it without scanning MySQL
+     */
+    @Bean
+    public NewTopic accountBalancesTopic() {
+        return TopicBuilder.name(ACCOUNT_BALANCES_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+
+    /**
+     * Which node holds SSE connections of which user; compacted, so a starting node reads the current map
+     */
+    @Bean
+    public NewTopic ssePresenceTopic() {
+        return TopicBuilder.name(SSE_PRESENCE_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .compact()
+                .build();
+    }
+
+    /**
+     * Notifications relayed to the node holding the user's SSE connection; only live records matter
+     */
+    @Bean
+    public NewTopic sseDeliveryTopic() {
+        return TopicBuilder.name(SSE_DELIVERY_TOPIC)
+                .partitions(3)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, "600000")
+                .build();
+    }
+
+    /**
+     * Access token revocations, read in full by every node on start; kept longer than an access token lives
+     */
+    @Bean
+    public NewTopic authRevocationsTopic() {
+        return TopicBuilder.name(AUTH_REVOCATIONS_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .config(TopicConfig.RETENTION_MS_CONFIG, "3600000")
+                .build();
+    }
+
+    /**
+     * Delayed retry tiers and dead-letter topic naming for both listeners
+     */
+    @Bean
+    public RetryTierRouter retryTierRouter() {
+        return RetryTierRouter.ofMillis(retryDelaysMs);
+    }
+
+    /**
+     * Retry tier and dead-letter topics, partitioned like their source topic
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics() {
+        List<NewTopic> topics = new ArrayList<>();
+        Map<String, Integer> sources = Map.of(
+                NOTIFICATION_TOPIC, 3,
+                NOTIFICATION_URGENT_TOPIC, 3,
+                NOTIFICATION_HIGH_TOPIC, 3,
+                EMAIL_TOPIC, 2);
+        sources.forEach((source, partitions) -> {
+            for (String retryTopic : retryTierRouter().retryTopics(source)) {
+                topics.add(TopicBuilder.name(retryTopic).partitions(partitions).replicas(1).build());
+            }
+            topics.add(TopicBuilder.name(retryTierRouter().deadLetterTopic(source))
+                    .partitions(partitions).replicas(1).build());
+        });
+        return new KafkaAdmin.NewTopics(topics.toArray(NewTopic[]::new));
+    }
+
     /**
      * Producer configuration for sending notifications to Kafka
      * Includes monitoring metrics for Prometheus
@@ -69,14 +259,14 @@ public class KafkaConfig {
         Map<String, Object> config = new HashMap<>();
         config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, NotificationSerializer.class);
+        config.put(NotificationSerializer.FORMAT_CONFIG, notificationSerializerFormat);
         config.put(ProducerConfig.ACKS_CONFIG, "all"); // Wait for all replicas
         config.put(ProducerConfig.RETRIES_CONFIG, 3);
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true); // Prevent duplicates
-        // Monitoring configuration
-        config.put(ProducerConfig.METRIC_REPORTER_CLASSES_CONFIG, "");
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, notificationMaxBlockMs); // Fail fast and spill instead of blocking callers
         config.put(ProducerConfig.METRICS_RECORDING_LEVEL_CONFIG, "INFO");
-        return new DefaultKafkaProducerFactory<>(config);
+        return withMetrics(new DefaultKafkaProducerFactory<>(config));
     }
 
     @Bean
@@ -94,26 +284,143 @@ public class KafkaConfig {
         config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         config.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        // Binary format, with a fallback for JSON messages produced before the rollout
+        // Undecodable values reach the error handler as DeserializationException and go straight to the DLT
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        config.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, NotificationDeserializer.class);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
-        config.put(JsonDeserializer.TRUSTED_PACKAGES, "com.example.demo.domain.notification");
-        config.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Notification.class.getName());
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false); // Manual commit for reliability
-        return new DefaultKafkaConsumerFactory<>(config);
+        // Batch sizing: the broker holds a fetch until fetch-min-bytes are available or max-wait elapses
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, notificationMaxBatchSize);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, notificationMaxWaitMs);
+        config.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, notificationFetchMinBytes);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config));
+    }
+
+    /**
+     * Key-ordered worker pools, one per notification lane
+     * Each poll is fanned out per userId onto virtual threads. A lane has its own permits, so a bulk
+     * backlog never holds the workers an urgent alert needs.
+     */
+    @Bean(destroyMethod = "close")
+    public KeyOrderedDispatcher bulkNotificationDispatcher() {
+        return laneDispatcher(NotificationLane.BULK, notificationParallelism);
+    }
+
+    @Bean(destroyMethod = "close")
+    public KeyOrderedDispatcher urgentNotificationDispatcher() {
+        return laneDispatcher(NotificationLane.URGENT, urgentLaneParallelism);
+    }
+
+    @Bean(destroyMethod = "close")
+    public KeyOrderedDispatcher highNotificationDispatcher() {
+        return laneDispatcher(NotificationLane.HIGH, highLaneParallelism);
     }
 
+    private KeyOrderedDispatcher laneDispatcher(NotificationLane lane, int parallelism) {
+        // Every permit may hold a messaging connection; more permits than connections just queue in Hikari
+        int totalPermits = notificationParallelism + urgentLaneParallelism + highLaneParallelism;
+        if (totalPermits > messagingPoolSize) {
+            throw new IllegalStateException("Notification lane parallelism (" + totalPermits
+                    + ") exceeds the messaging connection pool (" + messagingPoolSize + ")");
+        }
+        KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(parallelism);
+        Gauge.builder("kafka.notifications.workers.active", dispatcher, KeyOrderedDispatcher::activeGroups)
+                .description("Per-user notification groups being processed by consumer workers")
+                .tag("lane", lane.getTag())
+                .register(meterRegistry);
+        return dispatcher;
+    }
+
+    /**
+     * Batch listener factory for notifications
+     * Each poll is delivered as one List and its offsets are committed with a single ack
+     */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Notification> notificationKafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Notification> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(notificationConsumerFactory());
         factory.setConcurrency(3); // 3 concurrent consumers
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(new KafkaLatencyInterceptor<>(meterRegistry));
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE
+        );
+        return factory;
+    }
+
+    /**
+     * Consumer configuration for the urgent and high priority lanes
+     * Small polls and no fetch-min-bytes, so a lone alert is fetched as soon as it is written
+     */
+    @Bean
+    public ConsumerFactory<String, Notification> laneNotificationConsumerFactory() {
+        Map<String, Object> config = new HashMap<>(notificationConsumerFactory().getConfigurationProperties());
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, laneMaxBatchSize);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, laneMaxWaitMs);
+        config.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Notification> urgentNotificationKafkaListenerContainerFactory() {
+        return laneListenerContainerFactory(urgentLaneConcurrency);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Notification> highNotificationKafkaListenerContainerFactory() {
+        return laneListenerContainerFactory(highLaneConcurrency);
+    }
+
+    private ConcurrentKafkaListenerContainerFactory<String, Notification> laneListenerContainerFactory(int concurrency) {
+        ConcurrentKafkaListenerContainerFactory<String, Notification> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(laneNotificationConsumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.setBatchInterceptor(new KafkaLatencyInterceptor<>(meterRegistry));
+        factory.setCommonErrorHandler(kafkaErrorHandler());
+        factory.getContainerProperties().setAckMode(
+                org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE
+        );
+        return factory;
+    }
+
+    /**
+     * Record listener factory for the notification retry tiers
+     * Records are consumed one at a time so a record that is not yet due can pause its own partition
+     * through retryBackoffManager, without holding up the other tiers and lanes on the container
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Notification> notificationRetryKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Notification> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(notificationConsumerFactory());
+        factory.setConcurrency(1);
+        factory.setCommonErrorHandler(kafkaErrorHandler());
         factory.getContainerProperties().setAckMode(
                 org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE
         );
         return factory;
     }
 
+    /**
+     * Pauses a single retry-tier partition until its head record is due, then resumes it
+     * nack(Duration) would pause every partition assigned to the container, stalling the shorter tiers
+     * behind a record waiting in the longest one
+     */
+    @Bean
+    public KafkaConsumerBackoffManager retryBackoffManager(KafkaListenerEndpointRegistry registry) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setThreadNamePrefix("kafka-retry-resume-");
+        scheduler.setDaemon(true);
+        scheduler.initialize();
+        return new ContainerPartitionPausingBackOffManager(registry,
+                new ContainerPausingBackOffHandler(new ListenerContainerPauseService(registry, scheduler)));
+    }
+
     /**
      * Producer and Consumer for email events (simple string messages)
      */
@@ -126,7 +433,7 @@ public class KafkaConfig {
         config.put(ProducerConfig.ACKS_CONFIG, "all");
         config.put(ProducerConfig.RETRIES_CONFIG, 3);
         config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        return new DefaultKafkaProducerFactory<>(config);
+        return withMetrics(new DefaultKafkaProducerFactory<>(config));
     }
 
     @Bean
@@ -143,7 +450,7 @@ public class KafkaConfig {
         config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
         config.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
-        return new DefaultKafkaConsumerFactory<>(config);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config));
     }
 
     @Bean
@@ -152,9 +459,205 @@ public class KafkaConfig {
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(emailConsumerFactory());
         factory.setConcurrency(2); // 2 concurrent email processors
+        factory.setRecordInterceptor(new KafkaLatencyInterceptor<>(meterRegistry));
+        factory.setCommonErrorHandler(kafkaErrorHandler());
         factory.getContainerProperties().setAckMode(
                 org.springframework.kafka.listener.ContainerProperties.AckMode.MANUAL_IMMEDIATE
         );
         return factory;
     }
+
+    /**
+     * Raw producer used to publish undecodable records to the DLT and to replay dead letters byte for byte
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> deadLetterProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        return withMetrics(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> deadLetterKafkaTemplate() {
+        return new KafkaTemplate<>(deadLetterProducerFactory());
+    }
+
+    /**
+     * Raw consumer used by the admin dead-letter endpoints; partitions are assigned manually, no group
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * Producer and Consumer for SSE cluster presence and relays
+     * Relays are best-effort pushes (clients refetch on reconnect), so the producer favours latency
+     */
+    @Bean
+    public ProducerFactory<String, String> sseClusterProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "1");
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        config.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, notificationMaxBlockMs);
+        return withMetrics(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> sseClusterKafkaTemplate() {
+        return new KafkaTemplate<>(sseClusterProducerFactory());
+    }
+
+    /**
+     * Group ids are per node and set by the listener containers
+     */
+    @Bean
+    public ConsumerFactory<String, String> sseClusterConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 10);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config));
+    }
+
+    /**
+     * Producer and Consumer for token revocations
+     * A lost revocation leaves a token usable on other nodes until it expires, so the producer waits for all replicas
+     */
+    @Bean
+    public ProducerFactory<String, String> authRevocationProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.LINGER_MS_CONFIG, 0);
+        return withMetrics(new DefaultKafkaProducerFactory<>(config));
+    }
+
+    @Bean
+    public KafkaTemplate<String, String> authRevocationKafkaTemplate() {
+        return new KafkaTemplate<>(authRevocationProducerFactory());
+    }
+
+    /**
+     * Group ids are per node and set by the listener container
+     */
+    @Bean
+    public ConsumerFactory<String, String> authRevocationConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, 10);
+        return withMetrics(new DefaultKafkaConsumerFactory<>(config));
+    }
+
+    /**
+     * Transactional producer for the ledger event relay
+     * Every relay batch goes to transaction-events and account-balances in one Kafka transaction; the fixed
+     * transactional id fences a relay that lost its lease, so only one instance publishes at a time
+     */
+    @Bean
+    public ProducerFactory<String, byte[]> ledgerEventProducerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        DefaultKafkaProducerFactory<String, byte[]> factory = new DefaultKafkaProducerFactory<>(config);
+        factory.setTransactionIdPrefix(ledgerTransactionalId);
+        factory.setProducerPerThread(false);
+        return withMetrics(factory);
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> ledgerEventKafkaTemplate() {
+        return new KafkaTemplate<>(ledgerEventProducerFactory());
+    }
+
+    /**
+     * Read-committed consumer the relay uses to check whether an in-doubt batch reached Kafka
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> ledgerEventConsumerFactory() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        config.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        return new DefaultKafkaConsumerFactory<>(config);
+    }
+
+    /**
+     * Non-blocking error handling shared by all listeners
+     * A failing record is published to the next retry tier (or the DLT) and its offset committed at once,
+     * so it never blocks the partition. Failure reasons travel as headers: the standard kafka_dlt-* headers
+     * plus attempt, due time, source topic and a short reason from RetryTierRouter.
+     */
+    @Bean
+    public DefaultErrorHandler kafkaErrorHandler() {
+        RetryTierRouter router = retryTierRouter();
+        // Templates are picked by value type: decoded records are re-serialized, undecodable ones copied raw
+        Map<Class<?>, KafkaOperations<?, ?>> templates = new LinkedHashMap<>();
+        templates.put(Notification.class, notificationKafkaTemplate());
+        templates.put(String.class, emailKafkaTemplate());
+        templates.put(byte[].class, deadLetterKafkaTemplate());
+
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(templates, (record, exception) -> {
+            // A retry record that is not due yet is not a failure: rethrow so the handler seeks it back
+            if (SeekUtils.isBackoffException(exception)) {
+                throw (NestedRuntimeException) exception;
+            }
+            TopicPartition destination = router.resolve(record, exception);
+            Counter.builder("kafka.retry.routed")
+                    .description("Failed records published to a retry tier or dead-letter topic")
+                    .tag("topic", destination.topic())
+                    .register(meterRegistry)
+                    .increment();
+            return destination;
+        });
+        recoverer.setHeadersFunction(router::headers);
+
+        // No in-place retries: recover (forward) on the first failure
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 0L));
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
+    }
+
+    /**
+     * Bind Kafka client metrics (batching, request latency, records lag, ...) of every producer
+     * created by the factory to Micrometer
+     */
+    private <K, V> DefaultKafkaProducerFactory<K, V> withMetrics(DefaultKafkaProducerFactory<K, V> factory) {
+        factory.addListener(new MicrometerProducerListener<>(meterRegistry));
+        return factory;
+    }
+
+    /**
+     * Bind Kafka client metrics of every consumer created by the factory to Micrometer
+     */
+    private <K, V> DefaultKafkaConsumerFactory<K, V> withMetrics(DefaultKafkaConsumerFactory<K, V> factory) {
+        factory.addListener(new MicrometerConsumerListener<>(meterRegistry));
+        return factory;
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.record.TimestampType;
+import org.springframework.kafka.listener.BatchInterceptor;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Listener interceptor that records end-to-end latency from the producer's record timestamp
+ * to the moment the record is handed to the listener, per topic
+ * Works for both record and batch listener containers
+ */
+public class KafkaLatencyInterceptor<K, V> implements RecordInterceptor<K, V>, BatchInterceptor<K, V> {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public KafkaLatencyInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ConsumerRecord<K, V> intercept(ConsumerRecord<K, V> record, Consumer<K, V> consumer) {
+        recordLatency(record, System.currentTimeMillis());
+        return record;
+    }
+
+    @Override
+    public ConsumerRecords<K, V> intercept(ConsumerRecords<K, V> records, Consumer<K, V> consumer) {
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<K, V> record : records) {
+            recordLatency(record, now);
+        }
+        return records;
+    }
+
+    private void recordLatency(ConsumerRecord<K, V> record, long now) {
+        // Broker-assigned LogAppendTime would hide producer-side batching delay, only CreateTime is end-to-end
+        if (record.timestampType() != TimestampType.CREATE_TIME || record.timestamp() <= 0) {
+            return;
+        }
+        Timer timer = timers.computeIfAbsent(record.topic(), topic -> Timer.builder("kafka.consumer.end.to.end.latency")
+                .description("Time from record creation by the producer to delivery to the listener")
+                .tag("topic", topic)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        timer.record(Duration.ofMillis(Math.max(0, now - record.timestamp())));
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.demo.config;
+
+import com.example.demo.application.messaging.codec.TransactionEventCodec;
+import com.example.demo.application.messaging.streams.SpendingAggregateQueryService;
+import com.example.demo.application.messaging.streams.SpendingTopology;
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.TransactionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.errors.LogAndContinueExceptionHandler;
+import org.apache.kafka.streams.kstream.KStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.EnableKafkaStreams;
+import org.springframework.kafka.annotation.KafkaStreamsDefaultConfiguration;
+import org.springframework.kafka.config.KafkaStreamsConfiguration;
+import org.springframework.kafka.config.StreamsBuilderFactoryBean;
+import org.springframework.kafka.streams.KafkaStreamsInteractiveQueryService;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Kafka Streams configuration for the spending aggregates
+ * Runs the SpendingTopology inside the backend and exposes its window stores for interactive queries
+ */
+@Configuration
+@EnableKafkaStreams
+@ConditionalOnProperty(name = "reporting.streams.enabled", havingValue = "true", matchIfMissing = true)
+public class KafkaStreamsConfig {
+
+    @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
+    private String bootstrapServers;
+
+    @Value("${reporting.streams.application-id:virtualbank-spending}")
+    private String applicationId;
+
+    @Value("${reporting.streams.state-dir:./data/kafka-streams}")
+    private String stateDir;
+
+    @Value("${reporting.streams.num-threads:1}")
+    private int numThreads;
+
+    @Value("${reporting.streams.commit-interval-ms:1000}")
+    private int commitIntervalMs;
+
+    @Value("${reporting.streams.grace-minutes:10}")
+    private long graceMinutes;
+
+    @Value("${reporting.streams.hourly-retention-days:14}")
+    private long hourlyRetentionDays;
+
+    @Value("${reporting.streams.daily-retention-days:730}")
+    private long dailyRetentionDays;
+
+    @Bean(name = KafkaStreamsDefaultConfiguration.DEFAULT_STREAMS_CONFIG_BEAN_NAME)
+    public KafkaStreamsConfiguration kafkaStreamsConfiguration() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, applicationId);
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(StreamsConfig.STATE_DIR_CONFIG, stateDir);
+        config.put(StreamsConfig.NUM_STREAM_THREADS_CONFIG, numThreads);
+        config.put(StreamsConfig.COMMIT_INTERVAL_MS_CONFIG, commitIntervalMs);
+        // A malformed event is logged and skipped rather than stopping the aggregation
+        config.put(StreamsConfig.DEFAULT_DESERIALIZATION_EXCEPTION_HANDLER_CLASS_CONFIG,
+                LogAndContinueExceptionHandler.class);
+        config.put(StreamsConfig.consumerPrefix(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG), "earliest");
+        // Events are published in Kafka transactions; never aggregate a batch the relay aborted
+        config.put(StreamsConfig.consumerPrefix(ConsumerConfig.ISOLATION_LEVEL_CONFIG), "read_committed");
+        return new KafkaStreamsConfiguration(config);
+    }
+
+    @Bean
+    public SpendingTopology.Settings spendingTopologySettings() {
+        return new SpendingTopology.Settings(Duration.ofMinutes(graceMinutes),
+                Duration.ofDays(hourlyRetentionDays), Duration.ofDays(dailyRetentionDays));
+    }
+
+    @Bean
+    public KStream<String, TransactionEvent> spendingStream(StreamsBuilder streamsBuilder, ObjectMapper objectMapper,
+                                                            SpendingTopology.Settings spendingTopologySettings) {
+        return SpendingTopology.build(streamsBuilder,
+                TransactionEventCodec.eventSerde(),
+                new JsonSerde<>(SpendingSummary.class, objectMapper).noTypeInfo(),
+                spendingTopologySettings);
+    }
+
+    @Bean
+    public KafkaStreamsInteractiveQueryService kafkaStreamsInteractiveQueryService(StreamsBuilderFactoryBean factoryBean) {
+        return new KafkaStreamsInteractiveQueryService(factoryBean);
+    }
+
+    @Bean
+    public SpendingAggregateQueryService spendingAggregateQueryService(KafkaStreamsInteractiveQueryService queryService,
+                                                                       SpendingTopology.Settings spendingTopologySettings) {
+        return new SpendingAggregateQueryService(queryService, spendingTopologySettings.dailyRetention());
+    }
+}
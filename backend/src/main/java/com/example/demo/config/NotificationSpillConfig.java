@@ -0,0 +1,45 @@
+package com.example.demo.config;
+
+import com.example.demo.adapter.out.journal.FsyncPolicy;
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.adapter.out.journal.spill.NotificationSpillJournal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Configuration for the local notification spill journal
+ * Used by NotificationProducer while Kafka is unavailable or backpressured
+ */
+@Configuration
+@ConditionalOnProperty(name = "notification.spill.enabled", havingValue = "true", matchIfMissing = true)
+public class NotificationSpillConfig {
+
+    @Value("${notification.spill.directory:./data/notification-spill}")
+    private String directory;
+
+    @Value("${notification.spill.segment-size:8388608}")
+    private int segmentSize;
+
+    @Value("${notification.spill.max-segments:16}")
+    private int maxSegments;
+
+    @Value("${notification.spill.fsync-policy:GROUP_COMMIT}")
+    private FsyncPolicy fsyncPolicy;
+
+    @Value("${notification.spill.group-commit-bytes:65536}")
+    private int groupCommitBytes;
+
+    /**
+     * Bounded spill journal, recovered from disk on startup together with its replay cursor
+     */
+    @Bean(destroyMethod = "close")
+    public NotificationSpillJournal notificationSpillJournal() {
+        SegmentedJournal journal = new SegmentedJournal(
+                Paths.get(directory), "notification-spill", segmentSize, fsyncPolicy, groupCommitBytes);
+        return new NotificationSpillJournal(journal, segmentSize, maxSegments);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.demo.config;
+
+import com.example.demo.application.service.SseEmitterService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Push connection capacity of this node, under "sseCapacity" in /actuator/health
+ * A full node reports OUT_OF_SERVICE so the load balancer stops sending it new streams
+ */
+@Component("sseCapacity")
+public class SseCapacityHealthIndicator implements HealthIndicator {
+
+    private final SseEmitterService sseEmitterService;
+
+    public SseCapacityHealthIndicator(SseEmitterService sseEmitterService) {
+        this.sseEmitterService = sseEmitterService;
+    }
+
+    @Override
+    public Health health() {
+        int active = sseEmitterService.getTotalConnectionCount();
+        int capacity = sseEmitterService.getConnectionCapacity();
+        Health.Builder builder = active < capacity ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("active", active)
+                .withDetail("capacity", capacity)
+                .withDetail("available", Math.max(0, capacity - active))
+                .withDetail("users", sseEmitterService.getConnectedUserCount())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.config;
+
+import com.example.demo.adapter.in.web.notification.NotificationWebSocketHandler;
+import org.apache.tomcat.websocket.server.Constants;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket endpoints
+ * The notification socket coexists with the SSE stream so clients can migrate gradually
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    // Client frames are only HELLO (with the token) and ACK
+    private static final int MAX_CLIENT_FRAME_BYTES = 8 * 1024;
+
+    private final NotificationWebSocketHandler notificationWebSocketHandler;
+
+    public WebSocketConfig(NotificationWebSocketHandler notificationWebSocketHandler) {
+        this.notificationWebSocketHandler = notificationWebSocketHandler;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        // Same origins as CorsConfig
+        registry.addHandler(notificationWebSocketHandler, "/api/notifications/ws")
+                .setAllowedOriginPatterns("http://localhost", "http://localhost:*", "http://127.0.0.1", "http://127.0.0.1:*");
+    }
+
+    /**
+     * Frame buffer limits as Tomcat context parameters, read when Tomcat creates its WebSocket container
+     * Only applied when an embedded Tomcat is started, so contexts without a servlet container
+     * (MockMvc tests) still load
+     */
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> webSocketBufferCustomizer() {
+        return factory -> factory.addContextCustomizers(context -> {
+            context.addParameter(Constants.BINARY_BUFFER_SIZE_SERVLET_CONTEXT_INIT_PARAM,
+                    Integer.toString(MAX_CLIENT_FRAME_BYTES));
+            context.addParameter(Constants.TEXT_BUFFER_SIZE_SERVLET_CONTEXT_INIT_PARAM,
+                    Integer.toString(MAX_CLIENT_FRAME_BYTES));
+        });
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.config.datasource;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Route the database work of a method, or of every method of a class, to the pool of the given workload
+ * A method annotation overrides a class annotation; both override the use-case port mapping
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadType value();
+}
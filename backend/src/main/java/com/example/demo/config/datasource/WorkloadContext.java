@@ -0,0 +1,33 @@
+package com.example.demo.config.datasource;
+
+/**
+ * Holds the workload of the current thread for datasource routing
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadType get() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Set the workload and return the previous one so callers can restore it
+     */
+    public static WorkloadType set(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadType previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration for workload-isolated connection pools (bulkheads)
+ *
+ * One Hikari pool is created per WorkloadType. Every pool starts from the shared
+ * spring.datasource.* and spring.datasource.hikari.* settings, then applies its own
+ * datasource.pools.{key}.* overrides (maximum-pool-size, minimum-idle, connection-timeout, ...).
+ * Pools are named bank-{key} and report Micrometer metrics tagged pool=bank-{key}.
+ *
+ * The exposed DataSource routes on the current WorkloadContext and is wrapped in a lazy proxy,
+ * so a physical connection is only taken from a pool at the first statement of a transaction.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.pools.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkloadDataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadDataSourceConfig.class);
+
+    /**
+     * One pool per workload, routed on the current WorkloadContext
+     */
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties properties,
+                                                               Environment environment,
+                                                               MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        Map<Object, Object> pools = new HashMap<>();
+
+        for (WorkloadType workload : WorkloadType.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            binder.bind("datasource.pools." + workload.getPoolKey(), Bindable.ofInstance(pool));
+            pool.setPoolName("bank-" + workload.getPoolKey());
+            pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            pools.put(workload, pool);
+
+            log.info("Connection pool {}: maximumPoolSize={}, minimumIdle={}, connectionTimeout={}ms",
+                    pool.getPoolName(), pool.getMaximumPoolSize(), pool.getMinimumIdle(), pool.getConnectionTimeout());
+        }
+
+        WorkloadRoutingDataSource routing = new WorkloadRoutingDataSource();
+        routing.setTargetDataSources(pools);
+        routing.setDefaultTargetDataSource(pools.get(WorkloadType.OLTP));
+        return routing;
+    }
+
+    /**
+     * Datasource used by JPA, JdbcTemplate and the transaction manager
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+
+    /**
+     * Binds the workload of annotated methods and use-case ports for datasource routing
+     */
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static WorkloadRoutingAdvisor workloadRoutingAdvisor() {
+        return new WorkloadRoutingAdvisor();
+    }
+}
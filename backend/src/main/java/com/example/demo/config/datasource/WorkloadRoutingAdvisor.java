@@ -0,0 +1,127 @@
+package com.example.demo.config.datasource;
+
+import com.example.demo.application.ports.in.CreateAccountUseCase;
+import com.example.demo.application.ports.in.CreateNotificationUseCase;
+import com.example.demo.application.ports.in.DeleteAccountUseCase;
+import com.example.demo.application.ports.in.DeleteNotificationUseCase;
+import com.example.demo.application.ports.in.DepositUseCase;
+import com.example.demo.application.ports.in.GenerateAccountStatementUseCase;
+import com.example.demo.application.ports.in.GenerateCategoryReportUseCase;
+import com.example.demo.application.ports.in.GetAccountUseCase;
+import com.example.demo.application.ports.in.GetCurrentUserUseCase;
+import com.example.demo.application.ports.in.GetNotificationsUseCase;
+import com.example.demo.application.ports.in.GetTransactionHistoryUseCase;
+import com.example.demo.application.ports.in.LoginUseCase;
+import com.example.demo.application.ports.in.ManageCategoryUseCase;
+import com.example.demo.application.ports.in.MarkNotificationAsReadUseCase;
+import com.example.demo.application.ports.in.RegisterUserUseCase;
+import com.example.demo.application.ports.in.StatementJobUseCase;
+import com.example.demo.application.ports.in.TransferUseCase;
+import com.example.demo.application.ports.in.UpdateAccountUseCase;
+import com.example.demo.application.ports.in.WithdrawUseCase;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.StaticMethodMatcherPointcutAdvisor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Advisor that binds the workload of a call for the duration of the call
+ *
+ * The workload is resolved from @Workload on the method or its class, otherwise from the
+ * use-case port the method implements. The outermost workload wins: once a call has bound a
+ * workload (and usually a connection), nested calls keep using it.
+ *
+ * Ordered ahead of the transaction advisor so the workload is known before a connection is taken.
+ */
+public class WorkloadRoutingAdvisor extends StaticMethodMatcherPointcutAdvisor {
+
+    private static final Map<Class<?>, WorkloadType> PORT_WORKLOADS = Map.ofEntries(
+            Map.entry(DepositUseCase.class, WorkloadType.OLTP),
+            Map.entry(WithdrawUseCase.class, WorkloadType.OLTP),
+            Map.entry(TransferUseCase.class, WorkloadType.OLTP),
+            Map.entry(CreateAccountUseCase.class, WorkloadType.OLTP),
+            Map.entry(UpdateAccountUseCase.class, WorkloadType.OLTP),
+            Map.entry(DeleteAccountUseCase.class, WorkloadType.OLTP),
+            Map.entry(RegisterUserUseCase.class, WorkloadType.OLTP),
+            Map.entry(ManageCategoryUseCase.class, WorkloadType.OLTP),
+            Map.entry(CreateNotificationUseCase.class, WorkloadType.OLTP),
+            Map.entry(MarkNotificationAsReadUseCase.class, WorkloadType.OLTP),
+            Map.entry(DeleteNotificationUseCase.class, WorkloadType.OLTP),
+            Map.entry(GetAccountUseCase.class, WorkloadType.READ),
+            Map.entry(GetTransactionHistoryUseCase.class, WorkloadType.READ),
+            Map.entry(GetCurrentUserUseCase.class, WorkloadType.READ),
+            Map.entry(GetNotificationsUseCase.class, WorkloadType.READ),
+            Map.entry(LoginUseCase.class, WorkloadType.READ),
+            Map.entry(GenerateAccountStatementUseCase.class, WorkloadType.REPORTING),
+            Map.entry(GenerateCategoryReportUseCase.class, WorkloadType.REPORTING),
+            Map.entry(StatementJobUseCase.class, WorkloadType.REPORTING)
+    );
+
+    // Cache of resolved workloads; methods without one map to this marker
+    private static final Object NONE = new Object();
+
+    private final Map<Method, Object> cache = new ConcurrentHashMap<>();
+
+    public WorkloadRoutingAdvisor() {
+        setAdvice((MethodInterceptor) this::invoke);
+        setOrder(Ordered.HIGHEST_PRECEDENCE);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return resolve(method, targetClass) != null;
+    }
+
+    private Object invoke(MethodInvocation invocation) throws Throwable {
+        if (WorkloadContext.get() != null) {
+            return invocation.proceed();
+        }
+        Object target = invocation.getThis();
+        Class<?> targetClass = target != null ? AopUtils.getTargetClass(target) : invocation.getMethod().getDeclaringClass();
+        WorkloadType workload = resolve(invocation.getMethod(), targetClass);
+        if (workload == null) {
+            return invocation.proceed();
+        }
+
+        WorkloadType previous = WorkloadContext.set(workload);
+        try {
+            return invocation.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private WorkloadType resolve(Method method, Class<?> targetClass) {
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        Object workload = cache.computeIfAbsent(specificMethod, m -> {
+            WorkloadType resolved = resolveUncached(m, targetClass);
+            return resolved != null ? resolved : NONE;
+        });
+        return workload instanceof WorkloadType type ? type : null;
+    }
+
+    private WorkloadType resolveUncached(Method method, Class<?> targetClass) {
+        Workload annotation = AnnotatedElementUtils.findMergedAnnotation(method, Workload.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+        }
+        if (annotation != null) {
+            return annotation.value();
+        }
+
+        for (Class<?> port : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+            WorkloadType workload = PORT_WORKLOADS.get(port);
+            if (workload != null && ClassUtils.hasMethod(port, method.getName(), method.getParameterTypes())) {
+                return workload;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Routes connection requests to the pool of the current thread's workload
+ * Threads without a workload use the OLTP pool
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        WorkloadType workload = WorkloadContext.get();
+        return workload != null ? workload : WorkloadType.OLTP;
+    }
+
+    /**
+     * Close the pools on shutdown, they are not Spring beans themselves
+     */
+    @Override
+    public void destroy() {
+        getResolvedDataSources().values().forEach(dataSource -> {
+            if (dataSource instanceof HikariDataSource pool) {
+                pool.close();
+            }
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo.config.datasource;
+
+/**
+ * Workload classes, each served by its own connection pool (bulkhead)
+ * so that slow work of one class cannot starve the others of connections
+ */
+public enum WorkloadType {
+
+    /**
+     * Transactional writes: deposits, withdrawals, transfers, account and user changes
+     */
+    OLTP("oltp"),
+
+    /**
+     * Short interactive reads: account lookups, transaction history, notifications
+     */
+    READ("read"),
+
+    /**
+     * Long-running statements: account statements, category reports, admin listings
+     */
+    REPORTING("reporting"),
+
+    /**
+     * Scheduled and asynchronous jobs
+     */
+    BACKGROUND("background"),
+
+    /**
+     * Kafka consumers
+     */
+    MESSAGING("messaging");
+
+    private final String poolKey;
+
+    WorkloadType(String poolKey) {
+        this.poolKey = poolKey;
+    }
+
+    /**
+     * Key used for the pool's configuration prefix (datasource.pools.{key}) and name
+     */
+    public String getPoolKey() {
+        return poolKey;
+    }
+}
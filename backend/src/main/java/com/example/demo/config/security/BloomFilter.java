@@ -0,0 +1,70 @@
+package com.example.demo.config.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings
+ *
+ * Sized for an expected number of keys at about 1% false positives (10 bits and 7 probes per key).
+ * Adding is thread-safe and lock-free; there is no removal, the owner rebuilds a new filter instead.
+ */
+final class BloomFilter {
+
+    private static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 7;
+
+    private final AtomicLongArray words;
+    private final long bits;
+
+    BloomFilter(int expectedKeys) {
+        long wordCount = Math.max(1, ((long) Math.max(expectedKeys, 1) * BITS_PER_KEY + 63) / 64);
+        this.words = new AtomicLongArray(Math.toIntExact(wordCount));
+        this.bits = wordCount * 64;
+    }
+
+    void add(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= PROBES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = words.get(word)) & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                // Retry: another bit of the same word was set concurrently
+            }
+        }
+    }
+
+    boolean mightContain(String key) {
+        long hash = hash(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= PROBES; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with a murmur-style mix so both halves are usable
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -13,11 +13,13 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
-import java.util.UUID;
+import java.util.Optional;
 
 /**
  * JWT Authentication Filter
  * Intercepts requests, validates JWT tokens, and sets authentication in SecurityContext
+ * Revoked tokens (logout, locked or suspended users) are rejected by JwtUtil.verify through the
+ * in-memory TokenRevocationList, without a database lookup per request
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -45,21 +47,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Extract token (remove "Bearer " prefix)
             String token = authHeader.substring(7);
 
-            // Validate token
-            if (jwtUtil.validateToken(token)) {
-                // Extract user ID, email, and role from token
-                UUID userId = jwtUtil.getUserIdFromToken(token);
-                String email = jwtUtil.getEmailFromToken(token);
-                String role = jwtUtil.getRoleFromToken(token);
-
-                // Create authentication object
-                // We store userId as the principal (name)
-                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                    userId.toString(), // Principal is the user ID as string
-                    null, // No credentials needed
-                    Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
-                );
-
+            // Validate token once and read user ID and role from the verified claims
+            Optional<JwtUtil.VerifiedClaims> claims = jwtUtil.verify(token);
+            if (claims.isPresent()) {
+                UsernamePasswordAuthenticationToken authentication = authenticationFor(claims.get());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 // Set authentication in SecurityContext
@@ -72,4 +63,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Authentication for verified claims
+     * We store userId as the principal (name)
+     */
+    static UsernamePasswordAuthenticationToken authenticationFor(JwtUtil.VerifiedClaims claims) {
+        return new UsernamePasswordAuthenticationToken(
+            claims.userId().toString(), // Principal is the user ID as string
+            null, // No credentials needed
+            Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + claims.role()))
+        );
+    }
 }
@@ -1,27 +1,78 @@
 package com.example.demo.config.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Utility class for JWT token generation and validation
+ *
+ * The key and parser are built once. verify() parses a token a single time and returns everything the
+ * application reads from it; verified tokens are cached until their expiry, so a client sending the
+ * same token on every request pays for the HMAC check and JSON parse once.
+ *
+ * Access tokens are short-lived and carry an id (jti), so a single token can be revoked on logout.
+ * The revocation check runs after the cache on every call, since a cached token may be revoked later.
  */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:mySecretKeyForJWTTokenGenerationPleaseChangeThisInProductionEnvironment1234567890}")
-    private String secret;
+    /**
+     * Claims of a token whose signature and expiry were checked
+     */
+    public record VerifiedClaims(UUID userId, String email, String role, String tokenId,
+                                 Instant issuedAt, Instant expiresAt) {
+    }
 
-    @Value("${jwt.expiration:86400000}") // Default: 24 hours in milliseconds
-    private Long expiration;
+    private final long expiration;
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final VerifiedTokenCache<VerifiedClaims> cache;
+    private final TokenRevocationList revocationList;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter rejected;
+    private final Counter revoked;
+
+    public JwtUtil(@Value("${jwt.secret:mySecretKeyForJWTTokenGenerationPleaseChangeThisInProductionEnvironment1234567890}") String secret,
+                   @Value("${jwt.expiration:900000}") long expiration, // Default: 15 minutes in milliseconds
+                   @Value("${jwt.cache.max-entries:10000}") int cacheMaxEntries,
+                   TokenRevocationList revocationList,
+                   MeterRegistry meterRegistry) {
+        this.expiration = expiration;
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cache = new VerifiedTokenCache<>(cacheMaxEntries);
+        this.revocationList = revocationList;
+        this.cacheHits = Counter.builder("jwt.verifications").tag("result", "cached")
+                .description("JWT verifications by result")
+                .register(meterRegistry);
+        this.cacheMisses = Counter.builder("jwt.verifications").tag("result", "parsed")
+                .description("JWT verifications by result")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("jwt.verifications").tag("result", "rejected")
+                .description("JWT verifications by result")
+                .register(meterRegistry);
+        this.revoked = Counter.builder("jwt.verifications").tag("result", "revoked")
+                .description("JWT verifications by result")
+                .register(meterRegistry);
+        Gauge.builder("jwt.cache.size", cache, VerifiedTokenCache::size)
+                .description("Verified tokens cached until their expiry")
+                .register(meterRegistry);
+    }
 
     /**
      * Generate JWT token for user
@@ -30,9 +81,8 @@ public class JwtUtil {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + expiration);
 
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("email", email)
                 .claim("role", role)
@@ -42,71 +92,90 @@ public class JwtUtil {
                 .compact();
     }
 
+    /**
+     * Verify a token once and return its claims
+     *
+     * @return empty if the token is malformed, forged, expired or revoked
+     */
+    public Optional<VerifiedClaims> verify(String token) {
+        long now = System.currentTimeMillis();
+        VerifiedClaims cached = cache.get(token, now);
+        if (cached != null) {
+            cacheHits.increment();
+            return notRevoked(cached);
+        }
+
+        VerifiedClaims claims;
+        try {
+            // The parser rejects expired tokens itself
+            Claims payload = parser.parseSignedClaims(token).getPayload();
+            claims = new VerifiedClaims(
+                    UUID.fromString(payload.getSubject()),
+                    payload.get("email", String.class),
+                    payload.get("role", String.class),
+                    payload.getId(),
+                    payload.getIssuedAt() != null ? payload.getIssuedAt().toInstant() : null,
+                    payload.getExpiration().toInstant());
+        } catch (Exception e) {
+            rejected.increment();
+            return Optional.empty();
+        }
+        cacheMisses.increment();
+        cache.put(token, claims, claims.expiresAt().toEpochMilli(), now);
+        return notRevoked(claims);
+    }
+
+    /**
+     * Lifetime of an access token in milliseconds
+     */
+    public long getExpirationMs() {
+        return expiration;
+    }
+
     /**
      * Get user ID from JWT token
      */
     public UUID getUserIdFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return UUID.fromString(claims.getSubject());
+        return verified(token).userId();
     }
 
     /**
      * Get email from JWT token
      */
     public String getEmailFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("email", String.class);
+        return verified(token).email();
     }
 
     /**
      * Get role from JWT token
      */
     public String getRoleFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.get("role", String.class);
+        return verified(token).role();
     }
 
     /**
      * Get expiration date from JWT token
      */
     public Date getExpirationDateFromToken(String token) {
-        Claims claims = getAllClaimsFromToken(token);
-        return claims.getExpiration();
+        return Date.from(verified(token).expiresAt());
     }
 
     /**
      * Validate JWT token
      */
     public boolean validateToken(String token) {
-        try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
+        return verify(token).isPresent();
     }
 
-    /**
-     * Check if token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private Optional<VerifiedClaims> notRevoked(VerifiedClaims claims) {
+        if (revocationList.isRevoked(claims)) {
+            revoked.increment();
+            return Optional.empty();
+        }
+        return Optional.of(claims);
     }
 
-    /**
-     * Get all claims from token
-     */
-    private Claims getAllClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    private VerifiedClaims verified(String token) {
+        return verify(token).orElseThrow(() -> new IllegalArgumentException("Invalid or expired token"));
     }
 }
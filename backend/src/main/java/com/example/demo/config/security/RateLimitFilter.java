@@ -0,0 +1,154 @@
+package com.example.demo.config.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Rate limiting filter
+ * Runs after JwtAuthenticationFilter and answers 429 with Retry-After once a client's bucket is empty
+ *
+ * Requests fall into route classes with their own limits: credential endpoints (BCrypt-bound), history
+ * and report reads (full loads), and the rest of the API. Credential endpoints are limited per client IP;
+ * everything else per user id, or per IP for anonymous requests. The notification stream and WebSocket
+ * are left out, their connections are capped by SseEmitterService.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitFilter.class);
+
+    private static final Pattern CREDENTIAL_ROUTES = Pattern.compile("/api/auth/(login|signup|refresh)");
+    private static final Pattern HISTORY_ROUTES = Pattern.compile(
+            "/api/banking/(transactions|accounts/[^/]+/(transactions|statement|category-report|spending))");
+    private static final Pattern UNLIMITED_ROUTES = Pattern.compile("/api/notifications/(stream|ws)");
+
+    /**
+     * Route classes, each with its own limit and throttle counter
+     */
+    enum RouteClass {
+        AUTH, HISTORY, API
+    }
+
+    private final RateLimiter limiter = new RateLimiter();
+    private final boolean enabled;
+    private final Map<RouteClass, RateLimiter.Limit> limits = new EnumMap<>(RouteClass.class);
+    private final Map<RouteClass, Counter> throttled = new EnumMap<>(RouteClass.class);
+
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${rate-limit.enabled:true}") boolean enabled,
+                           @Value("${rate-limit.auth.capacity:10}") int authCapacity,
+                           @Value("${rate-limit.auth.refill-per-second:0.2}") double authRefill,
+                           @Value("${rate-limit.history.capacity:20}") int historyCapacity,
+                           @Value("${rate-limit.history.refill-per-second:2}") double historyRefill,
+                           @Value("${rate-limit.api.capacity:200}") int apiCapacity,
+                           @Value("${rate-limit.api.refill-per-second:50}") double apiRefill) {
+        this.enabled = enabled;
+        limits.put(RouteClass.AUTH, new RateLimiter.Limit(authCapacity, authRefill));
+        limits.put(RouteClass.HISTORY, new RateLimiter.Limit(historyCapacity, historyRefill));
+        limits.put(RouteClass.API, new RateLimiter.Limit(apiCapacity, apiRefill));
+        for (RouteClass routeClass : RouteClass.values()) {
+            throttled.put(routeClass, Counter.builder("http.server.requests.throttled")
+                    .tag("route", routeClass.name().toLowerCase())
+                    .description("Requests refused with 429 by the rate limiter")
+                    .register(meterRegistry));
+        }
+        Gauge.builder("rate-limit.buckets", limiter, RateLimiter::size)
+                .description("Rate limit buckets of recently active clients")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = path(request);
+        return !enabled
+                || HttpMethod.OPTIONS.matches(request.getMethod())
+                || !path.startsWith("/api/")
+                || UNLIMITED_ROUTES.matcher(path).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RouteClass routeClass = routeClass(request);
+        long waitNanos = limiter.tryAcquire(routeClass.name() + ':' + clientKey(routeClass, request), limits.get(routeClass));
+        if (waitNanos == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        throttled.get(routeClass).increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"success\":false,\"message\":\"Too many requests\",\"data\":null}");
+    }
+
+    /**
+     * Drop buckets of clients that have been idle long enough to be full again
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = limiter.evictIdle();
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, limiter.size());
+        }
+    }
+
+    static RouteClass routeClass(String method, String path) {
+        if (HttpMethod.POST.matches(method) && CREDENTIAL_ROUTES.matcher(path).matches()) {
+            return RouteClass.AUTH;
+        }
+        if (HttpMethod.GET.matches(method) && HISTORY_ROUTES.matcher(path).matches()) {
+            return RouteClass.HISTORY;
+        }
+        return RouteClass.API;
+    }
+
+    private static RouteClass routeClass(HttpServletRequest request) {
+        return routeClass(request.getMethod(), path(request));
+    }
+
+    /**
+     * User id of the authenticated principal, else the client IP
+     * Not X-Forwarded-For: a client could pick a fresh bucket per request by setting it
+     */
+    private static String clientKey(RouteClass routeClass, HttpServletRequest request) {
+        if (routeClass != RouteClass.AUTH) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()
+                    && !(authentication instanceof AnonymousAuthenticationToken)) {
+                return "user:" + authentication.getName();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.demo.config.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by client, refilled lazily and updated with a single CAS
+ *
+ * Each bucket is one long: the time at which it will be full again (GCRA, which admits exactly what a
+ * token bucket of the same capacity and refill rate admits). Taking a token moves that time one refill
+ * interval ahead; a request is refused when that would put it more than capacity intervals past now.
+ * Nothing runs per bucket in the background: refilling is implied by the clock moving on.
+ *
+ * A bucket whose full-again time has passed is indistinguishable from a new one, so idle buckets are
+ * evicted without losing any state.
+ */
+final class RateLimiter {
+
+    /**
+     * capacity requests at once, then refillPerSecond requests per second
+     */
+    record Limit(int capacity, double refillPerSecond) {
+
+        Limit {
+            if (capacity < 1 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Invalid rate limit: capacity=" + capacity + ", refillPerSecond=" + refillPerSecond);
+            }
+        }
+
+        long intervalNanos() {
+            return (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        }
+    }
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongSupplier nanoClock;
+
+    RateLimiter() {
+        this(System::nanoTime);
+    }
+
+    RateLimiter(LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Take a token from the key's bucket
+     *
+     * @return 0 if taken, otherwise nanoseconds until one is available
+     */
+    long tryAcquire(String key, Limit limit) {
+        long now = nanoClock.getAsLong();
+        AtomicLong fullAt = buckets.get(key);
+        if (fullAt == null) {
+            fullAt = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+
+        long interval = limit.intervalNanos();
+        long burst = interval * limit.capacity();
+        while (true) {
+            long current = fullAt.get();
+            // Differences only: nanoTime values may be negative
+            long next = (current - now > 0 ? current : now) + interval;
+            long excess = next - now - burst;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely
+     * A request racing with the removal may update a bucket just dropped, letting one extra request through
+     *
+     * @return number of buckets removed
+     */
+    int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+        return before - buckets.size();
+    }
+
+    int size() {
+        return buckets.size();
+    }
+}
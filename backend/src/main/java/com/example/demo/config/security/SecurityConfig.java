@@ -1,5 +1,7 @@
 package com.example.demo.config.security;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -22,17 +24,31 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+    }
+
+    /**
+     * Keep the rate limit filter out of the servlet filter chain
+     * It must only run inside the security chain, after the JWT filter has set the principal
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration() {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
     }
 
     /**
      * Password encoder bean for hashing passwords
+     * Raising the strength rehashes each user's password at their next login
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 
     /**
@@ -59,6 +75,9 @@ public class SecurityConfig {
                         // Allow public access to actuator endpoints
                         .requestMatchers("/actuator/**").permitAll()
 
+                        // Notification WebSocket authenticates in-band with its first frame
+                        .requestMatchers("/api/notifications/ws").permitAll()
+
                         // Require ADMIN role for admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
@@ -75,6 +94,9 @@ public class SecurityConfig {
                 // Add JWT authentication filter
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // Rate limit per user (or per IP when anonymous), once the JWT filter has set the principal
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+
                 // Stateless session management (JWT doesn't need sessions)
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
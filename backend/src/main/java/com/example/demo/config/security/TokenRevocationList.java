@@ -0,0 +1,112 @@
+package com.example.demo.config.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens, checked on every authenticated request
+ *
+ * Two kinds of entries: a token id (logout), and a user with a cut-off time (lock, suspend), which
+ * revokes every token of the user issued at or before it. An entry is only kept while a token it
+ * matches could still be unexpired, so the set stays as small as the number of recent revocations.
+ *
+ * Lookups go through a Bloom filter first; only its (rare) hits consult the exact map, so a request
+ * with a valid token costs two filter probes and no allocation beyond the keys. The filter has no
+ * removal and is rebuilt from the exact map periodically, dropping expired entries.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final String TOKEN_PREFIX = "t:";
+    private static final String USER_PREFIX = "u:";
+    private static final int MIN_FILTER_KEYS = 1024;
+
+    /**
+     * Revocation of a token id or of a user's tokens issued up to revokedAtMillis; kept until expiresAtMillis
+     */
+    public record Entry(String key, long revokedAtMillis, long expiresAtMillis) {
+    }
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile BloomFilter filter = new BloomFilter(MIN_FILTER_KEYS);
+
+    public TokenRevocationList(MeterRegistry meterRegistry) {
+        Gauge.builder("auth.revocations", entries, Map::size)
+                .description("Access token revocations currently in force")
+                .register(meterRegistry);
+    }
+
+    public static String tokenKey(String tokenId) {
+        return TOKEN_PREFIX + tokenId;
+    }
+
+    public static String userKey(UUID userId) {
+        return USER_PREFIX + userId;
+    }
+
+    /**
+     * Whether a verified token was revoked
+     */
+    public boolean isRevoked(JwtUtil.VerifiedClaims claims) {
+        BloomFilter current = filter;
+        if (claims.tokenId() != null) {
+            String key = tokenKey(claims.tokenId());
+            if (current.mightContain(key) && entries.containsKey(key)) {
+                return true;
+            }
+        }
+        String key = userKey(claims.userId());
+        if (current.mightContain(key)) {
+            Entry entry = entries.get(key);
+            // iat has second precision, so a token issued in the revocation's second is revoked as well;
+            // a token without iat cannot be shown to be newer than the cut-off
+            return entry != null && (claims.issuedAt() == null
+                    || claims.issuedAt().getEpochSecond() <= entry.revokedAtMillis() / 1000);
+        }
+        return false;
+    }
+
+    /**
+     * Add or widen a revocation; applying the same entry again has no effect
+     */
+    public synchronized void apply(Entry entry) {
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            return;
+        }
+        entries.merge(entry.key(), entry, (existing, added) -> new Entry(existing.key(),
+                Math.max(existing.revokedAtMillis(), added.revokedAtMillis()),
+                Math.max(existing.expiresAtMillis(), added.expiresAtMillis())));
+        filter.add(entry.key());
+    }
+
+    /**
+     * Rebuild the filter without expired entries
+     * Synchronized with apply() so an entry added during the rebuild is not lost
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation.rebuild-interval-ms:60000}")
+    public synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        BloomFilter rebuilt = new BloomFilter(Math.max(MIN_FILTER_KEYS, entries.size() * 2));
+        entries.keySet().forEach(rebuilt::add);
+        filter = rebuilt;
+        if (before != entries.size()) {
+            log.debug("Token revocation filter rebuilt: entries={}, expired={}", entries.size(), before - entries.size());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.demo.config.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache of tokens whose signature was already verified
+ *
+ * Keyed by the SHA-256 of the token, so raw tokens are not kept in memory and a lookup never needs
+ * the signing key. Each entry expires at its token's exp. When full, expired entries are purged (at
+ * most once per second) and otherwise an arbitrary entry makes room; tokens are re-verified on a miss,
+ * so eviction only costs a parse.
+ */
+final class VerifiedTokenCache<V> {
+
+    private static final long PURGE_INTERVAL_MS = 1000;
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+
+    private final Map<ByteBuffer, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private volatile long lastPurgeMillis;
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Cached value for the token, or null when absent or expired
+     */
+    V get(String token, long nowMillis) {
+        if (maxEntries <= 0) {
+            return null;
+        }
+        ByteBuffer key = hash(token);
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= nowMillis) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    void put(String token, V value, long expiresAtMillis, long nowMillis) {
+        if (maxEntries <= 0 || expiresAtMillis <= nowMillis) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            makeRoom(nowMillis);
+        }
+        entries.put(hash(token), new Entry<>(value, expiresAtMillis));
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void makeRoom(long nowMillis) {
+        if (nowMillis - lastPurgeMillis >= PURGE_INTERVAL_MS) {
+            lastPurgeMillis = nowMillis;
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= nowMillis);
+        }
+        Iterator<ByteBuffer> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private static ByteBuffer hash(String token) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Latest balance of an account as kept on the compacted account-balances topic
+ *
+ * @param accountId account, also the record key
+ * @param balance balance after the last transaction
+ * @param transactionId transaction that produced this balance
+ * @param updatedAt when that transaction was recorded
+ */
+public record AccountBalance(
+    UUID accountId,
+    BigDecimal balance,
+    UUID transactionId,
+    Instant updatedAt
+) {
+    public static AccountBalance of(TransactionEvent event) {
+        return new AccountBalance(event.accountId(), event.balanceAfter(), event.transactionId(), event.occurredAt());
+    }
+}
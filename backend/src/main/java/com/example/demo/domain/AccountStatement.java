@@ -40,4 +40,23 @@ public record AccountStatement(
     public BigDecimal netChange() {
         return closingBalance.subtract(openingBalance);
     }
+
+    /**
+     * Balances and totals of a statement without its transactions
+     * Computed by the database, so a statement can be written out while its transactions are paged through
+     */
+    public record Summary(
+        BigDecimal openingBalance,
+        BigDecimal totalDeposits,
+        BigDecimal totalWithdrawals,
+        int transactionCount
+    ) {
+        public BigDecimal closingBalance() {
+            return openingBalance.add(totalDeposits).subtract(totalWithdrawals);
+        }
+
+        public BigDecimal netChange() {
+            return closingBalance().subtract(openingBalance);
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package com.example.demo.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Refresh token of one login session
+ * Only a hash of the token is stored. Every refresh rotates it: the used token is revoked and a new one
+ * in the same family is issued, so presenting an already rotated token means it leaked and the whole
+ * family (session) is revoked.
+ *
+ * @param id token id, null until persisted
+ * @param userId owner of the session
+ * @param familyId id shared by all tokens rotated from the same login
+ * @param tokenHash hex SHA-256 of the opaque token handed to the client
+ * @param expiresAt when the token stops being accepted
+ * @param revokedAt when it was rotated or revoked, null while usable
+ * @param createdAt when it was issued
+ */
+public record RefreshToken(
+    UUID id,
+    UUID userId,
+    UUID familyId,
+    String tokenHash,
+    LocalDateTime expiresAt,
+    LocalDateTime revokedAt,
+    LocalDateTime createdAt
+) {
+    /**
+     * Create a new refresh token for a session
+     */
+    public static RefreshToken issue(UUID userId, UUID familyId, String tokenHash, LocalDateTime expiresAt) {
+        if (userId == null || familyId == null) {
+            throw new IllegalArgumentException("Refresh token needs a user and a family");
+        }
+        if (tokenHash == null || tokenHash.isEmpty()) {
+            throw new IllegalArgumentException("Refresh token hash cannot be null or empty");
+        }
+        return new RefreshToken(null, userId, familyId, tokenHash, expiresAt, null, LocalDateTime.now());
+    }
+
+    public boolean isRevoked() {
+        return revokedAt != null;
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return !expiresAt.isAfter(now);
+    }
+}
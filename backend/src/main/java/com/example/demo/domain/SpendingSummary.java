@@ -0,0 +1,83 @@
+package com.example.demo.domain;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Transaction totals of one account over a time window, per type and per type and category
+ * Built incrementally from transaction events and merged across windows
+ */
+public record SpendingSummary(
+    Map<Transaction.TransactionType, Totals> byType,
+    Map<Transaction.TransactionType, Map<UUID, Totals>> byCategory
+) {
+    public SpendingSummary {
+        byType = byType == null ? Map.of() : byType;
+        byCategory = byCategory == null ? Map.of() : byCategory;
+    }
+
+    /**
+     * Count and sum of a group of transactions
+     */
+    public record Totals(long count, BigDecimal amount) {
+
+        public static final Totals ZERO = new Totals(0, BigDecimal.ZERO);
+
+        public Totals plus(Totals other) {
+            return new Totals(count + other.count, amount.add(other.amount));
+        }
+    }
+
+    public static SpendingSummary empty() {
+        return new SpendingSummary(Map.of(), Map.of());
+    }
+
+    /**
+     * Summary with one more transaction
+     */
+    public SpendingSummary add(TransactionEvent event) {
+        Totals one = new Totals(1, event.amount());
+        Map<Transaction.TransactionType, Totals> types = new EnumMap<>(Transaction.TransactionType.class);
+        types.putAll(byType);
+        types.merge(event.type(), one, Totals::plus);
+
+        Map<Transaction.TransactionType, Map<UUID, Totals>> categories = copyCategories();
+        if (event.categoryId() != null) {
+            categories.computeIfAbsent(event.type(), t -> new HashMap<>()).merge(event.categoryId(), one, Totals::plus);
+        }
+        return new SpendingSummary(types, categories);
+    }
+
+    /**
+     * Summary covering this window and another one
+     */
+    public SpendingSummary merge(SpendingSummary other) {
+        Map<Transaction.TransactionType, Totals> types = new EnumMap<>(Transaction.TransactionType.class);
+        types.putAll(byType);
+        other.byType.forEach((type, totals) -> types.merge(type, totals, Totals::plus));
+
+        Map<Transaction.TransactionType, Map<UUID, Totals>> categories = copyCategories();
+        other.byCategory.forEach((type, totalsByCategory) -> {
+            Map<UUID, Totals> target = categories.computeIfAbsent(type, t -> new HashMap<>());
+            totalsByCategory.forEach((categoryId, totals) -> target.merge(categoryId, totals, Totals::plus));
+        });
+        return new SpendingSummary(types, categories);
+    }
+
+    public Totals totals(Transaction.TransactionType type) {
+        return byType.getOrDefault(type, Totals.ZERO);
+    }
+
+    public Map<UUID, Totals> categoryTotals(Transaction.TransactionType type) {
+        return byCategory.getOrDefault(type, Map.of());
+    }
+
+    private Map<Transaction.TransactionType, Map<UUID, Totals>> copyCategories() {
+        Map<Transaction.TransactionType, Map<UUID, Totals>> copy = new EnumMap<>(Transaction.TransactionType.class);
+        byCategory.forEach((type, totals) -> copy.put(type, new HashMap<>(totals)));
+        return copy;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Precomputed spending summary of one account for one tumbling window
+ */
+public record SpendingWindow(
+    UUID accountId,
+    Granularity granularity,
+    Instant start,
+    Instant end,
+    SpendingSummary summary
+) {
+    public enum Granularity {
+        HOURLY, DAILY
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.demo.domain;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Asynchronous account statement: requested once, rendered to a file by a worker, then downloaded
+ * Jobs are immutable; every state change produces a new instance.
+ *
+ * @param id job id handed to the client
+ * @param userId owner of the account, the only one who may read the job
+ * @param accountId account the statement is for
+ * @param startDate start of the period
+ * @param endDate end of the period
+ * @param format format of the artifact
+ * @param status where the job is
+ * @param createdAt when it was submitted
+ * @param completedAt when it completed or failed, null before
+ * @param expiresAt when the artifact is deleted, null until completed
+ * @param sizeBytes size of the artifact, 0 until completed
+ * @param error why it failed, null otherwise
+ */
+public record StatementJob(
+    UUID id,
+    UUID userId,
+    UUID accountId,
+    LocalDateTime startDate,
+    LocalDateTime endDate,
+    Format format,
+    Status status,
+    Instant createdAt,
+    Instant completedAt,
+    Instant expiresAt,
+    long sizeBytes,
+    String error
+) {
+    public enum Format {
+        JSON("application/json", "json"),
+        CSV("text/csv", "csv"),
+        HTML("text/html", "html");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+    }
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    /**
+     * Create a pending job
+     */
+    public static StatementJob submit(UUID userId, UUID accountId, LocalDateTime startDate, LocalDateTime endDate,
+                                      Format format) {
+        if (userId == null || accountId == null || format == null) {
+            throw new IllegalArgumentException("Statement job needs a user, an account and a format");
+        }
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start of period must not be after its end");
+        }
+        return new StatementJob(UUID.randomUUID(), userId, accountId, startDate, endDate, format, Status.PENDING,
+                Instant.now(), null, null, 0, null);
+    }
+
+    public StatementJob running() {
+        return new StatementJob(id, userId, accountId, startDate, endDate, format, Status.RUNNING,
+                createdAt, null, null, 0, null);
+    }
+
+    public StatementJob completed(long sizeBytes, Instant expiresAt) {
+        return new StatementJob(id, userId, accountId, startDate, endDate, format, Status.COMPLETED,
+                createdAt, Instant.now(), expiresAt, sizeBytes, null);
+    }
+
+    public StatementJob failed(String error, Instant expiresAt) {
+        return new StatementJob(id, userId, accountId, startDate, endDate, format, Status.FAILED,
+                createdAt, Instant.now(), expiresAt, 0, error);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    /**
+     * File name offered to the client on download
+     */
+    public String fileName() {
+        return "statement-" + accountId + "-" + startDate.toLocalDate() + "-" + endDate.toLocalDate()
+                + "." + format.extension();
+    }
+}
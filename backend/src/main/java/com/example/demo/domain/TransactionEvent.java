@@ -0,0 +1,43 @@
+package com.example.demo.domain;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.UUID;
+
+/**
+ * Committed ledger change as published on the transaction-events topic
+ * Keyed by account id; carries everything downstream consumers need without a lookup
+ *
+ * @param transactionId ledger transaction
+ * @param accountId account whose balance changed
+ * @param type transaction type
+ * @param categoryId category, may be null
+ * @param amount transaction amount, always positive
+ * @param balanceAfter account balance after the transaction
+ * @param relatedAccountId counterpart account of a transfer, may be null
+ * @param occurredAt when the transaction was recorded
+ */
+public record TransactionEvent(
+    UUID transactionId,
+    UUID accountId,
+    Transaction.TransactionType type,
+    UUID categoryId,
+    BigDecimal amount,
+    BigDecimal balanceAfter,
+    UUID relatedAccountId,
+    Instant occurredAt
+) {
+    public static TransactionEvent of(Transaction transaction) {
+        return new TransactionEvent(
+                transaction.getId(),
+                transaction.getAccountId(),
+                transaction.getType(),
+                transaction.getCategoryId(),
+                transaction.getAmount(),
+                transaction.getBalanceAfter(),
+                transaction.getRelatedAccountId(),
+                transaction.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant()
+        );
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo.domain.notification;
+
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * System announcement addressed to every user
+ * Stored once; whether a user has read it is kept as a separate per-user read marker
+ *
+ * @param id announcement id, null until persisted
+ * @param title short headline
+ * @param message announcement text
+ * @param priority display priority
+ * @param createdAt when the announcement was published
+ */
+public record Announcement(
+    UUID id,
+    String title,
+    String message,
+    NotificationPriority priority,
+    LocalDateTime createdAt
+) {
+    /**
+     * Create a new announcement
+     */
+    public static Announcement create(String title, String message, NotificationPriority priority) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Announcement title cannot be null or empty");
+        }
+        if (title.length() > 200) {
+            throw new IllegalArgumentException("Announcement title must be at most 200 characters");
+        }
+        if (message == null || message.trim().isEmpty()) {
+            throw new IllegalArgumentException("Announcement message cannot be null or empty");
+        }
+        if (message.length() > 1000) {
+            throw new IllegalArgumentException("Announcement message must be at most 1000 characters");
+        }
+        return new Announcement(null, title, message,
+                priority != null ? priority : NotificationPriority.MEDIUM, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.domain.notification;
+
+/**
+ * Email to be delivered by the mail dispatcher
+ * Published on the email-events topic as JSON and queued for batched SMTP delivery
+ *
+ * @param notificationId originating notification, may be null
+ * @param to recipient address
+ * @param subject subject line
+ * @param body plain text or pre-rendered HTML body
+ * @param html whether the body is HTML
+ */
+public record EmailEvent(
+    String notificationId,
+    String to,
+    String subject,
+    String body,
+    boolean html
+) {
+    public EmailEvent {
+        if (to == null || to.isBlank()) {
+            throw new IllegalArgumentException("Recipient cannot be empty");
+        }
+        if (subject == null) {
+            subject = "";
+        }
+        if (body == null) {
+            body = "";
+        }
+    }
+
+    public static EmailEvent text(String notificationId, String to, String subject, String body) {
+        return new EmailEvent(notificationId, to, subject, body, false);
+    }
+
+    public static EmailEvent html(String notificationId, String to, String subject, String body) {
+        return new EmailEvent(notificationId, to, subject, body, true);
+    }
+
+    /**
+     * Lower-cased domain of the recipient, used for per-domain rate limiting
+     */
+    public String recipientDomain() {
+        int at = to.lastIndexOf('@');
+        return at >= 0 ? to.substring(at + 1).trim().toLowerCase() : "";
+    }
+}
@@ -71,6 +71,8 @@ public class Notification {
 
     /**
      * Create a new notification
+     * The id is assigned here, before the notification is published, so a redelivered message is
+     * stored once
      */
     public static Notification create(UUID userId, NotificationType type, NotificationChannel channel,
                                      String title, String message, NotificationPriority priority) {
@@ -79,7 +81,7 @@ public class Notification {
         validateMessage(message);
 
         return new Notification(
-            null,
+            UUID.randomUUID(),
             userId,
             type,
             channel,
@@ -109,6 +111,18 @@ public class Notification {
                               read, createdAt, readAt);
     }
 
+    /**
+     * Rebuild a notification from its serialized form (e.g. a Kafka message)
+     * The ID is null only for messages published before ids were assigned on creation
+     */
+    public static Notification restore(UUID id, UUID userId, NotificationType type, NotificationChannel channel,
+                                       String title, String message, NotificationPriority priority,
+                                       boolean read, LocalDateTime createdAt, LocalDateTime readAt) {
+        validateUserId(userId);
+        return new Notification(id, userId, type, channel, title, message, priority,
+                              read, createdAt, readAt);
+    }
+
     /**
      * Mark notification as read
      */
@@ -0,0 +1,29 @@
+package com.example.demo;
+
+import com.example.demo.config.WebSocketConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The application context loads in the default MOCK web environment, without a servlet container
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Application Context Tests")
+class DemoApplicationTests {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    @DisplayName("Should load the context without an embedded servlet container")
+    void contextLoads() {
+        assertNotNull(context.getBean(WebSocketConfig.class));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.adapter.in.web.notification;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the notification WebSocket frame encoding
+ */
+@DisplayName("NotificationFrameCodec Tests")
+class NotificationFrameCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip known events with a one-byte kind")
+    void shouldRoundTripKnownEvent() {
+        byte[] bytes = NotificationFrameCodec.encodeServerFrame(7, 1_734_000_000_000_001L, "unread-count", "{\"unreadCount\":3}");
+
+        NotificationFrameCodec.ServerFrame frame = NotificationFrameCodec.decodeServerFrame(ByteBuffer.wrap(bytes));
+
+        assertEquals(new NotificationFrameCodec.ServerFrame(7, 1_734_000_000_000_001L, "unread-count", "{\"unreadCount\":3}"), frame);
+        assertEquals(NotificationFrameCodec.UNREAD_COUNT, bytes[0]);
+    }
+
+    @Test
+    @DisplayName("Should carry the name of events without a kind")
+    void shouldRoundTripNamedEvent() {
+        byte[] bytes = NotificationFrameCodec.encodeServerFrame(1, 0, "balance", "{\"balance\":\"12.50\"}");
+
+        NotificationFrameCodec.ServerFrame frame = NotificationFrameCodec.decodeServerFrame(ByteBuffer.wrap(bytes));
+
+        assertEquals("balance", frame.event());
+        assertEquals("{\"balance\":\"12.50\"}", frame.data());
+        assertEquals(0, frame.eventId());
+    }
+
+    @Test
+    @DisplayName("Should decode client hello and ack frames and reject unknown ones")
+    void shouldDecodeClientFrames() {
+        NotificationFrameCodec.ClientFrame hello = NotificationFrameCodec.decodeClientFrame(
+                ByteBuffer.wrap(NotificationFrameCodec.encodeHello(42, "header.payload.signature")));
+        NotificationFrameCodec.ClientFrame ack = NotificationFrameCodec.decodeClientFrame(
+                ByteBuffer.wrap(NotificationFrameCodec.encodeAck(300)));
+
+        assertEquals(new NotificationFrameCodec.ClientFrame(NotificationFrameCodec.HELLO, 42, "header.payload.signature"), hello);
+        assertEquals(new NotificationFrameCodec.ClientFrame(NotificationFrameCodec.ACK, 300, null), ack);
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationFrameCodec.decodeClientFrame(ByteBuffer.wrap(new byte[]{0x7F, 1})));
+        assertThrows(IllegalArgumentException.class,
+                () -> NotificationFrameCodec.decodeClientFrame(ByteBuffer.wrap(new byte[]{NotificationFrameCodec.ACK})));
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.demo.adapter.out.journal.audit;
+
+import com.example.demo.adapter.out.journal.FsyncPolicy;
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.domain.AuditLog;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the hash-chained audit journal
+ */
+@DisplayName("AuditJournal Tests")
+class AuditJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+
+    @TempDir
+    Path directory;
+
+    private AuditJournal journal;
+
+    @BeforeEach
+    void setUp() {
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should round-trip audit records and assign sequences")
+    void shouldRoundTripAuditRecords() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        journal.append(auditLog(1L, now, "first"));
+        journal.append(auditLog(null, now, null));
+
+        List<AuditLog> logs = journal.readRange(now.minusMinutes(1), now.plusMinutes(1));
+
+        assertEquals(2, logs.size());
+        assertEquals(1L, logs.get(0).getUserId());
+        assertEquals("first", logs.get(0).getDetails());
+        assertEquals(AuditLog.AuditAction.TRANSACTION_DEPOSIT, logs.get(0).getAction());
+        assertEquals(now, logs.get(0).getTimestamp());
+        assertNull(logs.get(1).getUserId());
+        assertNull(logs.get(1).getDetails());
+        assertEquals(2, journal.lastSequence());
+    }
+
+    @Test
+    @DisplayName("Should roll segments and only return records inside the range")
+    void shouldRollSegmentsAndFilterByRange() {
+        LocalDateTime start = LocalDateTime.now().minusHours(1).withNano(0);
+        for (int i = 0; i < 200; i++) {
+            journal.append(auditLog((long) i, start.plusSeconds(i * 10L), "record-" + i));
+        }
+
+        assertFalse(journal.sealedSegmentIds().isEmpty());
+
+        List<AuditLog> logs = journal.readRange(start.plusSeconds(500), start.plusSeconds(990));
+        assertEquals(50, logs.size());
+        assertEquals(50L, logs.get(0).getUserId());
+        assertEquals(99L, logs.get(49).getUserId());
+    }
+
+    @Test
+    @DisplayName("Should recover sequence and chain after reopening")
+    void shouldRecoverAfterReopen() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 50; i++) {
+            journal.append(auditLog((long) i, now, "record-" + i));
+        }
+        byte[] lastHash = journal.lastHash();
+        journal.close();
+
+        journal = open();
+
+        assertEquals(50, journal.lastSequence());
+        assertArrayEquals(lastHash, journal.lastHash());
+        journal.append(auditLog(51L, now, "after-reopen"));
+        assertTrue(journal.verify().valid());
+    }
+
+    @Test
+    @DisplayName("Should detect tampering with a journaled record")
+    void shouldDetectTampering() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            journal.append(auditLog((long) i, now, "record-" + i));
+        }
+        journal.flush();
+        assertTrue(journal.verify().valid());
+
+        // Rewrite the first record's timestamp together with a matching CRC, as an attacker would
+        List<AuditJournal.Entry> entries = journal.readSegment(1);
+        assertEquals(5, entries.size());
+        Path segment = directory.resolve(String.format("audit-%020d.seg", 1));
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int offset = SegmentedJournal.HEADER_SIZE;
+            ByteBuffer header = ByteBuffer.allocate(SegmentedJournal.RECORD_OVERHEAD);
+            channel.read(header, offset);
+            int length = header.getInt(0);
+
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, offset + SegmentedJournal.RECORD_OVERHEAD);
+            payload.putLong(8, payload.getLong(8) + 1);
+
+            CRC32C crc = new CRC32C();
+            crc.update(payload.array(), 0, length);
+            channel.write(ByteBuffer.allocate(4).putInt(0, (int) crc.getValue()), offset + 4);
+            channel.write(payload.rewind(), offset + SegmentedJournal.RECORD_OVERHEAD);
+        }
+
+        AuditJournal.VerificationResult result = journal.verify();
+        assertFalse(result.valid());
+        assertEquals(1, result.firstBrokenSequence());
+    }
+
+    @Test
+    @DisplayName("Should continue the chain from the checkpoint after every segment was shipped")
+    void shouldContinueChainAfterShipAndRestart() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 100; i++) {
+            journal.append(auditLog((long) i, now, "record-" + i));
+        }
+        journal.rollIfOlderThan(0);
+        byte[] lastHash = journal.lastHash();
+        for (long segmentId : journal.sealedSegmentIds()) {
+            journal.archive(segmentId, directory.resolve("archive"));
+        }
+        journal.close();
+
+        journal = open();
+
+        assertEquals(100, journal.lastSequence());
+        assertArrayEquals(lastHash, journal.lastHash());
+        assertEquals(101, journal.append(auditLog(101L, now, "after-restart")));
+        AuditJournal.VerificationResult result = journal.verify();
+        assertTrue(result.valid());
+        assertEquals(1, result.recordsChecked());
+    }
+
+    @Test
+    @DisplayName("Should detect removal of the oldest retained segment")
+    void shouldDetectRemovedOldestSegment() throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 200; i++) {
+            journal.append(auditLog((long) i, now, "record-" + i));
+        }
+        List<Long> sealed = journal.sealedSegmentIds();
+        assertTrue(sealed.size() >= 3);
+        journal.archive(sealed.get(0), directory.resolve("archive"));
+        assertTrue(journal.verify().valid());
+
+        long firstKept = journal.readSegment(sealed.get(2)).get(0).sequence();
+        journal.close();
+        Files.delete(directory.resolve(String.format("audit-%020d.seg", sealed.get(1))));
+
+        journal = open();
+
+        AuditJournal.VerificationResult result = journal.verify();
+        assertFalse(result.valid());
+        assertEquals(firstKept, result.firstBrokenSequence());
+    }
+
+    private AuditJournal open() {
+        SegmentedJournal segmented = new SegmentedJournal(directory, "audit", SEGMENT_SIZE, FsyncPolicy.NONE, 0);
+        return new AuditJournal(segmented, 4);
+    }
+
+    private static AuditLog auditLog(Long userId, LocalDateTime timestamp, String details) {
+        return AuditLog.builder()
+                .action(AuditLog.AuditAction.TRANSACTION_DEPOSIT)
+                .status(AuditLog.AuditStatus.SUCCESS)
+                .userId(userId)
+                .username(userId != null ? "user" + userId : null)
+                .entityType("Account")
+                .entityId("ACC001")
+                .details(details)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo.adapter.out.journal.spill;
+
+import com.example.demo.adapter.out.journal.FsyncPolicy;
+import com.example.demo.adapter.out.journal.SegmentedJournal;
+import com.example.demo.domain.notification.Notification;
+import com.example.demo.domain.notification.Notification.NotificationChannel;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.example.demo.domain.notification.Notification.NotificationType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the notification spill journal
+ */
+@DisplayName("NotificationSpillJournal Tests")
+class NotificationSpillJournalTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final int MAX_SEGMENTS = 4;
+
+    @TempDir
+    Path directory;
+
+    private NotificationSpillJournal journal;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        journal = open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Should read spilled notifications in order without moving the cursor")
+    void shouldReadInOrder() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(journal.append(notification(i)));
+        }
+
+        NotificationSpillJournal.Batch first = journal.read(3);
+        NotificationSpillJournal.Batch again = journal.read(3);
+
+        assertEquals(3, first.records());
+        assertEquals("N0", first.notifications().get(0).getTitle());
+        assertEquals("N2", first.notifications().get(2).getTitle());
+        assertEquals(first.next(), again.next());
+        assertEquals(5, journal.pending());
+
+        journal.commit(first);
+        assertEquals(2, journal.pending());
+        assertEquals("N3", journal.read(10).notifications().get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should resume from the committed cursor after a restart")
+    void shouldResumeAfterRestart() {
+        for (int i = 0; i < 10; i++) {
+            journal.append(notification(i));
+        }
+        journal.commit(journal.read(4));
+        journal.close();
+
+        journal = open();
+
+        assertEquals(6, journal.pending());
+        NotificationSpillJournal.Batch batch = journal.read(100);
+        assertEquals(6, batch.notifications().size());
+        assertEquals("N4", batch.notifications().get(0).getTitle());
+        assertEquals("N9", batch.notifications().get(5).getTitle());
+    }
+
+    @Test
+    @DisplayName("Should reject appends once full and free segments as they drain")
+    void shouldBoundJournalAndDeleteDrainedSegments() {
+        int appended = 0;
+        while (journal.append(notification(appended))) {
+            appended++;
+        }
+        assertEquals(MAX_SEGMENTS, journal.segmentCount());
+        assertEquals(appended, journal.pending());
+
+        int next = 0;
+        for (NotificationSpillJournal.Batch batch = journal.read(7); !batch.isEmpty(); batch = journal.read(7)) {
+            for (Notification notification : batch.notifications()) {
+                assertEquals("N" + next++, notification.getTitle());
+            }
+            journal.commit(batch);
+        }
+
+        assertEquals(appended, next);
+        assertEquals(0, journal.pending());
+        assertEquals(1, journal.segmentCount());
+        assertTrue(journal.append(notification(appended)));
+    }
+
+    private NotificationSpillJournal open() {
+        SegmentedJournal segmented = new SegmentedJournal(directory, "notification-spill", SEGMENT_SIZE, FsyncPolicy.NONE, 0);
+        return new NotificationSpillJournal(segmented, SEGMENT_SIZE, MAX_SEGMENTS);
+    }
+
+    private Notification notification(int i) {
+        return Notification.create(userId, NotificationType.TRANSACTION_COMPLETED, NotificationChannel.IN_APP,
+                "N" + i, "Spilled notification number " + i, NotificationPriority.LOW);
+    }
+}
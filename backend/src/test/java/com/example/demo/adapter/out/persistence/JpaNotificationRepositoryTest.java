@@ -0,0 +1,85 @@
+package com.example.demo.adapter.out.persistence;
+
+import com.example.demo.adapter.out.persistence.mapper.NotificationMapperImpl;
+import com.example.demo.domain.notification.Notification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Persistence tests for notifications redelivered by Kafka
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import({JpaNotificationRepository.class, NotificationMapperImpl.class})
+@DisplayName("JpaNotificationRepository Tests")
+class JpaNotificationRepositoryTest {
+
+    @Autowired
+    private JpaNotificationRepository repository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID otherUserId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should store one row per notification when the same batch is saved twice")
+    void shouldNotDuplicateRedeliveredBatch() {
+        List<Notification> batch = List.of(
+                notification(userId, "Deposit Completed"),
+                notification(userId, "Withdrawal Completed"),
+                notification(otherUserId, "Transfer Completed"));
+
+        List<Notification> first = repository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+        List<Notification> second = repository.saveAll(batch);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(3, first.size());
+        assertEquals(3, second.size());
+        assertEquals(3, repository.findAll().size());
+        for (Notification notification : batch) {
+            assertTrue(repository.findById(notification.getId()).isPresent());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the stored state of a notification that is redelivered after being read")
+    void shouldNotOverwriteOnRedelivery() {
+        Notification notification = notification(userId, "Deposit Completed");
+        repository.save(notification);
+        repository.update(notification.markAsRead());
+        entityManager.flush();
+        entityManager.clear();
+
+        Notification redelivered = repository.save(notification);
+        entityManager.flush();
+
+        assertTrue(redelivered.isRead());
+        assertEquals(0, repository.countUnreadByUserId(userId));
+        assertEquals(1, repository.findAll().size());
+    }
+
+    private static Notification notification(UUID userId, String title) {
+        return Notification.create(userId,
+                Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP,
+                title, "Your transaction has been completed",
+                Notification.NotificationPriority.LOW);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.demo.application.mail;
+
+import com.example.demo.application.messaging.RetryTierRouter;
+import com.example.demo.domain.notification.EmailEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.net.ServerSocket;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests for MailDispatcher against an in-process SMTP server (GreenMail)
+ */
+@DisplayName("MailDispatcher Tests")
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, String> kafkaTemplate = mock(KafkaTemplate.class);
+    private MailDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should deliver queued emails in batches")
+    void shouldDeliverQueuedEmailsInBatches() throws Exception {
+        dispatcher = dispatcher(ServerSetupTest.SMTP.getPort(), 1000, "", 3);
+        dispatcher.start();
+
+        for (int i = 0; i < 30; i++) {
+            String domain = i % 2 == 0 ? "example.com" : "example.org";
+            assertTrue(dispatcher.submit(EmailEvent.text("n" + i, "user" + i + "@" + domain, "Subject " + i, "Body " + i)));
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 30));
+        assertEquals(30, greenMail.getReceivedMessages().length);
+        // The server sees the last batch before send() returns and the counter moves
+        await(() -> meterRegistry.get("emails.sent").counter().count() == 30);
+        // 30 messages went out over fewer SMTP connections than messages
+        assertTrue(meterRegistry.get("email.dispatch.batch.size").summary().count() < 30);
+    }
+
+    @Test
+    @DisplayName("Should defer emails over the per-domain rate limit")
+    void shouldDeferEmailsOverDomainRateLimit() {
+        dispatcher = dispatcher(ServerSetupTest.SMTP.getPort(), 1000, "slow.example=4", 3);
+        dispatcher.start();
+
+        for (int i = 0; i < 8; i++) {
+            dispatcher.submit(EmailEvent.text(null, "user" + i + "@slow.example", "Subject", "Body"));
+        }
+
+        assertTrue(greenMail.waitForIncomingEmail(10_000, 8));
+        assertTrue(meterRegistry.get("email.dispatch.deferred").counter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("Should retry with backoff, give up after max attempts and send the email to the DLT")
+    void shouldRetryAndGiveUp() throws Exception {
+        dispatcher = dispatcher(closedPort(), 1000, "", 3);
+        dispatcher.start();
+
+        dispatcher.submit(EmailEvent.text(null, "user@example.com", "Subject", "Body"));
+
+        await(() -> meterRegistry.get("emails.failed").counter().count() >= 1);
+        assertEquals(1, meterRegistry.get("emails.failed").counter().count());
+        assertEquals(2, meterRegistry.get("email.dispatch.retried").counter().count());
+        assertEquals(0, dispatcher.queueDepth());
+
+        ProducerRecord<String, String> deadLetter = republished();
+        assertEquals("email-events-dlt", deadLetter.topic());
+        assertEquals("user@example.com", deadLetter.key());
+        assertNotNull(deadLetter.headers().lastHeader(RetryTierRouter.FAILURE_REASON_HEADER));
+    }
+
+    @Test
+    @DisplayName("Should hand emails that fail the shutdown flush to the first retry tier")
+    void shouldRepublishShutdownFailuresToRetryTier() throws Exception {
+        dispatcher = dispatcher(closedPort(), 1000, "", 100);
+        dispatcher.start();
+
+        dispatcher.submit(EmailEvent.text("n1", "user@example.com", "Subject", "Body"));
+        await(() -> meterRegistry.get("email.dispatch.retried").counter().count() >= 1);
+        dispatcher.stop();
+        dispatcher = null;
+
+        ProducerRecord<String, String> retry = republished();
+        assertEquals("email-events-retry-0", retry.topic());
+        assertNotNull(retry.headers().lastHeader(RetryTierRouter.DUE_AT_HEADER));
+        assertTrue(retry.value().contains("\"notificationId\":\"n1\""));
+        assertEquals(0, meterRegistry.get("emails.failed").counter().count());
+    }
+
+    private MailDispatcher dispatcher(int port, double domainRate, String domainRates, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(port);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        return new MailDispatcher(mailSender, kafkaTemplate, RetryTierRouter.ofMillis("5000,30000"),
+                new ObjectMapper(), meterRegistry, "noreply@virtualbank.com",
+                10, 50, 1000, maxAttempts, 20, domainRate, domainRates);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProducerRecord<String, String> republished() {
+        ArgumentCaptor<ProducerRecord<String, String>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, timeout(5_000)).send(record.capture());
+        return record.getValue();
+    }
+
+    private static int closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(condition.getAsBoolean());
+    }
+}
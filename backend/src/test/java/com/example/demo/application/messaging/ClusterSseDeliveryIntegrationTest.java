@@ -0,0 +1,153 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.application.service.SseEmitterService;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Two backend nodes sharing an embedded broker: a push processed on one node reaches the SSE
+ * connection held by the other
+ */
+@EmbeddedKafka(partitions = 1, topics = {KafkaConfig.SSE_PRESENCE_TOPIC, KafkaConfig.SSE_DELIVERY_TOPIC})
+@DisplayName("ClusterSseDelivery Integration Tests")
+class ClusterSseDeliveryIntegrationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final UUID userId = UUID.randomUUID();
+
+    private SseEmitterService sseOnA;
+    private SseEmitterService sseOnB;
+    private ClusterSseDelivery nodeA;
+    private ClusterSseDelivery nodeB;
+
+    @BeforeEach
+    void setUp(EmbeddedKafkaBroker broker) {
+        sseOnA = mock(SseEmitterService.class);
+        sseOnB = mock(SseEmitterService.class);
+        // The user's browser is connected to node A only
+        when(sseOnA.isTracked(userId)).thenReturn(true);
+        when(sseOnA.getTrackedUserIds()).thenReturn(Set.of(userId));
+        when(sseOnB.getTrackedUserIds()).thenReturn(Set.of());
+
+        nodeA = node("node-a", sseOnA, broker);
+        nodeB = node("node-b", sseOnB, broker);
+        nodeA.start();
+        nodeB.start();
+        nodeA.userConnected(userId);
+        await(() -> nodeA.isAssigned() && nodeB.isAssigned());
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.stop();
+        nodeB.stop();
+    }
+
+    @Test
+    @DisplayName("Should relay a push from the consuming node to the node holding the connection")
+    void shouldRelayToConnectedNode() {
+        await(() -> nodeB.isConnected(userId));
+        Notification notification = Notification.create(userId,
+                Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP,
+                "Deposit Completed", "Your deposit has been completed",
+                Notification.NotificationPriority.LOW);
+
+        nodeB.deliver(userId, List.of(notification), 4);
+
+        verify(sseOnA, timeout(TIMEOUT.toMillis())).sendUnreadCountToUser(userId, 4);
+        verify(sseOnA).sendNotificationToUser(eq(userId), argThat(n -> "Deposit Completed".equals(n.getTitle())));
+        verify(sseOnB, never()).sendNotificationToUser(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should relay a single event to the node holding the connection")
+    void shouldRelayEventToConnectedNode() {
+        await(() -> nodeB.isConnected(userId));
+        String data = "{\"accountId\":\"" + UUID.randomUUID() + "\",\"balance\":150.00}";
+
+        nodeB.push(userId, "balance", data);
+
+        verify(sseOnA, timeout(TIMEOUT.toMillis())).sendEventToUser(userId, "balance", data);
+        verify(sseOnB, never()).sendEventToUser(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should stop relaying once the node holding the connection leaves")
+    void shouldForgetNodeThatLeft() {
+        await(() -> nodeB.isConnected(userId));
+
+        nodeA.stop();
+
+        await(() -> !nodeB.isConnected(userId));
+        assertFalse(nodeB.isConnected(userId));
+    }
+
+    @Test
+    @DisplayName("Should send a broadcast to every node once")
+    void shouldBroadcastToAllNodes() {
+        String data = "{\"title\":\"Scheduled maintenance\"}";
+
+        nodeB.broadcast("announcement", data);
+
+        verify(sseOnB).broadcast(eq("announcement"), eq(data), any());
+        verify(sseOnA, timeout(TIMEOUT.toMillis())).broadcast(eq("announcement"), eq(data), any());
+        verify(sseOnB, after(500).times(1)).broadcast(any(), any(), any());
+    }
+
+    private ClusterSseDelivery node(String nodeId, SseEmitterService localSse, EmbeddedKafkaBroker broker) {
+        KafkaTemplate<String, String> template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)));
+        DefaultKafkaConsumerFactory<String, String> consumerFactory = new DefaultKafkaConsumerFactory<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false));
+        return new ClusterSseDelivery(localSse, template, consumerFactory, objectMapper, new SimpleMeterRegistry(),
+                true, nodeId, 30_000);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within " + TIMEOUT);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("interrupted");
+            }
+        }
+    }
+}
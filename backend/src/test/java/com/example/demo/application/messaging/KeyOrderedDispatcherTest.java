@@ -0,0 +1,112 @@
+package com.example.demo.application.messaging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for KeyOrderedDispatcher
+ */
+@DisplayName("KeyOrderedDispatcher Tests")
+class KeyOrderedDispatcherTest {
+
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher(4);
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.close();
+    }
+
+    @Test
+    @DisplayName("Should keep per-key order and run different keys in parallel")
+    void shouldKeepKeyOrderAndRunKeysInParallel() {
+        List<String> records = List.of("a1", "b1", "a2", "b2", "a3");
+        CountDownLatch bothKeysRunning = new CountDownLatch(2);
+        Map<Character, List<String>> seen = new ConcurrentHashMap<>();
+
+        dispatcher.dispatch(records, record -> record.charAt(0), group -> {
+            bothKeysRunning.countDown();
+            try {
+                // Only completes if the other key is being processed at the same time
+                assertTrue(bothKeysRunning.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+            seen.put(group.get(0).charAt(0), new ArrayList<>(group));
+        });
+
+        assertEquals(List.of("a1", "a2", "a3"), seen.get('a'));
+        assertEquals(List.of("b1", "b2"), seen.get('b'));
+    }
+
+    @Test
+    @DisplayName("Should take a permit for a single-key batch run on the listener thread")
+    void shouldTakePermitForSingleKeyBatch() throws Exception {
+        KeyOrderedDispatcher single = new KeyOrderedDispatcher(1);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread listener = Thread.ofVirtual().start(() -> single.dispatch(List.of("a1", "a2"), record -> record.charAt(0),
+                group -> {
+                    running.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }));
+        try {
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            assertEquals(1, single.activeGroups());
+
+            // The only permit is held, so a batch of other keys waits for it
+            CountDownLatch otherDone = new CountDownLatch(1);
+            Thread.ofVirtual().start(() -> {
+                single.dispatch(List.of("b1", "c1"), record -> record.charAt(0), group -> { });
+                otherDone.countDown();
+            });
+            assertFalse(otherDone.await(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+            listener.join();
+        } finally {
+            release.countDown();
+            single.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should report the lowest failing index of the whole batch")
+    void shouldReportLowestFailedIndex() {
+        List<String> records = List.of("a1", "b1", "a2", "c1", "b2", "c2");
+        List<String> processed = Collections.synchronizedList(new ArrayList<>());
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class, () ->
+                dispatcher.dispatch(records, record -> record.charAt(0), group -> {
+                    for (int i = 0; i < group.size(); i++) {
+                        if (group.get(i).equals("b2") || group.get(i).equals("c1")) {
+                            throw new BatchListenerFailedException("failed " + group.get(i),
+                                    new IllegalStateException(group.get(i)), i);
+                        }
+                        processed.add(group.get(i));
+                    }
+                }));
+
+        // c1 (index 3) fails before b2 (index 4), so records 0..2 are safe to commit
+        assertEquals(3, failure.getIndex());
+        assertEquals("c1", failure.getCause().getMessage());
+        assertTrue(processed.containsAll(List.of("a1", "b1", "a2")));
+        assertFalse(processed.contains("c2"));
+    }
+}
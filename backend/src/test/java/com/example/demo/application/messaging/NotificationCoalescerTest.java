@@ -0,0 +1,107 @@
+package com.example.demo.application.messaging;
+
+import com.example.demo.domain.notification.Notification;
+import com.example.demo.domain.notification.Notification.NotificationChannel;
+import com.example.demo.domain.notification.Notification.NotificationPriority;
+import com.example.demo.domain.notification.Notification.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for NotificationCoalescer
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("NotificationCoalescer Tests")
+class NotificationCoalescerTest {
+
+    @Mock
+    private NotificationProducer notificationProducer;
+
+    private NotificationCoalescer coalescer;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new NotificationCoalescer(notificationProducer, new SimpleMeterRegistry(), true, 60_000, 20, 1000);
+    }
+
+    @Test
+    @DisplayName("Should fold a burst of low-priority notifications into one digest")
+    void shouldFoldBurstIntoDigest() {
+        for (int i = 1; i <= 12; i++) {
+            coalescer.submit(transaction("Deposit Successful", "$" + i + " deposited", NotificationPriority.LOW));
+        }
+        verifyNoInteractions(notificationProducer);
+
+        coalescer.flushAll();
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationProducer, times(1)).sendNotification(captor.capture());
+        Notification digest = captor.getValue();
+        assertEquals("12 transactions completed", digest.getTitle());
+        assertEquals(userId, digest.getUserId());
+        assertEquals(NotificationType.TRANSACTION_COMPLETED, digest.getType());
+        assertTrue(digest.getMessage().startsWith("Deposit Successful: $12 deposited"));
+        assertTrue(digest.getMessage().endsWith("... and 2 more"));
+    }
+
+    @Test
+    @DisplayName("Should send HIGH and URGENT notifications without delay")
+    void shouldBypassWindowForHighPriority() {
+        Notification urgent = transaction("Transfer Failed", "Insufficient funds", NotificationPriority.URGENT);
+
+        coalescer.submit(urgent);
+
+        verify(notificationProducer).sendNotification(urgent);
+    }
+
+    @Test
+    @DisplayName("Should route security alerts to the urgent lane without delay")
+    void shouldBypassWindowForSecurityAlerts() {
+        Notification loginAlert = Notification.create(userId, NotificationType.SECURITY_ALERT, NotificationChannel.IN_APP,
+                "New Login Detected", "Your account was accessed from IP: 10.0.0.1", NotificationPriority.MEDIUM);
+
+        coalescer.submit(loginAlert);
+
+        assertEquals(NotificationLane.URGENT, NotificationLane.of(loginAlert));
+        verify(notificationProducer).sendNotification(loginAlert);
+    }
+
+    @Test
+    @DisplayName("Should publish a full window immediately and keep the highest priority")
+    void shouldPublishFullWindowImmediately() {
+        List<Notification> burst = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            burst.add(transaction("Withdrawal Successful", "$" + i + " withdrawn",
+                    i == 5 ? NotificationPriority.MEDIUM : NotificationPriority.LOW));
+        }
+        burst.forEach(coalescer::submit);
+
+        ArgumentCaptor<Notification> captor = ArgumentCaptor.forClass(Notification.class);
+        verify(notificationProducer).sendNotification(captor.capture());
+        assertEquals("20 transactions completed", captor.getValue().getTitle());
+        assertEquals(NotificationPriority.MEDIUM, captor.getValue().getPriority());
+
+        coalescer.flushAll();
+        verify(notificationProducer, times(1)).sendNotification(any());
+    }
+
+    private Notification transaction(String title, String message, NotificationPriority priority) {
+        return Notification.create(userId, NotificationType.TRANSACTION_COMPLETED, NotificationChannel.IN_APP,
+                title, message, priority);
+    }
+}
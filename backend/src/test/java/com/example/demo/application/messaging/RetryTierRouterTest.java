@@ -0,0 +1,82 @@
+package com.example.demo.application.messaging;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for retry tier and dead-letter routing
+ */
+@DisplayName("RetryTierRouter Tests")
+class RetryTierRouterTest {
+
+    private final RetryTierRouter router = RetryTierRouter.ofMillis("1000, 60000");
+
+    @Test
+    @DisplayName("Should walk a failing record through every tier and then to the DLT")
+    void shouldWalkTiersThenDeadLetter() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("email-events", 0, 10L, "key", "value");
+        RuntimeException failure = new IllegalStateException("queue full");
+
+        assertEquals(new TopicPartition("email-events-retry-0", -1), router.resolve(record, failure));
+
+        ConsumerRecord<String, String> tier0 = forward(record, failure, "email-events-retry-0");
+        assertEquals(1, RetryTierRouter.attempt(tier0));
+        assertEquals("email-events", RetryTierRouter.sourceTopic(tier0));
+        assertEquals(new TopicPartition("email-events-retry-1", -1), router.resolve(tier0, failure));
+
+        ConsumerRecord<String, String> tier1 = forward(tier0, failure, "email-events-retry-1");
+        assertEquals(2, RetryTierRouter.attempt(tier1));
+        assertEquals("email-events", RetryTierRouter.sourceTopic(tier1));
+        assertEquals(new TopicPartition("email-events-dlt", -1), router.resolve(tier1, failure));
+    }
+
+    @Test
+    @DisplayName("Should send non-retryable failures straight to the DLT")
+    void shouldSendNonRetryableFailuresToDeadLetter() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("notification-events", 1, 5L, "key", "value");
+        RuntimeException failure = new RuntimeException("listener failed", new SerializationException("bad bytes"));
+
+        assertEquals(new TopicPartition("notification-events-dlt", -1), router.resolve(record, failure));
+        Headers headers = router.headers(record, failure);
+        assertNull(headers.lastHeader(RetryTierRouter.DUE_AT_HEADER));
+        assertEquals("org.apache.kafka.common.errors.SerializationException: bad bytes",
+                new String(headers.lastHeader(RetryTierRouter.FAILURE_REASON_HEADER).value()));
+    }
+
+    @Test
+    @DisplayName("Should hold a retry record until its tier delay has elapsed")
+    void shouldHoldRecordUntilDue() {
+        ConsumerRecord<String, String> record = new ConsumerRecord<>("email-events", 0, 0L, "key", "value");
+
+        ConsumerRecord<String, String> tier1 = forward(forward(record, new IllegalStateException(), "email-events-retry-0"),
+                new IllegalStateException(), "email-events-retry-1");
+
+        Duration remaining = RetryTierRouter.remainingDelay(tier1);
+        assertTrue(remaining.compareTo(Duration.ofSeconds(50)) > 0);
+        assertTrue(remaining.compareTo(Duration.ofSeconds(60)) <= 0);
+        assertEquals(Duration.ZERO, RetryTierRouter.remainingDelay(record));
+    }
+
+    /**
+     * Simulate the recoverer: copy the record's headers and append the routing headers
+     */
+    private ConsumerRecord<String, String> forward(ConsumerRecord<String, String> record, Exception failure, String topic) {
+        ConsumerRecord<String, String> forwarded = new ConsumerRecord<>(topic, 0, 0L, record.key(), record.value());
+        for (Header header : record.headers()) {
+            forwarded.headers().add(header);
+        }
+        for (Header header : router.headers(record, failure)) {
+            forwarded.headers().add(header);
+        }
+        return forwarded;
+    }
+}
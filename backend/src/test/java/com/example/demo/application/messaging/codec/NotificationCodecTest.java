@@ -0,0 +1,123 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.notification.Notification;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary Notification serializer and deserializer
+ */
+@DisplayName("Notification Codec Tests")
+class NotificationCodecTest {
+
+    private static final String TOPIC = "notification-events";
+
+    private final NotificationDeserializer deserializer = new NotificationDeserializer();
+
+    @Test
+    @DisplayName("Should round-trip a persisted notification in binary format")
+    void shouldRoundTripPersistedNotification() {
+        Notification notification = Notification.of(
+                UUID.randomUUID(), UUID.randomUUID(),
+                Notification.NotificationType.SECURITY_ALERT,
+                Notification.NotificationChannel.BOTH,
+                "New Login Detected", "Zürich • 10.0.0.1",
+                Notification.NotificationPriority.URGENT,
+                true, LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123456789), LocalDateTime.of(2024, 5, 2, 8, 0));
+
+        byte[] payload = binarySerializer().serialize(TOPIC, notification);
+        Notification decoded = deserializer.deserialize(TOPIC, payload);
+
+        assertEquals(NotificationBinaryCodec.MAGIC, payload[0]);
+        assertNotificationEquals(notification, decoded);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a notification without ID")
+    void shouldRoundTripNewNotification() {
+        // Published before ids were assigned on creation
+        Notification notification = Notification.restore(null, UUID.randomUUID(),
+                Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP,
+                "Deposit Completed", "Your deposit has been completed",
+                Notification.NotificationPriority.LOW, false, LocalDateTime.now(), null);
+
+        Notification decoded = deserializer.deserialize(TOPIC, binarySerializer().serialize(TOPIC, notification));
+
+        assertNull(decoded.getId());
+        assertNull(decoded.getReadAt());
+        assertNotificationEquals(notification, decoded);
+    }
+
+    @Test
+    @DisplayName("Should read JSON messages produced before the binary format")
+    void shouldReadLegacyJsonMessages() {
+        Notification notification = Notification.create(UUID.randomUUID(),
+                Notification.NotificationType.ACCOUNT_CREATED,
+                Notification.NotificationChannel.EMAIL,
+                "Welcome", "Your account is ready",
+                Notification.NotificationPriority.MEDIUM);
+
+        byte[] json = new JsonSerializer<Notification>().serialize(TOPIC, notification);
+        Notification decoded = deserializer.deserialize(TOPIC, json);
+
+        assertNotificationEquals(notification, decoded);
+    }
+
+    @Test
+    @DisplayName("Should be smaller than the JSON encoding")
+    void shouldBeSmallerThanJson() {
+        Notification notification = Notification.create(UUID.randomUUID(),
+                Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP,
+                "Withdrawal Completed", "Your withdrawal has been completed",
+                Notification.NotificationPriority.LOW);
+
+        byte[] binary = binarySerializer().serialize(TOPIC, notification);
+        byte[] json = new JsonSerializer<Notification>().serialize(TOPIC, notification);
+
+        assertTrue(binary.length * 2 < json.length, "binary=" + binary.length + " json=" + json.length);
+    }
+
+    @Test
+    @DisplayName("Should reject unknown formats and truncated messages")
+    void shouldRejectInvalidPayloads() {
+        byte[] payload = binarySerializer().serialize(TOPIC, Notification.create(UUID.randomUUID(),
+                Notification.NotificationType.SYSTEM_ANNOUNCEMENT,
+                Notification.NotificationChannel.IN_APP,
+                "Maintenance", "Scheduled maintenance tonight",
+                Notification.NotificationPriority.MEDIUM));
+        byte[] truncated = new byte[payload.length / 2];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, new byte[]{0x01, 0x02}));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(TOPIC, truncated));
+    }
+
+    private static NotificationSerializer binarySerializer() {
+        NotificationSerializer serializer = new NotificationSerializer();
+        serializer.configure(Map.of(), false);
+        return serializer;
+    }
+
+    private static void assertNotificationEquals(Notification expected, Notification actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getUserId(), actual.getUserId());
+        assertEquals(expected.getType(), actual.getType());
+        assertEquals(expected.getChannel(), actual.getChannel());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getMessage(), actual.getMessage());
+        assertEquals(expected.getPriority(), actual.getPriority());
+        assertEquals(expected.isRead(), actual.isRead());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getReadAt(), actual.getReadAt());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.application.messaging.codec;
+
+import com.example.demo.domain.AccountBalance;
+import com.example.demo.domain.Transaction.TransactionType;
+import com.example.demo.domain.TransactionEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary ledger event encoding
+ */
+@DisplayName("TransactionEvent Codec Tests")
+class TransactionEventCodecTest {
+
+    @Test
+    @DisplayName("Should round-trip a transfer with category and related account")
+    void shouldRoundTripTransfer() {
+        TransactionEvent event = new TransactionEvent(UUID.randomUUID(), UUID.randomUUID(),
+                TransactionType.TRANSFER_OUT, UUID.randomUUID(), new BigDecimal("1250.75"),
+                new BigDecimal("-310.20"), UUID.randomUUID(), Instant.parse("2026-03-02T12:30:15.123456789Z"));
+
+        byte[] payload = TransactionEventCodec.encode(event);
+
+        assertEquals(TransactionEventCodec.EVENT_MAGIC, payload[0]);
+        assertEquals(event, TransactionEventCodec.decodeEvent(payload));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a deposit without optional fields in a compact payload")
+    void shouldRoundTripDepositWithoutOptionalFields() {
+        TransactionEvent event = new TransactionEvent(UUID.randomUUID(), UUID.randomUUID(),
+                TransactionType.DEPOSIT, null, new BigDecimal("1E+3"), new BigDecimal("0.00"), null,
+                Instant.parse("1969-12-31T23:59:59Z"));
+
+        byte[] payload = TransactionEventCodec.encode(event);
+        TransactionEvent decoded = TransactionEventCodec.decodeEvent(payload);
+
+        assertEquals(event, decoded);
+        assertEquals(-3, decoded.amount().scale());
+        assertTrue(payload.length < 50, "payload was " + payload.length + " bytes");
+    }
+
+    @Test
+    @DisplayName("Should round-trip an account balance")
+    void shouldRoundTripAccountBalance() {
+        AccountBalance balance = new AccountBalance(UUID.randomUUID(), new BigDecimal("98765432109876543210.99"),
+                UUID.randomUUID(), Instant.parse("2026-03-02T12:00:00Z"));
+
+        byte[] payload = TransactionEventCodec.encode(balance);
+
+        assertEquals(TransactionEventCodec.BALANCE_MAGIC, payload[0]);
+        assertEquals(balance, TransactionEventCodec.decodeBalance(payload));
+    }
+
+    @Test
+    @DisplayName("Should reject foreign, truncated and unknown payloads")
+    void shouldRejectInvalidPayloads() {
+        TransactionEvent event = new TransactionEvent(UUID.randomUUID(), UUID.randomUUID(),
+                TransactionType.WITHDRAWAL, null, BigDecimal.TEN, BigDecimal.ONE, null, Instant.now());
+        byte[] payload = TransactionEventCodec.encode(event);
+
+        assertThrows(IllegalArgumentException.class, () -> TransactionEventCodec.decodeBalance(payload));
+        assertThrows(IllegalArgumentException.class,
+                () -> TransactionEventCodec.decodeEvent(Arrays.copyOf(payload, payload.length - 4)));
+
+        byte[] unknownType = payload.clone();
+        unknownType[35] = 99;
+        assertThrows(IllegalArgumentException.class, () -> TransactionEventCodec.decodeEvent(unknownType));
+    }
+}
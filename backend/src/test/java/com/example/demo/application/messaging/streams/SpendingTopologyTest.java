@@ -0,0 +1,127 @@
+package com.example.demo.application.messaging.streams;
+
+import com.example.demo.application.messaging.codec.TransactionEventCodec;
+import com.example.demo.config.KafkaConfig;
+import com.example.demo.domain.SpendingSummary;
+import com.example.demo.domain.Transaction.TransactionType;
+import com.example.demo.domain.TransactionEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.kafka.common.serialization.Serde;
+import org.apache.kafka.common.serialization.Serdes;
+import org.apache.kafka.streams.KeyValue;
+import org.apache.kafka.streams.StreamsBuilder;
+import org.apache.kafka.streams.StreamsConfig;
+import org.apache.kafka.streams.TestInputTopic;
+import org.apache.kafka.streams.TopologyTestDriver;
+import org.apache.kafka.streams.state.KeyValueIterator;
+import org.apache.kafka.streams.state.WindowStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonSerde;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the spending aggregation topology, without a broker
+ */
+@DisplayName("SpendingTopology Tests")
+class SpendingTopologyTest {
+
+    private static final Instant NOON = Instant.parse("2026-03-02T12:00:00Z");
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final UUID accountId = UUID.randomUUID();
+    private final UUID groceries = UUID.randomUUID();
+    private final UUID rent = UUID.randomUUID();
+
+    private TopologyTestDriver driver;
+    private TestInputTopic<String, TransactionEvent> input;
+
+    @BeforeEach
+    void setUp() {
+        StreamsBuilder builder = new StreamsBuilder();
+        Serde<TransactionEvent> eventSerde = TransactionEventCodec.eventSerde();
+        SpendingTopology.build(builder, eventSerde,
+                new JsonSerde<>(SpendingSummary.class, objectMapper).noTypeInfo(),
+                new SpendingTopology.Settings(Duration.ofMinutes(10), Duration.ofDays(2), Duration.ofDays(30)));
+
+        Properties config = new Properties();
+        config.put(StreamsConfig.APPLICATION_ID_CONFIG, "spending-test");
+        config.put(StreamsConfig.BOOTSTRAP_SERVERS_CONFIG, "dummy:9092");
+        driver = new TopologyTestDriver(builder.build(), config);
+        input = driver.createInputTopic(KafkaConfig.TRANSACTION_EVENTS_TOPIC,
+                Serdes.String().serializer(), eventSerde.serializer());
+    }
+
+    @AfterEach
+    void tearDown() {
+        driver.close();
+    }
+
+    @Test
+    @DisplayName("Should aggregate per type and category in hourly windows by event time")
+    void shouldAggregateHourlyWindows() {
+        send(TransactionType.WITHDRAWAL, groceries, "20.00", NOON.plusSeconds(60));
+        send(TransactionType.WITHDRAWAL, groceries, "5.50", NOON.plusSeconds(1800));
+        send(TransactionType.WITHDRAWAL, rent, "700.00", NOON.plusSeconds(3000));
+        send(TransactionType.DEPOSIT, null, "1000.00", NOON.plusSeconds(3500));
+        send(TransactionType.WITHDRAWAL, groceries, "12.00", NOON.plusSeconds(3600 + 60));
+
+        List<KeyValue<Long, SpendingSummary>> windows = fetch(SpendingTopology.HOURLY_STORE);
+
+        assertEquals(2, windows.size());
+        assertEquals(NOON.toEpochMilli(), windows.get(0).key);
+        SpendingSummary noon = windows.get(0).value;
+        assertEquals(3, noon.totals(TransactionType.WITHDRAWAL).count());
+        assertEquals(new BigDecimal("725.50"), noon.totals(TransactionType.WITHDRAWAL).amount());
+        assertEquals(new BigDecimal("25.50"), noon.categoryTotals(TransactionType.WITHDRAWAL).get(groceries).amount());
+        assertEquals(new BigDecimal("1000.00"), noon.totals(TransactionType.DEPOSIT).amount());
+        assertTrue(noon.categoryTotals(TransactionType.DEPOSIT).isEmpty());
+
+        assertEquals(new BigDecimal("12.00"), windows.get(1).value.totals(TransactionType.WITHDRAWAL).amount());
+    }
+
+    @Test
+    @DisplayName("Should fold a whole day into one daily window and accept late events within grace")
+    void shouldAggregateDailyWindowWithLateEvents() {
+        send(TransactionType.WITHDRAWAL, groceries, "10.00", NOON);
+        send(TransactionType.WITHDRAWAL, groceries, "10.00", NOON.plus(Duration.ofHours(6)));
+        // Late by five minutes of stream time, still within the grace period of its hourly window
+        send(TransactionType.WITHDRAWAL, rent, "1.00", NOON.plus(Duration.ofHours(6)).minusSeconds(300));
+
+        List<KeyValue<Long, SpendingSummary>> daily = fetch(SpendingTopology.DAILY_STORE);
+
+        assertEquals(1, daily.size());
+        SpendingSummary day = daily.get(0).value;
+        assertEquals(3, day.totals(TransactionType.WITHDRAWAL).count());
+        assertEquals(new BigDecimal("21.00"), day.totals(TransactionType.WITHDRAWAL).amount());
+        assertEquals(2, day.categoryTotals(TransactionType.WITHDRAWAL).get(groceries).count());
+        assertEquals(3, fetch(SpendingTopology.HOURLY_STORE).size());
+    }
+
+    private void send(TransactionType type, UUID categoryId, String amount, Instant occurredAt) {
+        input.pipeInput(accountId.toString(), new TransactionEvent(UUID.randomUUID(), accountId, type, categoryId,
+                new BigDecimal(amount), BigDecimal.ZERO, null, occurredAt));
+    }
+
+    private List<KeyValue<Long, SpendingSummary>> fetch(String storeName) {
+        WindowStore<String, SpendingSummary> store = driver.getWindowStore(storeName);
+        List<KeyValue<Long, SpendingSummary>> windows = new ArrayList<>();
+        try (KeyValueIterator<Long, SpendingSummary> iterator =
+                     store.fetch(accountId.toString(), NOON.minus(Duration.ofDays(1)), NOON.plus(Duration.ofDays(1)))) {
+            iterator.forEachRemaining(windows::add);
+        }
+        return windows;
+    }
+}
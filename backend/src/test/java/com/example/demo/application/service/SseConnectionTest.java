@@ -0,0 +1,107 @@
+package com.example.demo.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-connection SSE outbound queue
+ */
+@DisplayName("SseConnection Tests")
+class SseConnectionTest {
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final SseConnection connection = new SseConnection(UUID.randomUUID(), null, 3, queued);
+
+    @Test
+    @DisplayName("Should start one drainer, bound the queue and write frames in order")
+    void shouldBoundQueueAndDrainInOrder() throws Exception {
+        assertEquals(SseConnection.Offer.DRAIN, connection.offer(frame("notification", "1")));
+        assertEquals(SseConnection.Offer.QUEUED, connection.offer(frame("notification", "2")));
+        assertEquals(SseConnection.Offer.QUEUED, connection.offer(frame("notification", "3")));
+        assertEquals(SseConnection.Offer.OVERFLOW, connection.offer(frame("notification", "4")));
+        assertEquals(3, connection.queueDepth());
+
+        List<String> written = new ArrayList<>();
+        connection.drain((c, frame) -> written.add(frame.data()));
+
+        assertEquals(List.of("1", "2", "3"), written);
+        assertEquals(0, connection.queueDepth());
+        assertEquals(SseConnection.Offer.DRAIN, connection.offer(frame("notification", "5")));
+    }
+
+    @Test
+    @DisplayName("Should keep only the latest unread count even when the queue is full")
+    void shouldCoalesceStateFrames() throws Exception {
+        connection.offer(new SseConnection.Frame("unread-count", "{\"unreadCount\":1}", true));
+        connection.offer(frame("notification", "n1"));
+        connection.offer(frame("notification", "n2"));
+
+        assertEquals(SseConnection.Offer.COALESCED,
+                connection.offer(new SseConnection.Frame("unread-count", "{\"unreadCount\":3}", true)));
+
+        List<String> written = new ArrayList<>();
+        connection.drain((c, frame) -> written.add(frame.data()));
+        assertEquals(List.of("n1", "n2", "{\"unreadCount\":3}"), written);
+    }
+
+    @Test
+    @DisplayName("Should drop queued frames and refuse new ones once closed")
+    void shouldRejectAfterClose() throws Exception {
+        connection.offer(frame("notification", "1"));
+
+        assertTrue(connection.close());
+        assertFalse(connection.close());
+        assertEquals(SseConnection.Offer.CLOSED, connection.offer(frame("notification", "2")));
+
+        List<String> written = new ArrayList<>();
+        connection.drain((c, frame) -> written.add(frame.data()));
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep the node-wide queued count in step with offers, drains and close")
+    void shouldTrackQueuedTotal() throws Exception {
+        SseConnection other = new SseConnection(UUID.randomUUID(), null, 3, queued);
+        connection.offer(frame("notification", "1"));
+        connection.offer(new SseConnection.Frame("unread-count", "{\"unreadCount\":1}", true));
+        connection.offer(new SseConnection.Frame("unread-count", "{\"unreadCount\":2}", true));
+        other.offer(frame("notification", "2"));
+        other.offer(frame("notification", "3"));
+        assertEquals(4, queued.get());
+
+        connection.drain((c, frame) -> { });
+        assertEquals(2, queued.get());
+
+        other.offer(frame("notification", "4"));
+        other.offer(frame("notification", "5"));
+        assertEquals(3, queued.get());
+
+        other.close();
+        assertEquals(0, queued.get());
+    }
+
+    @Test
+    @DisplayName("Should encode a shared broadcast frame once to its SSE wire form")
+    void shouldEncodeSharedFrame() {
+        SseConnection.Frame frame = SseConnection.Frame.shared("announcement", "{\"title\":\"Maintenance\"}\nline 2");
+
+        byte[] bytes = (byte[]) frame.encoded().iterator().next().getData();
+
+        assertEquals("event:announcement\ndata:{\"title\":\"Maintenance\"}\ndata:line 2\n\n",
+                new String(bytes, StandardCharsets.UTF_8));
+        assertEquals(0, frame.id());
+        assertFalse(frame.coalesce());
+    }
+
+    private static SseConnection.Frame frame(String event, String data) {
+        return new SseConnection.Frame(event, data, false);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.ports.out.NotificationRepository;
+import com.example.demo.domain.notification.Notification;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for SSE connection admission
+ */
+@DisplayName("SseEmitterService Tests")
+class SseEmitterServiceTest {
+
+    private static final long RETRY_AFTER_SECONDS = 10;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private SseEmitterService service;
+
+    @BeforeEach
+    void setUp() {
+        // One connection per node and per user
+        service = new SseEmitterService(JsonMapper.builder().findAndAddModules().build(), notificationRepository,
+                new SimpleMeterRegistry(), 2, 8, 10_000, 60_000, 0, 8, 300_000, 60_000, 100,
+                1, 1, RETRY_AFTER_SECONDS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should replace the user's oldest connection when the node is full")
+    void shouldEvictOldestBeforeNodeLimit() throws Exception {
+        UUID userId = UUID.randomUUID();
+        RecordingChannel first = new RecordingChannel();
+        service.connect(userId, null, first);
+
+        RecordingChannel second = new RecordingChannel();
+        assertDoesNotThrow(() -> service.connect(userId, null, second));
+
+        assertTrue(first.closed.await(5, TimeUnit.SECONDS));
+        assertEquals(1, second.closed.getCount());
+        assertEquals(1, service.getTotalConnectionCount());
+        assertEquals(1, service.getConnectedUserCount());
+    }
+
+    @Test
+    @DisplayName("Should refuse another user when the node is full")
+    void shouldRejectOtherUserWhenFull() {
+        service.connect(UUID.randomUUID(), null, new RecordingChannel());
+
+        SseEmitterService.ConnectionRejectedException e = assertThrows(
+                SseEmitterService.ConnectionRejectedException.class,
+                () -> service.connect(UUID.randomUUID(), null, new RecordingChannel()));
+
+        assertTrue(e.getRetryAfterSeconds() >= RETRY_AFTER_SECONDS);
+        assertEquals(1, service.getTotalConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Should queue a database replay with ids ahead of events pushed while it was read")
+    void shouldReplayFromDatabaseBeforeLiveEvents() throws Exception {
+        UUID userId = UUID.randomUUID();
+        when(notificationRepository.findRecentNotifications(eq(userId), any(), any())).thenAnswer(invocation -> {
+            // Pushed while the database is read, before the connection is registered
+            service.sendNotificationToUser(userId, notification(userId, "Live"));
+            return new PageImpl<>(List.of(notification(userId, "Missed")));
+        });
+        RecordingChannel channel = new RecordingChannel();
+
+        // An id from before this node buffered the user, so the database has to serve it
+        service.connect(userId, "1000", channel);
+        service.sendNotificationToUser(userId, notification(userId, "After"));
+
+        List<Sent> sent = channel.awaitSent(4);
+        assertEquals("connected", sent.get(0).event());
+        assertTrue(sent.get(1).data().contains("Missed"));
+        assertTrue(sent.get(2).data().contains("Live"));
+        assertTrue(sent.get(3).data().contains("After"));
+        assertTrue(sent.get(1).id() > 0);
+        assertTrue(sent.get(2).id() > sent.get(1).id());
+        assertTrue(sent.get(3).id() > sent.get(2).id());
+    }
+
+    private static Notification notification(UUID userId, String title) {
+        return Notification.create(userId, Notification.NotificationType.TRANSACTION_COMPLETED,
+                Notification.NotificationChannel.IN_APP, title, "Message", Notification.NotificationPriority.LOW);
+    }
+
+    private record Sent(long id, String event, String data) {
+    }
+
+    private static class RecordingChannel implements SseEmitterService.Channel {
+
+        private final CountDownLatch closed = new CountDownLatch(1);
+        private final List<Sent> sent = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void send(long id, String event, String data) {
+            sent.add(new Sent(id, event, data));
+        }
+
+        List<Sent> awaitSent(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (sent.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(count, sent.size());
+            return List.copyOf(sent);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.application.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-user SSE replay buffer
+ */
+@DisplayName("SseReplayBuffer Tests")
+class SseReplayBufferTest {
+
+    private final SseReplayBuffer buffer = new SseReplayBuffer(3);
+
+    @Test
+    @DisplayName("Should replay the events after the client's last id in order")
+    void shouldReplayEventsAfterLastId() {
+        SseReplayBuffer.Event first = buffer.append("notification", "1");
+        buffer.append("notification", "2");
+        buffer.append("notification", "3");
+
+        List<SseReplayBuffer.Event> replay = buffer.since(first.id());
+
+        assertEquals(List.of("2", "3"), replay.stream().map(SseReplayBuffer.Event::data).toList());
+        assertTrue(replay.get(0).id() > first.id());
+        assertTrue(buffer.since(replay.get(1).id()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should not replay once events after the last id were evicted")
+    void shouldRefuseAfterRollover() {
+        SseReplayBuffer.Event first = buffer.append("notification", "1");
+        SseReplayBuffer.Event second = buffer.append("notification", "2");
+        buffer.append("notification", "3");
+        buffer.append("notification", "4");
+        buffer.append("notification", "5");
+
+        assertNull(buffer.since(first.id()));
+        assertEquals(List.of("3", "4", "5"),
+                buffer.since(second.id()).stream().map(SseReplayBuffer.Event::data).toList());
+    }
+
+    @Test
+    @DisplayName("Should not replay ids issued before the buffer existed")
+    void shouldRefuseForeignIds() {
+        assertNull(buffer.since(1));
+
+        SseReplayBuffer.Event event = buffer.append("notification", "1");
+
+        assertNull(buffer.since(event.id() - 1));
+    }
+
+    @Test
+    @DisplayName("Should list events after any id until one of them is evicted")
+    void shouldListEventsAfterAnyId() {
+        assertEquals(List.of(), buffer.after(buffer.lastId()));
+
+        SseReplayBuffer.Event first = buffer.append("notification", "1");
+        buffer.append("notification", "2");
+        assertEquals(first.id() + 1, buffer.lastId());
+        assertEquals(List.of("1", "2"), buffer.after(0).stream().map(SseReplayBuffer.Event::data).toList());
+
+        buffer.append("notification", "3");
+        buffer.append("notification", "4");
+        assertNull(buffer.after(0));
+        assertEquals(List.of("2", "3", "4"),
+                buffer.after(first.id()).stream().map(SseReplayBuffer.Event::data).toList());
+    }
+
+    @Test
+    @DisplayName("Should expire only after the retention without connections")
+    void shouldExpireAfterRetention() {
+        buffer.attach();
+        assertFalse(buffer.isExpired(Long.MAX_VALUE, 1_000));
+
+        buffer.detach();
+        long now = System.currentTimeMillis();
+        assertFalse(buffer.isExpired(now, 60_000));
+        assertTrue(buffer.isExpired(now + 60_001, 60_000));
+
+        buffer.attach();
+        assertFalse(buffer.isExpired(now + 60_001, 60_000));
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.demo.application.service;
+
+import com.example.demo.application.messaging.ClusterSseDelivery;
+import com.example.demo.application.ports.out.AccountRepository;
+import com.example.demo.application.ports.out.TransactionRepository;
+import com.example.demo.config.datasource.WorkloadContext;
+import com.example.demo.config.datasource.WorkloadType;
+import com.example.demo.domain.Account;
+import com.example.demo.domain.StatementJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for StatementJobService
+ * One worker behind a one-slot queue; the worker blocks in the repository until the test releases it
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StatementJobService Tests")
+class StatementJobServiceTest {
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private StatementRenderer renderer;
+
+    @Mock
+    private ClusterSseDelivery sseDelivery;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private final UUID userId = UUID.randomUUID();
+    private final UUID accountId = UUID.randomUUID();
+    private final LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private final LocalDateTime end = LocalDateTime.of(2024, 3, 31, 23, 59);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private StatementJobService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the in-flight job for an identical request")
+    void shouldDeduplicateInFlightRequests() throws Exception {
+        service = service(3_600_000);
+        givenAccount();
+        blockWorker();
+
+        StatementJob first = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        StatementJob second = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        StatementJob otherFormat = service.submit(userId, accountId, start, end, StatementJob.Format.JSON);
+
+        assertEquals(first.id(), second.id());
+        assertNotEquals(first.id(), otherFormat.id());
+
+        release.countDown();
+        awaitStatus(first.id(), StatementJob.Status.COMPLETED);
+        awaitStatus(otherFormat.id(), StatementJob.Status.COMPLETED);
+        StatementJob afterCompletion = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        assertNotEquals(first.id(), afterCompletion.id());
+    }
+
+    @Test
+    @DisplayName("Should refuse a job with a retry delay when the worker queue is full")
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        service = service(3_600_000);
+        givenAccount();
+        blockWorker();
+
+        StatementJob running = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        StatementJob queued = service.submit(userId, accountId, start.plusDays(1), end, StatementJob.Format.CSV);
+
+        StatementJobService.SaturatedException e = assertThrows(StatementJobService.SaturatedException.class,
+                () -> service.submit(userId, accountId, start.plusDays(2), end, StatementJob.Format.CSV));
+
+        assertEquals(RETRY_AFTER_SECONDS, e.getRetryAfterSeconds());
+        assertTrue(service.getJob(userId, running.id()).isPresent());
+        assertTrue(service.getJob(userId, queued.id()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Should read the statement in one read-only transaction on the reporting pool")
+    void shouldReadStatementInOneReportingTransaction() throws Exception {
+        service = service(3_600_000);
+        givenAccount();
+        AtomicReference<WorkloadType> workload = new AtomicReference<>();
+        when(transactionRepository.summarizeStatement(any(), any(), any())).thenAnswer(invocation -> {
+            workload.set(WorkloadContext.get());
+            return null;
+        });
+
+        StatementJob job = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        awaitStatus(job.id(), StatementJob.Status.COMPLETED);
+
+        assertEquals(WorkloadType.REPORTING, workload.get());
+        verify(transactionManager).getTransaction(argThat(definition -> definition.isReadOnly()
+                && definition.getIsolationLevel() == TransactionDefinition.ISOLATION_REPEATABLE_READ));
+    }
+
+    @Test
+    @DisplayName("Should delete finished jobs and their files once the TTL has passed")
+    void shouldDeleteExpiredJobs() throws Exception {
+        service = service(0);
+        givenAccount();
+
+        StatementJob job = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        awaitStatus(job.id(), StatementJob.Status.COMPLETED);
+        Path artifact = directory.resolve(job.id() + ".csv");
+        assertTrue(Files.exists(artifact));
+        Thread.sleep(5);
+
+        service.deleteExpired();
+
+        assertTrue(service.getJob(userId, job.id()).isEmpty());
+        assertFalse(Files.exists(artifact));
+    }
+
+    @Test
+    @DisplayName("Should delete orphaned files past the TTL and keep recent and referenced ones")
+    void shouldDeleteOrphanedFiles() throws Exception {
+        service = service(3_600_000);
+        givenAccount();
+
+        StatementJob job = service.submit(userId, accountId, start, end, StatementJob.Format.CSV);
+        awaitStatus(job.id(), StatementJob.Status.COMPLETED);
+        Path artifact = directory.resolve(job.id() + ".csv");
+        Files.setLastModifiedTime(artifact, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        Path staleOrphan = Files.writeString(directory.resolve(UUID.randomUUID() + ".csv"), "old");
+        Files.setLastModifiedTime(staleOrphan, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path stalePart = Files.writeString(directory.resolve(UUID.randomUUID() + ".part"), "partial");
+        Files.setLastModifiedTime(stalePart, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recentOrphan = Files.writeString(directory.resolve(UUID.randomUUID() + ".csv"), "new");
+
+        service.deleteExpired();
+
+        assertFalse(Files.exists(staleOrphan));
+        assertFalse(Files.exists(stalePart));
+        assertTrue(Files.exists(recentOrphan));
+        assertTrue(Files.exists(artifact));
+        assertTrue(service.getArtifact(userId, job.id()).isPresent());
+    }
+
+    private StatementJobService service(long artifactTtlMs) {
+        return new StatementJobService(accountRepository, transactionRepository, renderer, sseDelivery,
+                new ObjectMapper(), new SimpleMeterRegistry(), new TransactionTemplate(transactionManager),
+                directory.toString(),
+                1, 1, 500, artifactTtlMs, RETRY_AFTER_SECONDS);
+    }
+
+    private void givenAccount() {
+        Account account = Account.create(userId, "ACC001", "John", "Doe", "United States", "CHECKING");
+        when(accountRepository.findById(accountId)).thenReturn(Optional.of(account));
+    }
+
+    private void blockWorker() {
+        when(transactionRepository.summarizeStatement(any(), any(), any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+    }
+
+    private void awaitStatus(UUID jobId, StatementJob.Status status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            if (service.getJob(userId, jobId).map(StatementJob::status).orElse(null) == status) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Job " + jobId + " did not reach " + status);
+    }
+}
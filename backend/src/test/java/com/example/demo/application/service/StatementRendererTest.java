@@ -0,0 +1,57 @@
+package com.example.demo.application.service;
+
+import com.example.demo.domain.Transaction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CSV output of StatementRenderer
+ */
+@DisplayName("StatementRenderer Tests")
+class StatementRendererTest {
+
+    private final UUID accountId = UUID.randomUUID();
+
+    @Test
+    @DisplayName("Should write a header and one row per transaction in iteration order")
+    void shouldWriteRowsInOrder() throws Exception {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        StringWriter out = new StringWriter();
+
+        StatementRenderer.writeCsv(List.of(
+                transaction(first, Transaction.TransactionType.DEPOSIT, "100.50", "Salary"),
+                transaction(second, Transaction.TransactionType.WITHDRAWAL, "20", null)).iterator(), out);
+
+        String[] lines = out.toString().split("\r\n");
+        assertEquals(3, lines.length);
+        assertEquals("id,createdAt,type,amount,balanceAfter,categoryId,relatedAccountId,description", lines[0]);
+        assertEquals(first + ",2024-03-01T10:15,DEPOSIT,100.50,500,,,Salary", lines[1]);
+        assertEquals(second + ",2024-03-01T10:15,WITHDRAWAL,20,500,,,", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Should quote separators and neutralize spreadsheet formulas in descriptions")
+    void shouldEscapeDescriptions() {
+        assertEquals("plain", StatementRenderer.csvField("plain"));
+        assertEquals("\"Rent, March\"", StatementRenderer.csvField("Rent, March"));
+        assertEquals("\"The \"\"big\"\" one\"", StatementRenderer.csvField("The \"big\" one"));
+        assertEquals("\"line\nbreak\"", StatementRenderer.csvField("line\nbreak"));
+        assertEquals("'=SUM(A1:A9)", StatementRenderer.csvField("=SUM(A1:A9)"));
+        assertEquals("\"'=HYPERLINK(\"\"x\"\")\"", StatementRenderer.csvField("=HYPERLINK(\"x\")"));
+        assertEquals("", StatementRenderer.csvField(null));
+    }
+
+    private Transaction transaction(UUID id, Transaction.TransactionType type, String amount, String description) {
+        return Transaction.of(id, accountId, type, null, new BigDecimal(amount), new BigDecimal("500"),
+                description, null, LocalDateTime.of(2024, 3, 1, 10, 15));
+    }
+}
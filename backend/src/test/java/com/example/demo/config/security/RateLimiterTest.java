@@ -0,0 +1,104 @@
+package com.example.demo.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the token bucket rate limiter
+ */
+@DisplayName("RateLimiter Tests")
+class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private long now = -5 * SECOND; // nanoTime may be negative
+    private final RateLimiter limiter = new RateLimiter(() -> now);
+    private final RateLimiter.Limit limit = new RateLimiter.Limit(3, 1);
+
+    @Test
+    @DisplayName("Should allow a burst of capacity, then refuse with the time until the next token")
+    void shouldAllowBurstThenRefuse() {
+        assertEquals(0, limiter.tryAcquire("user:a", limit));
+        assertEquals(0, limiter.tryAcquire("user:a", limit));
+        assertEquals(0, limiter.tryAcquire("user:a", limit));
+
+        assertEquals(SECOND, limiter.tryAcquire("user:a", limit));
+        assertEquals(0, limiter.tryAcquire("user:b", limit));
+    }
+
+    @Test
+    @DisplayName("Should refill lazily at the configured rate up to capacity")
+    void shouldRefillLazily() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user:a", limit);
+        }
+
+        now += SECOND / 2;
+        assertEquals(SECOND / 2, limiter.tryAcquire("user:a", limit));
+        now += SECOND / 2;
+        assertEquals(0, limiter.tryAcquire("user:a", limit));
+
+        now += 60 * SECOND;
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("user:a", limit));
+        }
+        assertTrue(limiter.tryAcquire("user:a", limit) > 0);
+    }
+
+    @Test
+    @DisplayName("Should evict only buckets that refilled completely")
+    void shouldEvictIdleBuckets() {
+        limiter.tryAcquire("user:a", limit);
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("user:b", limit);
+        }
+
+        now += 2 * SECOND;
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.size());
+        // Two of three tokens back after two seconds; eviction kept that state
+        assertEquals(0, limiter.tryAcquire("user:b", limit));
+        assertEquals(0, limiter.tryAcquire("user:b", limit));
+        assertTrue(limiter.tryAcquire("user:b", limit) > 0);
+    }
+
+    @Test
+    @DisplayName("Should never admit more than capacity under concurrent requests")
+    void shouldHoldUnderContention() throws InterruptedException {
+        RateLimiter.Limit slow = new RateLimiter.Limit(100, 0.001);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("ip:10.0.0.1", slow) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(100, admitted.get());
+    }
+}
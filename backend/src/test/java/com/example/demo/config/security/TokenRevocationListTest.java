@@ -0,0 +1,106 @@
+package com.example.demo.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the token revocation list and its Bloom filter
+ */
+@DisplayName("TokenRevocationList Tests")
+class TokenRevocationListTest {
+
+    private final TokenRevocationList revocationList = new TokenRevocationList(new SimpleMeterRegistry());
+    private final long now = System.currentTimeMillis();
+
+    @Test
+    @DisplayName("Should reject a revoked token id and accept others of the same user")
+    void shouldRevokeSingleToken() {
+        UUID userId = UUID.randomUUID();
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.tokenKey("jti-1"), now, now + 60_000));
+
+        assertTrue(revocationList.isRevoked(claims(userId, "jti-1", now)));
+        assertFalse(revocationList.isRevoked(claims(userId, "jti-2", now)));
+    }
+
+    @Test
+    @DisplayName("Should reject a user's tokens issued up to the revocation, not the ones issued after")
+    void shouldRevokeUserTokensIssuedBefore() {
+        UUID userId = UUID.randomUUID();
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.userKey(userId), now, now + 60_000));
+
+        assertTrue(revocationList.isRevoked(claims(userId, "old", now - 30_000)));
+        assertTrue(revocationList.isRevoked(claims(userId, "same-second", now)));
+        assertFalse(revocationList.isRevoked(claims(userId, "new", now + 2_000)));
+        assertFalse(revocationList.isRevoked(claims(UUID.randomUUID(), "other", now - 30_000)));
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose second-precision iat falls in the revocation's second")
+    void shouldRevokeTokenIssuedInSameSecond() {
+        UUID userId = UUID.randomUUID();
+        long second = now / 1000 * 1000;
+        // Issued at 12:00:00.900, truncated to 12:00:00 in the JWT; locked at 12:00:00.950
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.userKey(userId),
+                second + 950, second + 60_000));
+
+        assertTrue(revocationList.isRevoked(claims(userId, "same-second", second)));
+        assertFalse(revocationList.isRevoked(claims(userId, "next-second", second + 1_000)));
+        assertTrue(revocationList.isRevoked(new JwtUtil.VerifiedClaims(userId, "jane.doe@example.com", "USER",
+                "no-iat", null, Instant.ofEpochMilli(second + 900_000))));
+    }
+
+    @Test
+    @DisplayName("Should drop expired entries on rebuild and keep live ones")
+    void shouldDropExpiredEntriesOnRebuild() {
+        UUID userId = UUID.randomUUID();
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.tokenKey("live"), now, now + 60_000));
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.tokenKey("expiring"), now, now + 50));
+        revocationList.apply(new TokenRevocationList.Entry(TokenRevocationList.tokenKey("expired"), now, now - 1));
+        assertEquals(2, revocationList.size());
+
+        sleep(100);
+        revocationList.rebuild();
+
+        assertEquals(1, revocationList.size());
+        assertTrue(revocationList.isRevoked(claims(userId, "live", now)));
+        assertFalse(revocationList.isRevoked(claims(userId, "expiring", now)));
+    }
+
+    @Test
+    @DisplayName("Should keep Bloom filter false positives near one percent")
+    void shouldKeepFalsePositivesLow() {
+        BloomFilter filter = new BloomFilter(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("t:" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(filter.mightContain("t:" + (i % 10_000)));
+            if (filter.mightContain("u:" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    private static JwtUtil.VerifiedClaims claims(UUID userId, String tokenId, long issuedAtMillis) {
+        return new JwtUtil.VerifiedClaims(userId, "jane.doe@example.com", "USER", tokenId,
+                Instant.ofEpochMilli(issuedAtMillis), Instant.ofEpochMilli(issuedAtMillis + 900_000));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("interrupted");
+        }
+    }
+}
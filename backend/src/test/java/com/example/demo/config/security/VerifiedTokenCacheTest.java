@@ -0,0 +1,58 @@
+package com.example.demo.config.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the verified token cache
+ */
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    @DisplayName("Should return a cached token until its expiry")
+    void shouldExpireAtTokenExpiry() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(10);
+
+        cache.put("token-a", "user-a", NOW + 1000, NOW);
+
+        assertEquals("user-a", cache.get("token-a", NOW + 999));
+        assertNull(cache.get("token-a", NOW + 1000));
+        assertEquals(0, cache.size());
+        assertNull(cache.get("token-b", NOW));
+    }
+
+    @Test
+    @DisplayName("Should stay within its bound, purging expired entries first")
+    void shouldStayBounded() {
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(2);
+        cache.put("expired", "old", NOW + 10, NOW);
+        cache.put("live", "live", NOW + 60_000, NOW);
+
+        cache.put("new", "new", NOW + 60_000, NOW + 5_000);
+
+        assertEquals(2, cache.size());
+        assertEquals("live", cache.get("live", NOW + 5_000));
+        assertEquals("new", cache.get("new", NOW + 5_000));
+
+        cache.put("newer", "newer", NOW + 60_000, NOW + 5_001);
+        assertEquals(2, cache.size());
+        assertEquals("newer", cache.get("newer", NOW + 5_001));
+    }
+
+    @Test
+    @DisplayName("Should not cache when disabled or already expired")
+    void shouldSkipDisabledAndExpired() {
+        VerifiedTokenCache<String> disabled = new VerifiedTokenCache<>(0);
+        disabled.put("token", "user", NOW + 1000, NOW);
+        assertNull(disabled.get("token", NOW));
+
+        VerifiedTokenCache<String> cache = new VerifiedTokenCache<>(10);
+        cache.put("token", "user", NOW, NOW);
+        assertEquals(0, cache.size());
+    }
+}
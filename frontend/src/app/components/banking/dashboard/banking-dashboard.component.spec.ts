@@ -1,10 +1,11 @@
 import { ComponentFixture, TestBed } from '@angular/core/testing';
 import { HttpClientTestingModule } from '@angular/common/http/testing';
 import { FormsModule } from '@angular/forms';
-import { of, throwError } from 'rxjs';
+import { of, Subject, throwError } from 'rxjs';
 
 import { BankingDashboardComponent } from './banking-dashboard.component';
 import { BankingService } from '../../../services/banking.service';
+import { BalanceChange, NotificationService } from '../../../services/notification.service';
 import { Account, CreateAccountRequest } from '../../../models/banking.model';
 import { ApiResponse } from '../../../models/api-response.model';
 
@@ -12,6 +13,7 @@ describe('BankingDashboardComponent', () => {
   let component: BankingDashboardComponent;
   let fixture: ComponentFixture<BankingDashboardComponent>;
   let bankingService: jasmine.SpyObj<BankingService>;
+  let balanceChanges: Subject<BalanceChange>;
 
   const mockAccount: Account = {
     id: '123e4567-e89b-12d3-a456-426614174000',
@@ -49,12 +51,14 @@ describe('BankingDashboardComponent', () => {
       'updateAccount',
       'deleteAccount'
     ]);
+    balanceChanges = new Subject<BalanceChange>();
 
     await TestBed.configureTestingModule({
       declarations: [BankingDashboardComponent],
       imports: [HttpClientTestingModule, FormsModule],
       providers: [
-        { provide: BankingService, useValue: bankingServiceSpy }
+        { provide: BankingService, useValue: bankingServiceSpy },
+        { provide: NotificationService, useValue: { balanceChange$: balanceChanges.asObservable() } }
       ]
     }).compileComponents();
 
@@ -96,6 +100,21 @@ describe('BankingDashboardComponent', () => {
       expect(component.error).toBe('Failed to load accounts: Failed to load accounts');
       expect(component.loading).toBe(false);
     });
+
+    it('should apply pushed balance changes without reloading', () => {
+      bankingService.getAllAccounts.and.returnValue(of({ success: true, message: 'Accounts loaded', data: mockAccounts }));
+      component.ngOnInit();
+
+      balanceChanges.next({
+        accountId: mockAccount.id,
+        balance: 1250,
+        transactionId: '123e4567-e89b-12d3-a456-426614174099',
+        updatedAt: new Date().toISOString()
+      });
+
+      expect(component.accounts[0].balance).toBe(1250);
+      expect(bankingService.getAllAccounts).toHaveBeenCalledTimes(1);
+    });
   });
 
   describe('loadAccounts', () => {
@@ -1,5 +1,7 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
+import { Subscription } from 'rxjs';
 import { BankingService } from '../../../services/banking.service';
+import { BalanceChange, NotificationService } from '../../../services/notification.service';
 import { Account, CreateAccountRequest, UpdateAccountRequest } from '../../../models/banking.model';
 import { ApiResponse } from '../../../models/api-response.model';
 import { COUNTRIES, Country } from '../../../data/countries';
@@ -9,7 +11,7 @@ import { COUNTRIES, Country } from '../../../data/countries';
   templateUrl: './banking-dashboard.component.html',
   styleUrls: ['./banking-dashboard.component.css']
 })
-export class BankingDashboardComponent implements OnInit {
+export class BankingDashboardComponent implements OnInit, OnDestroy {
   accounts: Account[] = [];
   selectedAccount: Account | null = null;
   loading = false;
@@ -91,10 +93,27 @@ export class BankingDashboardComponent implements OnInit {
   filteredCountries: any[] = [];
   showCountryDropdown = false;
 
-  constructor(private bankingService: BankingService) { }
+  private balanceSubscription?: Subscription;
+
+  constructor(
+    private bankingService: BankingService,
+    private notificationService: NotificationService
+  ) { }
 
   ngOnInit(): void {
     this.loadAccounts();
+
+    // Balances changed here or in another tab/device arrive on the notification stream
+    this.balanceSubscription = this.notificationService.balanceChange$.subscribe((change: BalanceChange) => {
+      const account = this.accounts.find((acc: Account) => acc.id === change.accountId);
+      if (account) {
+        account.balance = change.balance;
+      }
+    });
+  }
+
+  ngOnDestroy(): void {
+    this.balanceSubscription?.unsubscribe();
   }
 
   loadAccounts(): void {
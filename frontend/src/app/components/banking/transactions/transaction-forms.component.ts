@@ -1,7 +1,9 @@
-import { Component, OnInit } from '@angular/core';
+import { Component, OnDestroy, OnInit } from '@angular/core';
 import { ActivatedRoute, Router, Params } from '@angular/router';
+import { Subscription } from 'rxjs';
 import { BankingService } from '../../../services/banking.service';
 import { CategoryService } from '../../../services/category.service';
+import { BalanceChange, NotificationService } from '../../../services/notification.service';
 import { Account, Category, CategoryType, TransactionRequest, TransferRequest } from '../../../models/banking.model';
 import { ApiResponse } from '../../../models/api-response.model';
 
@@ -10,7 +12,7 @@ import { ApiResponse } from '../../../models/api-response.model';
   templateUrl: './transaction-forms.component.html',
   styleUrls: ['./transaction-forms.component.css']
 })
-export class TransactionFormsComponent implements OnInit {
+export class TransactionFormsComponent implements OnInit, OnDestroy {
   account: Account | null = null;
   accounts: Account[] = [];
   accountId: string | null = null;
@@ -53,9 +55,12 @@ export class TransactionFormsComponent implements OnInit {
   error: string | null = null;
   success: string | null = null;
 
+  private balanceSubscription?: Subscription;
+
   constructor(
     private bankingService: BankingService,
     private categoryService: CategoryService,
+    private notificationService: NotificationService,
     private route: ActivatedRoute,
     private router: Router
   ) { }
@@ -78,6 +83,21 @@ export class TransactionFormsComponent implements OnInit {
       this.incomeCategories = categories.filter((cat: Category) => cat.type === CategoryType.INCOME && cat.active);
       this.expenseCategories = categories.filter((cat: Category) => cat.type === CategoryType.EXPENSE && cat.active);
     });
+
+    // Apply pushed balances in place instead of refetching after every write
+    this.balanceSubscription = this.notificationService.balanceChange$.subscribe((change: BalanceChange) => {
+      if (this.account && this.account.id === change.accountId) {
+        this.account = { ...this.account, balance: change.balance };
+      }
+      const target = this.accounts.find((acc: Account) => acc.id === change.accountId);
+      if (target) {
+        target.balance = change.balance;
+      }
+    });
+  }
+
+  ngOnDestroy(): void {
+    this.balanceSubscription?.unsubscribe();
   }
 
   loadCategories(): void {
@@ -185,7 +205,9 @@ export class TransactionFormsComponent implements OnInit {
       next: (response: ApiResponse<void>) => {
         this.success = 'Transfer successful!';
         this.resetTransferForm();
-        this.loadAccount(); // Reload account to get updated balance
+        if (!this.notificationService.isStreamConnected()) {
+          this.loadAccount(); // No stream to push the new balance
+        }
         this.loading = false;
       },
       error: (error: any) => {
@@ -1,7 +1,7 @@
 import { Injectable } from '@angular/core';
 import { HttpRequest, HttpHandler, HttpEvent, HttpInterceptor, HttpErrorResponse } from '@angular/common/http';
 import { Observable, throwError } from 'rxjs';
-import { catchError } from 'rxjs/operators';
+import { catchError, switchMap } from 'rxjs/operators';
 import { Router } from '@angular/router';
 import { AuthService } from '../services/auth.service';
 
@@ -18,24 +18,45 @@ export class AuthInterceptor implements HttpInterceptor {
     const token = this.authService.getToken();
 
     // Clone the request and add the authorization header if token exists
-    if (token) {
-      request = request.clone({
-        setHeaders: {
-          Authorization: `Bearer ${token}`
-        }
-      });
-    }
+    const authorized = token ? this.withToken(request, token) : request;
 
     // Handle the request and catch errors
-    return next.handle(request).pipe(
+    return next.handle(authorized).pipe(
       catchError((error: HttpErrorResponse) => {
+        if (error.status === 401 && !this.isAuthRequest(request) && this.authService.getRefreshToken()) {
+          // Access token expired or revoked - renew it once and retry
+          return this.authService.refreshAccessToken().pipe(
+            catchError(() => this.sessionEnded(error)),
+            switchMap(newToken => next.handle(this.withToken(request, newToken)))
+          );
+        }
         if (error.status === 401) {
           // Unauthorized - token might be expired or invalid
-          this.authService.logout();
-          this.router.navigate(['/auth/login']);
+          return this.sessionEnded(error);
         }
         return throwError(() => error);
       })
     );
   }
+
+  private withToken(request: HttpRequest<any>, token: string): HttpRequest<any> {
+    return request.clone({
+      setHeaders: {
+        Authorization: `Bearer ${token}`
+      }
+    });
+  }
+
+  /**
+   * Login, refresh and logout answer 401 for bad credentials, not for an expired session
+   */
+  private isAuthRequest(request: HttpRequest<any>): boolean {
+    return /\/api\/auth\/(login|refresh|logout)$/.test(request.url);
+  }
+
+  private sessionEnded(error: HttpErrorResponse): Observable<never> {
+    this.authService.logout();
+    this.router.navigate(['/auth/login']);
+    return throwError(() => error);
+  }
 }
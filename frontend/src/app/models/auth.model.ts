@@ -29,5 +29,7 @@ export interface UserResponse {
 export interface LoginResponse {
   token: string;
   type: string;
+  expiresIn: number;
+  refreshToken: string;
   user: UserResponse;
 }
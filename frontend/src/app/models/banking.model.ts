@@ -64,6 +64,25 @@ export interface AccountStatement {
   transactions: Transaction[];
 }
 
+export type StatementFormat = 'JSON' | 'CSV' | 'HTML';
+
+export type StatementJobStatus = 'PENDING' | 'RUNNING' | 'COMPLETED' | 'FAILED';
+
+export interface StatementJob {
+  id: string;
+  accountId: string;
+  startDate: string;
+  endDate: string;
+  format: StatementFormat;
+  status: StatementJobStatus;
+  createdAt: string;
+  completedAt?: string | null;
+  expiresAt?: string | null;
+  sizeBytes: number;
+  error?: string | null;
+  downloadUrl?: string | null;
+}
+
 export interface CategorySummary {
   category: Category;
   amount: number;
@@ -1,6 +1,6 @@
 import { Injectable, Injector } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
-import { BehaviorSubject, Observable, tap } from 'rxjs';
+import { BehaviorSubject, Observable, finalize, map, shareReplay, tap, throwError } from 'rxjs';
 import { LoginRequest, SignUpRequest, LoginResponse, UserResponse } from '../models/auth.model';
 import { ApiResponse } from '../models/api-response.model';
 import { NotificationService } from './notification.service';
@@ -11,11 +11,13 @@ import { NotificationService } from './notification.service';
 export class AuthService {
   private readonly API_URL = '/api/auth';
   private readonly TOKEN_KEY = 'auth_token';
+  private readonly REFRESH_TOKEN_KEY = 'refresh_token';
   private readonly USER_KEY = 'current_user';
 
   private currentUserSubject = new BehaviorSubject<UserResponse | null>(this.getCurrentUserFromStorage());
   public currentUser$ = this.currentUserSubject.asObservable();
   private notificationService?: NotificationService;
+  private refreshInFlight$: Observable<string> | null = null;
 
   constructor(
     private http: HttpClient,
@@ -47,10 +49,8 @@ export class AuthService {
       .pipe(
         tap(response => {
           if (response.success && response.data) {
-            // Store token and user
-            this.setToken(response.data.token);
-            this.setCurrentUser(response.data.user);
-            this.currentUserSubject.next(response.data.user);
+            // Store tokens and user
+            this.storeSession(response.data);
 
             // Connect to SSE for real-time notifications
             setTimeout(() => {
@@ -61,14 +61,48 @@ export class AuthService {
       );
   }
 
+  /**
+   * Get a new access token with the refresh token
+   * Concurrent callers share one request, since each refresh token can only be used once
+   */
+  refreshAccessToken(): Observable<string> {
+    const refreshToken = this.getRefreshToken();
+    if (!refreshToken) {
+      return throwError(() => new Error('No refresh token'));
+    }
+    if (!this.refreshInFlight$) {
+      this.refreshInFlight$ = this.http.post<ApiResponse<LoginResponse>>(`${this.API_URL}/refresh`, { refreshToken })
+        .pipe(
+          map(response => {
+            if (!response.success || !response.data) {
+              throw new Error(response.message);
+            }
+            this.storeSession(response.data);
+            return response.data.token;
+          }),
+          finalize(() => this.refreshInFlight$ = null),
+          shareReplay(1)
+        );
+    }
+    return this.refreshInFlight$;
+  }
+
   /**
    * Logout the current user
+   * Revokes the access and refresh tokens on the server; the local session is cleared either way
    */
   logout(): void {
     // Disconnect SSE before clearing auth data
     this.getNotificationService().disconnectSSE();
 
+    const token = this.getToken();
+    const refreshToken = this.getRefreshToken();
+    if (token && !this.isTokenExpired(token)) {
+      this.http.post<ApiResponse<void>>(`${this.API_URL}/logout`, { refreshToken }).subscribe({ error: () => {} });
+    }
+
     localStorage.removeItem(this.TOKEN_KEY);
+    localStorage.removeItem(this.REFRESH_TOKEN_KEY);
     localStorage.removeItem(this.USER_KEY);
     this.currentUserSubject.next(null);
   }
@@ -90,10 +124,11 @@ export class AuthService {
 
   /**
    * Check if user is authenticated
+   * An expired access token still counts while there is a refresh token to renew it
    */
   isAuthenticated(): boolean {
     const token = this.getToken();
-    return !!token && !this.isTokenExpired(token);
+    return !!token && (!this.isTokenExpired(token) || !!this.getRefreshToken());
   }
 
   /**
@@ -110,6 +145,23 @@ export class AuthService {
     localStorage.setItem(this.TOKEN_KEY, token);
   }
 
+  /**
+   * Get refresh token from localStorage
+   */
+  getRefreshToken(): string | null {
+    return localStorage.getItem(this.REFRESH_TOKEN_KEY);
+  }
+
+  /**
+   * Store the tokens and user of a login or refresh
+   */
+  private storeSession(session: LoginResponse): void {
+    this.setToken(session.token);
+    localStorage.setItem(this.REFRESH_TOKEN_KEY, session.refreshToken);
+    this.setCurrentUser(session.user);
+    this.currentUserSubject.next(session.user);
+  }
+
   /**
    * Get current user from BehaviorSubject
    */
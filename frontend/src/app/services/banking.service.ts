@@ -6,6 +6,8 @@ import {
   Account,
   Transaction,
   AccountStatement,
+  StatementFormat,
+  StatementJob,
   CategoryReport,
   TransactionRequest,
   TransferRequest,
@@ -171,6 +173,53 @@ export class BankingService {
     );
   }
 
+  /**
+   * Queue a statement to be rendered in the background
+   * The job completes later; poll getStatementJob or listen for the 'statement' notification event
+   * @param accountId - Account ID
+   * @param startDate - Start date (ISO string)
+   * @param endDate - End date (ISO string)
+   * @param format - Format of the file to render
+   * @returns Observable<ApiResponse<StatementJob>> - Accepted job
+   */
+  submitStatementJob(accountId: string, startDate: string, endDate: string,
+                     format: StatementFormat = 'JSON'): Observable<ApiResponse<StatementJob>> {
+    const params = new HttpParams()
+      .set('startDate', startDate)
+      .set('endDate', endDate)
+      .set('format', format);
+
+    return this.http.post<ApiResponse<StatementJob>>(
+      `${this.apiUrl}/accounts/${accountId}/statements`,
+      null,
+      { params }
+    ).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  /**
+   * Get the state of a statement job
+   * @param jobId - Job ID
+   * @returns Observable<ApiResponse<StatementJob>> - Statement job
+   */
+  getStatementJob(jobId: string): Observable<ApiResponse<StatementJob>> {
+    return this.http.get<ApiResponse<StatementJob>>(`${this.apiUrl}/statements/${jobId}`).pipe(
+      catchError(this.handleError)
+    );
+  }
+
+  /**
+   * Download the file of a completed statement job
+   * @param jobId - Job ID
+   * @returns Observable<Blob> - Rendered statement
+   */
+  downloadStatement(jobId: string): Observable<Blob> {
+    return this.http.get(`${this.apiUrl}/statements/${jobId}/download`, { responseType: 'blob' }).pipe(
+      catchError(this.handleError)
+    );
+  }
+
   /**
    * Generate category report for an account
    * @param accountId - Account ID
@@ -3,6 +3,7 @@ import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable, Subject } from 'rxjs';
 import { tap } from 'rxjs/operators';
 import { environment } from '../../environments/environment';
+import { NotificationSocket, NotificationStream } from './notification-socket';
 
 export interface Notification {
   id: string;
@@ -17,6 +18,16 @@ export interface Notification {
   readAt?: string;
 }
 
+/**
+ * New balance of one of the user's accounts, pushed after the ledger change commits
+ */
+export interface BalanceChange {
+  accountId: string;
+  balance: number;
+  transactionId: string;
+  updatedAt: string;
+}
+
 export interface PagedNotifications {
   content: Notification[];
   totalElements: number;
@@ -37,18 +48,26 @@ export interface ApiResponse<T> {
 export class NotificationService {
   private apiUrl = `${environment.apiUrl}/notifications`;
   private sseUrl = `${environment.apiUrl}/notifications/stream`;
-  private eventSource: EventSource | null = null;
+  private socketUrl = this.resolveSocketUrl(`${environment.apiUrl}/notifications/ws`);
+  private eventSource: NotificationStream | null = null;
   private reconnectAttempts = 0;
   private maxReconnectAttempts = 5;
   private reconnectDelay = 2000; // 2 seconds
+  private lastEventId: string | null = null; // Resume point for reconnects
+  private seenNotificationIds = new Set<string>(); // Replays may repeat notifications already shown
+  private maxSeenNotificationIds = 200;
+  private balanceUpdatedAt = new Map<string, number>(); // Per account, to drop pushes that arrive out of order
+  private streamConnected = false;
 
   private unreadCountSubject = new Subject<number>();
   private notificationsUpdatedSubject = new Subject<void>();
   private newNotificationSubject = new Subject<Notification>();
+  private balanceChangeSubject = new Subject<BalanceChange>();
 
   unreadCount$ = this.unreadCountSubject.asObservable();
   notificationsUpdated$ = this.notificationsUpdatedSubject.asObservable();
   newNotification$ = this.newNotificationSubject.asObservable();
+  balanceChange$ = this.balanceChangeSubject.asObservable();
 
   constructor(
     private http: HttpClient,
@@ -72,19 +91,33 @@ export class NotificationService {
     // EventSource doesn't support custom headers, so we need to pass token as query param or cookie
     // For now, we'll rely on the cookie-based auth
     this.ngZone.runOutsideAngular(() => {
-      this.eventSource = new EventSource(this.sseUrl, { withCredentials: true });
+      if (environment.notificationTransport === 'websocket') {
+        // Same events over a WebSocket; the token goes in the first frame
+        this.eventSource = new NotificationSocket(this.socketUrl, token, this.lastEventId);
+      } else {
+        // A new EventSource does not send Last-Event-ID, so pass the resume point as a query param
+        const url = this.lastEventId
+          ? `${this.sseUrl}?lastEventId=${encodeURIComponent(this.lastEventId)}`
+          : this.sseUrl;
+        this.eventSource = new EventSource(url, { withCredentials: true });
+      }
 
       this.eventSource.addEventListener('connected', (event: MessageEvent) => {
         this.ngZone.run(() => {
           console.log('SSE connected:', event.data);
           this.reconnectAttempts = 0; // Reset reconnect counter on successful connection
+          this.streamConnected = true;
         });
       });
 
       this.eventSource.addEventListener('notification', (event: MessageEvent) => {
         this.ngZone.run(() => {
           try {
+            this.trackEventId(event);
             const notification: Notification = JSON.parse(event.data);
+            if (this.isDuplicate(notification.id)) {
+              return;
+            }
             console.log('📩 SSE notification event received:', notification);
             this.newNotificationSubject.next(notification);
             this.notificationsUpdatedSubject.next();
@@ -98,6 +131,7 @@ export class NotificationService {
       this.eventSource.addEventListener('unread-count', (event: MessageEvent) => {
         this.ngZone.run(() => {
           try {
+            this.trackEventId(event);
             const data = JSON.parse(event.data);
             console.log('🔢 SSE unread-count event received:', data.unreadCount);
             this.unreadCountSubject.next(data.unreadCount);
@@ -107,6 +141,57 @@ export class NotificationService {
         });
       });
 
+      this.eventSource.addEventListener('announcement', (event: MessageEvent) => {
+        this.ngZone.run(() => {
+          try {
+            const announcement = JSON.parse(event.data);
+            if (this.isDuplicate(announcement.id)) {
+              return;
+            }
+            // Announcements are stored once for all users; show them like any other notification
+            this.newNotificationSubject.next({
+              id: announcement.id,
+              userId: '',
+              type: 'SYSTEM_ANNOUNCEMENT',
+              channel: 'IN_APP',
+              title: announcement.title,
+              message: announcement.message,
+              priority: announcement.priority,
+              read: false,
+              createdAt: announcement.createdAt
+            });
+            this.notificationsUpdatedSubject.next();
+          } catch (error) {
+            console.error('❌ Error parsing announcement:', error);
+          }
+        });
+      });
+
+      this.eventSource.addEventListener('balance', (event: MessageEvent) => {
+        this.ngZone.run(() => {
+          try {
+            const change: BalanceChange = JSON.parse(event.data);
+            const updatedAt = Date.parse(change.updatedAt);
+            if (updatedAt < (this.balanceUpdatedAt.get(change.accountId) ?? 0)) {
+              return;
+            }
+            this.balanceUpdatedAt.set(change.accountId, updatedAt);
+            this.balanceChangeSubject.next(change);
+          } catch (error) {
+            console.error('❌ Error parsing balance change:', error);
+          }
+        });
+      });
+
+      this.eventSource.addEventListener('resync', () => {
+        this.ngZone.run(() => {
+          // Missed notifications could not be replayed - refetch them
+          console.log('SSE resync requested');
+          this.notificationsUpdatedSubject.next();
+          this.refreshUnreadCount();
+        });
+      });
+
       this.eventSource.addEventListener('heartbeat', (event: MessageEvent) => {
         // Heartbeat received - connection is alive
         console.debug('SSE heartbeat received');
@@ -121,10 +206,51 @@ export class NotificationService {
     });
   }
 
+  /**
+   * WebSocket URL for an API URL that may be relative to the page
+   */
+  private resolveSocketUrl(url: string): string {
+    const absolute = new URL(url, window.location.href);
+    absolute.protocol = absolute.protocol === 'https:' ? 'wss:' : 'ws:';
+    return absolute.toString();
+  }
+
+  /**
+   * Remember the id of the last event received, to resume from after a reconnect
+   */
+  private trackEventId(event: MessageEvent): void {
+    if (event.lastEventId) {
+      this.lastEventId = event.lastEventId;
+    }
+  }
+
+  /**
+   * Whether the stream is up, so balance changes arrive on balanceChange$ without refetching
+   */
+  isStreamConnected(): boolean {
+    return this.streamConnected;
+  }
+
+  /**
+   * Check whether a notification was already delivered, remembering it if not
+   */
+  private isDuplicate(id: string): boolean {
+    if (this.seenNotificationIds.has(id)) {
+      return true;
+    }
+    this.seenNotificationIds.add(id);
+    if (this.seenNotificationIds.size > this.maxSeenNotificationIds) {
+      // Sets iterate in insertion order, so this drops the oldest
+      this.seenNotificationIds.delete(this.seenNotificationIds.values().next().value as string);
+    }
+    return false;
+  }
+
   /**
    * Handle SSE connection errors and attempt reconnection
    */
   private handleSSEError(): void {
+    this.streamConnected = false;
     if (this.eventSource) {
       this.eventSource.close();
       this.eventSource = null;
@@ -136,7 +262,16 @@ export class NotificationService {
       console.log(`Attempting to reconnect SSE (attempt ${this.reconnectAttempts}/${this.maxReconnectAttempts}) in ${delay}ms...`);
 
       setTimeout(() => {
-        this.connectToSSE();
+        // Any API call first: if the access token expired, the interceptor renews it before the stream reuses it
+        this.getUnreadCount().subscribe({
+          next: response => {
+            if (response.success) {
+              this.unreadCountSubject.next(response.data);
+            }
+          },
+          error: () => this.connectToSSE(),
+          complete: () => this.connectToSSE()
+        });
       }, delay);
     } else {
       console.error('Max SSE reconnect attempts reached. Please refresh the page.');
@@ -152,6 +287,7 @@ export class NotificationService {
       this.eventSource = null;
       console.log('SSE connection closed');
     }
+    this.streamConnected = false;
   }
 
   /**
@@ -160,6 +296,10 @@ export class NotificationService {
   reconnectSSE(): void {
     this.disconnectSSE();
     this.reconnectAttempts = 0;
+    // A new login starts a new stream
+    this.lastEventId = null;
+    this.seenNotificationIds.clear();
+    this.balanceUpdatedAt.clear();
     this.connectToSSE();
   }
 
@@ -208,6 +348,30 @@ export class NotificationService {
     return this.http.get<ApiResponse<PagedNotifications>>(`${this.apiUrl}/recent`, { params });
   }
 
+  /**
+   * Get announcements (last N days) with the current user's read state
+   */
+  getAnnouncements(days: number = 30, page: number = 0, size: number = 20): Observable<ApiResponse<PagedNotifications>> {
+    const params = new HttpParams()
+      .set('days', days.toString())
+      .set('page', page.toString())
+      .set('size', size.toString());
+
+    return this.http.get<ApiResponse<PagedNotifications>>(`${this.apiUrl}/announcements`, { params });
+  }
+
+  /**
+   * Mark announcement as read
+   */
+  markAnnouncementAsRead(id: string): Observable<ApiResponse<Notification>> {
+    return this.http.put<ApiResponse<Notification>>(`${this.apiUrl}/announcements/${id}/read`, {})
+      .pipe(
+        tap(() => {
+          this.notificationsUpdatedSubject.next();
+        })
+      );
+  }
+
   /**
    * Get unread notification count
    */
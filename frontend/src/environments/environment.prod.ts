@@ -1,4 +1,6 @@
 export const environment = {
   production: true,
-  apiUrl: '/api'
+  apiUrl: '/api',
+  // 'sse' or 'websocket'; both endpoints carry the same notification events
+  notificationTransport: 'sse'
 };
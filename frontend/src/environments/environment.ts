@@ -1,4 +1,6 @@
 export const environment = {
   production: false,
-  apiUrl: 'http://localhost:8080/api'
+  apiUrl: 'http://localhost:8080/api',
+  // 'sse' or 'websocket'; both endpoints carry the same notification events
+  notificationTransport: 'sse'
 };